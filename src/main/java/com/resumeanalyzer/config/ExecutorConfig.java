@@ -0,0 +1,136 @@
+package com.resumeanalyzer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Thread pools used by the application.
+ *
+ * Declaring our own executors makes Spring Boot back off from its default
+ * `applicationTaskExecutor`, so it is re-declared here (as the primary executor)
+ * to keep Spring MVC async request handling on a managed pool.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    @Primary
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Bounded pool for LLM calls. Gemini responses are handed to it, so response handling and
+     * skill parsing for concurrent extractions run here instead of on Tomcat request threads
+     * or the HttpClient's threads.
+     */
+    @Bean(name = "llmExecutor")
+    public ThreadPoolTaskExecutor llmExecutor(
+            @Value("${llm.executor.threads:8}") int threads,
+            @Value("${llm.executor.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("llm-");
+        // Running overflow work on the submitting thread would run it on the HttpClient's threads;
+        // a rejected response fails its call, which falls back instead.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Small pool the Gemini HttpClient does its own work on (sending requests, reading bodies).
+     * Its queue is unbounded because the HttpClient cannot handle rejected tasks; the Gemini
+     * bulkhead bounds the calls in flight.
+     */
+    @Bean(name = "geminiHttpExecutor")
+    public ThreadPoolTaskExecutor geminiHttpExecutor(@Value("${gemini.client.http-threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("gemini-http-");
+        return executor;
+    }
+
+    /**
+     * Bounded pool for CPU-bound PDF text extraction of large documents, one chunk of pages per task.
+     */
+    @Bean(name = "pdfExtractionExecutor")
+    public ThreadPoolTaskExecutor pdfExtractionExecutor(
+            @Value("${text-extraction.pdf.threads:0}") int threads,
+            @Value("${text-extraction.pdf.queue-capacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("pdf-");
+        // Under load, extract on the request thread rather than failing the upload.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Bounded pool for document text extraction. By default it leaves one core to request
+     * threads so lightweight endpoints stay responsive during upload bursts. A full queue
+     * rejects new extractions (see ExtractionScheduler).
+     */
+    @Bean(name = "textExtractionExecutor")
+    public ThreadPoolTaskExecutor textExtractionExecutor(
+            @Value("${text-extraction.executor.threads:0}") int threads,
+            @Value("${text-extraction.executor.queue-capacity:50}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("extract-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Bounded pool for asynchronous resume uploads: text extraction of spooled uploads after
+     * the request has been answered with 202 Accepted. A full queue rejects new uploads.
+     */
+    @Bean(name = "uploadProcessingExecutor")
+    public ThreadPoolTaskExecutor uploadProcessingExecutor(
+            @Value("${upload.async.threads:4}") int threads,
+            @Value("${upload.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        // Running overflow work on the caller would block the request thread this pool exists to free.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Pool working on the entries of bulk (ZIP) uploads while the archive is still being read.
+     * Each worker waits for its entry's extraction on the text extraction pool and stores the
+     * resume. When the queue is full the request thread reading the archive runs the entry
+     * itself, which stops it from reading ahead: backpressure reaches the client through TCP.
+     */
+    @Bean(name = "bulkUploadExecutor")
+    public ThreadPoolTaskExecutor bulkUploadExecutor(
+            @Value("${upload.bulk.threads:4}") int threads,
+            @Value("${upload.bulk.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
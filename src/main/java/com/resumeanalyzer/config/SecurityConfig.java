@@ -30,6 +30,8 @@ public class SecurityConfig {
                         // This is the key change to allow your Angular frontend to connect.
                         // Ensure your actual backend endpoints start with /api/
                         .requestMatchers("/api/**").permitAll()
+                        // Health and metrics are read-only and contain no user data.
+                        .requestMatchers("/actuator/health", "/actuator/metrics/**").permitAll()
                         // Any other request (if you had other non-/api endpoints) would require authentication.
                         .anyRequest().authenticated()
                 )
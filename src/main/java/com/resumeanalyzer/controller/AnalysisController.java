@@ -1,17 +1,25 @@
 // src/main/java/com/resumeanalyzer/controller/AnalysisController.java
 package com.resumeanalyzer.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resumeanalyzer.dto.AnalysisResponse;
 import com.resumeanalyzer.dto.AnalysisResultResponse;
 import com.resumeanalyzer.dto.AnalysisRequestPayload;
+import com.resumeanalyzer.dto.PageResponse;
 import com.resumeanalyzer.model.AnalysisResult;
 import com.resumeanalyzer.service.AnalysisService;
+import com.resumeanalyzer.service.FirebaseService;
 import com.resumeanalyzer.service.JobDescriptionService;
 import com.resumeanalyzer.service.ResumeService;
+import com.resumeanalyzer.util.JsonArrayWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import java.io.IOException;
 import java.util.stream.Collectors;
 
 /**
@@ -32,21 +40,29 @@ public class AnalysisController {
     private final AnalysisService analysisService;
     private final ResumeService resumeService; // Still needed for fetching resume details if not fully abstracted
     private final JobDescriptionService jobDescriptionService; // Still needed for fetching job details if not fully abstracted
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
 
 
     /**
      * Constructs the AnalysisController with necessary services injected by Spring.
      * Note: ResumeAnalyzerService is removed from here as AnalysisService orchestrates it.
+     * @param objectMapper Serializes streamed lists.
+     * @param maxPageSize The largest page size clients may ask for.
      */
     @Autowired
     public AnalysisController(
             AnalysisService analysisService,
             ResumeService resumeService,
-            JobDescriptionService jobDescriptionService) {
+            JobDescriptionService jobDescriptionService,
+            ObjectMapper objectMapper,
+            @Value("${pagination.max-limit:500}") int maxPageSize) {
         // this.resumeAnalyzerService = resumeAnalyzerService; // No longer needed directly
         this.analysisService = analysisService;
         this.resumeService = resumeService;
         this.jobDescriptionService = jobDescriptionService;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -77,25 +93,56 @@ public class AnalysisController {
     }
 
     /**
-     * Retrieves all historical analysis results for the current user.
-     * Expected endpoint: GET /api/analysis
+     * Retrieves all historical analysis results for the current user, oldest first.
+     * The JSON array of AnalysisResultResponse DTOs is written while the results are read from
+     * the store, so no list of the whole history is built.
+     * Expected endpoint: GET /api/analysis, or GET /api/analysis?after={cursor} for the results
+     * after a page.
      *
-     * @return ResponseEntity with a list of AnalysisResultResponse DTOs.
+     * @param after The cursor to start after (optional).
+     * @param response The response the array is written to; 400 if the cursor is invalid.
+     * @throws IOException If the response cannot be written.
      */
     @GetMapping
-    public ResponseEntity<List<AnalysisResultResponse>> getAnalysisResults() {
-        List<AnalysisResult> results = analysisService.getAllAnalysisResults();
-        // Convert AnalysisResult models to AnalysisResultResponse DTOs for the frontend dashboard
-        List<AnalysisResultResponse> responses = results.stream()
-                .map(result -> new AnalysisResultResponse(
-                        result.getId(),
-                        result.getJobTitle(),
-                        result.getCompany(), // Use the company from AnalysisResult
-                        result.getMatchScore(),
-                        result.getAnalysisDate() // AnalysisDate is Instant, directly mappable to JS Date in frontend
-                ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public void getAnalysisResults(@RequestParam(value = "after", required = false) String after,
+                                   HttpServletResponse response) throws IOException {
+        FirebaseService.Cursor cursor;
+        try {
+            cursor = after != null ? FirebaseService.Cursor.decode(after) : null;
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonArrayWriter.write(objectMapper, analysisService.streamAnalysisResults(cursor).map(AnalysisController::toResponse),
+                response.getOutputStream());
+    }
+
+    /**
+     * Retrieves one page of historical analysis results for the current user, oldest first.
+     * Expected endpoint: GET /api/analysis?limit=50, then GET /api/analysis?limit=50&after={nextCursor}
+     *
+     * @param limit The maximum number of results in the page (1 to pagination.max-limit).
+     * @param after The nextCursor of the previous page (optional).
+     * @return ResponseEntity with the page, or 400 if limit or the cursor is invalid.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageResponse<AnalysisResultResponse>> getAnalysisResultPage(
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit < 1 || limit > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        FirebaseService.Page<AnalysisResult> page;
+        try {
+            page = analysisService.getAnalysisResultPage(after != null ? FirebaseService.Cursor.decode(after) : null, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new PageResponse<>(
+                page.documents().stream().map(AnalysisController::toResponse).collect(Collectors.toList()),
+                page.next() != null ? page.next().encode() : null));
     }
 
     /**
@@ -108,13 +155,7 @@ public class AnalysisController {
     @GetMapping("/{id}")
     public ResponseEntity<AnalysisResultResponse> getAnalysisResult(@PathVariable String id) {
         return analysisService.getAnalysisResult(id)
-                .map(result -> new AnalysisResultResponse(
-                        result.getId(),
-                        result.getJobTitle(),
-                        result.getCompany(),
-                        result.getMatchScore(),
-                        result.getAnalysisDate()
-                ))
+                .map(AnalysisController::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -137,4 +178,17 @@ public class AnalysisController {
             return ResponseEntity.status(500).build(); // Return 500 Internal Server Error on failure
         }
     }
+
+    /**
+     * Converts an AnalysisResult model to the AnalysisResultResponse DTO of the frontend dashboard.
+     */
+    private static AnalysisResultResponse toResponse(AnalysisResult result) {
+        return new AnalysisResultResponse(
+                result.getId(),
+                result.getJobTitle(),
+                result.getCompany(), // Use the company from AnalysisResult
+                result.getMatchScore(),
+                result.getAnalysisDate() // AnalysisDate is Instant, directly mappable to JS Date in frontend
+        );
+    }
 }
@@ -1,14 +1,24 @@
 package com.resumeanalyzer.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.dto.CandidateMatchResponse;
 import com.resumeanalyzer.dto.JobDescriptionRequest;
 import com.resumeanalyzer.dto.JobDescriptionResponse;
+import com.resumeanalyzer.dto.PageResponse;
 import com.resumeanalyzer.model.JobDescription;
+import com.resumeanalyzer.service.CandidateRankingService;
+import com.resumeanalyzer.service.FirebaseService;
 import com.resumeanalyzer.service.JobDescriptionService;
+import com.resumeanalyzer.util.JsonArrayWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,14 +36,24 @@ import java.util.stream.Collectors;
 public class JobDescriptionController {
 
     private final JobDescriptionService jobDescriptionService;
+    private final CandidateRankingService candidateRankingService;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
 
     /**
      * Constructs the JobDescriptionController with necessary services injected by Spring.
      * @param jobDescriptionService The service handling job description-related business logic.
+     * @param candidateRankingService The service ranking stored resumes against a job.
+     * @param objectMapper Serializes streamed lists.
+     * @param maxPageSize The largest page size clients may ask for.
      */
     @Autowired
-    public JobDescriptionController(JobDescriptionService jobDescriptionService) {
+    public JobDescriptionController(JobDescriptionService jobDescriptionService, CandidateRankingService candidateRankingService,
+                                    ObjectMapper objectMapper, @Value("${pagination.max-limit:500}") int maxPageSize) {
         this.jobDescriptionService = jobDescriptionService;
+        this.candidateRankingService = candidateRankingService;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -69,26 +89,55 @@ public class JobDescriptionController {
     }
 
     /**
-     * Retrieves all job descriptions for the current user.
-     * Expected endpoint: GET /api/jobs
+     * Retrieves all job descriptions for the current user, oldest first.
+     * The JSON array of JobDescriptionResponse DTOs is written while the job descriptions are
+     * read from the store (and their descriptions decompressed), so no list of all of them is built.
+     * Expected endpoint: GET /api/jobs, or GET /api/jobs?after={cursor} for the jobs after a page.
      *
-     * @return ResponseEntity with a list of JobDescriptionResponse DTOs.
+     * @param after The cursor to start after (optional).
+     * @param response The response the array is written to; 400 if the cursor is invalid.
+     * @throws IOException If the response cannot be written.
      */
     @GetMapping
-    public ResponseEntity<List<JobDescriptionResponse>> getJobDescriptions() {
-        List<JobDescription> jobs = jobDescriptionService.getAllJobDescriptions();
-        // Convert list of Models to list of Response DTOs
-        List<JobDescriptionResponse> responses = jobs.stream()
-                .map(job -> new JobDescriptionResponse(
-                        job.getId(),
-                        job.getTitle(),
-                        job.getDescription(),
-                        job.getRequiredSkills(),
-                        job.getPreferredSkills(),
-                        job.getExperienceLevel()
-                ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public void getJobDescriptions(@RequestParam(value = "after", required = false) String after,
+                                   HttpServletResponse response) throws IOException {
+        FirebaseService.Cursor cursor;
+        try {
+            cursor = after != null ? FirebaseService.Cursor.decode(after) : null;
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonArrayWriter.write(objectMapper, jobDescriptionService.streamJobDescriptions(cursor).map(this::toResponse),
+                response.getOutputStream());
+    }
+
+    /**
+     * Retrieves one page of job descriptions for the current user, oldest first.
+     * Expected endpoint: GET /api/jobs?limit=50, then GET /api/jobs?limit=50&after={nextCursor}
+     *
+     * @param limit The maximum number of job descriptions in the page (1 to pagination.max-limit).
+     * @param after The nextCursor of the previous page (optional).
+     * @return ResponseEntity with the page, or 400 if limit or the cursor is invalid.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageResponse<JobDescriptionResponse>> getJobDescriptionPage(
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit < 1 || limit > maxPageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        FirebaseService.Page<JobDescription> page;
+        try {
+            page = jobDescriptionService.getJobDescriptionPage(after != null ? FirebaseService.Cursor.decode(after) : null, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new PageResponse<>(
+                page.documents().stream().map(this::toResponse).collect(Collectors.toList()),
+                page.next() != null ? page.next().encode() : null));
     }
 
     /**
@@ -101,14 +150,27 @@ public class JobDescriptionController {
     @GetMapping("/{id}")
     public ResponseEntity<JobDescriptionResponse> getJobDescription(@PathVariable String id) {
         return jobDescriptionService.getJobDescription(id)
-                .map(job -> new JobDescriptionResponse(
-                        job.getId(),
-                        job.getTitle(),
-                        job.getDescription(),
-                        job.getRequiredSkills(),
-                        job.getPreferredSkills(),
-                        job.getExperienceLevel()
-                ))
+                .map(this::toResponse)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Ranks stored resumes by how many of the job's skills they have.
+     * Uses precomputed skills only; no LLM calls are made.
+     * Expected endpoint: GET /api/jobs/{id}/top-candidates?k=10
+     *
+     * @param id The ID of the job description.
+     * @param k The number of candidates to return (default 10).
+     * @return ResponseEntity with the ranked candidates, 400 if k is not positive, or 404 if the job is not found.
+     */
+    @GetMapping("/{id}/top-candidates")
+    public ResponseEntity<List<CandidateMatchResponse>> getTopCandidates(@PathVariable String id,
+                                                                         @RequestParam(defaultValue = "10") int k) {
+        if (k < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return candidateRankingService.topCandidates(id, k)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -164,4 +226,18 @@ public class JobDescriptionController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Converts a stored JobDescription model to its Response DTO, decompressing the description.
+     */
+    private JobDescriptionResponse toResponse(JobDescription job) {
+        return new JobDescriptionResponse(
+                job.getId(),
+                job.getTitle(),
+                jobDescriptionService.getDescription(job),
+                job.getRequiredSkills(),
+                job.getPreferredSkills(),
+                job.getExperienceLevel()
+        );
+    }
+}
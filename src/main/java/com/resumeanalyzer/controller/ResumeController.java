@@ -1,15 +1,26 @@
 // src/main/java/com/resumeanalyzer/controller/ResumeController.java
 package com.resumeanalyzer.controller;
 
+import com.resumeanalyzer.dto.ResumeStatusResponse;
 import com.resumeanalyzer.dto.ResumeUploadResponse;
+import com.resumeanalyzer.exception.ExtractionAbortedException;
+import com.resumeanalyzer.exception.ExtractionRejectedException;
 import com.resumeanalyzer.model.Resume;
+import com.resumeanalyzer.model.ResumeStatus;
+import com.resumeanalyzer.service.BulkUploadService;
 import com.resumeanalyzer.service.ResumeService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.net.URI;
 import java.time.Instant; // Ensure Instant is used for dates
 
 /**
@@ -25,26 +36,47 @@ import java.time.Instant; // Ensure Instant is used for dates
 public class ResumeController {
 
     private final ResumeService resumeService;
+    private final BulkUploadService bulkUploadService;
 
     @Autowired
-    public ResumeController(ResumeService resumeService) {
+    public ResumeController(ResumeService resumeService, BulkUploadService bulkUploadService) {
         this.resumeService = resumeService;
+        this.bulkUploadService = bulkUploadService;
     }
 
     /**
      * Handles resume file uploads.
+     * With `async=true` the upload is only spooled and queued: the response is 202 Accepted
+     * with the resume ID, and progress is available from `GET /api/resumes/{id}/status`.
      * @param file The resume file to upload.
+     * @param async Whether to process the upload in the background.
      * @return ResponseEntity with ResumeUploadResponse.
      */
     @PostMapping("/upload")
-    public ResponseEntity<ResumeUploadResponse> uploadResume(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<ResumeUploadResponse> uploadResume(@RequestParam("file") MultipartFile file,
+                                                             @RequestParam(value = "async", defaultValue = "false") boolean async) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body(new ResumeUploadResponse(null, "No file provided", null));
         }
         try {
+            if (async) {
+                Resume acceptedResume = resumeService.submitResume(file);
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/resumes/" + acceptedResume.getId() + "/status"))
+                        .body(new ResumeUploadResponse(acceptedResume.getId(), "Resume accepted for processing.", acceptedResume.getUploadDate()));
+            }
             // Corrected method call: Use 'saveResume' instead of 'uploadAndProcessResume'
             Resume uploadedResume = resumeService.saveResume(file);
             return ResponseEntity.ok(new ResumeUploadResponse(uploadedResume.getId(), "Resume uploaded successfully!", uploadedResume.getUploadDate()));
+        } catch (ExtractionRejectedException e) {
+            // Server is at capacity: tell the client when to retry instead of queueing indefinitely.
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                    .body(new ResumeUploadResponse(null, e.getMessage(), null));
+        } catch (ExtractionAbortedException e) {
+            // The document itself is the problem (too large, too complex); retrying will not help.
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(new ResumeUploadResponse(null, "Resume could not be processed: " + e.getMessage(), null));
         } catch (IOException e) {
             return ResponseEntity.status(500).body(new ResumeUploadResponse(null, "Failed to upload resume: " + e.getMessage(), null));
         } catch (Exception e) {
@@ -52,6 +84,23 @@ public class ResumeController {
         }
     }
 
+    /**
+     * Handles bulk uploads: the request body is a ZIP archive of resume files (sent as is, not
+     * as multipart form data). Files are processed while the archive is still being received,
+     * and the response is NDJSON: one line per file as soon as it is done, then a summary line.
+     * Since results are streamed, the HTTP status is 200 even if some files fail; per-file
+     * outcomes and whether the whole archive was read are in the lines themselves.
+     * @param request The request whose body is the archive.
+     * @param response The response the NDJSON lines are written to.
+     * @throws IOException If the request body or response cannot be opened.
+     */
+    @PostMapping(value = "/bulk", consumes = {"application/zip", "application/x-zip-compressed", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public void uploadResumes(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkUploadService.ingest(request.getInputStream(), response.getOutputStream());
+    }
+
     /**
      * Retrieves a resume by its ID.
      * @param id The ID of the resume.
@@ -59,11 +108,30 @@ public class ResumeController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<Resume> getResume(@PathVariable String id) {
-        return resumeService.getResume(id)
+        return resumeService.getResumeWithContent(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Reports the processing state of a resume, for polling after an asynchronous upload.
+     * @param id The ID of the resume.
+     * @return ResponseEntity with ResumeStatusResponse.
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<ResumeStatusResponse> getResumeStatus(@PathVariable String id) {
+        return resumeService.getResume(id)
+                .map(resume -> ResponseEntity.ok(new ResumeStatusResponse(resume.getId(), statusOf(resume), resume.getStatusMessage())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResumeStatus statusOf(Resume resume) {
+        if (resume.getStatus() != null) {
+            return resume.getStatus();
+        }
+        return resume.hasCurrentSkills() ? ResumeStatus.READY : ResumeStatus.EXTRACTED;
+    }
+
     /**
      * Deletes a resume by its ID.
      * @param id The ID of the resume.
@@ -0,0 +1,93 @@
+package com.resumeanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.resumeanalyzer.model.ResumeStatus;
+
+/**
+ * DTO for one file of a bulk (ZIP) upload; one line of the NDJSON response.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUploadEntryResult {
+
+    /**
+     * What happened to the file.
+     */
+    public enum Outcome {
+        SAVED,    // Stored as a resume (or resolved to an identical earlier upload)
+        FAILED,   // The file itself could not be processed; resending it will not help
+        REJECTED  // The server was at capacity; the file can be resent
+    }
+
+    private final String type = "entry";
+    private int index; // Position of the file in the archive, counting files only
+    private String entry; // Path of the file inside the archive
+    private Outcome outcome;
+    private String resumeId;
+    private ResumeStatus resumeStatus;
+    private String message;
+
+    public BulkUploadEntryResult() {
+    }
+
+    public BulkUploadEntryResult(int index, String entry, Outcome outcome, String resumeId, ResumeStatus resumeStatus, String message) {
+        this.index = index;
+        this.entry = entry;
+        this.outcome = outcome;
+        this.resumeId = resumeId;
+        this.resumeStatus = resumeStatus;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getEntry() {
+        return entry;
+    }
+
+    public void setEntry(String entry) {
+        this.entry = entry;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getResumeId() {
+        return resumeId;
+    }
+
+    public void setResumeId(String resumeId) {
+        this.resumeId = resumeId;
+    }
+
+    public ResumeStatus getResumeStatus() {
+        return resumeStatus;
+    }
+
+    public void setResumeStatus(ResumeStatus resumeStatus) {
+        this.resumeStatus = resumeStatus;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,82 @@
+package com.resumeanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO closing the NDJSON response of a bulk (ZIP) upload, after all per-file results.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUploadSummary {
+    private final String type = "summary";
+    private int files; // Files found in the archive and processed
+    private int saved;
+    private int failed;
+    private int rejected;
+    private boolean complete; // False if the archive was not read to the end
+    private String message; // Why the archive was not read to the end
+
+    public BulkUploadSummary() {
+    }
+
+    public BulkUploadSummary(int files, int saved, int failed, int rejected, boolean complete, String message) {
+        this.files = files;
+        this.saved = saved;
+        this.failed = failed;
+        this.rejected = rejected;
+        this.complete = complete;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public int getFiles() {
+        return files;
+    }
+
+    public void setFiles(int files) {
+        this.files = files;
+    }
+
+    public int getSaved() {
+        return saved;
+    }
+
+    public void setSaved(int saved) {
+        this.saved = saved;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
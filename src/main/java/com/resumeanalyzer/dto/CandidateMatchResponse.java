@@ -0,0 +1,67 @@
+package com.resumeanalyzer.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one ranked candidate returned by `GET /api/jobs/{id}/top-candidates`.
+ */
+public class CandidateMatchResponse {
+    private String resumeId;
+    private String fileName;
+    private double matchScore; // Percentage of the job's skills found in the resume (0.0 to 100.0)
+    private List<String> matchedSkills;
+    private List<String> missingSkills;
+
+    // Constructors
+    public CandidateMatchResponse() {
+    }
+
+    public CandidateMatchResponse(String resumeId, String fileName, double matchScore, List<String> matchedSkills, List<String> missingSkills) {
+        this.resumeId = resumeId;
+        this.fileName = fileName;
+        this.matchScore = matchScore;
+        this.matchedSkills = matchedSkills;
+        this.missingSkills = missingSkills;
+    }
+
+    // Getters and Setters
+    public String getResumeId() {
+        return resumeId;
+    }
+
+    public void setResumeId(String resumeId) {
+        this.resumeId = resumeId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public double getMatchScore() {
+        return matchScore;
+    }
+
+    public void setMatchScore(double matchScore) {
+        this.matchScore = matchScore;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+
+    public List<String> getMissingSkills() {
+        return missingSkills;
+    }
+
+    public void setMissingSkills(List<String> missingSkills) {
+        this.missingSkills = missingSkills;
+    }
+}
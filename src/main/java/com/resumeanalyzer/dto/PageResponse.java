@@ -0,0 +1,37 @@
+package com.resumeanalyzer.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a list endpoint. Pass nextCursor as the `after` parameter to get the
+ * following page; it is null on the last page.
+ */
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    public PageResponse() {
+    }
+
+    public PageResponse(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
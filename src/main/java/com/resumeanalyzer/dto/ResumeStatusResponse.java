@@ -0,0 +1,46 @@
+package com.resumeanalyzer.dto;
+
+import com.resumeanalyzer.model.ResumeStatus;
+
+/**
+ * DTO reporting the processing state of an uploaded resume.
+ */
+public class ResumeStatusResponse {
+    private String id;
+    private ResumeStatus status;
+    private String message;
+
+    public ResumeStatusResponse() {
+    }
+
+    public ResumeStatusResponse(String id, ResumeStatus status, String message) {
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ResumeStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ResumeStatus status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.resumeanalyzer.exception;
+
+/**
+ * Thrown when text extraction of a document is stopped because the document exceeded one
+ * of the extraction limits. Retrying the same document will fail again.
+ */
+public class ExtractionAbortedException extends RuntimeException {
+
+    /**
+     * The limit that was exceeded.
+     */
+    public enum Reason {
+        DEADLINE,
+        PAGES,
+        CHARS,
+        DECOMPRESSED_BYTES,
+        FILE_SIZE
+    }
+
+    private final Reason reason;
+
+    public ExtractionAbortedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,21 @@
+package com.resumeanalyzer.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a document is not extracted because the server is at capacity.
+ * Clients should retry after {@link #getRetryAfter()}.
+ */
+public class ExtractionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ExtractionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
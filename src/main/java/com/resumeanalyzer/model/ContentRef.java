@@ -0,0 +1,69 @@
+package com.resumeanalyzer.model;
+
+import java.util.Objects;
+
+/**
+ * Where a stored text lives in the blob segment files: segment number, byte offset and
+ * byte length of its UTF-8 encoding.
+ */
+public class ContentRef {
+    private int segment; // Segment file number
+    private long offset; // Byte offset into the segment
+    private int length; // Length in bytes
+
+    public ContentRef() {
+        // Default constructor needed for Firestore deserialization
+    }
+
+    public ContentRef(int segment, long offset, int length) {
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    // Getters and Setters
+    public int getSegment() {
+        return segment;
+    }
+
+    public void setSegment(int segment) {
+        this.segment = segment;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContentRef other)) {
+            return false;
+        }
+        return segment == other.segment && offset == other.offset && length == other.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(segment, offset, length);
+    }
+
+    @Override
+    public String toString() {
+        return segment + ":" + offset + "+" + length;
+    }
+}
@@ -1,16 +1,26 @@
 package com.resumeanalyzer.model;
 
+import java.util.List;
+
 /**
  * Model representing a job description. This entity will be stored in Firestore.
  * It contains all the details of a job posting against which resumes will be analyzed.
+ *
+ * Stored job descriptions keep the description text compressed and {@link #getDescription()}
+ * is null on them; load the text through the repository when it is needed.
  */
 public class JobDescription {
     private String id; // Unique ID for the job description (Firestore document ID)
     private String title;
-    private String description;
+    private String description; // Null once stored (see compressedDescription)
+    private byte[] compressedDescription; // The description as stored by the repository
     private String requiredSkills;  // Stored as a comma-separated string for simplicity
     private String preferredSkills; // Stored as a comma-separated string for simplicity
     private String experienceLevel;
+    private String createdAt; // When the job description was created (ISO-8601); lists are ordered by it
+    private long contentVersion; // Incremented whenever the description changes
+    private List<String> skills; // Canonical skills extracted from the description, computed in the background
+    private long skillsVersion; // The contentVersion the skills were extracted from
 
     // Constructors
     public JobDescription() {
@@ -51,6 +61,14 @@ public class JobDescription {
         this.description = description;
     }
 
+    public byte[] getCompressedDescription() {
+        return compressedDescription;
+    }
+
+    public void setCompressedDescription(byte[] compressedDescription) {
+        this.compressedDescription = compressedDescription;
+    }
+
     public String getRequiredSkills() {
         return requiredSkills;
     }
@@ -74,4 +92,43 @@ public class JobDescription {
     public void setExperienceLevel(String experienceLevel) {
         this.experienceLevel = experienceLevel;
     }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
+    public void setContentVersion(long contentVersion) {
+        this.contentVersion = contentVersion;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public long getSkillsVersion() {
+        return skillsVersion;
+    }
+
+    public void setSkillsVersion(long skillsVersion) {
+        this.skillsVersion = skillsVersion;
+    }
+
+    /**
+     * @return True if skills have been extracted from the current content.
+     */
+    public boolean hasCurrentSkills() {
+        return skills != null && skillsVersion == contentVersion;
+    }
 }
\ No newline at end of file
@@ -3,18 +3,31 @@ package com.resumeanalyzer.model;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Model representing an uploaded resume. This entity will be stored in Firestore.
  * It holds the extracted text content of the resume and metadata like upload date.
+ *
+ * Stored resumes keep their text outside the document, in the resume content store, and only
+ * hold a {@link ContentRef} to it; {@link #getContent()} is null on them. Load the text through
+ * the repository when it is needed.
  */
 public class Resume {
     private String id; // Unique ID for the resume (Firestore document ID)
-    private String content; // Extracted text content of the resume
+    private String content; // Extracted text content of the resume; null once stored (see contentRef)
+    private ContentRef contentRef; // Where the stored text lives in the resume content store
     private String fileName; // Original file name of the uploaded resume
     private String contentType; // MIME type of the uploaded file
     private long fileSize; // Size of the uploaded file in bytes
     private String uploadDate; // Timestamp of when the resume was uploaded
+    private String contentHash; // SHA-256 of the uploaded file bytes, used to recognize duplicate uploads
+    private long contentVersion; // Incremented whenever the content changes
+    private List<String> skills; // Canonical skills extracted from the content, computed in the background
+    private long skillsVersion; // The contentVersion the skills were extracted from
+    private ResumeStatus status; // Processing state; null for resumes stored before uploads were tracked
+    private String statusMessage; // Reason for a FAILED status
+    private List<ResumeSection> sections; // Sections of the content, detected at ingest; null if not segmented
 
     // Constructors
     public Resume() {
@@ -47,6 +60,14 @@ public class Resume {
         this.content = content;
     }
 
+    public ContentRef getContentRef() {
+        return contentRef;
+    }
+
+    public void setContentRef(ContentRef contentRef) {
+        this.contentRef = contentRef;
+    }
+
     public String getFileName() {
         return fileName;
     }
@@ -78,4 +99,67 @@ public class Resume {
     public void setUploadDate(String uploadDate) {
         this.uploadDate = uploadDate;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
+    public void setContentVersion(long contentVersion) {
+        this.contentVersion = contentVersion;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public long getSkillsVersion() {
+        return skillsVersion;
+    }
+
+    public void setSkillsVersion(long skillsVersion) {
+        this.skillsVersion = skillsVersion;
+    }
+
+    public ResumeStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ResumeStatus status) {
+        this.status = status;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public void setStatusMessage(String statusMessage) {
+        this.statusMessage = statusMessage;
+    }
+
+    public List<ResumeSection> getSections() {
+        return sections;
+    }
+
+    public void setSections(List<ResumeSection> sections) {
+        this.sections = sections;
+    }
+
+    /**
+     * @return True if skills have been extracted from the current content.
+     */
+    public boolean hasCurrentSkills() {
+        return skills != null && skillsVersion == contentVersion;
+    }
 }
\ No newline at end of file
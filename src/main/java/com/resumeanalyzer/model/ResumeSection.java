@@ -0,0 +1,46 @@
+package com.resumeanalyzer.model;
+
+/**
+ * A section of a resume's content, stored as character offsets into {@link Resume#getContent()}.
+ * The range starts at the section heading (if any) and ends where the next section starts.
+ */
+public class ResumeSection {
+    private SectionType type;
+    private int start; // Inclusive offset into the content
+    private int end; // Exclusive offset into the content
+
+    public ResumeSection() {
+        // Default constructor needed for Firestore deserialization
+    }
+
+    public ResumeSection(SectionType type, int start, int end) {
+        this.type = type;
+        this.start = start;
+        this.end = end;
+    }
+
+    // Getters and Setters
+    public SectionType getType() {
+        return type;
+    }
+
+    public void setType(SectionType type) {
+        this.type = type;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+}
@@ -0,0 +1,12 @@
+package com.resumeanalyzer.model;
+
+/**
+ * Processing state of an uploaded resume.
+ */
+public enum ResumeStatus {
+    QUEUED,     // Upload accepted and spooled, waiting for a worker
+    EXTRACTING, // Text extraction in progress
+    EXTRACTED,  // Text available; skills are being precomputed in the background
+    READY,      // Text and skills available
+    FAILED      // Extraction failed; see the status message
+}
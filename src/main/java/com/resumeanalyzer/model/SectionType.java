@@ -0,0 +1,20 @@
+package com.resumeanalyzer.model;
+
+/**
+ * Kinds of resume sections recognized by the section segmenter.
+ */
+public enum SectionType {
+    CONTACT,        // Text before the first heading: name, contact details
+    SUMMARY,
+    SKILLS,
+    EXPERIENCE,
+    PROJECTS,
+    EDUCATION,
+    CERTIFICATIONS,
+    PUBLICATIONS,
+    AWARDS,
+    LANGUAGES,
+    VOLUNTEERING,
+    INTERESTS,
+    REFERENCES
+}
@@ -6,7 +6,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * Simulated Repository for AnalysisResult entities.
@@ -15,17 +15,15 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @Repository
 public class AnalysisResultRepository {
-    // In-memory store for AnalysisResult objects
-    private final ConcurrentHashMap<String, AnalysisResult> inMemoryStore = new ConcurrentHashMap<>();
-
     // Simulated Firestore collection name
     private static final String COLLECTION_NAME = "analysis_results";
 
-    // Although FirebaseService is injected, its methods will operate on inMemoryStore for simulation.
     private final FirebaseService firebaseService;
 
     public AnalysisResultRepository(FirebaseService firebaseService) {
         this.firebaseService = firebaseService;
+        firebaseService.orderCollectionBy(COLLECTION_NAME, AnalysisResult.class,
+                document -> FirebaseService.timestampKey(document.getAnalysisDate()));
     }
 
     /**
@@ -40,12 +38,12 @@ public class AnalysisResultRepository {
         }
         // Simulate saving to Firestore via FirebaseService (in-memory for now)
         firebaseService.saveDocument(COLLECTION_NAME, result.getId(), result);
-        inMemoryStore.put(result.getId(), result); // Keep in in-memory store
         return result;
     }
 
     /**
      * Retrieves an AnalysisResult by its ID.
+     * The AnalysisResult is the stored snapshot, shared with other readers; do not modify it.
      * @param id The ID of the AnalysisResult.
      * @return An Optional containing the AnalysisResult if found, empty otherwise.
      */
@@ -55,7 +53,7 @@ public class AnalysisResultRepository {
     }
 
     /**
-     * Retrieves all AnalysisResults.
+     * Retrieves all AnalysisResults, as read-only snapshots.
      * @return A list of all AnalysisResults.
      */
     public List<AnalysisResult> findAll() {
@@ -63,6 +61,26 @@ public class AnalysisResultRepository {
         return firebaseService.getCollection(COLLECTION_NAME, AnalysisResult.class);
     }
 
+    /**
+     * Retrieves a page of AnalysisResults, ordered by analysis date (oldest first), as read-only snapshots.
+     * @param after The cursor the previous page ended at, or null for the first page.
+     * @param limit The maximum number of AnalysisResults to return.
+     * @return The page, with the cursor of the next one.
+     */
+    public FirebaseService.Page<AnalysisResult> findPage(FirebaseService.Cursor after, int limit) {
+        return firebaseService.getCollectionPage(COLLECTION_NAME, AnalysisResult.class, after, limit);
+    }
+
+    /**
+     * Streams AnalysisResults, ordered by analysis date (oldest first), as read-only snapshots. Each one is
+     * read from the store only when the stream reaches it.
+     * @param after The cursor to start after, or null to start at the oldest.
+     * @return The AnalysisResults.
+     */
+    public Stream<AnalysisResult> streamAll(FirebaseService.Cursor after) {
+        return firebaseService.streamCollection(COLLECTION_NAME, AnalysisResult.class, after);
+    }
+
     /**
      * Deletes an AnalysisResult by its ID.
      * @param id The ID of the AnalysisResult to delete.
@@ -70,7 +88,6 @@ public class AnalysisResultRepository {
      */
     public boolean deleteById(String id) {
         // Simulate deleting from Firestore via FirebaseService
-        firebaseService.deleteDocument(COLLECTION_NAME, id);
-        return inMemoryStore.remove(id) != null;
+        return firebaseService.deleteDocument(COLLECTION_NAME, id);
     }
 }
\ No newline at end of file
@@ -2,49 +2,99 @@ package com.resumeanalyzer.repo;
 
 import com.resumeanalyzer.model.JobDescription;
 import com.resumeanalyzer.service.FirebaseService;
+import com.resumeanalyzer.service.TextCompressor;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * Simulated Repository for JobDescription entities.
  * In a real application, this would interact with a database like Firestore.
  * For demonstration, it uses an in-memory map.
+ *
+ * Descriptions are stored compressed by the {@link TextCompressor}; stored JobDescriptions
+ * hold no description text, so use {@link #loadDescription} to get it.
  */
 @Repository
 public class JobDescriptionRepository {
-    // In-memory store for JobDescription objects
-    private final ConcurrentHashMap<String, JobDescription> inMemoryStore = new ConcurrentHashMap<>();
-
     // Simulated Firestore collection name
     private static final String COLLECTION_NAME = "job_descriptions";
 
     private final FirebaseService firebaseService;
+    private final TextCompressor textCompressor;
 
-    public JobDescriptionRepository(FirebaseService firebaseService) {
+    public JobDescriptionRepository(FirebaseService firebaseService, TextCompressor textCompressor) {
         this.firebaseService = firebaseService;
+        this.textCompressor = textCompressor;
+        firebaseService.orderCollectionBy(COLLECTION_NAME, JobDescription.class,
+                document -> FirebaseService.timestampKey(document.getCreatedAt()));
     }
 
     /**
      * Saves a new JobDescription or updates an existing one.
-     * Assigns a new ID if the entity does not have one.
+     * Assigns a new ID if the entity does not have one. The description is stored compressed;
+     * the caller's object keeps its text.
      * @param jobDescription The JobDescription to save.
      * @return The saved JobDescription with its ID.
      */
-    public JobDescription save(JobDescription jobDescription) {
+    public synchronized JobDescription save(JobDescription jobDescription) {
         if (jobDescription.getId() == null || jobDescription.getId().isEmpty()) {
             jobDescription.setId(UUID.randomUUID().toString()); // Generate a unique ID
         }
-        // Simulate saving to Firestore via FirebaseService (in-memory for now)
-        firebaseService.saveDocument(COLLECTION_NAME, jobDescription.getId(), jobDescription);
-        inMemoryStore.put(jobDescription.getId(), jobDescription); // Keep in in-memory store
+        String description = jobDescription.getDescription();
+        if (description != null && textCompressor.isEnabled()) {
+            jobDescription.setCompressedDescription(textCompressor.compress(description, TextCompressor.TextField.JOB_DESCRIPTION));
+            jobDescription.setDescription(null); // The stored document holds the compressed text only
+            try {
+                firebaseService.saveDocument(COLLECTION_NAME, jobDescription.getId(), jobDescription);
+            } finally {
+                jobDescription.setDescription(description);
+            }
+        } else {
+            // Simulate saving to Firestore via FirebaseService (in-memory for now)
+            firebaseService.saveDocument(COLLECTION_NAME, jobDescription.getId(), jobDescription);
+        }
         return jobDescription;
     }
 
+    /**
+     * Decompresses the description of a JobDescription.
+     * @param jobDescription A JobDescription, stored or not.
+     * @return Its description text, or null if it has none.
+     */
+    public String loadDescription(JobDescription jobDescription) {
+        if (jobDescription.getDescription() != null) {
+            return jobDescription.getDescription();
+        }
+        byte[] compressed = jobDescription.getCompressedDescription();
+        return compressed != null ? textCompressor.decompress(compressed, TextCompressor.TextField.JOB_DESCRIPTION) : null;
+    }
+
+    /**
+     * Stores skills extracted in the background, but only if the JobDescription still has the
+     * content version they were extracted from. Synchronized with save() so a concurrent
+     * content update is never overwritten by stale skills.
+     * @param id The ID of the JobDescription.
+     * @param contentVersion The content version the skills were extracted from.
+     * @param skills The extracted skills.
+     * @return True if the skills were stored, false if the JobDescription is gone or has changed since.
+     */
+    public synchronized boolean updateSkills(String id, long contentVersion, List<String> skills) {
+        JobDescription current = firebaseService.getDocumentForUpdate(COLLECTION_NAME, id, JobDescription.class);
+        if (current == null || current.getContentVersion() != contentVersion) {
+            return false;
+        }
+        current.setSkills(skills);
+        current.setSkillsVersion(contentVersion);
+        firebaseService.saveDocument(COLLECTION_NAME, id, current);
+        return true;
+    }
+
     /**
      * Retrieves a JobDescription by its ID.
+     * The JobDescription is the stored snapshot, shared with other readers; do not modify it.
      * @param id The ID of the JobDescription.
      * @return An Optional containing the JobDescription if found, empty otherwise.
      */
@@ -54,7 +104,7 @@ public class JobDescriptionRepository {
     }
 
     /**
-     * Retrieves all JobDescriptions.
+     * Retrieves all JobDescriptions, as read-only snapshots.
      * @return A list of all JobDescriptions.
      */
     public List<JobDescription> findAll() {
@@ -62,6 +112,26 @@ public class JobDescriptionRepository {
         return firebaseService.getCollection(COLLECTION_NAME, JobDescription.class);
     }
 
+    /**
+     * Retrieves a page of JobDescriptions, ordered by creation time (oldest first), as read-only snapshots.
+     * @param after The cursor the previous page ended at, or null for the first page.
+     * @param limit The maximum number of JobDescriptions to return.
+     * @return The page, with the cursor of the next one.
+     */
+    public FirebaseService.Page<JobDescription> findPage(FirebaseService.Cursor after, int limit) {
+        return firebaseService.getCollectionPage(COLLECTION_NAME, JobDescription.class, after, limit);
+    }
+
+    /**
+     * Streams JobDescriptions, ordered by creation time (oldest first), as read-only snapshots. Each one is
+     * read from the store only when the stream reaches it.
+     * @param after The cursor to start after, or null to start at the oldest.
+     * @return The JobDescriptions.
+     */
+    public Stream<JobDescription> streamAll(FirebaseService.Cursor after) {
+        return firebaseService.streamCollection(COLLECTION_NAME, JobDescription.class, after);
+    }
+
     /**
      * Deletes a JobDescription by its ID.
      * @param id The ID of the JobDescription to delete.
@@ -69,7 +139,6 @@ public class JobDescriptionRepository {
      */
     public boolean deleteById(String id) {
         // Simulate deleting from Firestore via FirebaseService
-        firebaseService.deleteDocument(COLLECTION_NAME, id);
-        return inMemoryStore.remove(id) != null;
+        return firebaseService.deleteDocument(COLLECTION_NAME, id);
     }
 }
\ No newline at end of file
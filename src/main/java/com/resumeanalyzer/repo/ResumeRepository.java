@@ -1,50 +1,198 @@
 package com.resumeanalyzer.repo;
 
+import com.resumeanalyzer.model.ContentRef;
 import com.resumeanalyzer.model.Resume;
+import com.resumeanalyzer.model.ResumeStatus;
 import com.resumeanalyzer.service.FirebaseService;
+import com.resumeanalyzer.service.ResumeContentStore;
+import com.resumeanalyzer.service.SkillDictionary;
 import org.springframework.stereotype.Repository;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
 
 /**
  * Simulated Repository for Resume entities.
  * In a real application, this would interact with a database like Firestore.
  * For demonstration, it uses an in-memory map.
+ *
+ * Resume texts are kept in the {@link ResumeContentStore}: stored resumes hold a reference to
+ * their text and no text, so use {@link #loadContent} or {@link #findByIdWithContent} to get it.
  */
 @Repository
 public class ResumeRepository {
-    // In-memory store for Resume objects
-    private final ConcurrentHashMap<String, Resume> inMemoryStore = new ConcurrentHashMap<>();
+    private static final Logger logger = Logger.getLogger(ResumeRepository.class.getName());
+
+    // Content hash -> IDs of resumes uploaded with those bytes, oldest first. Guarded by `this`.
+    private final Map<String, Set<String>> idsByContentHash = new HashMap<>();
 
     // Simulated Firestore collection name
     private static final String COLLECTION_NAME = "resumes";
 
     private final FirebaseService firebaseService;
+    private final ResumeSkillIndex resumeSkillIndex;
+    private final SkillDictionary skillDictionary;
+    private final ResumeContentStore contentStore;
 
-    public ResumeRepository(FirebaseService firebaseService) {
+    public ResumeRepository(FirebaseService firebaseService, ResumeSkillIndex resumeSkillIndex, SkillDictionary skillDictionary,
+                            ResumeContentStore contentStore) {
         this.firebaseService = firebaseService;
+        this.resumeSkillIndex = resumeSkillIndex;
+        this.skillDictionary = skillDictionary;
+        this.contentStore = contentStore;
+        rebuildIndexes();
+    }
+
+    /**
+     * Indexes the resumes recovered by a persistent store and counts the texts they reference
+     * as live, so texts left behind by resumes that are gone get trimmed or compacted away. Uploads that
+     * were still queued or being extracted when the application stopped lost their spooled
+     * file, so they are marked as failed.
+     */
+    private synchronized void rebuildIndexes() {
+        for (Resume resume : firebaseService.getCollection(COLLECTION_NAME, Resume.class)) {
+            if (contentStore.isEnabled() && resume.getContentRef() != null) {
+                contentStore.retain(resume.getContentRef());
+            }
+            if (resume.getStatus() == ResumeStatus.QUEUED || resume.getStatus() == ResumeStatus.EXTRACTING) {
+                Resume interrupted = firebaseService.getDocumentForUpdate(COLLECTION_NAME, resume.getId(), Resume.class);
+                interrupted.setStatus(ResumeStatus.FAILED);
+                interrupted.setStatusMessage("Processing was interrupted by a restart; please upload the file again.");
+                save(interrupted);
+            } else {
+                index(resume);
+            }
+        }
+        if (contentStore.isEnabled()) {
+            contentStore.trimRecoveredSegments();
+            contentStore.requestCompaction(this::compactContent);
+        }
     }
 
     /**
      * Saves a new Resume or updates an existing one.
-     * Assigns a new ID if the entity does not have one.
+     * Assigns a new ID if the entity does not have one. If the Resume carries its text, the
+     * text is written to the content store and the Resume is stored with a reference to it;
+     * the caller's object keeps the text and gets the new reference. A Resume saved without
+     * its text keeps the stored text, even if the caller's reference is outdated by a compaction.
      * @param resume The Resume to save.
      * @return The saved Resume with its ID.
      */
-    public Resume save(Resume resume) {
+    public synchronized Resume save(Resume resume) {
         if (resume.getId() == null || resume.getId().isEmpty()) {
             resume.setId(UUID.randomUUID().toString()); // Generate a unique ID
         }
-        // Simulate saving to Firestore via FirebaseService (in-memory for now)
-        firebaseService.saveDocument(COLLECTION_NAME, resume.getId(), resume);
-        inMemoryStore.put(resume.getId(), resume); // Keep in in-memory store
+        Resume previous = firebaseService.getDocument(COLLECTION_NAME, resume.getId(), Resume.class);
+        String content = resume.getContent();
+        if (content != null && contentStore.isEnabled()) {
+            resume.setContentRef(contentStore.write(content));
+            resume.setContent(null); // The stored document holds the reference only
+            try {
+                firebaseService.saveDocument(COLLECTION_NAME, resume.getId(), resume);
+            } finally {
+                resume.setContent(content);
+            }
+        } else {
+            if (content == null && previous != null && contentStore.isEnabled()) {
+                resume.setContentRef(previous.getContentRef());
+            }
+            // Simulate saving to Firestore via FirebaseService (in-memory for now)
+            firebaseService.saveDocument(COLLECTION_NAME, resume.getId(), resume);
+        }
+        if (previous != null) {
+            unindexContentHash(previous.getContentHash(), previous.getId());
+            if (previous.getContentRef() != null && !previous.getContentRef().equals(resume.getContentRef())) {
+                releaseContent(previous.getContentRef());
+            }
+        }
+        index(resume);
         return resume;
     }
 
+    /**
+     * Saves a new Resume that shares the stored text of another one, as for a duplicate upload.
+     * The text is not written again; each Resume holds its own share of it, so deleting either
+     * one leaves the other's text in place.
+     * @param resume The new Resume, without text.
+     * @param sourceId The ID of the Resume whose text it shares.
+     * @return True if the Resume was saved, false if the source Resume no longer exists.
+     */
+    public synchronized boolean saveSharingContent(Resume resume, String sourceId) {
+        Resume source = firebaseService.getDocument(COLLECTION_NAME, sourceId, Resume.class);
+        if (source == null) {
+            return false;
+        }
+        // Read under the lock, so the reference is not outdated by a compaction or released by a delete.
+        ContentRef ref = source.getContentRef();
+        if (ref != null && contentStore.isEnabled()) {
+            contentStore.retain(ref);
+            resume.setContent(null);
+            resume.setContentRef(ref);
+        } else {
+            resume.setContent(loadContent(source)); // Texts are kept in the documents
+        }
+        save(resume);
+        return true;
+    }
+
+    private void index(Resume resume) {
+        if (resume.getContentHash() != null) {
+            idsByContentHash.computeIfAbsent(resume.getContentHash(), hash -> new LinkedHashSet<>()).add(resume.getId());
+        }
+        // Keep the skill index in step; skills of an older content version are not indexed.
+        if (resume.hasCurrentSkills()) {
+            resumeSkillIndex.put(resume.getId(), skillDictionary.encode(resume.getSkills()));
+        } else {
+            resumeSkillIndex.remove(resume.getId());
+        }
+    }
+
+    /**
+     * Saves a Resume only if it is still stored, so background processing never brings back
+     * a Resume that was deleted in the meantime.
+     * @param resume The Resume to save.
+     * @return True if the Resume was saved, false if it no longer exists.
+     */
+    public synchronized boolean update(Resume resume) {
+        if (firebaseService.getDocument(COLLECTION_NAME, resume.getId(), Resume.class) == null) {
+            return false;
+        }
+        save(resume);
+        return true;
+    }
+
+    /**
+     * Stores skills extracted in the background, but only if the Resume still has the
+     * content version they were extracted from. Synchronized with save() so a concurrent
+     * content update is never overwritten by stale skills.
+     * @param id The ID of the Resume.
+     * @param contentVersion The content version the skills were extracted from.
+     * @param skills The extracted skills.
+     * @return True if the skills were stored, false if the Resume is gone or has changed since.
+     */
+    public synchronized boolean updateSkills(String id, long contentVersion, List<String> skills) {
+        Resume current = firebaseService.getDocumentForUpdate(COLLECTION_NAME, id, Resume.class);
+        if (current == null || current.getContentVersion() != contentVersion) {
+            return false;
+        }
+        current.setSkills(skills);
+        current.setSkillsVersion(contentVersion);
+        if (current.getStatus() == ResumeStatus.EXTRACTED) {
+            current.setStatus(ResumeStatus.READY);
+        }
+        firebaseService.saveDocument(COLLECTION_NAME, id, current);
+        resumeSkillIndex.put(id, skillDictionary.encode(skills));
+        return true;
+    }
+
     /**
      * Retrieves a Resume by its ID.
+     * The Resume is the stored snapshot, shared with other readers; do not modify it.
      * @param id The ID of the Resume.
      * @return An Optional containing the Resume if found, empty otherwise.
      */
@@ -54,7 +202,51 @@ public class ResumeRepository {
     }
 
     /**
-     * Retrieves all Resumes.
+     * Retrieves a Resume together with its text, as a private copy (for API responses).
+     * @param id The ID of the Resume.
+     * @return An Optional containing the Resume with its content if found, empty otherwise.
+     */
+    public Optional<Resume> findByIdWithContent(String id) {
+        Resume resume = firebaseService.getDocumentForUpdate(COLLECTION_NAME, id, Resume.class);
+        if (resume != null && resume.getContent() == null) {
+            resume.setContent(loadContent(resume));
+        }
+        return Optional.ofNullable(resume);
+    }
+
+    /**
+     * Loads the text of a Resume from the content store.
+     * @param resume A Resume, stored or not.
+     * @return Its text, or null if it has none yet.
+     */
+    public String loadContent(Resume resume) {
+        if (resume.getContent() != null) {
+            return resume.getContent();
+        }
+        return resume.getContentRef() != null && contentStore.isEnabled() ? contentStore.read(resume.getContentRef()) : null;
+    }
+
+    /**
+     * Finds the earliest stored Resume uploaded with the given bytes.
+     * @param contentHash SHA-256 of the uploaded file, as stored in {@link Resume#getContentHash()}.
+     * @return An Optional containing the Resume if one exists, empty otherwise.
+     */
+    public synchronized Optional<Resume> findByContentHash(String contentHash) {
+        Set<String> ids = idsByContentHash.get(contentHash);
+        if (ids == null) {
+            return Optional.empty();
+        }
+        for (String id : ids) {
+            Resume resume = firebaseService.getDocument(COLLECTION_NAME, id, Resume.class);
+            if (resume != null) {
+                return Optional.of(resume);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retrieves all Resumes, as read-only snapshots.
      * @return A list of all Resumes.
      */
     public List<Resume> findAll() {
@@ -67,9 +259,73 @@ public class ResumeRepository {
      * @param id The ID of the Resume to delete.
      * @return True if the Resume was deleted, false otherwise.
      */
-    public boolean deleteById(String id) {
+    public synchronized boolean deleteById(String id) {
         // Simulate deleting from Firestore via FirebaseService
+        Resume removed = firebaseService.getDocument(COLLECTION_NAME, id, Resume.class);
         firebaseService.deleteDocument(COLLECTION_NAME, id);
-        return inMemoryStore.remove(id) != null;
+        resumeSkillIndex.remove(id);
+        if (removed != null) {
+            unindexContentHash(removed.getContentHash(), id);
+            if (removed.getContentRef() != null) {
+                releaseContent(removed.getContentRef());
+            }
+        }
+        return removed != null;
+    }
+
+    private void releaseContent(ContentRef ref) {
+        if (contentStore.isEnabled()) {
+            contentStore.release(ref);
+            contentStore.requestCompaction(this::compactContent);
+        }
+    }
+
+    /**
+     * Moves the texts out of segments that are mostly garbage, then deletes those segments.
+     * Runs in the background; each Resume is moved under the repository lock, so concurrent
+     * saves and deletes see either the old or the new reference. A text shared by several
+     * Resumes is copied once, and every one of them gets a share of the copy.
+     */
+    void compactContent() {
+        Set<Integer> segments = contentStore.segmentsToCompact();
+        Map<ContentRef, ContentRef> copies = new HashMap<>(); // Guarded by `this`
+        int moved = 0;
+        for (Resume resume : findAll()) {
+            ContentRef ref = resume.getContentRef();
+            if (ref == null || !segments.contains(ref.getSegment())) {
+                continue;
+            }
+            synchronized (this) {
+                Resume current = firebaseService.getDocumentForUpdate(COLLECTION_NAME, resume.getId(), Resume.class);
+                if (current == null || !ref.equals(current.getContentRef())) {
+                    continue; // Deleted or changed since findAll
+                }
+                ContentRef copy = copies.get(ref);
+                if (copy == null) {
+                    copy = contentStore.move(ref); // Counts as live for this Resume
+                    copies.put(ref, copy);
+                } else {
+                    contentStore.retain(copy);
+                }
+                current.setContentRef(copy);
+                firebaseService.saveDocument(COLLECTION_NAME, current.getId(), current);
+                contentStore.release(ref);
+                moved++;
+            }
+        }
+        int deleted = contentStore.deleteReleasedSegments();
+        if (moved > 0 || deleted > 0) {
+            logger.info("Compacted resume content: moved " + moved + " texts, deleted " + deleted + " segments.");
+        }
+    }
+
+    private void unindexContentHash(String contentHash, String id) {
+        if (contentHash == null) {
+            return;
+        }
+        Set<String> ids = idsByContentHash.get(contentHash);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            idsByContentHash.remove(contentHash);
+        }
     }
 }
\ No newline at end of file
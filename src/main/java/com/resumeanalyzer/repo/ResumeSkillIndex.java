@@ -0,0 +1,291 @@
+package com.resumeanalyzer.repo;
+
+import com.resumeanalyzer.util.SkillVector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from skill ID to the resumes that have the skill.
+ *
+ * Each indexed resume gets a dense ordinal; a posting list is a sorted int array of
+ * ordinals. Ranking walks only the posting lists of the job's skills, counting hits per
+ * resume, and keeps the best k in a bounded heap, so its cost depends on how many resumes
+ * share skills with the job rather than on the total number of resumes.
+ *
+ * Maintained by {@link ResumeRepository}; reads and writes are guarded by a read/write lock.
+ */
+@Component
+public class ResumeSkillIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinalsByResumeId = new HashMap<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private String[] resumeIds = new String[64];
+    private SkillVector[] skillsByOrdinal = new SkillVector[64];
+    private int ordinalCount;
+    // postings[skillId][0 .. postingSizes[skillId]) are sorted ordinals.
+    private int[][] postings = new int[64][];
+    private int[] postingSizes = new int[64];
+    // Hit counters reused by topK on the same thread; all zero between queries.
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Indexes (or re-indexes) a resume's skills.
+     *
+     * @param resumeId The resume ID.
+     * @param skills The resume's skills; an empty vector removes the resume from the index.
+     */
+    public void put(String resumeId, SkillVector skills) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsByResumeId.get(resumeId);
+            if (ordinal != null) {
+                if (skills.equals(skillsByOrdinal[ordinal])) {
+                    return;
+                }
+                unlink(ordinal);
+            }
+            if (skills.isEmpty()) {
+                if (ordinal != null) {
+                    release(resumeId, ordinal);
+                }
+                return;
+            }
+            if (ordinal == null) {
+                ordinal = allocate(resumeId);
+            }
+            skillsByOrdinal[ordinal] = skills;
+            for (int i = 0; i < skills.size(); i++) {
+                addPosting(skills.idAt(i), ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a resume from the index.
+     *
+     * @param resumeId The resume ID.
+     */
+    public void remove(String resumeId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsByResumeId.get(resumeId);
+            if (ordinal != null) {
+                unlink(ordinal);
+                release(resumeId, ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of indexed resumes.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsByResumeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the resumes sharing the most skills with a job.
+     * Resumes that share no skill with the job are never returned.
+     *
+     * @param jobSkills The job's skills.
+     * @param k The maximum number of candidates to return.
+     * @return Up to k candidates, best first; ties are ordered by resume ID.
+     */
+    public List<Candidate> topK(SkillVector jobSkills, int k) {
+        if (k <= 0 || jobSkills.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        Scratch counters = scratch.get();
+        int[] hits = counters.hits(ordinalCount);
+        int[] touched = counters.touched;
+        int touchedCount = 0;
+        try {
+            for (int i = 0; i < jobSkills.size(); i++) {
+                int skillId = jobSkills.idAt(i);
+                if (skillId >= postings.length || postings[skillId] == null) {
+                    continue;
+                }
+                int[] list = postings[skillId];
+                for (int p = 0, size = postingSizes[skillId]; p < size; p++) {
+                    int ordinal = list[p];
+                    if (hits[ordinal]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touched.length * 2);
+                            counters.touched = touched;
+                        }
+                        touched[touchedCount++] = ordinal;
+                    }
+                }
+            }
+
+            // Min-heap of the best k seen so far: the root is the weakest candidate kept.
+            PriorityQueue<Candidate> heap = new PriorityQueue<>(Math.min(k, Math.max(touchedCount, 1)) + 1,
+                    Candidate.BEST_FIRST.reversed());
+            for (int t = 0; t < touchedCount; t++) {
+                int ordinal = touched[t];
+                int matched = hits[ordinal];
+                if (heap.size() == k) {
+                    Candidate weakest = heap.peek();
+                    if (matched < weakest.getMatchedSkills()
+                            || (matched == weakest.getMatchedSkills() && resumeIds[ordinal].compareTo(weakest.getResumeId()) > 0)) {
+                        continue;
+                    }
+                    heap.poll();
+                }
+                heap.add(new Candidate(resumeIds[ordinal], matched, skillsByOrdinal[ordinal]));
+            }
+
+            List<Candidate> result = new ArrayList<>(heap);
+            result.sort(Candidate.BEST_FIRST);
+            return result;
+        } finally {
+            // Reset only the counters this query used, so the next query starts from zeros.
+            for (int t = 0; t < touchedCount; t++) {
+                hits[touched[t]] = 0;
+            }
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate(String resumeId) {
+        int ordinal;
+        if (!freeOrdinals.isEmpty()) {
+            ordinal = freeOrdinals.poll();
+        } else {
+            ordinal = ordinalCount++;
+            if (ordinal == resumeIds.length) {
+                resumeIds = Arrays.copyOf(resumeIds, ordinal * 2);
+                skillsByOrdinal = Arrays.copyOf(skillsByOrdinal, ordinal * 2);
+            }
+        }
+        resumeIds[ordinal] = resumeId;
+        ordinalsByResumeId.put(resumeId, ordinal);
+        return ordinal;
+    }
+
+    private void release(String resumeId, int ordinal) {
+        ordinalsByResumeId.remove(resumeId);
+        resumeIds[ordinal] = null;
+        skillsByOrdinal[ordinal] = null;
+        freeOrdinals.add(ordinal);
+    }
+
+    private void unlink(int ordinal) {
+        SkillVector skills = skillsByOrdinal[ordinal];
+        if (skills == null) {
+            return;
+        }
+        for (int i = 0; i < skills.size(); i++) {
+            removePosting(skills.idAt(i), ordinal);
+        }
+        skillsByOrdinal[ordinal] = null;
+    }
+
+    private void addPosting(int skillId, int ordinal) {
+        if (skillId >= postings.length) {
+            int capacity = Math.max(postings.length * 2, skillId + 1);
+            postings = Arrays.copyOf(postings, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+        }
+        int[] list = postings[skillId];
+        int size = postingSizes[skillId];
+        if (list == null) {
+            list = new int[4];
+        } else if (size == list.length) {
+            list = Arrays.copyOf(list, size * 2);
+        }
+        int position = Arrays.binarySearch(list, 0, size, ordinal);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        System.arraycopy(list, insertAt, list, insertAt + 1, size - insertAt);
+        list[insertAt] = ordinal;
+        postings[skillId] = list;
+        postingSizes[skillId] = size + 1;
+    }
+
+    private void removePosting(int skillId, int ordinal) {
+        if (skillId >= postings.length || postings[skillId] == null) {
+            return;
+        }
+        int[] list = postings[skillId];
+        int size = postingSizes[skillId];
+        int position = Arrays.binarySearch(list, 0, size, ordinal);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(list, position + 1, list, position, size - position - 1);
+        postingSizes[skillId] = size - 1;
+        if (size - 1 == 0) {
+            postings[skillId] = null;
+        }
+    }
+
+    /**
+     * Per-thread hit counters for {@link #topK}. The counter array grows with the index and is
+     * never shrunk, so it costs 4 bytes per resume ordinal for each thread that ranked.
+     */
+    private static final class Scratch {
+        private int[] hits = new int[0];
+        private int[] touched = new int[1024]; // Ordinals with a non-zero counter
+
+        int[] hits(int ordinals) {
+            if (hits.length < ordinals) {
+                hits = new int[Math.max(ordinals, hits.length * 2)];
+            }
+            return hits;
+        }
+    }
+
+    /**
+     * A ranked resume: how many of the job's skills it has, plus its full skill vector.
+     */
+    public static final class Candidate {
+        static final Comparator<Candidate> BEST_FIRST = Comparator
+                .comparingInt(Candidate::getMatchedSkills).reversed()
+                .thenComparing(Candidate::getResumeId);
+
+        private final String resumeId;
+        private final int matchedSkills;
+        private final SkillVector skills;
+
+        Candidate(String resumeId, int matchedSkills, SkillVector skills) {
+            this.resumeId = resumeId;
+            this.matchedSkills = matchedSkills;
+            this.skills = skills;
+        }
+
+        public String getResumeId() {
+            return resumeId;
+        }
+
+        public int getMatchedSkills() {
+            return matchedSkills;
+        }
+
+        public SkillVector getSkills() {
+            return skills;
+        }
+    }
+}
@@ -14,7 +14,8 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Service for performing the analysis of a resume against a job description,
@@ -30,6 +31,7 @@ public class AnalysisService {
     private final SkillExtractionService skillExtractionService;
     private final ScoreCalculationService scoreCalculationService;
     private final AnalysisResultRepository analysisResultRepository;
+    private final ResumeSectionSelector resumeSectionSelector;
 
     @Autowired
     public AnalysisService(
@@ -37,12 +39,14 @@ public class AnalysisService {
             JobDescriptionService jobDescriptionService,
             SkillExtractionService skillExtractionService,
             ScoreCalculationService scoreCalculationService,
-            AnalysisResultRepository analysisResultRepository) {
+            AnalysisResultRepository analysisResultRepository,
+            ResumeSectionSelector resumeSectionSelector) {
         this.resumeService = resumeService;
         this.jobDescriptionService = jobDescriptionService;
         this.skillExtractionService = skillExtractionService;
         this.scoreCalculationService = scoreCalculationService;
         this.analysisResultRepository = analysisResultRepository;
+        this.resumeSectionSelector = resumeSectionSelector;
     }
 
     /**
@@ -65,25 +69,38 @@ public class AnalysisService {
 
         Resume resume = resumeOptional.get();
         JobDescription job = jobOptional.get();
+        String resumeText = resumeService.getContent(resume);
+        if (resumeText == null) {
+            // Uploaded asynchronously and not extracted yet (or extraction failed).
+            throw new IllegalArgumentException("Resume with ID " + resumeId + " has not been processed yet (status: " + resume.getStatus() + ").");
+        }
 
-        // 1. Extract skills from resume and job description
-        List<String> resumeSkills = skillExtractionService.extractSkills(resume.getContent());
-        System.out.println("resume.getContent(): " + resume.getContent());
-        List<String> jobSkills = skillExtractionService.extractSkills(job.getDescription());
+        // 1. Extract skills from resume and job description.
+        // Skills precomputed at ingest time are reused while they match the current content version;
+        // anything missing is extracted now. Both extractions are independent, so they run together.
+        CompletableFuture<List<String>> resumeSkillsFuture = resume.hasCurrentSkills()
+                ? CompletableFuture.completedFuture(resume.getSkills())
+                : skillExtractionService.extractSkillsAsync(resumeSectionSelector.skillText(resumeText, resume.getSections()));
+        CompletableFuture<List<String>> jobSkillsFuture = job.hasCurrentSkills()
+                ? CompletableFuture.completedFuture(job.getSkills())
+                : skillExtractionService.extractSkillsAsync(jobDescriptionService.getDescription(job));
+        List<String> resumeSkills = resumeSkillsFuture.get();
+        List<String> jobSkills = jobSkillsFuture.get();
 
         // Log extracted skills for debugging
         logger.info("Extracted Resume Skills: " + resumeSkills);
         logger.info("Extracted Job Description Skills: " + jobSkills);
 
 
-        // 2. Calculate match score
-        double matchScore = scoreCalculationService.calculateScore(resumeSkills, jobSkills);
+        // 2. Calculate match score; matched and missing skills come out of the same pass
+        SkillMatch skillMatch = scoreCalculationService.match(resumeSkills, jobSkills);
+        double matchScore = skillMatch.getScore();
         System.out.println("matchScore: " + matchScore);
         // 3. Generate detailed feedback (strengths, weaknesses, recommendations) - Placeholder for LLM
         String strengths = "Your resume strongly matches the required skills. Skills like " +
-                getTopMatchingSkills(resumeSkills, jobSkills, 3) + " are well-highlighted.";
+                joinFirst(skillMatch.getMatchedSkills(), 3, "key skills") + " are well-highlighted.";
         String weaknesses = "Consider adding more details on " +
-                getMissingJobSkills(resumeSkills, jobSkills, 2) + " to better align with the job description.";
+                joinFirst(skillMatch.getMissingSkills(), 2, "no specific skills") + " to better align with the job description.";
         String recommendations = "Tailor your resume further by emphasizing projects related to " +
                 getRecommendations(jobSkills, 2) + ".";
 
@@ -118,12 +135,23 @@ public class AnalysisService {
         return analysisResponse;
     }
 
-    public List<AnalysisResult> getAllAnalysisResults() {
-        try {
-            return analysisResultRepository.findAll();
-        } catch (Exception e) {
-            throw new RuntimeException("Error fetching all analysis results", e);
-        }
+    /**
+     * Retrieves a page of analysis results, oldest first.
+     * @param after The cursor the previous page ended at, or null for the first page.
+     * @param limit The maximum number of results to return.
+     * @return The page, with the cursor of the next one.
+     */
+    public FirebaseService.Page<AnalysisResult> getAnalysisResultPage(FirebaseService.Cursor after, int limit) {
+        return analysisResultRepository.findPage(after, limit);
+    }
+
+    /**
+     * Streams analysis results, oldest first, without collecting them in a list.
+     * @param after The cursor to start after, or null to start at the oldest.
+     * @return The analysis results.
+     */
+    public Stream<AnalysisResult> streamAnalysisResults(FirebaseService.Cursor after) {
+        return analysisResultRepository.streamAll(after);
     }
 
 
@@ -142,20 +170,8 @@ public class AnalysisService {
     }
 
     // Helper methods for generating mock feedback based on skills
-    private String getTopMatchingSkills(List<String> resumeSkills, List<String> jobSkills, int count) {
-        List<String> matched = resumeSkills.stream()
-                .filter(s -> jobSkills.stream().anyMatch(js -> js.equalsIgnoreCase(s)))
-                .limit(count)
-                .toList();
-        return matched.isEmpty() ? "key skills" : String.join(", ", matched);
-    }
-
-    private String getMissingJobSkills(List<String> resumeSkills, List<String> jobSkills, int count) {
-        List<String> missing = jobSkills.stream()
-                .filter(js -> resumeSkills.stream().noneMatch(rs -> rs.equalsIgnoreCase(js)))
-                .limit(count)
-                .toList();
-        return missing.isEmpty() ? "no specific skills" : String.join(", ", missing);
+    private String joinFirst(List<String> skills, int count, String fallback) {
+        return skills.isEmpty() ? fallback : String.join(", ", skills.subList(0, Math.min(count, skills.size())));
     }
 
     private String getRecommendations(List<String> jobSkills, int count) {
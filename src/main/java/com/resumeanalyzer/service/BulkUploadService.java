@@ -0,0 +1,303 @@
+package com.resumeanalyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.dto.BulkUploadEntryResult;
+import com.resumeanalyzer.dto.BulkUploadEntryResult.Outcome;
+import com.resumeanalyzer.dto.BulkUploadSummary;
+import com.resumeanalyzer.exception.ExtractionAbortedException;
+import com.resumeanalyzer.exception.ExtractionRejectedException;
+import com.resumeanalyzer.model.Resume;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Ingests a ZIP archive of resumes in one request.
+ *
+ * The archive is read with a {@link ZipInputStream} straight from the request body. Each file
+ * is spooled to a temporary file (like a single upload) and handed to the `bulkUploadExecutor`,
+ * whose workers run the extraction on the text extraction pool and store the resume, while
+ * the next file is already being read. Backpressure comes from the upload byte budget, which
+ * the reader waits for, and from the bulk pool, whose overflow runs on the reader's thread.
+ *
+ * Every file gets one NDJSON result line as soon as it is done (in completion order), and a
+ * summary line ends the response. A file that fails does not stop the others; exceeding the
+ * file-count or total-size limit, or a corrupt archive, stops reading and is reported in the
+ * summary.
+ *
+ * Skills are not extracted per file: saved resumes are collected and handed to skill
+ * precomputation in groups of `skills.extraction.batch.max-documents`, which packs each group
+ * into as few LLM requests as the batch token budget allows.
+ */
+@Service
+public class BulkUploadService {
+
+    private static final Logger logger = Logger.getLogger(BulkUploadService.class.getName());
+
+    private final TextExtractionService textExtractionService;
+    private final ResumeService resumeService;
+    private final SkillPrecomputationService skillPrecomputationService;
+    private final Executor bulkUploadExecutor;
+    private final ObjectMapper objectMapper;
+    private final int maxFiles;
+    private final long maxFileBytes;
+    private final long maxTotalBytes;
+    private final Duration budgetWait;
+    private final int maxAttempts;
+    private final int skillBatchSize;
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+
+    @Autowired
+    public BulkUploadService(TextExtractionService textExtractionService,
+                             ResumeService resumeService,
+                             SkillPrecomputationService skillPrecomputationService,
+                             @Qualifier("bulkUploadExecutor") Executor bulkUploadExecutor,
+                             ObjectMapper objectMapper,
+                             @Value("${upload.bulk.max-files:1000}") int maxFiles,
+                             @Value("${upload.bulk.max-file-size:10MB}") DataSize maxFileSize,
+                             @Value("${upload.bulk.max-total-size:1GB}") DataSize maxTotalSize,
+                             @Value("${upload.bulk.budget-wait:60s}") Duration budgetWait,
+                             @Value("${upload.bulk.max-attempts:3}") int maxAttempts,
+                             @Value("${skills.extraction.batch.max-documents:10}") int skillBatchSize,
+                             MeterRegistry meterRegistry) {
+        this.textExtractionService = textExtractionService;
+        this.resumeService = resumeService;
+        this.skillPrecomputationService = skillPrecomputationService;
+        this.bulkUploadExecutor = bulkUploadExecutor;
+        this.objectMapper = objectMapper;
+        this.maxFiles = maxFiles;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.maxTotalBytes = maxTotalSize.toBytes();
+        this.budgetWait = budgetWait;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.skillBatchSize = Math.max(1, skillBatchSize);
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("resume.bulk.files")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .description("Files of bulk uploads by outcome")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Reads a ZIP archive of resumes and writes one NDJSON line per file, then a summary line.
+     * Returns once every file has been processed.
+     * @param archive The ZIP archive; closed when done.
+     * @param out Where the NDJSON lines are written; flushed after every line.
+     * @return The summary, as also written to the output.
+     */
+    public BulkUploadSummary ingest(InputStream archive, OutputStream out) {
+        NdjsonWriter writer = new NdjsonWriter(out);
+        Tally tally = new Tally();
+        SkillBatch skillBatch = new SkillBatch();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        String stoppedBecause = null;
+        int files = 0;
+        boolean sawEntry = false;
+        long totalBytes = 0;
+        try (ZipInputStream zip = new ZipInputStream(archive)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                sawEntry = true;
+                String name = entry.getName();
+                if (entry.isDirectory() || isMetadata(name)) {
+                    continue;
+                }
+                if (writer.isBroken()) {
+                    stoppedBecause = "The client disconnected.";
+                    break;
+                }
+                if (files == maxFiles) {
+                    stoppedBecause = "The archive has more than " + maxFiles + " files; the rest were not processed.";
+                    break;
+                }
+                int index = files++;
+                long remaining = maxTotalBytes - totalBytes;
+                SpooledUpload upload;
+                try {
+                    // Archives carry no content types; the extension is a fallback for the format sniffer.
+                    upload = textExtractionService.spool(zip, Math.min(maxFileBytes, remaining), fileName(name),
+                            URLConnection.guessContentTypeFromName(fileName(name)), budgetWait);
+                } catch (ExtractionAbortedException e) {
+                    if (remaining < maxFileBytes) {
+                        stoppedBecause = "The archive exceeds the limit of " + maxTotalBytes + " bytes; the rest was not processed.";
+                        report(writer, tally, new BulkUploadEntryResult(index, name, Outcome.FAILED, null, null, stoppedBecause));
+                        break;
+                    }
+                    report(writer, tally, new BulkUploadEntryResult(index, name, Outcome.FAILED, null, null, e.getMessage()));
+                    continue;
+                } catch (ExtractionRejectedException e) {
+                    report(writer, tally, new BulkUploadEntryResult(index, name, Outcome.REJECTED, null, null, e.getMessage()));
+                    continue;
+                }
+                totalBytes += upload.getSize();
+                pending.add(CompletableFuture.runAsync(() -> report(writer, tally, process(index, name, upload, skillBatch)), bulkUploadExecutor));
+            }
+        } catch (IOException e) {
+            logger.warning("Bulk upload archive could not be read: " + e.getMessage());
+            stoppedBecause = "The archive could not be read: " + e.getMessage();
+        }
+        if (!sawEntry && stoppedBecause == null) {
+            // ZipInputStream reports anything that is not a ZIP archive as an empty one.
+            stoppedBecause = "The request body is not a ZIP archive, or the archive is empty.";
+        }
+
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        skillBatch.flush();
+        BulkUploadSummary summary = tally.summary(files, stoppedBecause);
+        writer.write(summary);
+        logger.info("Bulk upload finished: " + summary.getSaved() + " saved, " + summary.getFailed() + " failed, "
+                + summary.getRejected() + " rejected of " + files + " files" + (stoppedBecause != null ? " (" + stoppedBecause + ")" : "."));
+        return summary;
+    }
+
+    /**
+     * Extracts and stores one file, retrying while the extraction pool is at capacity.
+     * Owns (and closes) the spooled upload.
+     */
+    private BulkUploadEntryResult process(int index, String name, SpooledUpload upload, SkillBatch skillBatch) {
+        try (upload) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    Resume resume = resumeService.saveResume(upload, false);
+                    if (!resume.hasCurrentSkills()) {
+                        skillBatch.add(resume);
+                    }
+                    return new BulkUploadEntryResult(index, name, Outcome.SAVED, resume.getId(), resume.getStatus(), null);
+                } catch (ExtractionRejectedException e) {
+                    if (attempt >= maxAttempts) {
+                        return new BulkUploadEntryResult(index, name, Outcome.REJECTED, null, null, e.getMessage());
+                    }
+                    Thread.sleep(e.getRetryAfter().toMillis());
+                }
+            }
+        } catch (ExtractionAbortedException | IllegalArgumentException e) {
+            return new BulkUploadEntryResult(index, name, Outcome.FAILED, null, null, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new BulkUploadEntryResult(index, name, Outcome.REJECTED, null, null, "Processing was interrupted.");
+        } catch (Exception e) {
+            logger.warning("Bulk upload of " + name + " failed: " + e.getMessage());
+            return new BulkUploadEntryResult(index, name, Outcome.FAILED, null, null, "Text extraction failed: " + e.getMessage());
+        }
+    }
+
+    private void report(NdjsonWriter writer, Tally tally, BulkUploadEntryResult result) {
+        outcomeCounters.get(result.getOutcome()).increment();
+        tally.add(result.getOutcome());
+        writer.write(result);
+    }
+
+    /**
+     * @return True for files that archivers add next to the real content.
+     */
+    private static boolean isMetadata(String name) {
+        String fileName = fileName(name);
+        return name.startsWith("__MACOSX/") || fileName.startsWith(".") || fileName.equalsIgnoreCase("Thumbs.db");
+    }
+
+    private static String fileName(String entryName) {
+        return entryName.substring(entryName.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Counts outcomes; updated from the bulk upload workers.
+     */
+    private static final class Tally {
+        private int saved;
+        private int failed;
+        private int rejected;
+
+        synchronized void add(Outcome outcome) {
+            switch (outcome) {
+                case SAVED -> saved++;
+                case FAILED -> failed++;
+                case REJECTED -> rejected++;
+            }
+        }
+
+        synchronized BulkUploadSummary summary(int files, String stoppedBecause) {
+            return new BulkUploadSummary(files, saved, failed, rejected, stoppedBecause == null, stoppedBecause);
+        }
+    }
+
+    /**
+     * Collects saved resumes without skills and hands them to skill precomputation in groups;
+     * updated from the bulk upload workers.
+     */
+    private final class SkillBatch {
+        private List<Resume> resumes = new ArrayList<>();
+
+        void add(Resume resume) {
+            List<Resume> full = null;
+            synchronized (this) {
+                resumes.add(resume);
+                if (resumes.size() >= skillBatchSize) {
+                    full = resumes;
+                    resumes = new ArrayList<>();
+                }
+            }
+            if (full != null) {
+                skillPrecomputationService.precompute(full);
+            }
+        }
+
+        synchronized void flush() {
+            if (!resumes.isEmpty()) {
+                skillPrecomputationService.precompute(resumes);
+                resumes = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * Writes one JSON document per line and flushes it, so clients see results as they come.
+     * Once a write fails (the client went away) further lines are dropped.
+     */
+    private final class NdjsonWriter {
+        private final OutputStream out;
+        private volatile boolean broken;
+
+        NdjsonWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        synchronized void write(Object value) {
+            if (broken) {
+                return;
+            }
+            try {
+                out.write(objectMapper.writeValueAsBytes(value));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                logger.warning("Could not write bulk upload result: " + e.getMessage());
+                broken = true;
+            }
+        }
+
+        boolean isBroken() {
+            return broken;
+        }
+    }
+}
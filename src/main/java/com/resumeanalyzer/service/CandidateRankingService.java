@@ -0,0 +1,96 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.dto.CandidateMatchResponse;
+import com.resumeanalyzer.model.JobDescription;
+import com.resumeanalyzer.model.Resume;
+import com.resumeanalyzer.repo.JobDescriptionRepository;
+import com.resumeanalyzer.repo.ResumeRepository;
+import com.resumeanalyzer.repo.ResumeSkillIndex;
+import com.resumeanalyzer.util.SkillVector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Ranks stored resumes against a job using the {@link ResumeSkillIndex}.
+ *
+ * Only skills already stored on the documents are used, so ranking never calls Gemini:
+ * resumes are indexed once their precomputed skills are available, and a job without
+ * current skills falls back to the local skill taxonomy. Job skills that no stored resume has
+ * are not in the {@link SkillDictionary}; they count as missing for every candidate.
+ */
+@Service
+public class CandidateRankingService {
+
+    private static final Logger logger = Logger.getLogger(CandidateRankingService.class.getName());
+
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final ResumeRepository resumeRepository;
+    private final ResumeSkillIndex resumeSkillIndex;
+    private final SkillDictionary skillDictionary;
+    private final DictionarySkillExtractor dictionarySkillExtractor;
+    private final int maxK;
+
+    @Autowired
+    public CandidateRankingService(JobDescriptionRepository jobDescriptionRepository,
+                                   ResumeRepository resumeRepository,
+                                   ResumeSkillIndex resumeSkillIndex,
+                                   SkillDictionary skillDictionary,
+                                   DictionarySkillExtractor dictionarySkillExtractor,
+                                   @Value("${ranking.top-candidates.max-k:100}") int maxK) {
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.resumeRepository = resumeRepository;
+        this.resumeSkillIndex = resumeSkillIndex;
+        this.skillDictionary = skillDictionary;
+        this.dictionarySkillExtractor = dictionarySkillExtractor;
+        this.maxK = maxK;
+    }
+
+    /**
+     * Finds the resumes that best match a job's skills.
+     *
+     * @param jobId The ID of the job description.
+     * @param k The number of candidates wanted; capped at `ranking.top-candidates.max-k`.
+     * @return The best candidates, best first, or empty if the job does not exist.
+     */
+    public Optional<List<CandidateMatchResponse>> topCandidates(String jobId, int k) {
+        Optional<JobDescription> jobOptional = jobDescriptionRepository.findById(jobId);
+        if (jobOptional.isEmpty()) {
+            return Optional.empty();
+        }
+        JobDescription job = jobOptional.get();
+        List<String> jobSkills = job.hasCurrentSkills()
+                ? job.getSkills()
+                : dictionarySkillExtractor.extractSkills(jobDescriptionRepository.loadDescription(job));
+        Map<String, String> unknownSkills = new LinkedHashMap<>();
+        SkillVector jobVector = skillDictionary.find(jobSkills, unknownSkills);
+        int required = jobVector.size() + unknownSkills.size();
+
+        long start = System.nanoTime();
+        List<ResumeSkillIndex.Candidate> candidates = resumeSkillIndex.topK(jobVector, Math.min(k, maxK));
+        logger.fine("Ranked " + resumeSkillIndex.size() + " indexed resumes for job " + jobId + " in "
+                + (System.nanoTime() - start) / 1_000 + " us.");
+
+        List<CandidateMatchResponse> responses = new ArrayList<>(candidates.size());
+        for (ResumeSkillIndex.Candidate candidate : candidates) {
+            SkillVector.Match match = candidate.getSkills().match(jobVector);
+            String fileName = resumeRepository.findById(candidate.getResumeId()).map(Resume::getFileName).orElse(null);
+            List<String> missing = new ArrayList<>(skillDictionary.namesOf(match.getMissing()));
+            missing.addAll(unknownSkills.values());
+            responses.add(new CandidateMatchResponse(
+                    candidate.getResumeId(),
+                    fileName,
+                    (double) match.getMatched().length / required * 100.0,
+                    skillDictionary.namesOf(match.getMatched()),
+                    missing));
+        }
+        return Optional.of(responses);
+    }
+}
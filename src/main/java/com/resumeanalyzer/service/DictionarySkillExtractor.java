@@ -0,0 +1,120 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.AhoCorasickMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Local, dictionary-based skill extractor.
+ *
+ * Loads a skill taxonomy (canonical names plus synonyms) once at startup and compiles
+ * it into an Aho-Corasick automaton, so all skills are found in a single pass over the
+ * text regardless of taxonomy size. It is used as the fallback when Gemini is unavailable
+ * and can serve as the primary extractor when `skills.extraction.mode=local`.
+ */
+@Component
+public class DictionarySkillExtractor {
+
+    private static final Logger logger = Logger.getLogger(DictionarySkillExtractor.class.getName());
+
+    private final List<String> canonicalSkills = new ArrayList<>();
+    // Normalized phrase (canonical name or synonym) -> index into canonicalSkills.
+    private final Map<String, Integer> phraseIndex = new HashMap<>();
+    private final AhoCorasickMatcher matcher;
+
+    @Autowired
+    public DictionarySkillExtractor(@Value("${skills.taxonomy.location:classpath:skills/taxonomy.txt}") Resource taxonomy) {
+        AhoCorasickMatcher.Builder builder = AhoCorasickMatcher.builder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(taxonomy.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] phrases = line.split("\\|");
+                int skillId = canonicalSkills.size();
+                canonicalSkills.add(phrases[0].strip());
+                for (String phrase : phrases) {
+                    String normalized = normalizePhrase(phrase);
+                    if (!normalized.isEmpty() && phraseIndex.putIfAbsent(normalized, skillId) == null) {
+                        builder.add(normalized, skillId);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load skill taxonomy from " + taxonomy, e);
+        }
+        this.matcher = builder.build();
+        logger.info("Loaded skill taxonomy with " + canonicalSkills.size() + " skills and " + phraseIndex.size() + " phrases.");
+    }
+
+    /**
+     * Finds every taxonomy skill mentioned in the text.
+     *
+     * @param text The input text (e.g., resume content, job description).
+     * @return Canonical skill names, in order of first appearance, without duplicates.
+     */
+    public List<String> extractSkills(String text) {
+        List<String> extractedSkills = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return extractedSkills;
+        }
+        BitSet seen = new BitSet(canonicalSkills.size());
+        matcher.scan(text, (skillId, start, end) -> {
+            if (!seen.get(skillId)) {
+                seen.set(skillId);
+                extractedSkills.add(canonicalSkills.get(skillId));
+            }
+        });
+        return extractedSkills;
+    }
+
+    /**
+     * Maps a skill name or synonym to its canonical taxonomy name.
+     *
+     * @param skill A skill as written by a user or returned by the LLM.
+     * @return The canonical name, or null if the skill is not in the taxonomy.
+     */
+    public String canonicalize(String skill) {
+        if (skill == null) {
+            return null;
+        }
+        Integer skillId = phraseIndex.get(normalizePhrase(skill));
+        return skillId == null ? null : canonicalSkills.get(skillId);
+    }
+
+    /**
+     * @return The canonical skill names, in taxonomy order.
+     */
+    public List<String> getCanonicalSkills() {
+        return Collections.unmodifiableList(canonicalSkills);
+    }
+
+    /**
+     * @return The number of canonical skills in the taxonomy.
+     */
+    public int size() {
+        return canonicalSkills.size();
+    }
+
+    private static String normalizePhrase(String phrase) {
+        return phrase.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,40 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Legacy Word 97-2003 (.doc) extractor based on POI HWPF.
+ *
+ * The OLE2 container is opened read-only straight from the file, so only the streams HWPF
+ * needs are read rather than copying the whole upload into heap first. HWPF offers no
+ * checkpoints, so the guard is only consulted before parsing; the scheduler's hard deadline
+ * covers the parse itself.
+ */
+@Component
+public class DocDocumentExtractor implements DocumentTextExtractor {
+
+    @Override
+    public DocumentFormat getFormat() {
+        return DocumentFormat.DOC;
+    }
+
+    @Override
+    public String extract(Path file, Charset charset, ExtractionGuard guard) throws IOException {
+        guard.check();
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(file.toFile(), true);
+             WordExtractor extractor = new WordExtractor(fileSystem)) {
+            return extractor.getText();
+        } catch (IllegalArgumentException e) {
+            // HWPF reports unsupported variants (e.g. Word 6/95, or a non-Word OLE2 file) this way.
+            throw new IOException("Unsupported DOC file: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.DocumentFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Looks up the {@link DocumentTextExtractor} for a document format.
+ * Every extractor bean in the context is registered; at most one per format is allowed.
+ */
+@Component
+public class DocumentExtractorRegistry {
+
+    private static final Logger logger = Logger.getLogger(DocumentExtractorRegistry.class.getName());
+
+    private final Map<DocumentFormat, DocumentTextExtractor> extractors = new EnumMap<>(DocumentFormat.class);
+
+    @Autowired
+    public DocumentExtractorRegistry(List<DocumentTextExtractor> extractors) {
+        for (DocumentTextExtractor extractor : extractors) {
+            DocumentTextExtractor previous = this.extractors.putIfAbsent(extractor.getFormat(), extractor);
+            if (previous != null) {
+                throw new IllegalStateException("Two text extractors registered for " + extractor.getFormat() + ": "
+                        + previous.getClass().getSimpleName() + " and " + extractor.getClass().getSimpleName());
+            }
+        }
+        logger.info("Registered text extractors for formats: " + this.extractors.keySet());
+    }
+
+    /**
+     * @param format A document format.
+     * @return The extractor for the format, if one is registered.
+     */
+    public Optional<DocumentTextExtractor> get(DocumentFormat format) {
+        return Optional.ofNullable(extractors.get(format));
+    }
+
+    /**
+     * @return The formats that can be extracted.
+     */
+    public Set<DocumentFormat> getSupportedFormats() {
+        return Collections.unmodifiableSet(extractors.keySet());
+    }
+}
@@ -0,0 +1,279 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.WriteAheadLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Durable storage behind the simulated Firestore: a write-ahead log of document saves and
+ * deletes, plus periodic snapshots of all documents.
+ *
+ * Recovery loads the newest snapshot and replays the log records written after it. A snapshot
+ * is written to a temporary file, forced and atomically renamed, and it ends with a record
+ * count, so only complete snapshots are ever loaded. Once a snapshot is in place, older
+ * snapshots and the log segments it covers are deleted.
+ *
+ * Documents are logged in their Smile encoding together with their type name.
+ */
+final class DocumentJournal implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(DocumentJournal.class.getName());
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte END = 3;
+
+    /**
+     * Receives recovered documents.
+     */
+    interface Sink {
+        void put(String collectionName, String documentId, String typeName, byte[] document) throws IOException;
+
+        void delete(String collectionName, String documentId);
+    }
+
+    /**
+     * What recovery loaded.
+     *
+     * @param snapshotDocuments Documents loaded from the snapshot.
+     * @param logRecords Log records replayed after the snapshot.
+     */
+    record Recovery(long snapshotDocuments, long logRecords) {
+    }
+
+    /**
+     * A document as written to a snapshot.
+     */
+    record SnapshotEntry(String collectionName, String documentId, String typeName, byte[] document) {
+    }
+
+    private final Path directory;
+    private final WriteAheadLog.FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+    private WriteAheadLog log;
+
+    DocumentJournal(Path directory, WriteAheadLog.FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    /**
+     * Loads the newest snapshot and replays the log after it, then opens the log for appending.
+     *
+     * @param sink Receives the documents, in the order they were written.
+     * @return How many documents and log records were loaded.
+     * @throws IOException If the journal cannot be read or the log cannot be opened.
+     */
+    Recovery recover(Sink sink) throws IOException {
+        Files.createDirectories(directory);
+        deleteTemporaryFiles();
+        long[] applied = {0};
+        WriteAheadLog.RecordConsumer apply = (sequence, payload) -> {
+            apply(payload, sink);
+            applied[0]++;
+        };
+        long snapshotSequence = 0; // Sequence numbers start at 1.
+        Path snapshot = newestSnapshot();
+        if (snapshot != null) {
+            snapshotSequence = sequenceOf(snapshot);
+            readSnapshot(snapshot, apply);
+        }
+        long snapshotDocuments = applied[0];
+        long lastSequence = WriteAheadLog.replay(directory, snapshotSequence, apply);
+        log = new WriteAheadLog(directory, fsyncPolicy, fsyncInterval, lastSequence + 1);
+        return new Recovery(snapshotDocuments, applied[0] - snapshotDocuments);
+    }
+
+    /**
+     * Logs a document save.
+     *
+     * @return The pending append; wait on it for durability.
+     */
+    WriteAheadLog.Append logPut(String collectionName, String documentId, String typeName, byte[] document) {
+        return log.append(encode(PUT, collectionName, documentId, typeName, document));
+    }
+
+    /**
+     * Logs a document delete.
+     *
+     * @return The pending append; wait on it for durability.
+     */
+    WriteAheadLog.Append logDelete(String collectionName, String documentId) {
+        return log.append(encode(DELETE, collectionName, documentId, null, null));
+    }
+
+    /**
+     * Starts a new log segment for a snapshot. Must be called while no document is being
+     * written, so the snapshot contents match the log position.
+     *
+     * @return The sequence number the snapshot will cover up to (exclusive).
+     */
+    long startSnapshot() {
+        return log.rotate();
+    }
+
+    /**
+     * Writes a snapshot covering the log up to (excluding) a sequence number, then deletes the
+     * log segments and snapshots it replaces.
+     *
+     * @param upTo The value returned by {@link #startSnapshot()}.
+     * @param entries Every document, as of the time {@link #startSnapshot()} was called.
+     * @throws IOException If the snapshot cannot be written; the log is left as it was.
+     */
+    void writeSnapshot(long upTo, Iterable<SnapshotEntry> entries) throws IOException {
+        long sequence = upTo - 1;
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            for (SnapshotEntry entry : entries) {
+                out.write(WriteAheadLog.frame(sequence, encode(PUT, entry.collectionName(), entry.documentId(), entry.typeName(), entry.document())));
+                count++;
+            }
+            ByteArrayOutputStream end = new ByteArrayOutputStream();
+            try (DataOutputStream data = new DataOutputStream(end)) {
+                data.writeByte(END);
+                data.writeLong(count);
+            }
+            out.write(WriteAheadLog.frame(sequence, end.toByteArray()));
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        WriteAheadLog.forceDirectory(directory);
+
+        log.deleteSegmentsBefore(upTo);
+        for (Path older : listSnapshots()) {
+            if (sequenceOf(older) < sequence) {
+                Files.deleteIfExists(older);
+            }
+        }
+        logger.info("Wrote document store snapshot of " + count + " documents (" + Files.size(target) + " bytes).");
+    }
+
+    /**
+     * @return Bytes appended to the log since it was opened.
+     */
+    long getLoggedBytes() {
+        return log.getAppendedBytes();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    private static void readSnapshot(Path snapshot, WriteAheadLog.RecordConsumer apply) throws IOException {
+        long[] documents = {0};
+        long[] expected = {-1};
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16)) {
+            WriteAheadLog.readRecords(in, snapshot, Long.MIN_VALUE, (sequence, payload) -> {
+                if (payload.length > 0 && payload[0] == END) {
+                    expected[0] = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1)).readLong();
+                } else {
+                    apply.accept(sequence, payload);
+                    documents[0]++;
+                }
+            });
+        }
+        if (expected[0] != documents[0]) {
+            // Snapshots are renamed into place only when complete, so this is disk corruption.
+            // Starting with part of the data would silently lose documents; refuse instead.
+            throw new IOException("Snapshot " + snapshot + " is damaged (" + documents[0] + " documents read, "
+                    + expected[0] + " expected)");
+        }
+    }
+
+    private static void apply(byte[] payload, Sink sink) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        String collectionName = in.readUTF();
+        String documentId = in.readUTF();
+        if (op == PUT) {
+            String typeName = in.readUTF();
+            byte[] document = new byte[in.readInt()];
+            in.readFully(document);
+            sink.put(collectionName, documentId, typeName, document);
+        } else if (op == DELETE) {
+            sink.delete(collectionName, documentId);
+        } else {
+            throw new IOException("Unknown journal record type " + op);
+        }
+    }
+
+    private static byte[] encode(byte op, String collectionName, String documentId, String typeName, byte[] document) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + (document != null ? document.length : 0));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(op);
+            out.writeUTF(collectionName);
+            out.writeUTF(documentId);
+            if (op == PUT) {
+                out.writeUTF(typeName);
+                out.writeInt(document.length);
+                out.write(document);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not thrown by in-memory streams.
+        }
+        return bytes.toByteArray();
+    }
+
+    private Path newestSnapshot() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted() // Names are zero-padded, so name order is sequence order.
+                    .toList();
+        }
+    }
+
+    private void deleteTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(path -> path.getFileName().toString().endsWith(".tmp")).toList()) {
+                Files.deleteIfExists(path); // Snapshots interrupted by a crash.
+            }
+        }
+    }
+
+    private static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+}
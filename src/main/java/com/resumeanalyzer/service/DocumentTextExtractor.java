@@ -0,0 +1,36 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Extracts plain text from one document format.
+ *
+ * Implementations are Spring beans picked up by the {@link DocumentExtractorRegistry};
+ * adding a format only requires a new implementation. They must be thread-safe and should
+ * read the file incrementally rather than loading it into memory, checking the
+ * {@link ExtractionGuard} often enough that a runaway document is stopped promptly.
+ */
+public interface DocumentTextExtractor {
+
+    /**
+     * @return The format this extractor handles.
+     */
+    DocumentFormat getFormat();
+
+    /**
+     * Extracts the text of a document.
+     *
+     * @param file The document, already spooled to disk.
+     * @param charset The detected charset for text-based formats; binary formats ignore it.
+     * @param guard Extraction limits, to be checked at regular checkpoints while parsing.
+     * @return The extracted text.
+     * @throws IOException If the document cannot be read or parsed.
+     * @throws com.resumeanalyzer.exception.ExtractionAbortedException If a limit is exceeded.
+     */
+    String extract(Path file, Charset charset, ExtractionGuard guard) throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+import com.resumeanalyzer.util.DocxTextExtractor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * DOCX extractor: streams text out of `word/document.xml` without building a document model.
+ */
+@Component
+public class DocxDocumentExtractor implements DocumentTextExtractor {
+
+    private final DocxTextExtractor docxTextExtractor;
+
+    @Autowired
+    public DocxDocumentExtractor(@Value("${text-extraction.docx.include-headers-footers:false}") boolean includeHeadersAndFooters) {
+        this.docxTextExtractor = new DocxTextExtractor(includeHeadersAndFooters);
+    }
+
+    @Override
+    public DocumentFormat getFormat() {
+        return DocumentFormat.DOCX;
+    }
+
+    @Override
+    public String extract(Path file, Charset charset, ExtractionGuard guard) throws IOException {
+        // Plain text is usually a small fraction of the file size (which includes images and styles).
+        StringBuilder text = new StringBuilder((int) Math.min(Files.size(file), 64 * 1024));
+        docxTextExtractor.extract(file, text, guard);
+        return text.toString();
+    }
+}
@@ -0,0 +1,260 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.exception.ExtractionAbortedException;
+import com.resumeanalyzer.exception.ExtractionRejectedException;
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Admission control for text extraction.
+ *
+ * Extractions run on the dedicated `textExtractionExecutor`, whose pool size caps the cores
+ * spent on parsing so request threads serving lightweight endpoints are not starved, and
+ * whose bounded queue caps the backlog. Each format can additionally be limited to a number
+ * of concurrent extractions (`text-extraction.concurrency.<format>`, 0 = no extra limit), so
+ * expensive formats cannot take the whole pool.
+ *
+ * Work beyond capacity is rejected with {@link ExtractionRejectedException} (429 with
+ * Retry-After) instead of queueing without bound. Queue depth, queue wait time, in-flight
+ * extractions per format and rejections are published as metrics.
+ *
+ * Every extraction also runs under `text-extraction.limits.*` (deadline, text length,
+ * decompressed bytes) through an {@link ExtractionGuard}; documents that exceed them are
+ * aborted with {@link ExtractionAbortedException}, counted per format and reason in
+ * `text.extraction.aborted`.
+ */
+@Component
+public class ExtractionScheduler {
+
+    private static final Logger logger = Logger.getLogger(ExtractionScheduler.class.getName());
+
+    // How far past its deadline an extraction that ignores its guard may run before it is interrupted.
+    static final Duration HARD_DEADLINE_GRACE = Duration.ofSeconds(2);
+    private static final Duration QUEUED_POLL = Duration.ofMillis(100);
+
+    private final ThreadPoolTaskExecutor textExtractionExecutor;
+    private final Map<DocumentFormat, Semaphore> formatPermits = new EnumMap<>(DocumentFormat.class);
+    private final Duration formatMaxWait;
+    private final Duration retryAfter;
+    private final Timer queueWait;
+    private final Map<DocumentFormat, Counter> queueFullRejections = new EnumMap<>(DocumentFormat.class);
+    private final Map<DocumentFormat, Counter> formatLimitRejections = new EnumMap<>(DocumentFormat.class);
+    private final Map<String, Counter> abortCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final long maxChars;
+    private final long maxDecompressedBytes;
+
+    @Autowired
+    public ExtractionScheduler(@Qualifier("textExtractionExecutor") ThreadPoolTaskExecutor textExtractionExecutor,
+                               @Value("${text-extraction.concurrency.max-wait:1s}") Duration formatMaxWait,
+                               @Value("${text-extraction.executor.retry-after:2s}") Duration retryAfter,
+                               @Value("${text-extraction.limits.timeout:30s}") Duration timeout,
+                               @Value("${text-extraction.limits.max-chars:2000000}") long maxChars,
+                               @Value("${text-extraction.limits.max-decompressed-bytes:104857600}") long maxDecompressedBytes,
+                               Environment environment,
+                               MeterRegistry meterRegistry) {
+        this.textExtractionExecutor = textExtractionExecutor;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.maxChars = maxChars;
+        this.maxDecompressedBytes = maxDecompressedBytes;
+        this.formatMaxWait = formatMaxWait;
+        this.retryAfter = retryAfter;
+
+        for (DocumentFormat format : DocumentFormat.values()) {
+            String tag = format.name().toLowerCase(Locale.ROOT);
+            int limit = environment.getProperty("text-extraction.concurrency." + tag, Integer.class, 0);
+            if (limit > 0) {
+                Semaphore permits = new Semaphore(limit, true);
+                formatPermits.put(format, permits);
+                Gauge.builder("text.extraction.in.flight", permits, p -> limit - p.availablePermits())
+                        .tag("format", tag)
+                        .description("Extractions of this format currently admitted")
+                        .register(meterRegistry);
+            }
+            queueFullRejections.put(format, Counter.builder("text.extraction.rejected")
+                    .tag("format", tag).tag("reason", "queue-full")
+                    .description("Extractions rejected because the extraction queue was full")
+                    .register(meterRegistry));
+            formatLimitRejections.put(format, Counter.builder("text.extraction.rejected")
+                    .tag("format", tag).tag("reason", "format-limit")
+                    .description("Extractions rejected because the format's concurrency limit was reached")
+                    .register(meterRegistry));
+        }
+        logger.info("Per-format extraction limits: " + formatPermits.keySet());
+
+        Gauge.builder("text.extraction.queue.depth", textExtractionExecutor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Extractions waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("text.extraction.active", textExtractionExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Extractions currently running")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("text.extraction.queue.wait")
+                .description("Time extractions spent queued before a worker picked them up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an extraction on the extraction pool and waits for its result.
+     *
+     * The extraction gets an {@link ExtractionGuard} whose deadline starts when a worker picks
+     * it up. If the extraction ignores the guard and overruns the deadline by more than
+     * {@link #HARD_DEADLINE_GRACE}, its worker is interrupted and the caller gets the abort
+     * without waiting further. Its format slot stays taken until the worker actually stops.
+     *
+     * @param format The format being extracted, for the per-format limit.
+     * @param extraction The extraction to run.
+     * @return The extracted text.
+     * @throws IOException If the extraction fails.
+     * @throws ExtractionRejectedException If the format limit or the queue is at capacity.
+     * @throws ExtractionAbortedException If the document exceeded an extraction limit.
+     */
+    public String run(DocumentFormat format, GuardedExtraction extraction) throws IOException {
+        Semaphore permits = formatPermits.get(format);
+        if (permits != null && !tryAcquire(permits)) {
+            formatLimitRejections.get(format).increment();
+            logger.warning("Rejecting " + format + " extraction: concurrency limit reached.");
+            throw new ExtractionRejectedException("Too many " + format + " documents are being processed. Please retry shortly.", retryAfter);
+        }
+        // Released exactly once: by the task when it finishes, or by the waiter if the task is
+        // cancelled before it ever runs (a cancelled FutureTask never reaches its finally).
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (permits != null && released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        long queuedAt = System.nanoTime();
+        AtomicLong startedAt = new AtomicLong();
+        Future<String> result;
+        try {
+            result = textExtractionExecutor.submit(() -> {
+                try {
+                    long now = System.nanoTime();
+                    startedAt.set(now);
+                    queueWait.record(now - queuedAt, TimeUnit.NANOSECONDS);
+                    ExtractionGuard guard = new ExtractionGuard(timeout, maxChars, maxDecompressedBytes);
+                    String text = extraction.extract(guard);
+                    guard.check(text.length());
+                    return text;
+                } finally {
+                    release.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            release.run();
+            queueFullRejections.get(format).increment();
+            logger.warning("Rejecting " + format + " extraction: extraction queue is full.");
+            throw new ExtractionRejectedException("Too many documents are being processed. Please retry shortly.", retryAfter);
+        }
+        try {
+            return await(result, startedAt, release);
+        } catch (ExtractionAbortedException e) {
+            abortCounter(format, e.getReason()).increment();
+            logger.warning("Aborted " + format + " extraction (" + e.getReason() + "): " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private Counter abortCounter(DocumentFormat format, ExtractionAbortedException.Reason reason) {
+        return abortCounters.computeIfAbsent(format.name() + ':' + reason.name(), key -> Counter.builder("text.extraction.aborted")
+                .tag("format", format.name().toLowerCase(Locale.ROOT))
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                .description("Extractions aborted because the document exceeded an extraction limit")
+                .register(meterRegistry));
+    }
+
+    private boolean tryAcquire(Semaphore permits) {
+        try {
+            return permits.tryAcquire(formatMaxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Waits for an extraction. Time spent in the queue does not count against the deadline.
+     *
+     * @param release Releases the extraction's format slot; run here only if the extraction is
+     * cancelled before a worker picked it up.
+     */
+    private String await(Future<String> result, AtomicLong startedAt, Runnable release) throws IOException {
+        long hardLimitNanos = timeout.isZero() ? 0 : timeout.plus(HARD_DEADLINE_GRACE).toNanos();
+        try {
+            while (true) {
+                long started = startedAt.get();
+                if (hardLimitNanos == 0) {
+                    return result.get();
+                }
+                // While queued, poll for the start so the deadline is measured from it.
+                long waitNanos = started == 0 ? QUEUED_POLL.toNanos() : started + hardLimitNanos - System.nanoTime();
+                try {
+                    return result.get(Math.max(0, waitNanos), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (startedAt.get() != 0 && System.nanoTime() - startedAt.get() >= hardLimitNanos) {
+                        result.cancel(true);
+                        throw new ExtractionAbortedException(ExtractionAbortedException.Reason.DEADLINE,
+                                "Text extraction took longer than " + timeout.toMillis() + " ms.");
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            if (result.cancel(true) && startedAt.get() == 0) {
+                release.run();
+            }
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for text extraction", e);
+        } catch (CancellationException e) {
+            throw new IOException("Text extraction was cancelled", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Text extraction failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * An extraction that honours the limits of the guard it is given.
+     */
+    @FunctionalInterface
+    public interface GuardedExtraction {
+        String extract(ExtractionGuard guard) throws IOException;
+    }
+}
@@ -1,12 +1,41 @@
 package com.resumeanalyzer.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.resumeanalyzer.util.WriteAheadLog;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * **SIMULATED FIREBASE SERVICE FOR DEMONSTRATION PURPOSES.**
@@ -39,17 +68,168 @@ import java.util.stream.Collectors;
  * For this simulation, data is stored in a simple global map, not specific to a user.
  * In a real app, you would prepend paths with `/artifacts/{__app_id}/users/{userId}/`
  * as per Canvas Firestore rules for private data.
+ *
+ * **Stored form:** documents are stored as typed snapshots, copied once when they are saved
+ * so later changes to the caller's object do not leak into the store. With the default
+ * `document-store.format=OBJECT` reads return the stored snapshot itself, without any
+ * conversion; snapshots are shared between readers and must not be modified. To change a
+ * document, read a private copy with {@link #getDocumentForUpdate} and save it back. With
+ * `SMILE` documents are kept in Jackson's compact binary Smile encoding instead, which takes
+ * less heap for large collections at the cost of decoding a fresh object on every read.
+ *
+ * **Persistence:** with `document-store.persistence.enabled` every save and delete is appended
+ * to a write-ahead log (see {@link DocumentJournal}) before the call returns, and all documents
+ * are written to a snapshot every `snapshot-interval` or once `snapshot-log-size` has been
+ * logged since the last one. On startup the newest snapshot is loaded and the log written
+ * after it is replayed. How durable a returned save is depends on `fsync`: PER_WRITE and
+ * BATCHED return once the record is on disk (BATCHED shares one fsync among concurrent
+ * writers), INTERVAL returns once the OS has the record and may lose up to `fsync-interval`
+ * of saves if the machine (not just the process) goes down.
+ *
+ * **Ordered reads:** a collection registered with {@link #orderCollectionBy} is kept sorted by
+ * a key taken from each document (its creation time), with the document ID breaking ties. It
+ * can then be read a page at a time with {@link #getCollectionPage}, resuming after a
+ * {@link Cursor}, or streamed with {@link #streamCollection}; both walk the sorted index and
+ * decode only the documents they return, like a Firestore `orderBy(...).startAfter(...)` query.
  */
 @Service
 public class FirebaseService {
 
+    private static final Logger logger = Logger.getLogger(FirebaseService.class.getName());
+
+    /**
+     * How documents are kept in memory.
+     */
+    public enum StorageFormat {
+        OBJECT, // The snapshot object itself; reads are free
+        SMILE   // Smile-encoded bytes; smaller, reads decode
+    }
+
+    /**
+     * A position in an ordered collection: the order key and ID of a document. Pages resume
+     * after the cursor of the last document they returned.
+     *
+     * @param orderValue The document's order key; null keys sort first, as "".
+     * @param documentId The document's ID.
+     */
+    public record Cursor(String orderValue, String documentId) implements Comparable<Cursor> {
+        private static final Comparator<Cursor> ORDER = Comparator.comparing(Cursor::orderValue).thenComparing(Cursor::documentId);
+
+        public Cursor {
+            orderValue = orderValue != null ? orderValue : "";
+            Objects.requireNonNull(documentId, "documentId");
+        }
+
+        /**
+         * @return The cursor as an opaque, URL-safe string.
+         */
+        public String encode() {
+            byte[] bytes = (orderValue + '\0' + documentId).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+
+        /**
+         * @param encoded A string from {@link #encode()}.
+         * @return The cursor.
+         * @throws IllegalArgumentException If the string is not a cursor.
+         */
+        public static Cursor decode(String encoded) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf('\0');
+                if (separator >= 0) {
+                    return new Cursor(decoded.substring(0, separator), decoded.substring(separator + 1));
+                }
+            } catch (IllegalArgumentException e) {
+                // Not Base64; reported below.
+            }
+            throw new IllegalArgumentException("Invalid cursor: " + encoded);
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * A page of an ordered collection.
+     *
+     * @param documents The documents, in order (read-only snapshots).
+     * @param next The cursor to read the following page from, or null if this is the last page.
+     */
+    public record Page<T>(List<T> documents, Cursor next) {
+    }
+
     // Simulating Firestore collections as ConcurrentHashMaps
-    // Outer map: collectionName -> (Inner map: documentId -> documentData)
-    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Map<String, Object>>> dataStore = new ConcurrentHashMap<>();
-    private final ObjectMapper objectMapper; // For converting objects to/from Map<String, Object>
+    // Outer map: collectionName -> (Inner map: documentId -> stored snapshot or its Smile bytes)
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Object>> dataStore = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper; // Copies snapshots on save
+    private final ObjectMapper smileMapper; // Encodes and decodes the SMILE stored form
+    private final StorageFormat storageFormat;
+    private final Map<String, OrderIndex> orderIndexes = new ConcurrentHashMap<>(); // Collections kept in order
+
+    // Persistence; null when disabled.
+    private final DocumentJournal journal;
+    private final Object writeLock = new Object(); // Keeps the log in the order of the in-memory updates
+    private final Map<String, Class<?>> collectionTypes = new ConcurrentHashMap<>(); // Type names for the log
+    private final long snapshotLogBytes;
+    private final ScheduledExecutorService snapshotScheduler;
+    private final AtomicBoolean snapshotRequested = new AtomicBoolean();
+    private volatile long loggedBytesAtSnapshot;
+
+    /**
+     * Creates a store that is kept in memory only.
+     */
+    public FirebaseService(ObjectMapper objectMapper, StorageFormat storageFormat) {
+        this(objectMapper, storageFormat, false, null, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ZERO,
+                Duration.ZERO, DataSize.ofBytes(0));
+    }
+
+    @Autowired
+    public FirebaseService(ObjectMapper objectMapper,
+                           @Value("${document-store.format:OBJECT}") StorageFormat storageFormat,
+                           @Value("${document-store.persistence.enabled:false}") boolean persistenceEnabled,
+                           @Value("${document-store.persistence.dir:data/document-store}") Path persistenceDir,
+                           @Value("${document-store.persistence.fsync:BATCHED}") WriteAheadLog.FsyncPolicy fsyncPolicy,
+                           @Value("${document-store.persistence.fsync-interval:100ms}") Duration fsyncInterval,
+                           @Value("${document-store.persistence.snapshot-interval:10m}") Duration snapshotInterval,
+                           @Value("${document-store.persistence.snapshot-log-size:64MB}") DataSize snapshotLogSize) {
+        this.objectMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.storageFormat = storageFormat;
+        this.snapshotLogBytes = snapshotLogSize.toBytes();
+        if (!persistenceEnabled) {
+            this.journal = null;
+            this.snapshotScheduler = null;
+            logger.info("Simulated Firestore stores documents as " + storageFormat + " in memory only");
+            return;
+        }
+
+        this.journal = new DocumentJournal(persistenceDir, fsyncPolicy, fsyncInterval);
+        long start = System.nanoTime();
+        DocumentJournal.Recovery recovery;
+        try {
+            recovery = journal.recover(new RecoverySink());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not recover the document store from " + persistenceDir.toAbsolutePath(), e);
+        }
+        logger.info(String.format("Simulated Firestore stores documents as %s, persisted to %s (fsync %s); recovered %d documents"
+                        + " from a snapshot of %d and %d log records in %d ms", storageFormat, persistenceDir.toAbsolutePath(),
+                fsyncPolicy, dataStore.values().stream().mapToLong(Map::size).sum(), recovery.snapshotDocuments(),
+                recovery.logRecords(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        // A replayed log is not covered by a snapshot yet.
+        this.loggedBytesAtSnapshot = recovery.logRecords() > 0 ? -1 : 0;
 
-    public FirebaseService() {
-        this.objectMapper = new ObjectMapper();
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "document-store-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = snapshotInterval.toMillis();
+        if (intervalMillis > 0) {
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
@@ -58,14 +238,24 @@ public class FirebaseService {
      *
      * @param collectionName The name of the Firestore collection.
      * @param documentId The ID of the document.
-     * @param data The object to save.
+     * @param data The object to save; the store keeps its own copy.
      */
     public void saveDocument(String collectionName, String documentId, Object data) {
-        // Convert object to a Map<String, Object> for generic storage
-        Map<String, Object> documentData = objectMapper.convertValue(data, Map.class);
-        dataStore.computeIfAbsent(collectionName, k -> new ConcurrentHashMap<>())
-                .put(documentId, documentData);
-        System.out.println("Simulated Firestore: Saved document '" + documentId + "' in collection '" + collectionName + "'");
+        if (journal == null) {
+            store(collectionName, documentId, encode(data), data);
+        } else {
+            // The Smile encoding is logged; decoding it again gives the stored copy.
+            byte[] document = toSmile(data);
+            Object stored = storageFormat == StorageFormat.SMILE ? document : fromSmile(document, data.getClass());
+            WriteAheadLog.Append append;
+            synchronized (writeLock) {
+                append = journal.logPut(collectionName, documentId, data.getClass().getName(), document);
+                collectionTypes.put(collectionName, data.getClass());
+                store(collectionName, documentId, stored, data);
+            }
+            awaitDurable(append);
+        }
+        logger.fine(() -> "Simulated Firestore: Saved document '" + documentId + "' in collection '" + collectionName + "'");
     }
 
     /**
@@ -74,21 +264,31 @@ public class FirebaseService {
      *
      * @param collectionName The name of the Firestore collection.
      * @param documentId The ID of the document.
-     * @param valueType The Class type to convert the document data into.
-     * @return The retrieved object, or null if not found.
+     * @param valueType The Class type of the document.
+     * @return The stored snapshot (read-only), or null if not found.
      */
     public <T> T getDocument(String collectionName, String documentId, Class<T> valueType) {
-        ConcurrentHashMap<String, Map<String, Object>> collection = dataStore.get(collectionName);
-        if (collection != null) {
-            Map<String, Object> documentData = collection.get(documentId);
-            if (documentData != null) {
-                System.out.println("Simulated Firestore: Retrieved document '" + documentId + "' from collection '" + collectionName + "'");
-                // Convert Map<String, Object> back to the desired object type
-                return objectMapper.convertValue(documentData, valueType);
-            }
+        ConcurrentHashMap<String, Object> collection = dataStore.get(collectionName);
+        Object stored = collection != null ? collection.get(documentId) : null;
+        if (stored == null) {
+            logger.fine(() -> "Simulated Firestore: Document '" + documentId + "' not found in collection '" + collectionName + "'");
+            return null;
         }
-        System.out.println("Simulated Firestore: Document '" + documentId + "' not found in collection '" + collectionName + "'");
-        return null;
+        return decode(stored, valueType);
+    }
+
+    /**
+     * Retrieves a document as a private copy that the caller may modify and save back.
+     *
+     * @param collectionName The name of the Firestore collection.
+     * @param documentId The ID of the document.
+     * @param valueType The Class type of the document.
+     * @return A copy of the document, or null if not found.
+     */
+    public <T> T getDocumentForUpdate(String collectionName, String documentId, Class<T> valueType) {
+        T document = getDocument(collectionName, documentId, valueType);
+        // SMILE reads already decode a fresh object.
+        return document != null && storageFormat == StorageFormat.OBJECT ? objectMapper.convertValue(document, valueType) : document;
     }
 
     /**
@@ -96,19 +296,118 @@ public class FirebaseService {
      * In a real setup, this would use `db.collection(collectionName).get().toObjects(valueType)`.
      *
      * @param collectionName The name of the Firestore collection.
-     * @param valueType The Class type to convert each document data into.
-     * @return A list of all documents in the collection.
+     * @param valueType The Class type of the documents.
+     * @return An unmodifiable list of all documents in the collection (read-only snapshots).
      */
     public <T> List<T> getCollection(String collectionName, Class<T> valueType) {
-        ConcurrentHashMap<String, Map<String, Object>> collection = dataStore.get(collectionName);
-        if (collection != null) {
-            System.out.println("Simulated Firestore: Retrieved all documents from collection '" + collectionName + "'");
-            return collection.values().stream()
-                    .map(docData -> objectMapper.convertValue(docData, valueType))
-                    .collect(Collectors.toList());
+        ConcurrentHashMap<String, Object> collection = dataStore.get(collectionName);
+        if (collection == null) {
+            return List.of(); // Return empty list if collection doesn't exist
+        }
+        List<T> documents = new ArrayList<>(collection.size());
+        for (Object stored : collection.values()) {
+            documents.add(decode(stored, valueType));
+        }
+        return Collections.unmodifiableList(documents);
+    }
+
+    /**
+     * Keeps a collection sorted by a key taken from each document, so it can be read with
+     * {@link #getCollectionPage} and {@link #streamCollection}. Documents already stored are
+     * indexed now; call this before the collection is written to concurrently (from the
+     * owning repository's constructor).
+     *
+     * @param collectionName The name of the Firestore collection.
+     * @param valueType The Class type of the documents.
+     * @param orderKey Gives the order key of a document, such as its creation time (see
+     *                 {@link #timestampKey}). It should not change when a document is updated.
+     */
+    public <T> void orderCollectionBy(String collectionName, Class<T> valueType, Function<? super T, String> orderKey) {
+        OrderIndex index = new OrderIndex(document -> orderKey.apply(valueType.cast(document)));
+        ConcurrentHashMap<String, Object> collection = dataStore.computeIfAbsent(collectionName, k -> new ConcurrentHashMap<>());
+        synchronized (index) {
+            orderIndexes.put(collectionName, index);
+            collection.forEach((documentId, stored) -> index.put(documentId, decode(stored, valueType)));
+        }
+    }
+
+    /**
+     * Simulates a paged query on an ordered collection, like
+     * `db.collection(collectionName).orderBy(key).startAfter(after).limit(limit).get()`.
+     *
+     * @param collectionName The name of an ordered Firestore collection.
+     * @param valueType The Class type of the documents.
+     * @param after Where the previous page ended, or null for the first page.
+     * @param limit The maximum number of documents in the page.
+     * @return The page; only its documents are decoded.
+     * @throws IllegalArgumentException If the collection is not ordered or limit is not positive.
+     */
+    public <T> Page<T> getCollectionPage(String collectionName, Class<T> valueType, Cursor after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive, was " + limit);
+        }
+        ConcurrentHashMap<String, Object> collection = dataStore.get(collectionName);
+        List<T> documents = new ArrayList<>(Math.min(limit, 1024));
+        Cursor last = null;
+        for (Cursor position : positionsAfter(collectionName, after)) {
+            Object stored = collection.get(position.documentId());
+            if (stored == null) {
+                continue; // Deleted since the position was read
+            }
+            if (documents.size() == limit) {
+                return new Page<>(Collections.unmodifiableList(documents), last);
+            }
+            documents.add(decode(stored, valueType));
+            last = position;
+        }
+        return new Page<>(Collections.unmodifiableList(documents), null);
+    }
+
+    /**
+     * Streams an ordered collection, decoding each document as the stream reaches it, so a
+     * whole collection can be written out without holding it in a list. The stream is weakly
+     * consistent: documents saved or deleted while it is read may or may not be included.
+     *
+     * @param collectionName The name of an ordered Firestore collection.
+     * @param valueType The Class type of the documents.
+     * @param after Where to start (exclusive), or null to start at the beginning.
+     * @return The documents in order (read-only snapshots).
+     * @throws IllegalArgumentException If the collection is not ordered.
+     */
+    public <T> Stream<T> streamCollection(String collectionName, Class<T> valueType, Cursor after) {
+        ConcurrentHashMap<String, Object> collection = dataStore.get(collectionName);
+        return positionsAfter(collectionName, after).stream()
+                .map(position -> collection.get(position.documentId()))
+                .filter(Objects::nonNull)
+                .map(stored -> decode(stored, valueType));
+    }
+
+    /**
+     * Makes an order key of an ISO-8601 instant, as stored by the models. Instant strings do
+     * not sort by time (their fraction has a varying number of digits); these keys do.
+     *
+     * @param instant An instant such as `2024-05-01T10:15:30.12Z`; may be null.
+     * @return A fixed-width key, or "" (first) if the instant is missing or not an instant.
+     */
+    public static String timestampKey(String instant) {
+        if (instant == null) {
+            return "";
+        }
+        try {
+            Instant parsed = Instant.parse(instant);
+            // Seconds since Instant.MIN are never negative and fit in 17 digits.
+            return String.format("%017d%09d", parsed.getEpochSecond() - Instant.MIN.getEpochSecond(), parsed.getNano());
+        } catch (DateTimeParseException e) {
+            return "";
         }
-        System.out.println("Simulated Firestore: Collection '" + collectionName + "' is empty or does not exist.");
-        return List.of(); // Return empty list if collection doesn't exist
+    }
+
+    private NavigableSet<Cursor> positionsAfter(String collectionName, Cursor after) {
+        OrderIndex index = orderIndexes.get(collectionName);
+        if (index == null) {
+            throw new IllegalArgumentException("Collection '" + collectionName + "' is not ordered");
+        }
+        return after != null ? index.positions.tailSet(after, false) : index.positions;
     }
 
     /**
@@ -117,15 +416,258 @@ public class FirebaseService {
      *
      * @param collectionName The name of the Firestore collection.
      * @param documentId The ID of the document to delete.
+     * @return True if the document existed.
+     */
+    public boolean deleteDocument(String collectionName, String documentId) {
+        boolean deleted;
+        if (journal == null) {
+            deleted = unstore(collectionName, documentId);
+        } else {
+            WriteAheadLog.Append append = null;
+            synchronized (writeLock) {
+                deleted = unstore(collectionName, documentId);
+                if (deleted) {
+                    append = journal.logDelete(collectionName, documentId);
+                }
+            }
+            if (append != null) {
+                awaitDurable(append);
+            }
+        }
+        logger.fine(() -> "Simulated Firestore: " + (deleted ? "Deleted" : "Did not find") + " document '" + documentId
+                + "' in collection '" + collectionName + "'");
+        return deleted;
+    }
+
+    /**
+     * Writes all documents to a new snapshot and drops the log it replaces. Writers are held
+     * back only while the log is switched to a new segment and the collections are copied
+     * (references only); encoding and writing happen afterwards.
+     *
+     * @throws IOException If the snapshot cannot be written; the log still has everything.
      */
-    public void deleteDocument(String collectionName, String documentId) {
-        ConcurrentHashMap<String, Map<String, Object>> collection = dataStore.get(collectionName);
-        if (collection != null) {
-            if (collection.remove(documentId) != null) {
-                System.out.println("Simulated Firestore: Deleted document '" + documentId + "' from collection '" + collectionName + "'");
-            } else {
-                System.out.println("Simulated Firestore: Document '" + documentId + "' not found for deletion in collection '" + collectionName + "'");
+    void snapshot() throws IOException {
+        long upTo;
+        long loggedBytes;
+        List<StoredDocument> documents = new ArrayList<>();
+        synchronized (writeLock) {
+            loggedBytes = journal.getLoggedBytes();
+            if (loggedBytes == loggedBytesAtSnapshot) {
+                return; // Nothing has changed since the last snapshot.
+            }
+            upTo = journal.startSnapshot();
+            dataStore.forEach((collectionName, collection) -> collection.forEach((documentId, stored) ->
+                    documents.add(new StoredDocument(collectionName, documentId, stored))));
+        }
+        journal.writeSnapshot(upTo, () -> documents.stream()
+                .map(document -> {
+                    Class<?> type = collectionTypes.get(document.collectionName());
+                    byte[] bytes = document.stored() instanceof byte[] smile ? smile : toSmile(document.stored());
+                    return new DocumentJournal.SnapshotEntry(document.collectionName(), document.documentId(), type.getName(), bytes);
+                })
+                .iterator());
+        loggedBytesAtSnapshot = loggedBytes;
+    }
+
+    /**
+     * Takes a snapshot once enough has been logged since the last one.
+     */
+    private void requestSnapshotIfDue() {
+        if (journal.getLoggedBytes() - loggedBytesAtSnapshot >= snapshotLogBytes && snapshotRequested.compareAndSet(false, true)) {
+            snapshotScheduler.execute(() -> {
+                snapshotRequested.set(false);
+                snapshotQuietly();
+            });
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Could not write a document store snapshot; the write-ahead log keeps growing until one succeeds", e);
+        }
+    }
+
+    /**
+     * Stops snapshotting, writes a final snapshot so the next start has no log to replay, and
+     * closes the log.
+     */
+    @PreDestroy
+    public void close() {
+        if (journal == null) {
+            return;
+        }
+        snapshotScheduler.shutdown();
+        try {
+            snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+            snapshot();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Could not write a document store snapshot on shutdown", e);
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not close the document store log", e);
+        }
+    }
+
+    /**
+     * Waits until a logged change is as durable as the fsync policy promises.
+     */
+    private void awaitDurable(WriteAheadLog.Append append) {
+        try {
+            append.durable().join();
+        } catch (CompletionException e) {
+            throw new UncheckedIOException("The change was applied in memory but could not be written to the document store log",
+                    e.getCause() instanceof IOException io ? io : new IOException(e.getCause()));
+        }
+        requestSnapshotIfDue();
+    }
+
+    /**
+     * Puts a document's stored form into its collection and, if the collection is ordered, the
+     * document into the order index, as one step for concurrent writers of the same document.
+     */
+    private void store(String collectionName, String documentId, Object stored, Object document) {
+        ConcurrentHashMap<String, Object> collection = dataStore.computeIfAbsent(collectionName, k -> new ConcurrentHashMap<>());
+        OrderIndex index = orderIndexes.get(collectionName);
+        if (index == null) {
+            collection.put(documentId, stored);
+            return;
+        }
+        synchronized (index) {
+            collection.put(documentId, stored);
+            index.put(documentId, document);
+        }
+    }
+
+    /**
+     * Removes a document from its collection and order index.
+     *
+     * @return True if the document existed.
+     */
+    private boolean unstore(String collectionName, String documentId) {
+        ConcurrentHashMap<String, Object> collection = dataStore.get(collectionName);
+        if (collection == null) {
+            return false;
+        }
+        OrderIndex index = orderIndexes.get(collectionName);
+        if (index == null) {
+            return collection.remove(documentId) != null;
+        }
+        synchronized (index) {
+            index.remove(documentId);
+            return collection.remove(documentId) != null;
+        }
+    }
+
+    /**
+     * @return The stored form of a document: a deep copy, or its Smile encoding.
+     */
+    private Object encode(Object data) {
+        if (storageFormat == StorageFormat.SMILE) {
+            return toSmile(data);
+        }
+        return objectMapper.convertValue(data, data.getClass());
+    }
+
+    private <T> T decode(Object stored, Class<T> valueType) {
+        if (stored instanceof byte[] bytes) {
+            return fromSmile(bytes, valueType);
+        }
+        return valueType.cast(stored);
+    }
+
+    private byte[] toSmile(Object data) {
+        try {
+            return smileMapper.writeValueAsBytes(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode document of type " + data.getClass().getName(), e);
+        }
+    }
+
+    private <T> T fromSmile(byte[] bytes, Class<T> valueType) {
+        try {
+            return smileMapper.readValue(bytes, valueType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode document of type " + valueType.getName(), e);
+        }
+    }
+
+    /**
+     * The documents of an ordered collection, sorted by order key and ID. Readers iterate
+     * {@link #positions} without locking; writers hold the index's lock.
+     */
+    private static final class OrderIndex {
+        private final Function<Object, String> orderKey;
+        private final NavigableSet<Cursor> positions = new ConcurrentSkipListSet<>();
+        private final Map<String, Cursor> byDocumentId = new HashMap<>(); // Guarded by `this`
+
+        OrderIndex(Function<Object, String> orderKey) {
+            this.orderKey = orderKey;
+        }
+
+        synchronized void put(String documentId, Object document) {
+            Cursor position = new Cursor(orderKey.apply(document), documentId);
+            Cursor previous = byDocumentId.put(documentId, position);
+            // Add before removing, so a reader never misses a document whose key did not change.
+            positions.add(position);
+            if (previous != null && !previous.equals(position)) {
+                positions.remove(previous);
+            }
+        }
+
+        synchronized void remove(String documentId) {
+            Cursor position = byDocumentId.remove(documentId);
+            if (position != null) {
+                positions.remove(position);
+            }
+        }
+    }
+
+    /**
+     * A document as copied for a snapshot.
+     */
+    private record StoredDocument(String collectionName, String documentId, Object stored) {
+    }
+
+    /**
+     * Puts recovered documents into the store, in the stored form of the current format.
+     */
+    private final class RecoverySink implements DocumentJournal.Sink {
+        private static final String MODEL_PACKAGE = "com.resumeanalyzer.model.";
+
+        private final Map<String, Class<?>> types = new HashMap<>();
+
+        @Override
+        public void put(String collectionName, String documentId, String typeName, byte[] document) throws IOException {
+            Class<?> type = types.get(typeName);
+            if (type == null) {
+                // Only model classes are ever stored; anything else in the log is not ours to instantiate.
+                if (!typeName.startsWith(MODEL_PACKAGE)) {
+                    throw new IOException("Unexpected document type " + typeName + " in the document store log");
+                }
+                try {
+                    type = Class.forName(typeName);
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unknown document type " + typeName + " in the document store log", e);
+                }
+                types.put(typeName, type);
+            }
+            collectionTypes.put(collectionName, type);
+            Object stored = storageFormat == StorageFormat.SMILE ? document : smileMapper.readValue(document, type);
+            dataStore.computeIfAbsent(collectionName, k -> new ConcurrentHashMap<>()).put(documentId, stored);
+        }
+
+        @Override
+        public void delete(String collectionName, String documentId) {
+            ConcurrentHashMap<String, Object> collection = dataStore.get(collectionName);
+            if (collection != null) {
+                collection.remove(documentId);
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,244 @@
+package com.resumeanalyzer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Shared client for the Gemini generateContent endpoint.
+ *
+ * Every call goes through a circuit breaker and a bulkhead and carries connect and
+ * response timeouts, so a slow or failing Gemini cannot tie up request threads:
+ * - the bulkhead caps concurrent in-flight calls and rejects the excess immediately;
+ * - the circuit breaker opens on a high error rate or slow-call rate, after which calls
+ *   are rejected without touching the network until it half-opens again.
+ * Responses are handled on the bounded `llmExecutor`; when it is saturated the call is
+ * rejected too. Rejected, timed-out and failed calls all complete with null, which callers
+ * treat as "use the local fallback". Breaker state and bulkhead usage are published as
+ * `resilience4j.*` metrics tagged with name "gemini".
+ */
+@Component
+public class GeminiClient {
+
+    private static final Logger logger = Logger.getLogger(GeminiClient.class.getName());
+
+    @Value("${gemini.api.url}")
+    private String geminiApiUrl;
+
+    @Value("${gemini.api.key}")
+    private String geminiApiKey;
+
+    private final HttpClient httpClient;
+    private final Executor llmExecutor;
+    private final ObjectMapper objectMapper;
+    private final Duration responseTimeout;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    @Autowired
+    public GeminiClient(@Qualifier("llmExecutor") Executor llmExecutor,
+                        @Qualifier("geminiHttpExecutor") Executor geminiHttpExecutor,
+                        MeterRegistry meterRegistry,
+                        @Value("${gemini.client.connect-timeout:5s}") Duration connectTimeout,
+                        @Value("${gemini.client.response-timeout:30s}") Duration responseTimeout,
+                        @Value("${gemini.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                        @Value("${gemini.circuit-breaker.slow-call-duration-threshold:15s}") Duration slowCallDurationThreshold,
+                        @Value("${gemini.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                        @Value("${gemini.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+                        @Value("${gemini.circuit-breaker.wait-duration-in-open-state:30s}") Duration waitDurationInOpenState,
+                        @Value("${gemini.bulkhead.max-concurrent-calls:16}") int maxConcurrentCalls) {
+        // A small pool of its own rather than the HttpClient's default cached pool.
+        this.httpClient = HttpClient.newBuilder()
+                .executor(geminiHttpExecutor)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.llmExecutor = llmExecutor;
+        this.objectMapper = new ObjectMapper();
+        this.responseTimeout = responseTimeout;
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.max(1, slidingWindowSize / 2))
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // A full bulkhead says nothing about Gemini's health.
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("gemini");
+        this.circuitBreaker.getEventPublisher().onStateTransition(event ->
+                logger.warning("Gemini circuit breaker transitioned: " + event.getStateTransition()));
+
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.bulkhead = bulkheadRegistry.bulkhead("gemini");
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    /**
+     * Sends a prompt to Gemini asking for a JSON response that follows the given schema.
+     *
+     * @param prompt The prompt text.
+     * @param responseSchema The Gemini response schema, as a JSON object literal.
+     * @return A future completing with the JSON generated by the model, or with null if the
+     *         call was rejected, timed out, failed or returned an unexpected format.
+     *         It never completes exceptionally.
+     */
+    public CompletableFuture<JsonNode> generateJson(String prompt, String responseSchema) {
+        HttpRequest request = buildRequest(prompt, responseSchema);
+        Supplier<CompletionStage<HttpResponse<String>>> call = () ->
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(this::failOnUnavailable);
+        Supplier<CompletionStage<HttpResponse<String>>> guardedCall =
+                CircuitBreaker.decorateCompletionStage(circuitBreaker, Bulkhead.decorateCompletionStage(bulkhead, call));
+
+        return guardedCall.get().toCompletableFuture()
+                // supplyAsync throws if the LLM pool is saturated, which fails this stage.
+                .thenCompose(response -> CompletableFuture.supplyAsync(() -> readGeneratedJson(response), llmExecutor))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof CallNotPermittedException) {
+                        logger.warning("Gemini circuit breaker is open; skipping LLM call.");
+                    } else if (cause instanceof BulkheadFullException) {
+                        logger.warning("Too many concurrent Gemini calls; skipping LLM call.");
+                    } else if (cause instanceof RejectedExecutionException) {
+                        logger.warning("LLM executor is saturated; dropping the Gemini response.");
+                    } else if (cause instanceof HttpTimeoutException) {
+                        logger.severe("Gemini call timed out: " + cause.getMessage());
+                    } else {
+                        logger.severe("Error communicating with LLM API: " + cause.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * @return The current circuit breaker state (CLOSED, OPEN, HALF_OPEN, ...).
+     */
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    private HttpRequest buildRequest(String prompt, String responseSchema) {
+        String requestBody = String.format("""
+            {
+                "contents": [
+                    {
+                        "role": "user",
+                        "parts": [
+                            { "text": "%s" }
+                        ]
+                    }
+                ],
+                "generationConfig": {
+                    "responseMimeType": "application/json",
+                    "responseSchema": %s
+                }
+            }
+            """, escapeJson(prompt), responseSchema);
+
+        return HttpRequest.newBuilder()
+                .uri(URI.create(geminiApiUrl + "?key=" + URLEncoder.encode(geminiApiKey, StandardCharsets.UTF_8)))
+                .header("Content-Type", "application/json")
+                .timeout(responseTimeout)
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+    }
+
+    /**
+     * Turns throttling and server errors into failures so the circuit breaker counts them.
+     * Other non-200 responses (e.g. a malformed request) are not a sign of an outage.
+     */
+    private HttpResponse<String> failOnUnavailable(HttpResponse<String> response) {
+        if (response.statusCode() == 429 || response.statusCode() >= 500) {
+            throw new CompletionException(new IOException("Gemini returned status " + response.statusCode()));
+        }
+        return response;
+    }
+
+    /**
+     * Reads the JSON document generated by the model out of a generateContent response.
+     *
+     * @return The parsed JSON generated by the model, or null if the call failed or the format was unexpected.
+     */
+    private JsonNode readGeneratedJson(HttpResponse<String> response) {
+        logger.info("LLM API Response Status: " + response.statusCode());
+        logger.fine("LLM API Response Body: " + response.body());
+
+        if (response.statusCode() != 200) {
+            logger.severe("LLM API call failed with status: " + response.statusCode() + ", Body: " + response.body());
+            return null;
+        }
+
+        try {
+            JsonNode rootNode = objectMapper.readTree(response.body());
+            JsonNode candidatesNode = rootNode.path("candidates");
+
+            if (candidatesNode.isArray() && !candidatesNode.isEmpty()) {
+                JsonNode contentNode = candidatesNode.get(0).path("content");
+                JsonNode partsNode = contentNode.path("parts");
+
+                if (partsNode.isArray() && !partsNode.isEmpty()) {
+                    JsonNode textNode = partsNode.get(0).path("text");
+                    if (textNode.isTextual()) {
+                        return objectMapper.readTree(textNode.asText());
+                    }
+                }
+            }
+
+            logger.warning("Unexpected LLM response format or missing fields: " + response.body());
+            return null;
+        } catch (JsonProcessingException e) {
+            logger.severe("Error parsing JSON response from LLM: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Escapes special characters for JSON string safety.
+     */
+    private String escapeJson(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r")
+                .replace("\t", "\\t");
+    }
+}
@@ -0,0 +1,96 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+import org.springframework.stereotype.Component;
+
+import javax.swing.text.MutableAttributeSet;
+import javax.swing.text.html.HTML;
+import javax.swing.text.html.HTMLEditorKit;
+import javax.swing.text.html.parser.ParserDelegator;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * HTML extractor. Uses the JDK's callback-based HTML parser, so the page is tokenized in one
+ * streaming pass without building a DOM. Script and style content is dropped and block-level
+ * elements (paragraphs, divs, list items, table rows and cells, headings, line breaks) become
+ * line breaks; inline elements add no separator.
+ */
+@Component
+public class HtmlDocumentExtractor implements DocumentTextExtractor {
+
+    @Override
+    public DocumentFormat getFormat() {
+        return DocumentFormat.HTML;
+    }
+
+    @Override
+    public String extract(Path file, Charset charset, ExtractionGuard guard) throws IOException {
+        TextCollector collector = new TextCollector(guard, new StringBuilder((int) Math.min(Files.size(file) / 2 + 16, 64 * 1024)));
+        try (Reader reader = Files.newBufferedReader(file, charset)) {
+            // ParserDelegator caches the parsed HTML DTD statically, so creating one per call is cheap.
+            new ParserDelegator().parse(reader, collector, true);
+        }
+        return collector.text.toString();
+    }
+
+    private static final class TextCollector extends HTMLEditorKit.ParserCallback {
+        private final ExtractionGuard guard;
+        private final StringBuilder text;
+        private int skipDepth;
+
+        TextCollector(ExtractionGuard guard, StringBuilder text) {
+            this.guard = guard;
+            this.text = text;
+        }
+
+        /**
+         * Appends text as is: the parser keeps the whitespace around inline elements, so
+         * "Node<b>.js</b>" stays one word. Separators come only from block-level tags.
+         */
+        @Override
+        public void handleText(char[] data, int pos) {
+            if (skipDepth == 0) {
+                text.append(data);
+            }
+        }
+
+        @Override
+        public void handleStartTag(HTML.Tag tag, MutableAttributeSet attributes, int pos) {
+            guard.check(text.length());
+            if (tag == HTML.Tag.SCRIPT || tag == HTML.Tag.STYLE || tag == HTML.Tag.TITLE) {
+                skipDepth++;
+            } else if (tag.isBlock() || tag.breaksFlow()) {
+                newLine();
+            }
+        }
+
+        @Override
+        public void handleEndTag(HTML.Tag tag, int pos) {
+            if (tag == HTML.Tag.SCRIPT || tag == HTML.Tag.STYLE || tag == HTML.Tag.TITLE) {
+                skipDepth = Math.max(0, skipDepth - 1);
+            } else if (tag.isBlock() || tag.breaksFlow()) {
+                newLine();
+            } else if (tag == HTML.Tag.TD || tag == HTML.Tag.TH) {
+                text.append('\t');
+            }
+        }
+
+        @Override
+        public void handleSimpleTag(HTML.Tag tag, MutableAttributeSet attributes, int pos) {
+            if (tag == HTML.Tag.BR || tag == HTML.Tag.HR) {
+                newLine();
+            }
+        }
+
+        private void newLine() {
+            if (!text.isEmpty() && text.charAt(text.length() - 1) != '\n') {
+                text.append('\n');
+            }
+        }
+    }
+}
@@ -5,8 +5,10 @@ import com.resumeanalyzer.repo.JobDescriptionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Service for managing JobDescription entities.
@@ -16,22 +18,31 @@ import java.util.Optional;
 public class JobDescriptionService {
 
     private final JobDescriptionRepository jobDescriptionRepository;
+    private final SkillPrecomputationService skillPrecomputationService;
 
     /**
      * Constructs the JobDescriptionService with the JobDescriptionRepository injected by Spring.
      */
     @Autowired
-    public JobDescriptionService(JobDescriptionRepository jobDescriptionRepository) {
+    public JobDescriptionService(JobDescriptionRepository jobDescriptionRepository,
+                                 SkillPrecomputationService skillPrecomputationService) {
         this.jobDescriptionRepository = jobDescriptionRepository;
+        this.skillPrecomputationService = skillPrecomputationService;
     }
 
     /**
-     * Creates and saves a new job description.
+     * Creates and saves a new job description, then starts extracting its skills in the background.
      * @param jobDescription The JobDescription object to save.
      * @return The saved JobDescription, including its generated ID.
      */
     public JobDescription createJobDescription(JobDescription jobDescription) {
-        return jobDescriptionRepository.save(jobDescription);
+        jobDescription.setCreatedAt(Instant.now().toString());
+        jobDescription.setContentVersion(1);
+        jobDescription.setSkills(null);
+        jobDescription.setSkillsVersion(0);
+        JobDescription saved = jobDescriptionRepository.save(jobDescription);
+        skillPrecomputationService.precompute(saved);
+        return saved;
     }
 
     /**
@@ -44,25 +55,66 @@ public class JobDescriptionService {
     }
 
     /**
-     * Retrieves all job descriptions for the current user.
+     * @param jobDescription A stored job description.
+     * @return Its description text, decompressed.
+     */
+    public String getDescription(JobDescription jobDescription) {
+        return jobDescriptionRepository.loadDescription(jobDescription);
+    }
+
+    /**
+     * Retrieves a page of job descriptions, oldest first.
      * In a real multi-user Firestore setup, this would query based on `userId`.
-     * @return A list of all JobDescription objects.
+     * @param after The cursor the previous page ended at, or null for the first page.
+     * @param limit The maximum number of job descriptions to return.
+     * @return The page, with the cursor of the next one.
      */
-    public List<JobDescription> getAllJobDescriptions() {
-        return jobDescriptionRepository.findAll();
+    public FirebaseService.Page<JobDescription> getJobDescriptionPage(FirebaseService.Cursor after, int limit) {
+        return jobDescriptionRepository.findPage(after, limit);
+    }
+
+    /**
+     * Streams job descriptions, oldest first, without collecting them in a list.
+     * @param after The cursor to start after, or null to start at the oldest.
+     * @return The job descriptions.
+     */
+    public Stream<JobDescription> streamJobDescriptions(FirebaseService.Cursor after) {
+        return jobDescriptionRepository.streamAll(after);
     }
 
     /**
      * Updates an existing job description.
+     * Stored skills are kept if the description text is unchanged; otherwise the content
+     * version is bumped and skills are re-extracted in the background.
      * @param jobDescription The JobDescription object with updated details (ID must be present).
      * @return The updated JobDescription if found and updated, null otherwise.
      */
     public JobDescription updateJobDescription(JobDescription jobDescription) {
         // Check if the job description exists before attempting to update
-        if (jobDescription.getId() == null || jobDescriptionRepository.findById(jobDescription.getId()).isEmpty()) {
+        if (jobDescription.getId() == null) {
+            return null;
+        }
+        Optional<JobDescription> existing = jobDescriptionRepository.findById(jobDescription.getId());
+        if (existing.isEmpty()) {
             return null; // Or throw a specific exception
         }
-        return jobDescriptionRepository.save(jobDescription);
+        JobDescription current = existing.get();
+        jobDescription.setCreatedAt(current.getCreatedAt());
+        boolean descriptionChanged = !Objects.equals(jobDescriptionRepository.loadDescription(current), jobDescription.getDescription());
+        if (descriptionChanged) {
+            jobDescription.setContentVersion(current.getContentVersion() + 1);
+            jobDescription.setSkills(null);
+            jobDescription.setSkillsVersion(0);
+        } else {
+            jobDescription.setContentVersion(current.getContentVersion());
+            jobDescription.setSkills(current.getSkills());
+            jobDescription.setSkillsVersion(current.getSkillsVersion());
+        }
+        JobDescription saved = jobDescriptionRepository.save(jobDescription);
+        if (descriptionChanged) {
+            skillPrecomputationService.precompute(saved);
+        }
+        return saved;
     }
 
     /**
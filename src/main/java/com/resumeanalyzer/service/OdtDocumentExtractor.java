@@ -0,0 +1,32 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+import com.resumeanalyzer.util.OdtTextExtractor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * ODT extractor: streams text out of `content.xml` without building a document model.
+ */
+@Component
+public class OdtDocumentExtractor implements DocumentTextExtractor {
+
+    private final OdtTextExtractor odtTextExtractor = new OdtTextExtractor();
+
+    @Override
+    public DocumentFormat getFormat() {
+        return DocumentFormat.ODT;
+    }
+
+    @Override
+    public String extract(Path file, Charset charset, ExtractionGuard guard) throws IOException {
+        StringBuilder text = new StringBuilder((int) Math.min(Files.size(file), 64 * 1024));
+        odtTextExtractor.extract(file, text, guard);
+        return text.toString();
+    }
+}
@@ -0,0 +1,232 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.exception.ExtractionAbortedException;
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+/**
+ * PDF extractor based on PDFBox.
+ *
+ * Large PDFs are split into page ranges that are extracted concurrently on the bounded
+ * `pdfExtractionExecutor` and stitched back together in page order. PDDocument is not
+ * thread-safe, so every range but the first opens the file again; at most
+ * `text-extraction.pdf.max-chunks-in-flight` ranges of a document are open at once, and only
+ * documents of at least two ranges are split. Extraction can stop after a number of pages or
+ * characters, since text past that point is not used for skill extraction. PDFBox keeps at most `text-extraction.pdf.max-main-memory-bytes` of
+ * document data in heap and spills the rest to scratch files.
+ *
+ * Documents with more than `text-extraction.limits.max-pages` pages are rejected outright,
+ * and the text stripper checks the {@link ExtractionGuard} on every page and every batch of
+ * content-stream operators, so pages with huge vector graphics cannot run past the deadline.
+ */
+@Component
+public class PdfDocumentExtractor implements DocumentTextExtractor {
+
+    private static final Logger logger = Logger.getLogger(PdfDocumentExtractor.class.getName());
+
+    private final Executor pdfExtractionExecutor;
+    private final long pdfMaxMainMemoryBytes;
+    private final File tempDir;
+    private final int pagesPerChunk;
+    private final int parallelThresholdPages;
+    private final int maxChunksInFlight;
+    private final int maxPages;
+    private final int maxChars;
+    private final int pageLimit;
+
+    @Autowired
+    public PdfDocumentExtractor(@Qualifier("pdfExtractionExecutor") Executor pdfExtractionExecutor,
+                                @Value("${text-extraction.pdf.max-main-memory-bytes:8388608}") long pdfMaxMainMemoryBytes,
+                                @Value("${text-extraction.temp-dir:${java.io.tmpdir}}") File tempDir,
+                                @Value("${text-extraction.pdf.pages-per-chunk:8}") int pagesPerChunk,
+                                @Value("${text-extraction.pdf.parallel-threshold-pages:16}") int parallelThresholdPages,
+                                @Value("${text-extraction.pdf.max-chunks-in-flight:4}") int maxChunksInFlight,
+                                @Value("${text-extraction.pdf.max-pages:0}") int maxPages,
+                                @Value("${text-extraction.pdf.max-chars:0}") int maxChars,
+                                @Value("${text-extraction.limits.max-pages:2000}") int pageLimit) {
+        this.pdfExtractionExecutor = pdfExtractionExecutor;
+        this.pdfMaxMainMemoryBytes = pdfMaxMainMemoryBytes;
+        this.tempDir = tempDir;
+        this.pagesPerChunk = Math.max(1, pagesPerChunk);
+        // Splitting pays for reopening the file only when there are at least two ranges.
+        this.parallelThresholdPages = Math.max(parallelThresholdPages, 2 * this.pagesPerChunk);
+        this.maxChunksInFlight = Math.max(1, maxChunksInFlight);
+        this.maxPages = maxPages;
+        this.maxChars = maxChars;
+        this.pageLimit = pageLimit;
+    }
+
+    @Override
+    public DocumentFormat getFormat() {
+        return DocumentFormat.PDF;
+    }
+
+    @Override
+    public String extract(Path file, Charset charset, ExtractionGuard guard) throws IOException {
+        try (PDDocument document = loadPdf(file)) {
+            int pageCount = document.getNumberOfPages();
+            if (pageLimit > 0 && pageCount > pageLimit) {
+                throw new ExtractionAbortedException(ExtractionAbortedException.Reason.PAGES,
+                        "Document has " + pageCount + " pages; at most " + pageLimit + " are accepted.");
+            }
+            guard.check();
+            int lastPage = maxPages > 0 ? Math.min(pageCount, maxPages) : pageCount;
+
+            String text;
+            if (lastPage < parallelThresholdPages) {
+                text = truncate(extractPageRange(document, 1, lastPage, guard));
+            } else {
+                text = extractPagesInParallel(document, file, lastPage, guard);
+            }
+            logger.fine("PDF pages extracted: " + lastPage + "/" + pageCount);
+            return text;
+        }
+    }
+
+    /**
+     * Opens a PDF with at most `pdfMaxMainMemoryBytes` of buffers in heap; the rest goes to scratch files.
+     */
+    private PDDocument loadPdf(Path file) throws IOException {
+        MemoryUsageSetting memoryUsage = MemoryUsageSetting.setupMixed(pdfMaxMainMemoryBytes).setTempDir(tempDir);
+        return PDDocument.load(file.toFile(), memoryUsage);
+    }
+
+    /**
+     * Extracts pages 1..lastPage in chunks of `pagesPerChunk` pages. The first chunk is
+     * extracted on the calling thread from the document it already opened; the following
+     * ones run on the PDF pool, each with its own copy of the document, with at most
+     * `maxChunksInFlight` submitted ahead. Chunks are stitched in page order; once the
+     * character limit is reached no more chunks are started.
+     */
+    private String extractPagesInParallel(PDDocument document, Path file, int lastPage, ExtractionGuard guard) throws IOException {
+        Deque<CompletableFuture<String>> inFlight = new ArrayDeque<>();
+        int nextPage = 1 + pagesPerChunk;
+        StringBuilder text = new StringBuilder();
+        try {
+            for (; nextPage <= lastPage && inFlight.size() < maxChunksInFlight; nextPage += pagesPerChunk) {
+                inFlight.add(submitChunk(file, nextPage, Math.min(lastPage, nextPage + pagesPerChunk - 1), guard));
+            }
+            text.append(extractPageRange(document, 1, pagesPerChunk, guard));
+            guard.check(text.length());
+            while (!inFlight.isEmpty() && (maxChars <= 0 || text.length() < maxChars)) {
+                text.append(inFlight.poll().join());
+                guard.check(text.length());
+                if (nextPage <= lastPage) {
+                    inFlight.add(submitChunk(file, nextPage, Math.min(lastPage, nextPage + pagesPerChunk - 1), guard));
+                    nextPage += pagesPerChunk;
+                }
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof ExtractionAbortedException aborted) {
+                throw aborted;
+            }
+            throw e;
+        } finally {
+            // Chunks that have not started yet are skipped; running ones finish and are discarded.
+            inFlight.forEach(chunk -> chunk.cancel(false));
+        }
+        return truncate(text.toString());
+    }
+
+    private CompletableFuture<String> submitChunk(Path file, int startPage, int endPage, ExtractionGuard guard) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (PDDocument chunkDocument = loadPdf(file)) {
+                return extractPageRange(chunkDocument, startPage, endPage, guard);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, pdfExtractionExecutor);
+    }
+
+    private String extractPageRange(PDDocument document, int startPage, int endPage, ExtractionGuard guard) throws IOException {
+        PDFTextStripper pdfStripper = new GuardedTextStripper(guard, maxChars);
+        pdfStripper.setStartPage(startPage);
+        pdfStripper.setEndPage(endPage);
+        return pdfStripper.getText(document);
+    }
+
+    private String truncate(String text) {
+        return maxChars > 0 && text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    /**
+     * PDFTextStripper that checks the extraction guard while it works, and stops writing and
+     * processing pages once it has written `maxChars` characters (when positive).
+     */
+    private static final class GuardedTextStripper extends PDFTextStripper {
+        private static final int OPERATORS_PER_CHECK = 4096;
+
+        private final ExtractionGuard guard;
+        private final int maxChars;
+        private int operators;
+        private long chars;
+
+        GuardedTextStripper(ExtractionGuard guard, int maxChars) throws IOException {
+            this.guard = guard;
+            this.maxChars = maxChars;
+            // Mark page boundaries so running headers and footers can be recognized later.
+            setPageEnd("\f");
+        }
+
+        @Override
+        public void processPage(PDPage page) throws IOException {
+            if (!limitReached()) {
+                super.processPage(page);
+            }
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            guard.check(chars);
+            super.startPage(page);
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+            if (++operators % OPERATORS_PER_CHECK == 0) {
+                guard.check(chars);
+            }
+            super.processOperator(operator, operands);
+        }
+
+        @Override
+        protected void writeString(String text, List<TextPosition> textPositions) throws IOException {
+            if (limitReached()) {
+                return; // The rest of the page is cut off anyway.
+            }
+            chars += text.length();
+            super.writeString(text, textPositions);
+        }
+
+        private boolean limitReached() {
+            return maxChars > 0 && chars >= maxChars;
+        }
+    }
+}
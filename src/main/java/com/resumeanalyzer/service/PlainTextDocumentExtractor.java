@@ -0,0 +1,47 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Plain-text extractor. Decodes with the sniffed charset, replacing malformed bytes
+ * instead of failing, and drops a leading byte-order mark.
+ */
+@Component
+public class PlainTextDocumentExtractor implements DocumentTextExtractor {
+
+    @Override
+    public DocumentFormat getFormat() {
+        return DocumentFormat.TEXT;
+    }
+
+    @Override
+    public String extract(Path file, Charset charset, ExtractionGuard guard) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        StringBuilder text = new StringBuilder((int) Math.min(Files.size(file), 1024 * 1024));
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), decoder)) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, read);
+                guard.check(text.length());
+            }
+        }
+        if (!text.isEmpty() && text.charAt(0) == '\uFEFF') {
+            text.deleteCharAt(0);
+        }
+        return text.toString();
+    }
+}
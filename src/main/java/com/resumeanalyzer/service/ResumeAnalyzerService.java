@@ -1,22 +1,14 @@
 package com.resumeanalyzer.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resumeanalyzer.dto.AnalysisResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.logging.Logger; // Import Logger
 
@@ -32,25 +24,21 @@ public class ResumeAnalyzerService {
 
     private final SkillExtractionService skillExtractionService;
     private final ScoreCalculationService scoreCalculationService;
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
-
-    @Value("${gemini.api.url}")
-    private String geminiApiUrl;
-
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
+    private final GeminiClient geminiClient;
+    private final ResumeSectionSelector resumeSectionSelector;
 
     /**
      * Constructs the ResumeAnalyzerService with necessary dependencies injected by Spring.
      */
     @Autowired
     public ResumeAnalyzerService(SkillExtractionService skillExtractionService,
-                                 ScoreCalculationService scoreCalculationService) {
+                                 ScoreCalculationService scoreCalculationService,
+                                 GeminiClient geminiClient,
+                                 ResumeSectionSelector resumeSectionSelector) {
         this.skillExtractionService = skillExtractionService;
         this.scoreCalculationService = scoreCalculationService;
-        this.httpClient = HttpClient.newHttpClient();
-        this.objectMapper = new ObjectMapper();
+        this.geminiClient = geminiClient;
+        this.resumeSectionSelector = resumeSectionSelector;
     }
 
     /**
@@ -64,9 +52,9 @@ public class ResumeAnalyzerService {
      * @return An AnalysisResponse DTO containing the analysis results.
      */
     public AnalysisResponse analyze(String resumeText, String jobDescriptionText, String jobDescriptionRequiredSkills) {
-        // Step 1: Extract skills from the resume
-        List<String> resumeSkills = skillExtractionService.extractSkills(resumeText);
-        logger.info("Extracted Resume Skills: " + resumeSkills);
+        // Step 1: Start extracting skills from the resume's relevant sections; it runs while the job skills are prepared
+        CompletableFuture<List<String>> resumeSkillsFuture =
+                skillExtractionService.extractSkillsAsync(resumeSectionSelector.skillText(resumeText));
 
         // Step 2: Extract skills from the job description (using the full description or just the required skills list)
         List<String> jobDescriptionSkills = new ArrayList<>();
@@ -77,17 +65,21 @@ public class ResumeAnalyzerService {
                     .collect(Collectors.toList());
         } else {
             // Fallback: If no explicit required skills, extract from full job description text
-            jobDescriptionSkills = skillExtractionService.extractSkills(jobDescriptionText);
+            jobDescriptionSkills = skillExtractionService.extractSkillsAsync(jobDescriptionText).join();
         }
         logger.info("Extracted Job Description Skills (for scoring): " + jobDescriptionSkills);
 
+        List<String> resumeSkills = resumeSkillsFuture.join();
+        logger.info("Extracted Resume Skills: " + resumeSkills);
+
         // Step 3: Calculate the match score
         double score = scoreCalculationService.calculateScore(resumeSkills, jobDescriptionSkills);
         logger.info("Calculated Match Score: " + String.format("%.2f", score) + "%");
 
         // Step 4: Generate qualitative analysis (strengths, weaknesses, recommendations) using the LLM
         // This is a separate LLM call to get more detailed insights.
-        AnalysisResponse qualitativeAnalysis = generateQualitativeAnalysis(resumeText, jobDescriptionText, score);
+        AnalysisResponse qualitativeAnalysis = generateQualitativeAnalysis(
+                resumeSectionSelector.analysisText(resumeText), jobDescriptionText, score);
 
         // Combine all results into the final AnalysisResponse
         // Corrected: Added 'message' as the second argument.
@@ -109,7 +101,7 @@ public class ResumeAnalyzerService {
      * This method sends a prompt to the LLM asking for structured analysis based on
      * the resume content, job description, and a preliminary match score.
      *
-     * @param resumeText The text content of the resume.
+     * @param resumeText The relevant sections of the resume.
      * @param jobDescriptionText The text content of the job description.
      * @param matchScore The calculated match score.
      * @return An AnalysisResponse DTO containing the generated strengths, weaknesses, and recommendations.
@@ -136,89 +128,30 @@ public class ResumeAnalyzerService {
             "message": A short concluding message about the analysis (e.g., "Analysis complete." or "Detailed feedback provided.").
             """, matchScore, resumeText, jobDescriptionText);
 
-        try {
-            String requestBody = String.format("""
+        // Completes with null when Gemini fails, times out or the circuit breaker is open.
+        JsonNode analysisNode = geminiClient.generateJson(prompt, """
                 {
-                    "contents": [
-                        {
-                            "role": "user",
-                            "parts": [
-                                { "text": "%s" }
-                            ]
-                        }
-                    ],
-                    "generationConfig": {
-                        "responseMimeType": "application/json",
-                        "responseSchema": {
-                            "type": "OBJECT",
-                            "properties": {
-                                "strengths": { "type": "STRING" },
-                                "weaknesses": { "type": "STRING" },
-                                "recommendations": { "type": "STRING" },
-                                "message": { "type": "STRING" } // Added message field to schema
-                            },
-                            "propertyOrdering": ["strengths", "weaknesses", "recommendations", "message"] // Maintain order
-                        }
-                    }
-                }
-                """, escapeJson(prompt));
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(geminiApiUrl + "?key=" + URLEncoder.encode(geminiApiKey, StandardCharsets.UTF_8.toString())))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            logger.info("LLM qualitative analysis: API Response Status: " + response.statusCode());
-            logger.fine("LLM qualitative analysis: API Response Body: " + response.body());
-
-            if (response.statusCode() == 200) {
-                JsonNode rootNode = objectMapper.readTree(response.body());
-                JsonNode candidatesNode = rootNode.path("candidates");
-
-                if (candidatesNode.isArray() && !candidatesNode.isEmpty()) {
-                    JsonNode contentNode = candidatesNode.get(0).path("content");
-                    JsonNode partsNode = contentNode.path("parts");
-
-                    if (partsNode.isArray() && !partsNode.isEmpty()) {
-                        JsonNode textNode = partsNode.get(0).path("text");
-                        if (textNode.isTextual()) {
-                            JsonNode analysisNode = objectMapper.readTree(textNode.asText());
-                            String strengths = analysisNode.path("strengths").asText("");
-                            String weaknesses = analysisNode.path("weaknesses").asText("");
-                            String recommendations = analysisNode.path("recommendations").asText("");
-                            String message = analysisNode.path("message").asText("Qualitative analysis generated."); // Retrieve message
-
-                            // Corrected constructor call: now includes 'message' as the second argument
-                            return new AnalysisResponse(matchScore, message, strengths, weaknesses, recommendations, new ArrayList<>(), new ArrayList<>());
-                        }
-                    }
+                    "type": "OBJECT",
+                    "properties": {
+                        "strengths": { "type": "STRING" },
+                        "weaknesses": { "type": "STRING" },
+                        "recommendations": { "type": "STRING" },
+                        "message": { "type": "STRING" }
+                    },
+                    "propertyOrdering": ["strengths", "weaknesses", "recommendations", "message"]
                 }
-                logger.warning("LLM qualitative analysis: Unexpected response format or missing fields: " + response.body());
-            } else {
-                logger.severe("LLM qualitative analysis: API call failed with status: " + response.statusCode() + ", Body: " + response.body());
-            }
-        } catch (IOException | InterruptedException e) {
-            logger.severe("LLM qualitative analysis: Error communicating with LLM API: " + e.getMessage());
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            logger.severe("LLM qualitative analysis: An unexpected error occurred: " + e.getMessage());
+                """).join();
+
+        if (analysisNode != null) {
+            String strengths = analysisNode.path("strengths").asText("");
+            String weaknesses = analysisNode.path("weaknesses").asText("");
+            String recommendations = analysisNode.path("recommendations").asText("");
+            String message = analysisNode.path("message").asText("Qualitative analysis generated."); // Retrieve message
+
+            return new AnalysisResponse(matchScore, message, strengths, weaknesses, recommendations, new ArrayList<>(), new ArrayList<>());
         }
 
         // Return a default/empty response in case of any failure
         return new AnalysisResponse(matchScore, "Analysis failed.", "N/A", "N/A", "N/A", new ArrayList<>(), new ArrayList<>());
     }
-
-    /**
-     * Helper method to escape special characters in a string to make it a valid JSON string value.
-     */
-    private String escapeJson(String text) {
-        return text.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
-    }
 }
@@ -0,0 +1,228 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.model.ContentRef;
+import com.resumeanalyzer.util.BlobSegmentStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps resume texts off the heap, in memory-mapped segment files (see {@link BlobSegmentStore}).
+ *
+ * Stored resumes only hold a {@link ContentRef}; the text is decoded from the mapping when a
+ * caller needs it. Texts are stored compressed by the {@link TextCompressor}. Texts are
+ * immutable: a changed text is written anew and the old one is released. Once a segment is at
+ * least `compaction.garbage-ratio` garbage, the resume repository copies its live texts to the
+ * active segment and the segment is deleted; this runs in the background after deletes.
+ *
+ * Resumes uploaded with the same bytes share one stored text. The store counts the resumes
+ * holding each text and marks it as garbage only when the last one releases it.
+ *
+ * With `resume.content-store.enabled=false` texts stay inside the resume documents.
+ */
+@Service
+public class ResumeContentStore {
+
+    private static final Logger logger = Logger.getLogger(ResumeContentStore.class.getName());
+
+    private final BlobSegmentStore blobs; // Null when disabled
+    private final TextCompressor textCompressor;
+    private final double compactionGarbageRatio;
+    private final ExecutorService compactionExecutor;
+    private final AtomicBoolean compactionRequested = new AtomicBoolean();
+    private final Map<ContentRef, Integer> holders = new ConcurrentHashMap<>(); // Resumes referencing each live text
+
+    @Autowired
+    public ResumeContentStore(@Value("${resume.content-store.enabled:false}") boolean enabled,
+                              @Value("${resume.content-store.dir:data/resume-content}") Path directory,
+                              @Value("${resume.content-store.segment-size:64MB}") DataSize segmentSize,
+                              @Value("${resume.content-store.sync:true}") boolean sync,
+                              @Value("${resume.content-store.compaction.garbage-ratio:0.5}") double compactionGarbageRatio,
+                              TextCompressor textCompressor,
+                              MeterRegistry meterRegistry) {
+        this.textCompressor = textCompressor;
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        if (!enabled) {
+            this.blobs = null;
+            this.compactionExecutor = null;
+            logger.info("Resume texts are stored inside the resume documents");
+            return;
+        }
+        if (segmentSize.toBytes() <= 0 || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("resume.content-store.segment-size must be between 1 byte and 2GB");
+        }
+        try {
+            this.blobs = new BlobSegmentStore(directory, (int) segmentSize.toBytes(), sync);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open the resume content store in " + directory.toAbsolutePath(), e);
+        }
+        this.compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resume-content-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("resume.content.store.bytes", blobs, BlobSegmentStore::getLiveBytes)
+                .tag("state", "live")
+                .baseUnit("bytes")
+                .description("Bytes of resume texts still referenced")
+                .register(meterRegistry);
+        Gauge.builder("resume.content.store.bytes", blobs, BlobSegmentStore::getStoredBytes)
+                .tag("state", "stored")
+                .baseUnit("bytes")
+                .description("Bytes written to resume content segments, including garbage")
+                .register(meterRegistry);
+        logger.info("Resume texts are stored in memory-mapped segments in " + directory.toAbsolutePath());
+    }
+
+    /**
+     * @return False if texts are kept inside the resume documents.
+     */
+    public boolean isEnabled() {
+        return blobs != null;
+    }
+
+    /**
+     * Stores a text.
+     * @param content The text.
+     * @return Where it was stored.
+     */
+    public ContentRef write(String content) {
+        try {
+            ContentRef ref = blobs.append(textCompressor.compress(content, TextCompressor.TextField.RESUME));
+            holders.put(ref, 1);
+            return ref;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store resume text", e);
+        }
+    }
+
+    /**
+     * @param ref Where a text is stored.
+     * @return The text, read from the mapped segment and decompressed.
+     */
+    public String read(ContentRef ref) {
+        return textCompressor.decompress(blobs.read(ref), TextCompressor.TextField.RESUME);
+    }
+
+    /**
+     * Copies a text to the active segment, for compaction. The old copy stays live until it is
+     * released.
+     * @param ref Where the text is stored.
+     * @return Where the copy was stored.
+     */
+    public ContentRef move(ContentRef ref) {
+        try {
+            ContentRef copy = blobs.copy(ref);
+            holders.put(copy, 1);
+            return copy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not move resume text " + ref, e);
+        }
+    }
+
+    /**
+     * Adds a resume holding a stored text: a recovered resume at startup, or a new resume that
+     * shares the text of an identical upload. The text counts as live once, however many
+     * resumes hold it.
+     */
+    public void retain(ContentRef ref) {
+        if (holders.merge(ref, 1, Integer::sum) == 1) {
+            blobs.retain(ref);
+        }
+    }
+
+    /**
+     * Removes a resume holding a text; the text becomes garbage once no resume holds it.
+     */
+    public void release(ContentRef ref) {
+        boolean[] last = {false};
+        holders.computeIfPresent(ref, (key, count) -> {
+            last[0] = count == 1;
+            return count > 1 ? count - 1 : null;
+        });
+        if (last[0]) {
+            blobs.release(ref);
+        }
+    }
+
+    /**
+     * Trims the segments found at startup to their last retained text. Call once the texts of
+     * every recovered resume have been retained.
+     */
+    public void trimRecoveredSegments() {
+        try {
+            long trimmed = blobs.trimRecoveredSegments();
+            if (trimmed > 0) {
+                logger.info("Trimmed " + trimmed + " unreferenced bytes from resume content segments.");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not trim resume content segments", e);
+        }
+    }
+
+    /**
+     * @return Segments with enough garbage to be compacted.
+     */
+    public Set<Integer> segmentsToCompact() {
+        return blobs.segmentsToCompact(compactionGarbageRatio);
+    }
+
+    /**
+     * Deletes the segments left without live texts by a compaction.
+     * @return The number of segments deleted.
+     */
+    public int deleteReleasedSegments() {
+        try {
+            return blobs.deleteReleasedSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete resume content segments", e);
+        }
+    }
+
+    /**
+     * Runs a compaction in the background if any segment needs one and none is pending.
+     * @param compaction The compaction, supplied by the owner of the references.
+     */
+    public void requestCompaction(Runnable compaction) {
+        if (segmentsToCompact().isEmpty() || !compactionRequested.compareAndSet(false, true)) {
+            return;
+        }
+        compactionExecutor.execute(() -> {
+            compactionRequested.set(false);
+            try {
+                compaction.run();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Resume content compaction failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        if (blobs == null) {
+            return;
+        }
+        compactionExecutor.shutdownNow();
+        try {
+            blobs.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not close the resume content store", e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.model.Resume;
+import com.resumeanalyzer.model.ResumeSection;
+import com.resumeanalyzer.model.SectionType;
+import com.resumeanalyzer.util.ResumeSectionSegmenter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Builds the resume text that is sent to the LLM from the resume's sections.
+ *
+ * Skill extraction and qualitative analysis each get only the sections configured for them
+ * (`resume.sections.skills`, `resume.sections.analysis`), in document order. Every section is
+ * cut to its token budget (`resume.sections.budget.<section>`, 0 = no limit) at a line
+ * boundary, so a long experience history cannot crowd out the skills section. When none of the
+ * configured sections is found, the full text is used, since an unsegmented resume still has
+ * to be analyzed.
+ *
+ * Sections are detected at ingest and stored on the {@link Resume}; resumes stored without
+ * them are segmented on the fly.
+ */
+@Service
+public class ResumeSectionSelector {
+
+    private static final Logger logger = Logger.getLogger(ResumeSectionSelector.class.getName());
+
+    // Rough size of a token for English text, used to turn token budgets into characters.
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final ResumeSectionSegmenter segmenter = new ResumeSectionSegmenter();
+    private final boolean enabled;
+    private final Set<SectionType> skillSections;
+    private final Set<SectionType> analysisSections;
+    private final Map<SectionType, Integer> budgetChars = new EnumMap<>(SectionType.class);
+    private final DistributionSummary skillSavedChars;
+    private final DistributionSummary analysisSavedChars;
+
+    @Autowired
+    public ResumeSectionSelector(@Value("${resume.sections.enabled:true}") boolean enabled,
+                                 @Value("${resume.sections.skills:SUMMARY,SKILLS,EXPERIENCE,PROJECTS,CERTIFICATIONS}") List<SectionType> skillSections,
+                                 @Value("${resume.sections.analysis:SUMMARY,SKILLS,EXPERIENCE,PROJECTS,EDUCATION,CERTIFICATIONS}") List<SectionType> analysisSections,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.skillSections = toSet(skillSections);
+        this.analysisSections = toSet(analysisSections);
+        for (SectionType type : SectionType.values()) {
+            int tokens = environment.getProperty("resume.sections.budget." + type.name().toLowerCase(Locale.ROOT), Integer.class, 0);
+            if (tokens > 0) {
+                budgetChars.put(type, tokens * CHARS_PER_TOKEN);
+            }
+        }
+        this.skillSavedChars = DistributionSummary.builder("resume.sections.saved.chars")
+                .tag("purpose", "skills")
+                .baseUnit("chars")
+                .description("Resume characters left out of skill extraction prompts")
+                .register(meterRegistry);
+        this.analysisSavedChars = DistributionSummary.builder("resume.sections.saved.chars")
+                .tag("purpose", "analysis")
+                .baseUnit("chars")
+                .description("Resume characters left out of analysis prompts")
+                .register(meterRegistry);
+        logger.info("Resume sections for skill extraction: " + this.skillSections + ", for analysis: " + this.analysisSections);
+    }
+
+    private static Set<SectionType> toSet(List<SectionType> types) {
+        return types.isEmpty() ? EnumSet.noneOf(SectionType.class) : EnumSet.copyOf(types);
+    }
+
+    /**
+     * Detects the sections of a resume text. Called once at ingest.
+     * @param text The extracted resume text.
+     * @return The sections, or null if segmentation is disabled.
+     */
+    public List<ResumeSection> segment(String text) {
+        return enabled ? segmenter.segment(text) : null;
+    }
+
+    /**
+     * @param resumeText The text of a stored resume.
+     * @param sections The sections stored with it, or null if it was not segmented.
+     * @return The resume text to extract skills from.
+     */
+    public String skillText(String resumeText, List<ResumeSection> sections) {
+        return select(resumeText, sections, skillSections, skillSavedChars);
+    }
+
+    /**
+     * @param resumeText A resume text that has not been stored.
+     * @return The resume text to extract skills from.
+     */
+    public String skillText(String resumeText) {
+        return select(resumeText, null, skillSections, skillSavedChars);
+    }
+
+    /**
+     * @param resumeText A resume text that has not been stored.
+     * @return The resume text for qualitative analysis prompts.
+     */
+    public String analysisText(String resumeText) {
+        return select(resumeText, null, analysisSections, analysisSavedChars);
+    }
+
+    private String select(String text, List<ResumeSection> sections, Set<SectionType> wanted, DistributionSummary savedChars) {
+        if (!enabled || text == null || text.isEmpty()) {
+            return text;
+        }
+        if (sections == null) {
+            sections = segmenter.segment(text);
+        }
+        StringBuilder selected = new StringBuilder(text.length());
+        boolean found = false;
+        for (ResumeSection section : sections) {
+            if (!wanted.contains(section.getType()) || section.getEnd() > text.length()) {
+                continue;
+            }
+            found = true;
+            int start = section.getStart();
+            int end = truncate(text, start, section.getEnd(), budgetChars.getOrDefault(section.getType(), 0));
+            if (!selected.isEmpty()) {
+                selected.append("\n\n");
+            }
+            selected.append(text, start, end);
+        }
+        if (!found) {
+            return text;
+        }
+        String result = selected.toString().strip();
+        savedChars.record(Math.max(0, text.length() - result.length()));
+        return result;
+    }
+
+    /**
+     * @return Where a section is cut to fit its budget: the last line break within the budget,
+     *         or the budget itself if the first line is longer.
+     */
+    private static int truncate(String text, int start, int end, int maxChars) {
+        if (maxChars <= 0 || end - start <= maxChars) {
+            return end;
+        }
+        int limit = start + maxChars;
+        int lineBreak = text.lastIndexOf('\n', limit);
+        return lineBreak > start ? lineBreak : limit;
+    }
+}
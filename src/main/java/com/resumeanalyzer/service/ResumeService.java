@@ -1,20 +1,40 @@
 // src/main/java/com/resumeanalyzer/service/ResumeService.java
 package com.resumeanalyzer.service;
 
+import com.resumeanalyzer.exception.ExtractionAbortedException;
+import com.resumeanalyzer.exception.ExtractionRejectedException;
 import com.resumeanalyzer.model.Resume;
+import com.resumeanalyzer.model.ResumeStatus;
 import com.resumeanalyzer.repo.ResumeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.UUID; // For generating unique IDs
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger; // Import Logger
 
 /**
  * Service for handling Resume-related business logic.
+ *
+ * Uploads are hashed while they are spooled. When the same bytes were uploaded before,
+ * text extraction is skipped: depending on `resume.dedup.reuse-existing-id` the upload either
+ * resolves to the existing Resume, or gets a new Resume that shares the existing extracted
+ * text (and skills, once they have been extracted).
+ *
+ * {@link #submitResume(MultipartFile)} is the asynchronous variant: the upload is spooled and
+ * a QUEUED Resume is stored straight away, while extraction and skill precomputation run on
+ * the bounded `uploadProcessingExecutor`. Progress is reported through {@link ResumeStatus}.
  */
 @Service
 public class ResumeService {
@@ -23,34 +43,227 @@ public class ResumeService {
 
     private final ResumeRepository resumeRepository;
     private final TextExtractionService textExtractionService; // Inject TextExtractionService
+    private final SkillPrecomputationService skillPrecomputationService;
+    private final ResumeSectionSelector resumeSectionSelector;
+    private final boolean dedupEnabled;
+    private final boolean reuseExistingId;
+    private final Executor uploadProcessingExecutor;
+    private final Duration asyncRetryAfter;
+    private final Counter extractedUploads;
+    private final Counter duplicateUploads;
 
     @Autowired
-    public ResumeService(ResumeRepository resumeRepository, TextExtractionService textExtractionService) {
+    public ResumeService(ResumeRepository resumeRepository, TextExtractionService textExtractionService,
+                         SkillPrecomputationService skillPrecomputationService,
+                         ResumeSectionSelector resumeSectionSelector,
+                         @Qualifier("uploadProcessingExecutor") Executor uploadProcessingExecutor,
+                         @Value("${resume.dedup.enabled:true}") boolean dedupEnabled,
+                         @Value("${resume.dedup.reuse-existing-id:false}") boolean reuseExistingId,
+                         @Value("${upload.async.retry-after:5s}") Duration asyncRetryAfter,
+                         MeterRegistry meterRegistry) {
         this.resumeRepository = resumeRepository;
         this.textExtractionService = textExtractionService;
+        this.skillPrecomputationService = skillPrecomputationService;
+        this.resumeSectionSelector = resumeSectionSelector;
+        this.uploadProcessingExecutor = uploadProcessingExecutor;
+        this.dedupEnabled = dedupEnabled;
+        this.reuseExistingId = reuseExistingId;
+        this.asyncRetryAfter = asyncRetryAfter;
+        this.extractedUploads = Counter.builder("resume.uploads")
+                .tag("result", "extracted")
+                .description("Resume uploads whose text was extracted")
+                .register(meterRegistry);
+        this.duplicateUploads = Counter.builder("resume.uploads")
+                .tag("result", "duplicate")
+                .description("Resume uploads that reused the text of an identical earlier upload")
+                .register(meterRegistry);
     }
 
     public Resume saveResume(MultipartFile file) throws IOException, InterruptedException, java.util.concurrent.ExecutionException {
+        try (SpooledUpload upload = textExtractionService.spool(file)) {
+            return saveResume(upload);
+        }
+    }
+
+    /**
+     * Extracts and stores an upload that has already been spooled, or resolves it to an
+     * earlier identical upload. The caller keeps ownership of the upload.
+     * @param upload The spooled upload.
+     * @return The saved resume.
+     * @throws IOException If the upload cannot be read.
+     */
+    public Resume saveResume(SpooledUpload upload) throws IOException {
+        return saveResume(upload, true);
+    }
+
+    /**
+     * Like {@link #saveResume(SpooledUpload)}, optionally leaving skill precomputation to the
+     * caller, e.g. to precompute the skills of many resumes in batched requests.
+     * @param upload The spooled upload.
+     * @param precomputeSkills Whether to start skill precomputation for the saved resume.
+     * @return The saved resume; without current skills if the caller has to precompute them.
+     * @throws IOException If the upload cannot be read.
+     */
+    public Resume saveResume(SpooledUpload upload, boolean precomputeSkills) throws IOException {
+        if (dedupEnabled) {
+            Optional<Resume> existing = resumeRepository.findByContentHash(upload.getContentHash());
+            if (existing.isPresent()) {
+                Resume duplicate = saveDuplicate(existing.get(), upload, precomputeSkills);
+                if (duplicate != null) {
+                    duplicateUploads.increment();
+                    return duplicate;
+                }
+            }
+        }
+        extractedUploads.increment();
+        return saveExtracted(upload, precomputeSkills);
+    }
+
+    /**
+     * Accepts an upload for asynchronous processing. The upload is spooled on the calling
+     * thread (which also reserves its share of the upload budget); text extraction and skill
+     * precomputation happen on the upload processing pool.
+     * @param file The uploaded resume file.
+     * @return The stored Resume: QUEUED for new content, or the result of deduplication.
+     * @throws IOException If the upload cannot be spooled.
+     * @throws ExtractionRejectedException If the upload budget or the processing queue is full.
+     */
+    public Resume submitResume(MultipartFile file) throws IOException {
+        SpooledUpload upload = textExtractionService.spool(file);
+        boolean handedOff = false;
+        try {
+            if (dedupEnabled) {
+                Optional<Resume> existing = resumeRepository.findByContentHash(upload.getContentHash());
+                if (existing.isPresent()) {
+                    Resume duplicate = saveDuplicate(existing.get(), upload, true);
+                    if (duplicate != null) {
+                        duplicateUploads.increment();
+                        return duplicate;
+                    }
+                }
+            }
+
+            Resume resume = new Resume();
+            resume.setId(UUID.randomUUID().toString());
+            resume.setFileName(upload.getOriginalFilename());
+            resume.setContentType(upload.getContentType());
+            resume.setFileSize(upload.getSize());
+            resume.setUploadDate(Instant.now().toString());
+            resume.setStatus(ResumeStatus.QUEUED);
+            resumeRepository.save(resume);
+            try {
+                uploadProcessingExecutor.execute(() -> processUpload(resume, upload));
+            } catch (RejectedExecutionException e) {
+                resumeRepository.deleteById(resume.getId());
+                logger.warning("Rejecting upload " + upload.getOriginalFilename() + ": upload processing queue is full.");
+                throw new ExtractionRejectedException("Too many uploads are queued for processing. Please retry shortly.", asyncRetryAfter);
+            }
+            handedOff = true;
+            logger.info("Queued resume " + resume.getId() + " (" + upload.getOriginalFilename() + ") for processing.");
+            return resume;
+        } finally {
+            if (!handedOff) {
+                upload.close();
+            }
+        }
+    }
+
+    /**
+     * Extracts the text of a queued upload and stores it, then starts skill precomputation.
+     * Runs on the upload processing pool; owns (and closes) the spooled upload.
+     */
+    private void processUpload(Resume resume, SpooledUpload upload) {
+        try (upload) {
+            resume.setStatus(ResumeStatus.EXTRACTING);
+            if (!resumeRepository.update(resume)) {
+                logger.info("Resume " + resume.getId() + " was deleted before processing; skipping it.");
+                return;
+            }
+            String extractedText = textExtractionService.extractText(upload);
+            extractedUploads.increment();
+            resume.setContent(extractedText);
+            resume.setSections(resumeSectionSelector.segment(extractedText));
+            resume.setContentHash(upload.getContentHash());
+            resume.setContentVersion(1);
+            resume.setStatus(ResumeStatus.EXTRACTED);
+            if (resumeRepository.update(resume)) {
+                logger.info("Extracted text of resume " + resume.getId() + " (length: " + extractedText.length() + ").");
+                skillPrecomputationService.precompute(resume);
+            }
+        } catch (Exception e) {
+            logger.warning("Processing of resume " + resume.getId() + " failed: " + e.getMessage());
+            resume.setStatus(ResumeStatus.FAILED);
+            boolean clientError = e instanceof IllegalArgumentException || e instanceof ExtractionAbortedException
+                    || e instanceof ExtractionRejectedException;
+            resume.setStatusMessage(clientError ? e.getMessage() : "Text extraction failed: " + e.getMessage());
+            resumeRepository.update(resume);
+        }
+    }
+
+    private Resume saveExtracted(SpooledUpload upload, boolean precomputeSkills) throws IOException {
         // Extract text content using the injected TextExtractionService
-        String extractedText = textExtractionService.extractText(file);
-        System.out.println("Extracted Text:\n" + extractedText);
-        // --- NEW LOGGING ADDED HERE TO DEBUG TEXT EXTRACTION ---
-        // Log the extracted text to see if PDFBox (or DOCX extractor) is actually retrieving content.
-        // We truncate the content for logging to avoid flooding logs with very large resumes.
-        logger.info("Extracted text from resume file (length: " + extractedText.length() + "): " +
-                (extractedText.length() > 500 ? extractedText.substring(0, 500) + "..." : extractedText));
-        // --- END NEW LOGGING ---
+        String extractedText = textExtractionService.extractText(upload);
+        // Resume text is personal data: log its size only.
+        logger.fine(() -> "Extracted " + extractedText.length() + " characters from " + upload.getOriginalFilename()
+                + " (" + upload.getSize() + " bytes).");
 
         Resume resume = new Resume();
         resume.setId(UUID.randomUUID().toString()); // Generate a unique ID
-        resume.setFileName(file.getOriginalFilename());
-        resume.setContentType(file.getContentType());
-        resume.setFileSize(file.getSize());
-        System.out.println("file.getSize:\n" + file.getSize());
+        resume.setFileName(upload.getOriginalFilename());
+        resume.setContentType(upload.getContentType());
+        resume.setFileSize(upload.getSize());
         resume.setContent(extractedText); // This line sets the content
+        resume.setSections(resumeSectionSelector.segment(extractedText)); // Sections sent to the LLM are picked from these
+        resume.setContentHash(upload.getContentHash());
         resume.setUploadDate(Instant.now().toString()); // Set current timestamp
-        System.out.println("Instant.now().toString():\n" + Instant.now().toString());
-        return resumeRepository.save(resume);
+        resume.setContentVersion(1);
+        resume.setStatus(ResumeStatus.EXTRACTED);
+        Resume savedResume = resumeRepository.save(resume);
+        if (precomputeSkills) {
+            // Extract skills in the background so later analyses can reuse them.
+            skillPrecomputationService.precompute(savedResume);
+        }
+        return savedResume;
+    }
+
+    /**
+     * Handles an upload whose bytes match an existing Resume, without extracting text again.
+     * The new Resume shares the existing one's stored text.
+     * @return The saved Resume, or null if the existing one was deleted in the meantime and the
+     *         upload has to be extracted after all.
+     */
+    private Resume saveDuplicate(Resume existing, SpooledUpload upload, boolean precomputeSkills) {
+        if (reuseExistingId) {
+            logger.info("Upload " + upload.getOriginalFilename() + " is identical to resume " + existing.getId() + "; returning it.");
+            return existing;
+        }
+
+        Resume resume = new Resume();
+        resume.setId(UUID.randomUUID().toString());
+        resume.setFileName(upload.getOriginalFilename());
+        resume.setContentType(upload.getContentType());
+        resume.setFileSize(upload.getSize());
+        resume.setSections(existing.getSections() != null ? new ArrayList<>(existing.getSections()) : null);
+        resume.setContentHash(upload.getContentHash());
+        resume.setUploadDate(Instant.now().toString());
+        resume.setContentVersion(1);
+        if (existing.hasCurrentSkills()) {
+            resume.setSkills(new ArrayList<>(existing.getSkills()));
+            resume.setSkillsVersion(1);
+        }
+        resume.setStatus(resume.hasCurrentSkills() ? ResumeStatus.READY : ResumeStatus.EXTRACTED);
+        if (!resumeRepository.saveSharingContent(resume, existing.getId())) {
+            return null;
+        }
+        logger.info("Upload " + upload.getOriginalFilename() + " is identical to resume " + existing.getId()
+                + "; created resume " + resume.getId() + " with its extracted text.");
+        Resume savedResume = resume;
+        if (precomputeSkills && !savedResume.hasCurrentSkills()) {
+            // The original's skills are still being extracted; the extraction cache and
+            // single-flight make this a cheap join rather than a second LLM call.
+            skillPrecomputationService.precompute(savedResume);
+        }
+        return savedResume;
     }
 
     public Optional<Resume> getResume(String id) {
@@ -62,6 +275,22 @@ public class ResumeService {
         }
     }
 
+    /**
+     * @param id The ID of the resume.
+     * @return The resume with its text loaded, as a private copy.
+     */
+    public Optional<Resume> getResumeWithContent(String id) {
+        return resumeRepository.findByIdWithContent(id);
+    }
+
+    /**
+     * @param resume A stored resume.
+     * @return Its text, or null if it has not been extracted yet.
+     */
+    public String getContent(Resume resume) {
+        return resumeRepository.loadContent(resume);
+    }
+
     public void deleteResume(String id) {
         resumeRepository.deleteById(id);
     }
@@ -0,0 +1,36 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.ExtractionGuard;
+import com.resumeanalyzer.util.RtfTextExtractor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * RTF extractor: a single streaming pass over the control words, skipping non-text destinations.
+ */
+@Component
+public class RtfDocumentExtractor implements DocumentTextExtractor {
+
+    private final RtfTextExtractor rtfTextExtractor = new RtfTextExtractor();
+
+    @Override
+    public DocumentFormat getFormat() {
+        return DocumentFormat.RTF;
+    }
+
+    @Override
+    public String extract(Path file, Charset charset, ExtractionGuard guard) throws IOException {
+        // RTF markup is verbose; the text is typically well under a quarter of the file.
+        StringBuilder text = new StringBuilder((int) Math.min(Files.size(file) / 4 + 16, 64 * 1024));
+        try (InputStream in = Files.newInputStream(file)) {
+            rtfTextExtractor.extract(in, text, guard);
+        }
+        return text.toString();
+    }
+}
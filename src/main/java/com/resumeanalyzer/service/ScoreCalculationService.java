@@ -1,5 +1,7 @@
 package com.resumeanalyzer.service;
 
+import com.resumeanalyzer.util.SkillVector;
+
 import java.util.List;
 
 /**
@@ -17,4 +19,23 @@ public interface ScoreCalculationService {
      * @return A double representing the matching score (e.g., 0.0 to 100.0).
      */
     double calculateScore(List<String> resumeSkills, List<String> jobDescriptionSkills);
-}
\ No newline at end of file
+
+    /**
+     * Compares resume skills with job description skills in one pass.
+     *
+     * @param resumeSkills A list of skills extracted from the resume.
+     * @param jobDescriptionSkills A list of skills extracted from the job description.
+     * @return The score together with matched, missing and extra skills.
+     */
+    SkillMatch match(List<String> resumeSkills, List<String> jobDescriptionSkills);
+
+    /**
+     * Calculates the matching score for skills already encoded by the {@link SkillDictionary}.
+     * This is the hot path for scoring one resume against many jobs (or the reverse).
+     *
+     * @param resumeSkills The resume's skill vector.
+     * @param jobDescriptionSkills The job description's skill vector.
+     * @return A double representing the matching score (0.0 to 100.0).
+     */
+    double calculateScore(SkillVector resumeSkills, SkillVector jobDescriptionSkills);
+}
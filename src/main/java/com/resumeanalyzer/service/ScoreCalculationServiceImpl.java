@@ -1,20 +1,36 @@
 package com.resumeanalyzer.service;
 
+import com.resumeanalyzer.util.SkillVector;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Service implementation for calculating the compatibility score between a resume and a job description.
  * This service compares extracted skills from both the resume and job description to determine a match percentage.
+ *
+ * Skills are encoded once as integer IDs by the {@link SkillDictionary}, so comparisons work on
+ * sorted int arrays instead of lower-casing and hashing strings on every call. Synonyms known to
+ * the taxonomy (e.g. "k8s" and "Kubernetes") count as the same skill. Skills are only looked up,
+ * never registered: skills the dictionary does not know are compared by name and listed after
+ * the known ones, so scoring arbitrary input does not grow the dictionary.
  */
 @Service
 public class ScoreCalculationServiceImpl implements ScoreCalculationService {
 
+    private final SkillDictionary skillDictionary;
+
+    @Autowired
+    public ScoreCalculationServiceImpl(SkillDictionary skillDictionary) {
+        this.skillDictionary = skillDictionary;
+    }
+
     /**
      * Calculates the matching score between resume skills and job description skills.
-     * The score is determined by the percentage of job description skills found in the resume skills.
+     * The score is determined by the percentage of distinct job description skills found in the resume skills.
      * Edge cases like empty job description skills or empty resume skills are handled gracefully.
      *
      * @param resumeSkills A list of skills extracted from the resume.
@@ -23,39 +39,44 @@ public class ScoreCalculationServiceImpl implements ScoreCalculationService {
      */
     @Override
     public double calculateScore(List<String> resumeSkills, List<String> jobDescriptionSkills) {
-        // If there are no required skills in the job description, it's considered a perfect match (100%)
-        // or can be handled as a specific case (e.g., return 0.0 or throw an error based on business logic).
-        // Here, 100% indicates all (zero) job skills are matched, which is technically true.
-        if (jobDescriptionSkills == null || jobDescriptionSkills.isEmpty()) {
-            return 100.0;
-        }
+        return match(resumeSkills, jobDescriptionSkills).getScore();
+    }
 
-        // If the resume has no skills, the score is 0, as no job description skills can be matched.
-        if (resumeSkills == null || resumeSkills.isEmpty()) {
-            return 0.0;
-        }
+    @Override
+    public SkillMatch match(List<String> resumeSkills, List<String> jobDescriptionSkills) {
+        Map<String, String> resumeUnknown = new LinkedHashMap<>();
+        Map<String, String> jobUnknown = new LinkedHashMap<>();
+        SkillVector resume = skillDictionary.find(resumeSkills, resumeUnknown);
+        SkillVector job = skillDictionary.find(jobDescriptionSkills, jobUnknown);
+        SkillVector.Match match = resume.match(job);
 
-        // Convert resume skills to a Set for efficient, case-insensitive lookups.
-        // Convert all to lowercase for robust matching.
-        Set<String> resumeSkillsSet = resumeSkills.stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
-        int matchedSkillsCount = 0;
-
-        // Iterate through each skill required by the job description.
-        // If the resume contains that skill (case-insensitively), increment the matched count.
-        for (String jobSkill : jobDescriptionSkills) {
-            if (resumeSkillsSet.contains(jobSkill.toLowerCase())) { // Case-insensitive comparison
-                matchedSkillsCount++;
+        List<String> matched = new ArrayList<>(skillDictionary.namesOf(match.getMatched()));
+        List<String> missing = new ArrayList<>(skillDictionary.namesOf(match.getMissing()));
+        List<String> extra = new ArrayList<>(skillDictionary.namesOf(match.getExtra()));
+        for (Map.Entry<String, String> skill : jobUnknown.entrySet()) {
+            (resumeUnknown.containsKey(skill.getKey()) ? matched : missing).add(skill.getValue());
+        }
+        for (Map.Entry<String, String> skill : resumeUnknown.entrySet()) {
+            if (!jobUnknown.containsKey(skill.getKey())) {
+                extra.add(skill.getValue());
             }
         }
+        int required = job.size() + jobUnknown.size();
+        double score = required == 0 ? 100.0 : (double) matched.size() / required * 100.0;
+        return new SkillMatch(score, matched, missing, extra);
+    }
 
-        // Calculate the score as a percentage.
-        // Ensure floating-point division by casting one of the operands to double.
-        // Handle division by zero if somehow jobDescriptionSkills.size() becomes 0 after initial check.
-        if (jobDescriptionSkills.size() == 0) {
-            return 100.0; // Should not happen due to initial check, but for robustness
+    @Override
+    public double calculateScore(SkillVector resumeSkills, SkillVector jobDescriptionSkills) {
+        // If there are no required skills in the job description, it's considered a perfect match (100%):
+        // all (zero) job skills are matched, which is technically true.
+        if (jobDescriptionSkills.isEmpty()) {
+            return 100.0;
+        }
+        // If the resume has no skills, the score is 0, as no job description skills can be matched.
+        if (resumeSkills.isEmpty()) {
+            return 0.0;
         }
-        return ((double) matchedSkillsCount / jobDescriptionSkills.size()) * 100.0;
+        return (double) resumeSkills.countShared(jobDescriptionSkills) / jobDescriptionSkills.size() * 100.0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,209 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.SkillVector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Application-wide dictionary assigning a dense integer ID to every canonical skill.
+ *
+ * Taxonomy skills get IDs 0..n-1 at startup; skills outside the taxonomy (e.g. returned by
+ * the LLM) get the next free ID the first time a stored resume has them. Synonyms resolve to
+ * the ID of their canonical skill, and every spelling seen is remembered, so encoding a skill
+ * after warm-up is a single hash lookup.
+ *
+ * IDs are never reclaimed for the lifetime of the process: deleting or updating a resume
+ * leaves the IDs of its skills assigned, because other resumes' skill vectors may still hold
+ * them. Growth is therefore bounded by the taxonomy plus the distinct skills (and spellings)
+ * of every resume stored since startup; only {@link #encode(List)} from the resume repository
+ * registers skills. Transient queries (scoring, ranking, job matching) only look skills up
+ * with {@link #find(List, Map)}, so request input cannot grow the dictionary.
+ */
+@Component
+public class SkillDictionary {
+
+    private static final Logger logger = Logger.getLogger(SkillDictionary.class.getName());
+
+    private final DictionarySkillExtractor dictionarySkillExtractor;
+    // Normalized spelling -> skill ID. Several spellings can share an ID.
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // ID -> display name. Only grown under the lock; readers see every ID published through `ids`.
+    private volatile String[] names;
+    private int nextId;
+
+    @Autowired
+    public SkillDictionary(DictionarySkillExtractor dictionarySkillExtractor) {
+        this.dictionarySkillExtractor = dictionarySkillExtractor;
+        List<String> canonicalSkills = dictionarySkillExtractor.getCanonicalSkills();
+        this.names = new String[Math.max(16, canonicalSkills.size() * 2)];
+        for (String skill : canonicalSkills) {
+            ids.putIfAbsent(normalize(skill), nextId);
+            names[nextId++] = skill;
+        }
+        logger.info("Skill dictionary initialized with " + nextId + " taxonomy skills.");
+    }
+
+    /**
+     * Returns the ID of a skill, assigning a new one if the skill has not been seen before.
+     *
+     * @param skill A skill name or synonym.
+     * @return The skill ID, or -1 if the skill is null or blank.
+     */
+    public int idOf(String skill) {
+        String key = normalize(skill);
+        if (key.isEmpty()) {
+            return -1;
+        }
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        String canonical = dictionarySkillExtractor.canonicalize(skill);
+        if (canonical != null) {
+            Integer canonicalId = ids.get(normalize(canonical));
+            if (canonicalId != null) {
+                ids.putIfAbsent(key, canonicalId);
+                return canonicalId;
+            }
+        }
+        return register(key, skill.strip());
+    }
+
+    /**
+     * Looks up a skill without registering it.
+     *
+     * @param skill A skill name or synonym.
+     * @return The skill ID, or -1 if the skill is unknown.
+     */
+    public int find(String skill) {
+        String key = normalize(skill);
+        if (key.isEmpty()) {
+            return -1;
+        }
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        String canonical = dictionarySkillExtractor.canonicalize(skill);
+        Integer canonicalId = canonical == null ? null : ids.get(normalize(canonical));
+        return canonicalId == null ? -1 : canonicalId;
+    }
+
+    /**
+     * @param id A skill ID returned by this dictionary.
+     * @return The display name of the skill.
+     */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * @param ids Skill IDs returned by this dictionary.
+     * @return Their display names, in the same order.
+     */
+    public List<String> namesOf(int[] ids) {
+        String[] snapshot = names;
+        List<String> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(snapshot[id]);
+        }
+        return result;
+    }
+
+    /**
+     * Encodes skills as a vector of IDs, registering skills not seen before. Only for skills
+     * stored on resumes; use {@link #find(List, Map)} for anything transient.
+     *
+     * @param skills Skill names, as stored on a resume.
+     * @return The skill vector; empty for a null or empty list.
+     */
+    public SkillVector encode(List<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return SkillVector.empty();
+        }
+        int[] skillIds = new int[skills.size()];
+        for (int i = 0; i < skillIds.length; i++) {
+            skillIds[i] = idOf(skills.get(i));
+        }
+        return SkillVector.of(skillIds);
+    }
+
+    /**
+     * Encodes the skills the dictionary already knows, without registering the others.
+     *
+     * @param skills Skill names, e.g. of a job or a request.
+     * @param unknown Receives the skills the dictionary does not know, keyed by their
+     * normalized spelling, first spelling kept.
+     * @return The vector of known skills.
+     */
+    public SkillVector find(List<String> skills, Map<String, String> unknown) {
+        if (skills == null || skills.isEmpty()) {
+            return SkillVector.empty();
+        }
+        int[] skillIds = new int[skills.size()];
+        for (int i = 0; i < skillIds.length; i++) {
+            String skill = skills.get(i);
+            skillIds[i] = find(skill);
+            if (skillIds[i] < 0) {
+                String key = normalize(skill);
+                if (!key.isEmpty()) {
+                    unknown.putIfAbsent(key, skill.strip());
+                }
+            }
+        }
+        return SkillVector.of(skillIds);
+    }
+
+    /**
+     * @return The number of distinct skills known.
+     */
+    public synchronized int size() {
+        return nextId;
+    }
+
+    private synchronized int register(String key, String displayName) {
+        Integer existing = ids.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (nextId == names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+        int id = nextId++;
+        names[id] = displayName;
+        // Publish the ID only after its name is in place.
+        ids.put(key, id);
+        return id;
+    }
+
+    /**
+     * Lower-cases and collapses whitespace in a single pass.
+     */
+    static String normalize(String skill) {
+        if (skill == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(skill.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < skill.length(); i++) {
+            char c = skill.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.resumeanalyzer.service;
+
+import java.util.List;
+
+/**
+ * Skills extracted from a text, and where they came from.
+ *
+ * @param skills The extracted skills.
+ * @param fallback True if the LLM could not be used (the call failed or timed out, or the
+ *                 circuit breaker was open) and the local taxonomy matched the skills instead.
+ *                 Such results are good enough for the request at hand but must not be kept
+ *                 as a document's skills.
+ */
+public record SkillExtraction(List<String> skills, boolean fallback) {
+}
@@ -0,0 +1,97 @@
+package com.resumeanalyzer.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Content-addressed cache for LLM skill-extraction results.
+ * Entries are keyed by a SHA-256 hash of the whitespace-normalized input text, so the
+ * same job description analyzed against many resumes only hits Gemini once.
+ *
+ * Backed by Caffeine (W-TinyLFU eviction) with a weight-based memory ceiling and a TTL.
+ * Hit, miss and eviction counts are published to Micrometer under the name "skillExtraction".
+ */
+@Component
+public class SkillExtractionCache {
+
+    // Rough per-entry overhead (node, list, string headers) added on top of the character data.
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int PER_SKILL_OVERHEAD_BYTES = 40;
+
+    private final Cache<String, List<String>> cache;
+
+    @Autowired
+    public SkillExtractionCache(
+            @Value("${skills.extraction.cache.max-weight-bytes:16777216}") long maxWeightBytes,
+            @Value("${skills.extraction.cache.ttl:6h}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, List<String> skills) -> estimateBytes(key, skills))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "skillExtraction");
+    }
+
+    /**
+     * Computes the cache key for a piece of text.
+     * Runs of whitespace are collapsed and the text is trimmed before hashing, so
+     * re-formatted copies of the same document share an entry.
+     *
+     * @param text The input text.
+     * @return The hex-encoded SHA-256 hash of the normalized text.
+     */
+    public String keyFor(String text) {
+        String normalized = text.strip().replaceAll("\\s+", " ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every JVM.
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns the cached skills for a key, or null if absent or expired.
+     */
+    public List<String> get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores the skills extracted for a key. Lists are copied so callers cannot mutate cached state.
+     */
+    public void put(String key, List<String> skills) {
+        cache.put(key, List.copyOf(skills));
+    }
+
+    /**
+     * @return A snapshot of hit/miss/eviction statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static int estimateBytes(String key, List<String> skills) {
+        long bytes = ENTRY_OVERHEAD_BYTES + (long) key.length() * 2;
+        for (String skill : skills) {
+            bytes += PER_SKILL_OVERHEAD_BYTES + (long) skill.length() * 2;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
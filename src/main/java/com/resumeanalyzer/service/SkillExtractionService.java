@@ -1,6 +1,8 @@
 package com.resumeanalyzer.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for the skill extraction service.
@@ -17,4 +19,43 @@ public interface SkillExtractionService {
      * @return A list of extracted skills (strings). Returns an empty list if no skills are found or an error occurs.
      */
     List<String> extractSkills(String text);
+
+    /**
+     * Asynchronous variant of {@link #extractSkills(String)}.
+     * The returned future completes with the same result the blocking call would return,
+     * so independent extractions (e.g. resume and job description) can run concurrently.
+     *
+     * @param text The input text (e.g., resume content, job description).
+     * @return A future completing with the list of extracted skills. It never completes exceptionally
+     *         because failures degrade to the fallback extraction.
+     */
+    CompletableFuture<List<String>> extractSkillsAsync(String text);
+
+    /**
+     * Like {@link #extractSkillsAsync(String)}, but also tells whether the skills came from the
+     * LLM or from the fallback extraction, for callers that store the result.
+     *
+     * @param text The input text (e.g., resume content, job description).
+     * @return A future completing with the extraction. It never completes exceptionally.
+     */
+    CompletableFuture<SkillExtraction> extractAsync(String text);
+
+    /**
+     * Extracts skills from several documents, packing as many as fit a token budget
+     * into each LLM request. Documents the batched call fails for are extracted individually.
+     *
+     * @param texts Input texts keyed by a caller-chosen document ID.
+     * @return The extracted skills keyed by the same document IDs, in the caller's order.
+     */
+    Map<String, List<String>> extractSkillsBatch(Map<String, String> texts);
+
+    /**
+     * Asynchronous variant of {@link #extractSkillsBatch(Map)} that also tells, per document,
+     * whether the skills came from the LLM or from the fallback extraction.
+     *
+     * @param texts Input texts keyed by a caller-chosen document ID.
+     * @return A future completing with the extractions keyed by the same document IDs, in the
+     *         caller's order. It never completes exceptionally.
+     */
+    CompletableFuture<Map<String, SkillExtraction>> extractBatchAsync(Map<String, String> texts);
 }
\ No newline at end of file
@@ -1,18 +1,15 @@
 package com.resumeanalyzer.service;
 
 import org.springframework.stereotype.Service;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import java.util.*;
-import java.io.IOException;
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import java.nio.charset.StandardCharsets;
+import com.resumeanalyzer.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 @Service
@@ -20,149 +17,367 @@ public class SkillExtractionServiceImpl implements SkillExtractionService {
 
     private static final Logger logger = Logger.getLogger(SkillExtractionServiceImpl.class.getName());
 
-    @Value("${gemini.api.url}")
-    private String geminiApiUrl;
+    private static final String SKILLS_SCHEMA = """
+            {
+                "type": "OBJECT",
+                "properties": {
+                    "skills": {
+                        "type": "ARRAY",
+                        "items": { "type": "STRING" }
+                    }
+                },
+                "propertyOrdering": ["skills"]
+            }
+            """;
+
+    private static final String BATCH_SKILLS_SCHEMA = """
+            {
+                "type": "OBJECT",
+                "properties": {
+                    "documents": {
+                        "type": "ARRAY",
+                        "items": {
+                            "type": "OBJECT",
+                            "properties": {
+                                "id": { "type": "STRING" },
+                                "skills": {
+                                    "type": "ARRAY",
+                                    "items": { "type": "STRING" }
+                                }
+                            },
+                            "required": ["id", "skills"],
+                            "propertyOrdering": ["id", "skills"]
+                        }
+                    }
+                },
+                "propertyOrdering": ["documents"]
+            }
+            """;
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
+    // "llm" sends text to Gemini (falling back to the dictionary on failure); "local" only uses the dictionary.
+    @Value("${skills.extraction.mode:llm}")
+    private String extractionMode;
 
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    @Value("${skills.extraction.batch.token-budget:6000}")
+    private int batchTokenBudget;
 
-    public SkillExtractionServiceImpl() {
-        this.httpClient = HttpClient.newHttpClient();
-        this.objectMapper = new ObjectMapper();
+    @Value("${skills.extraction.batch.max-documents:10}")
+    private int batchMaxDocuments;
+
+    private final GeminiClient geminiClient;
+    private final SkillExtractionCache skillExtractionCache;
+    private final DictionarySkillExtractor dictionarySkillExtractor;
+    // Concurrent extractions of identical text share one in-flight Gemini request.
+    private final SingleFlight<String, SkillExtraction> inFlightExtractions = new SingleFlight<>();
+
+    @Autowired
+    public SkillExtractionServiceImpl(GeminiClient geminiClient,
+                                      SkillExtractionCache skillExtractionCache,
+                                      DictionarySkillExtractor dictionarySkillExtractor,
+                                      MeterRegistry meterRegistry) {
+        this.geminiClient = geminiClient;
+        this.skillExtractionCache = skillExtractionCache;
+        this.dictionarySkillExtractor = dictionarySkillExtractor;
+
+        FunctionCounter.builder("skills.extraction.singleflight.calls", inFlightExtractions, SingleFlight::getLeaderCalls)
+                .tag("result", "leader")
+                .description("Skill extractions that issued an LLM request")
+                .register(meterRegistry);
+        FunctionCounter.builder("skills.extraction.singleflight.calls", inFlightExtractions, SingleFlight::getCoalescedCalls)
+                .tag("result", "coalesced")
+                .description("Skill extractions that joined an identical in-flight LLM request")
+                .register(meterRegistry);
+        Gauge.builder("skills.extraction.singleflight.in-flight", inFlightExtractions, SingleFlight::getInFlightCount)
+                .description("Distinct skill extraction requests currently in flight")
+                .register(meterRegistry);
     }
 
     @Override
     public List<String> extractSkills(String text) {
+        return extractSkillsAsync(text).join();
+    }
+
+    @Override
+    public CompletableFuture<List<String>> extractSkillsAsync(String text) {
+        return extractAsync(text).thenApply(SkillExtraction::skills);
+    }
+
+    @Override
+    public CompletableFuture<SkillExtraction> extractAsync(String text) {
         if (text == null || text.trim().isEmpty()) {
             logger.warning("Input text for skill extraction is empty or null. Received: " + text);
-            return new ArrayList<>();
+            return CompletableFuture.completedFuture(new SkillExtraction(new ArrayList<>(), false));
+        }
+        if (isLocalMode()) {
+            // The taxonomy is the configured source here, not a fallback.
+            return CompletableFuture.completedFuture(new SkillExtraction(dictionarySkillExtractor.extractSkills(text), false));
         }
 
-        String prompt = "Extract key technical and soft skills from the following text as a JSON array of strings under the key 'skills'. Do not include any other text besides the JSON.\n\n" + text;
+        String cacheKey = skillExtractionCache.keyFor(text);
+        List<String> cachedSkills = skillExtractionCache.get(cacheKey);
+        if (cachedSkills != null) {
+            logger.info("Skill extraction cache hit. Text length: " + text.length());
+            return CompletableFuture.completedFuture(new SkillExtraction(new ArrayList<>(cachedSkills), false));
+        }
+
+        // Every caller gets its own copy of the shared result.
+        return inFlightExtractions.execute(cacheKey, () -> requestSkills(cacheKey, text))
+                .thenApply(result -> new SkillExtraction(new ArrayList<>(result.skills()), result.fallback()));
+    }
+
+    /**
+     * Issues the Gemini request for a cache miss and caches a successful result.
+     * Only called by the single-flight leader for the text.
+     */
+    private CompletableFuture<SkillExtraction> requestSkills(String cacheKey, String text) {
+        // A previous leader may have filled the cache between our lookup and acquiring the key.
+        List<String> cachedSkills = skillExtractionCache.get(cacheKey);
+        if (cachedSkills != null) {
+            return CompletableFuture.completedFuture(new SkillExtraction(cachedSkills, false));
+        }
 
         logger.info("Sending prompt to LLM for skill extraction. Text length: " + text.length());
 
-        try {
-            String requestBody = String.format("""
-                {
-                    "contents": [
-                        {
-                            "role": "user",
-                            "parts": [
-                                { "text": "%s" }
-                            ]
-                        }
-                    ],
-                    "generationConfig": {
-                        "responseMimeType": "application/json",
-                        "responseSchema": {
-                            "type": "OBJECT",
-                            "properties": {
-                                "skills": {
-                                    "type": "ARRAY",
-                                    "items": { "type": "STRING" }
-                                }
-                            },
-                            "propertyOrdering": ["skills"]
-                        }
+        // While the Gemini circuit breaker is open this completes immediately with null.
+        return geminiClient.generateJson(skillPrompt(text), SKILLS_SCHEMA)
+                .thenApply(this::parseSkills)
+                .thenApply(extractedSkills -> {
+                    if (extractedSkills == null) {
+                        // Fallback results are not cached so the next call retries the LLM.
+                        return new SkillExtraction(extractSkillsFallback(text), true);
                     }
-                }
-                """, escapeJson(prompt));
+                    skillExtractionCache.put(cacheKey, extractedSkills);
+                    return new SkillExtraction(extractedSkills, false);
+                });
+    }
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(geminiApiUrl + "?key=" + URLEncoder.encode(geminiApiKey, StandardCharsets.UTF_8.toString())))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
+    @Override
+    public Map<String, List<String>> extractSkillsBatch(Map<String, String> texts) {
+        Map<String, List<String>> results = new LinkedHashMap<>();
+        extractBatchAsync(texts).join().forEach((id, extraction) -> results.put(id, extraction.skills()));
+        return results;
+    }
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    @Override
+    public CompletableFuture<Map<String, SkillExtraction>> extractBatchAsync(Map<String, String> texts) {
+        Map<String, SkillExtraction> results = new LinkedHashMap<>();
+        if (isLocalMode()) {
+            texts.forEach((id, text) -> results.put(id, new SkillExtraction(dictionarySkillExtractor.extractSkills(text), false)));
+            return CompletableFuture.completedFuture(results);
+        }
+        Map<String, CompletableFuture<SkillExtraction>> singleExtractions = new LinkedHashMap<>();
+        List<BatchDocument> pending = new ArrayList<>();
 
-            logger.info("LLM API Response Status: " + response.statusCode());
-            logger.fine("LLM API Response Body: " + response.body());
+        for (Map.Entry<String, String> entry : texts.entrySet()) {
+            String text = entry.getValue();
+            if (text == null || text.trim().isEmpty()) {
+                results.put(entry.getKey(), new SkillExtraction(new ArrayList<>(), false));
+                continue;
+            }
+            String cacheKey = skillExtractionCache.keyFor(text);
+            List<String> cachedSkills = skillExtractionCache.get(cacheKey);
+            if (cachedSkills != null) {
+                results.put(entry.getKey(), new SkillExtraction(new ArrayList<>(cachedSkills), false));
+            } else if (estimateTokens(text) > batchTokenBudget) {
+                // Too large to share a prompt with anything else.
+                singleExtractions.put(entry.getKey(), extractAsync(text));
+            } else {
+                pending.add(new BatchDocument(entry.getKey(), cacheKey, text));
+            }
+        }
 
-            if (response.statusCode() == 200) {
-                JsonNode rootNode = objectMapper.readTree(response.body());
-                JsonNode candidatesNode = rootNode.path("candidates");
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        for (List<BatchDocument> batch : packBatches(pending)) {
+            if (batch.size() == 1) {
+                BatchDocument document = batch.get(0);
+                singleExtractions.put(document.id(), extractAsync(document.text()));
+                continue;
+            }
+            calls.add(requestSkillsBatch(batch).thenAccept(batchResults -> {
+                synchronized (results) {
+                    results.putAll(batchResults);
+                }
+            }));
+        }
+        singleExtractions.forEach((id, future) -> calls.add(future.thenAccept(extraction -> {
+            synchronized (results) {
+                results.put(id, extraction);
+            }
+        })));
 
-                if (candidatesNode.isArray() && !candidatesNode.isEmpty()) {
-                    JsonNode contentNode = candidatesNode.get(0).path("content");
-                    JsonNode partsNode = contentNode.path("parts");
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            // Preserve the caller's ordering.
+            Map<String, SkillExtraction> ordered = new LinkedHashMap<>();
+            synchronized (results) {
+                for (String id : texts.keySet()) {
+                    ordered.put(id, results.get(id));
+                }
+            }
+            return ordered;
+        });
+    }
 
-                    if (partsNode.isArray() && !partsNode.isEmpty()) {
-                        JsonNode textNode = partsNode.get(0).path("text");
-                        if (textNode.isTextual()) {
-                            JsonNode skillResultNode = objectMapper.readTree(textNode.asText());
-                            JsonNode skillsArray = skillResultNode.path("skills");
+    /**
+     * Greedily packs documents into batches that fit the prompt token budget and document limit.
+     */
+    private List<List<BatchDocument>> packBatches(List<BatchDocument> documents) {
+        List<List<BatchDocument>> batches = new ArrayList<>();
+        List<BatchDocument> current = new ArrayList<>();
+        int currentTokens = 0;
+        for (BatchDocument document : documents) {
+            int tokens = estimateTokens(document.text());
+            if (!current.isEmpty() && (currentTokens + tokens > batchTokenBudget || current.size() >= batchMaxDocuments)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentTokens = 0;
+            }
+            current.add(document);
+            currentTokens += tokens;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
 
-                            if (skillsArray.isArray() && skillsArray.size() > 0) {
-                                List<String> extractedSkills = new ArrayList<>();
-                                for (JsonNode skillNode : skillsArray) {
-                                    extractedSkills.add(skillNode.asText());
-                                }
-                                logger.info("Successfully extracted skills from LLM: " + extractedSkills);
-                                return extractedSkills;
-                            } else {
-                                logger.warning("Empty 'skills' array from LLM, using fallback extraction.");
-                                return extractSkillsFallback(text); // Fallback extraction
-                            }
+    /**
+     * Sends one multi-document request. Documents the LLM did not return skills for
+     * (or every document, if the call fails) are extracted individually instead.
+     *
+     * @return A future completing with the skills per caller document ID.
+     */
+    private CompletableFuture<Map<String, SkillExtraction>> requestSkillsBatch(List<BatchDocument> batch) {
+        logger.info("Sending batched prompt to LLM for skill extraction. Documents: " + batch.size());
+
+        return geminiClient.generateJson(batchSkillPrompt(batch), BATCH_SKILLS_SCHEMA)
+                .thenApply(this::parseBatchSkills)
+                .thenCompose(skillsByPromptId -> {
+                    Map<String, SkillExtraction> batchResults = new LinkedHashMap<>();
+                    Map<String, CompletableFuture<SkillExtraction>> retries = new LinkedHashMap<>();
+                    for (int i = 0; i < batch.size(); i++) {
+                        BatchDocument document = batch.get(i);
+                        List<String> skills = skillsByPromptId.get(promptId(i));
+                        if (skills != null && !skills.isEmpty()) {
+                            skillExtractionCache.put(document.cacheKey(), skills);
+                            batchResults.put(document.id(), new SkillExtraction(skills, false));
+                        } else {
+                            retries.put(document.id(), extractAsync(document.text()));
                         }
                     }
-                }
+                    if (!retries.isEmpty()) {
+                        logger.warning("Batch extraction returned no skills for " + retries.size()
+                                + " of " + batch.size() + " documents. Retrying them individually.");
+                    }
+                    return CompletableFuture.allOf(retries.values().toArray(new CompletableFuture[0]))
+                            .thenApply(ignored -> {
+                                retries.forEach((id, future) -> batchResults.put(id, future.join()));
+                                return batchResults;
+                            });
+                });
+    }
 
-                logger.warning("Unexpected LLM response format or missing skills. Using fallback extraction.");
-                return extractSkillsFallback(text);
-            } else {
-                logger.severe("LLM API call failed with status: " + response.statusCode());
-                return extractSkillsFallback(text);
-            }
+    /**
+     * Builds the prompt asking for the skills in the text.
+     */
+    private static String skillPrompt(String text) {
+        return "Extract key technical and soft skills from the following text as a JSON array of strings under the key 'skills'. Do not include any other text besides the JSON.\n\n" + text;
+    }
 
-        } catch (JsonProcessingException e) {
-            logger.severe("Error parsing JSON response from LLM: " + e.getMessage());
-            return extractSkillsFallback(text);
-        } catch (IOException | InterruptedException e) {
-            logger.severe("Error communicating with LLM API: " + e.getMessage());
-            Thread.currentThread().interrupt();
-            return extractSkillsFallback(text);
-        } catch (Exception e) {
-            logger.severe("Unexpected error during skill extraction: " + e.getMessage());
-            return extractSkillsFallback(text);
+    /**
+     * Builds one prompt covering several documents. Documents are labelled with
+     * positional IDs (doc-0, doc-1, ...) so caller IDs never end up in the prompt.
+     */
+    private static String batchSkillPrompt(List<BatchDocument> batch) {
+        StringBuilder prompt = new StringBuilder("Extract key technical and soft skills from each of the following documents. "
+                + "Return a JSON object with the key 'documents': an array containing, for every document, "
+                + "an object with its 'id' and its skills as a JSON array of strings under 'skills'. "
+                + "Do not include any other text besides the JSON.\n");
+        for (int i = 0; i < batch.size(); i++) {
+            prompt.append("\n<<<DOCUMENT id=").append(promptId(i)).append(">>>\n")
+                    .append(batch.get(i).text())
+                    .append("\n<<<END DOCUMENT>>>\n");
         }
+        return prompt.toString();
     }
 
     /**
-     * Escapes special characters for JSON string safety.
+     * Parses the skills out of the JSON generated by Gemini.
+     *
+     * @param skillResultNode The generated JSON, or null if the call failed.
+     * @return The extracted skills, or null if the call failed or returned nothing usable.
      */
-    private String escapeJson(String text) {
-        return text.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
+    private List<String> parseSkills(JsonNode skillResultNode) {
+        if (skillResultNode == null) {
+            return null;
+        }
+
+        List<String> extractedSkills = toSkillList(skillResultNode.path("skills"));
+        if (extractedSkills.isEmpty()) {
+            logger.warning("Empty 'skills' array from LLM, using fallback extraction.");
+            return null;
+        }
+        logger.info("Successfully extracted skills from LLM: " + extractedSkills);
+        return extractedSkills;
     }
 
     /**
-     * Fallback method to extract skills based on keyword matching.
+     * Parses the JSON generated by Gemini for a multi-document prompt.
+     *
+     * @return Skills keyed by positional prompt ID. Empty if the call failed; documents
+     *         missing from the response are simply absent.
      */
-    private List<String> extractSkillsFallback(String text) {
-        List<String> skillKeywords = List.of(
-                "java", "spring", "spring boot", "scrum", "scrum master",
-                "oracle certified", "node.js", "bootstrap", "php", "jquery",
-                "jsf", "apache struts", "servlets", "jndi", "weblogic",
-                "software engineering", "cisco", "problem-solving", "tutoring", "training"
-        );
-
-        List<String> extractedSkills = new ArrayList<>();
-        String lowerText = text.toLowerCase();
-
-        for (String skill : skillKeywords) {
-            if (lowerText.contains(skill.toLowerCase())) {
-                extractedSkills.add(skill);
+    private Map<String, List<String>> parseBatchSkills(JsonNode batchResultNode) {
+        if (batchResultNode == null) {
+            return Map.of();
+        }
+
+        Map<String, List<String>> skillsByPromptId = new HashMap<>();
+        for (JsonNode documentNode : batchResultNode.path("documents")) {
+            String id = documentNode.path("id").asText("");
+            if (!id.isEmpty()) {
+                skillsByPromptId.put(id, toSkillList(documentNode.path("skills")));
             }
         }
+        logger.info("Batch extraction returned skills for " + skillsByPromptId.size() + " documents.");
+        return skillsByPromptId;
+    }
 
+    private boolean isLocalMode() {
+        return "local".equalsIgnoreCase(extractionMode);
+    }
+
+    private static List<String> toSkillList(JsonNode skillsArray) {
+        List<String> skills = new ArrayList<>();
+        if (skillsArray.isArray()) {
+            for (JsonNode skillNode : skillsArray) {
+                skills.add(skillNode.asText());
+            }
+        }
+        return skills;
+    }
+
+    private static String promptId(int index) {
+        return "doc-" + index;
+    }
+
+    /**
+     * Rough token estimate (about four characters per token) plus per-document framing.
+     */
+    private static int estimateTokens(String text) {
+        return text.length() / 4 + 16;
+    }
+
+    /**
+     * A document waiting to be packed into a batched request.
+     */
+    private record BatchDocument(String id, String cacheKey, String text) {
+    }
+
+    /**
+     * Fallback extraction using the local skill taxonomy.
+     */
+    private List<String> extractSkillsFallback(String text) {
+        List<String> extractedSkills = dictionarySkillExtractor.extractSkills(text);
         logger.info("Fallback skill extraction matched: " + extractedSkills);
         return extractedSkills;
     }
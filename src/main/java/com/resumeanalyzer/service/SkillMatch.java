@@ -0,0 +1,49 @@
+package com.resumeanalyzer.service;
+
+import java.util.List;
+
+/**
+ * Outcome of comparing a resume's skills with a job's skills.
+ */
+public class SkillMatch {
+
+    private final double score;
+    private final List<String> matchedSkills;
+    private final List<String> missingSkills;
+    private final List<String> extraSkills;
+
+    public SkillMatch(double score, List<String> matchedSkills, List<String> missingSkills, List<String> extraSkills) {
+        this.score = score;
+        this.matchedSkills = matchedSkills;
+        this.missingSkills = missingSkills;
+        this.extraSkills = extraSkills;
+    }
+
+    /**
+     * @return The percentage of job skills found in the resume (0.0 to 100.0).
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * @return Job skills the resume has, in the job's order.
+     */
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    /**
+     * @return Job skills the resume lacks, in the job's order.
+     */
+    public List<String> getMissingSkills() {
+        return missingSkills;
+    }
+
+    /**
+     * @return Resume skills the job does not ask for, in the resume's order.
+     */
+    public List<String> getExtraSkills() {
+        return extraSkills;
+    }
+}
@@ -0,0 +1,206 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.model.JobDescription;
+import com.resumeanalyzer.model.Resume;
+import com.resumeanalyzer.repo.JobDescriptionRepository;
+import com.resumeanalyzer.repo.ResumeRepository;
+import com.resumeanalyzer.model.ResumeStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Extracts skills once, in the background, when a resume or job description is written,
+ * and stores them on the document together with the content version they belong to.
+ * Analyses then reuse the stored skills instead of calling the LLM again.
+ *
+ * Only skills extracted by the LLM are stored. When the LLM cannot be used and the
+ * extraction falls back to the local taxonomy, the document keeps no skills (a resume stays
+ * EXTRACTED) and the extraction is retried after `skills.precompute.retry-delay`, doubling
+ * the delay each time, up to `skills.precompute.max-retries` times. Documents still without
+ * skills are retried again on the next start.
+ *
+ * Resumes saved together (e.g. from a bulk upload) can be precomputed as a group, which packs
+ * their texts into as few LLM requests as the batch token budget allows.
+ */
+@Service
+public class SkillPrecomputationService {
+
+    private static final Logger logger = Logger.getLogger(SkillPrecomputationService.class.getName());
+
+    private final SkillExtractionService skillExtractionService;
+    private final ResumeRepository resumeRepository;
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final ResumeSectionSelector resumeSectionSelector;
+    private final Duration retryDelay;
+    private final int maxRetries;
+    private final ScheduledExecutorService retryScheduler;
+
+    @Autowired
+    public SkillPrecomputationService(SkillExtractionService skillExtractionService,
+                                      ResumeRepository resumeRepository,
+                                      JobDescriptionRepository jobDescriptionRepository,
+                                      ResumeSectionSelector resumeSectionSelector,
+                                      @Value("${skills.precompute.retry-delay:1m}") Duration retryDelay,
+                                      @Value("${skills.precompute.max-retries:5}") int maxRetries) {
+        this.skillExtractionService = skillExtractionService;
+        this.resumeRepository = resumeRepository;
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.resumeSectionSelector = resumeSectionSelector;
+        this.retryDelay = retryDelay;
+        this.maxRetries = maxRetries;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "skill-precompute-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Restarts the precomputations that a restart interrupted: resumes and job descriptions
+     * recovered by a persistent store without skills for their current content.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        int started = 0;
+        for (Resume resume : resumeRepository.findAll()) {
+            if (resume.getStatus() == ResumeStatus.EXTRACTED && !resume.hasCurrentSkills()) {
+                precompute(resume);
+                started++;
+            }
+        }
+        for (JobDescription jobDescription : jobDescriptionRepository.findAll()) {
+            if (!jobDescription.hasCurrentSkills() && (jobDescription.getDescription() != null || jobDescription.getCompressedDescription() != null)) {
+                precompute(jobDescription);
+                started++;
+            }
+        }
+        if (started > 0) {
+            logger.info("Restarted skill precomputation for " + started + " documents recovered without skills.");
+        }
+    }
+
+    /**
+     * Starts skill extraction for a saved resume. Returns immediately.
+     * Only the resume sections configured for skill extraction are sent to the LLM.
+     * @param resume The resume as saved (ID and content version must be set).
+     * @return A future completing with the extracted skills once they are stored, or with the
+     *         fallback skills (not stored) if the LLM could not be used.
+     */
+    public CompletableFuture<List<String>> precompute(Resume resume) {
+        return precompute(resume, 0);
+    }
+
+    /**
+     * Starts skill extraction for a saved job description. Returns immediately.
+     * @param jobDescription The job description as saved (ID and content version must be set).
+     * @return A future completing with the extracted skills once they are stored, or with the
+     *         fallback skills (not stored) if the LLM could not be used.
+     */
+    public CompletableFuture<List<String>> precompute(JobDescription jobDescription) {
+        return precompute(jobDescription, 0);
+    }
+
+    /**
+     * Starts skill extraction for several saved resumes through batched LLM requests.
+     * Returns immediately; each resume is handled like {@link #precompute(Resume)}.
+     * @param resumes The resumes as saved (IDs and content versions must be set).
+     * @return A future completing once every result is stored or scheduled for a retry.
+     */
+    public CompletableFuture<Void> precompute(List<Resume> resumes) {
+        Map<String, Resume> byId = new LinkedHashMap<>();
+        Map<String, String> texts = new LinkedHashMap<>();
+        for (Resume resume : resumes) {
+            byId.put(resume.getId(), resume);
+            texts.put(resume.getId(), resumeSectionSelector.skillText(resumeRepository.loadContent(resume), resume.getSections()));
+        }
+        logger.info("Precomputing skills of " + resumes.size() + " resumes in batched requests.");
+        return skillExtractionService.extractBatchAsync(texts)
+                .thenAccept(extractions -> extractions.forEach((id, extraction) ->
+                        store(id, byId.get(id).getContentVersion(), 0, extraction)))
+                .exceptionally(error -> {
+                    logger.warning("Batched skill precomputation failed for " + resumes.size() + " resumes: " + error.getMessage());
+                    return null;
+                });
+    }
+
+    private CompletableFuture<List<String>> precompute(Resume resume, int attempt) {
+        String id = resume.getId();
+        long contentVersion = resume.getContentVersion();
+        String text = resumeRepository.loadContent(resume);
+        return skillExtractionService.extractAsync(resumeSectionSelector.skillText(text, resume.getSections()))
+                .whenComplete((extraction, error) -> {
+                    if (error != null) {
+                        logger.warning("Skill precomputation failed for resume " + id + ": " + error.getMessage());
+                    } else {
+                        store(id, contentVersion, attempt, extraction);
+                    }
+                })
+                .thenApply(SkillExtraction::skills);
+    }
+
+    /**
+     * Stores skills the LLM extracted for a resume, or schedules a retry for fallback skills.
+     */
+    private void store(String id, long contentVersion, int attempt, SkillExtraction extraction) {
+        if (extraction.fallback()) {
+            scheduleRetry("resume " + id, attempt, () -> resumeRepository.findById(id)
+                    .filter(current -> current.getContentVersion() == contentVersion && !current.hasCurrentSkills())
+                    .ifPresent(current -> precompute(current, attempt + 1)));
+        } else if (!resumeRepository.updateSkills(id, contentVersion, extraction.skills())) {
+            logger.info("Resume " + id + " changed or was deleted before its skills were stored.");
+        }
+    }
+
+    private CompletableFuture<List<String>> precompute(JobDescription jobDescription, int attempt) {
+        String id = jobDescription.getId();
+        long contentVersion = jobDescription.getContentVersion();
+        return skillExtractionService.extractAsync(jobDescriptionRepository.loadDescription(jobDescription))
+                .whenComplete((extraction, error) -> {
+                    if (error != null) {
+                        logger.warning("Skill precomputation failed for job description " + id + ": " + error.getMessage());
+                    } else if (extraction.fallback()) {
+                        scheduleRetry("job description " + id, attempt, () -> jobDescriptionRepository.findById(id)
+                                .filter(current -> current.getContentVersion() == contentVersion && !current.hasCurrentSkills())
+                                .ifPresent(current -> precompute(current, attempt + 1)));
+                    } else if (!jobDescriptionRepository.updateSkills(id, contentVersion, extraction.skills())) {
+                        logger.info("Job description " + id + " changed or was deleted before its skills were stored.");
+                    }
+                })
+                .thenApply(SkillExtraction::skills);
+    }
+
+    /**
+     * Retries an extraction that fell back to the local taxonomy, with exponential backoff.
+     * The retry is skipped if the document changed or got its skills in the meantime.
+     */
+    private void scheduleRetry(String document, int attempt, Runnable retry) {
+        if (attempt >= maxRetries) {
+            logger.warning("Skills for " + document + " could not be extracted by the LLM after " + (attempt + 1)
+                    + " attempts; they will be extracted again on the next start.");
+            return;
+        }
+        long delayMillis = retryDelay.toMillis() << Math.min(attempt, 20);
+        logger.info("LLM unavailable for the skills of " + document + "; not storing fallback skills, retrying in "
+                + delayMillis + " ms.");
+        retryScheduler.schedule(retry, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        retryScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package com.resumeanalyzer.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+/**
+ * An upload copied to a temporary file, together with the SHA-256 of its bytes (computed
+ * while the upload was copied) and the share of the {@link UploadByteBudget} it holds.
+ *
+ * Closing it deletes the file and returns the budget. Created by the
+ * {@code TextExtractionService.spool} methods.
+ */
+public final class SpooledUpload implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(SpooledUpload.class.getName());
+
+    private final Path path;
+    private final String contentHash;
+    private final long size;
+    private final String originalFilename;
+    private final String contentType;
+    private final UploadByteBudget.Reservation reservation;
+
+    SpooledUpload(Path path, String contentHash, long size, String originalFilename, String contentType,
+                  UploadByteBudget.Reservation reservation) {
+        this.path = path;
+        this.contentHash = contentHash;
+        this.size = size;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.reservation = reservation;
+    }
+
+    /**
+     * @return The temporary file holding the upload.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return Lowercase hex SHA-256 of the uploaded bytes.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * @return The number of bytes uploaded.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warning("Could not delete spooled upload " + path + ": " + e.getMessage());
+        } finally {
+            reservation.close();
+        }
+    }
+}
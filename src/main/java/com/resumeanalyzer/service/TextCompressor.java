@@ -0,0 +1,316 @@
+package com.resumeanalyzer.service;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.resumeanalyzer.util.WriteAheadLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Compresses stored texts (resume texts, job descriptions) with Zstandard.
+ *
+ * Resumes and job descriptions share a lot of vocabulary and layout, which a small text on its
+ * own cannot exploit. So the compressor collects the first `dictionary.training-samples` texts
+ * it is given, trains a shared dictionary on them in the background and compresses with it from
+ * then on. Dictionaries are kept in `dictionary.dir` and never deleted, since every frame
+ * compressed with one needs it to be read; Zstandard records the dictionary ID in the frame.
+ *
+ * Texts shorter than `min-size` bytes, and all texts when compression is disabled, are stored
+ * as plain UTF-8. A stored text is recognized as compressed by the Zstandard frame magic
+ * number, which valid UTF-8 never starts with, so plain texts written earlier stay readable.
+ *
+ * Metrics per field: `text.compression.bytes{state=raw|compressed}`, `text.compression.ratio`
+ * and `text.compression.time{operation=compress|decompress}`.
+ */
+@Service
+public class TextCompressor {
+
+    private static final Logger logger = Logger.getLogger(TextCompressor.class.getName());
+
+    private static final String DICTIONARY_PREFIX = "dict-";
+    private static final String DICTIONARY_SUFFIX = ".zdict";
+
+    /**
+     * What a text is, for metrics.
+     */
+    public enum TextField {
+        RESUME,
+        JOB_DESCRIPTION
+    }
+
+    private final boolean enabled;
+    private final int level;
+    private final int minBytes;
+    private final Path dictionaryDir;
+    private final int dictionarySize;
+    private final int trainingSamples;
+    private final ExecutorService trainingExecutor; // Null when no dictionary is to be trained
+    private final Map<Long, ZstdDictDecompress> decompressDictionaries = new ConcurrentHashMap<>();
+    private volatile ZstdDictCompress compressDictionary;
+
+    private final Object trainingLock = new Object();
+    private ZstdDictTrainer trainer; // Collects samples; null while training and once trained. Guarded by trainingLock
+    private int samples; // Guarded by trainingLock
+
+    private final Map<TextField, Counter> rawBytes = new EnumMap<>(TextField.class);
+    private final Map<TextField, Counter> compressedBytes = new EnumMap<>(TextField.class);
+    private final Map<TextField, Timer> compressTime = new EnumMap<>(TextField.class);
+    private final Map<TextField, Timer> decompressTime = new EnumMap<>(TextField.class);
+
+    @Autowired
+    public TextCompressor(@Value("${text-compression.enabled:true}") boolean enabled,
+                          @Value("${text-compression.level:3}") int level,
+                          @Value("${text-compression.min-size:256B}") DataSize minSize,
+                          @Value("${text-compression.dictionary.enabled:true}") boolean dictionaryEnabled,
+                          @Value("${text-compression.dictionary.dir:data/text-compression}") Path dictionaryDir,
+                          @Value("${text-compression.dictionary.size:64KB}") DataSize dictionarySize,
+                          @Value("${text-compression.dictionary.training-samples:1000}") int trainingSamples,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.level = level;
+        this.minBytes = (int) minSize.toBytes();
+        this.dictionaryDir = dictionaryDir;
+        this.dictionarySize = (int) dictionarySize.toBytes();
+        this.trainingSamples = trainingSamples;
+
+        for (TextField field : TextField.values()) {
+            String tag = field.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            Counter raw = Counter.builder("text.compression.bytes").tag("field", tag).tag("state", "raw")
+                    .baseUnit("bytes").description("Bytes of texts before compression").register(meterRegistry);
+            Counter compressed = Counter.builder("text.compression.bytes").tag("field", tag).tag("state", "compressed")
+                    .baseUnit("bytes").description("Bytes of texts as stored").register(meterRegistry);
+            rawBytes.put(field, raw);
+            compressedBytes.put(field, compressed);
+            Gauge.builder("text.compression.ratio", () -> compressed.count() > 0 ? raw.count() / compressed.count() : 1.0)
+                    .tag("field", tag)
+                    .description("Raw bytes per stored byte of the texts compressed so far")
+                    .register(meterRegistry);
+            compressTime.put(field, Timer.builder("text.compression.time").tag("field", tag).tag("operation", "compress")
+                    .description("Time spent compressing texts").register(meterRegistry));
+            decompressTime.put(field, Timer.builder("text.compression.time").tag("field", tag).tag("operation", "decompress")
+                    .description("Time spent decompressing texts").register(meterRegistry));
+        }
+
+        if (enabled && dictionaryEnabled) {
+            loadDictionaries();
+        }
+        if (enabled && dictionaryEnabled && compressDictionary == null) {
+            this.trainer = newTrainer();
+            this.trainingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "text-compression-training");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.trainingExecutor = null;
+        }
+        logger.info("Stored texts are " + (!enabled ? "not compressed"
+                : "compressed with Zstandard level " + level + (compressDictionary != null ? " and a trained dictionary"
+                : trainingExecutor != null ? "; a dictionary is trained on the first " + trainingSamples + " texts" : "")));
+    }
+
+    /**
+     * @return False if texts are stored as they are.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param text A text to store.
+     * @param field What the text is.
+     * @return The stored form: a Zstandard frame, or the UTF-8 bytes.
+     */
+    public byte[] compress(String text, TextField field) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (!enabled || raw.length < minBytes) {
+            return raw;
+        }
+        long start = System.nanoTime();
+        sample(raw);
+        ZstdDictCompress dictionary = compressDictionary;
+        byte[] compressed = dictionary != null ? Zstd.compress(raw, dictionary) : Zstd.compress(raw, level);
+        compressTime.get(field).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (compressed.length >= raw.length) {
+            compressed = raw; // Incompressible; plain UTF-8 is smaller and needs no decoding
+        }
+        rawBytes.get(field).increment(raw.length);
+        compressedBytes.get(field).increment(compressed.length);
+        return compressed;
+    }
+
+    /**
+     * @param stored A text as returned by {@link #compress}.
+     * @param field What the text is.
+     * @return The text.
+     * @throws IllegalStateException If the text was compressed with a dictionary that is missing.
+     */
+    public String decompress(byte[] stored, TextField field) {
+        if (!isCompressed(stored)) {
+            return new String(stored, StandardCharsets.UTF_8);
+        }
+        long start = System.nanoTime();
+        long size = Zstd.getFrameContentSize(stored);
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Stored text has an invalid Zstandard frame header");
+        }
+        long dictionaryId = Zstd.getDictIdFromFrame(stored);
+        byte[] raw;
+        if (dictionaryId == 0) {
+            raw = Zstd.decompress(stored, (int) size);
+        } else {
+            ZstdDictDecompress dictionary = decompressDictionaries.get(dictionaryId);
+            if (dictionary == null) {
+                throw new IllegalStateException("Stored text needs compression dictionary " + dictionaryId
+                        + ", which is not in " + dictionaryDir.toAbsolutePath());
+            }
+            raw = Zstd.decompress(stored, dictionary, (int) size);
+        }
+        String text = new String(raw, StandardCharsets.UTF_8);
+        decompressTime.get(field).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return text;
+    }
+
+    private static boolean isCompressed(byte[] stored) {
+        // Zstandard frames start with the little-endian magic number 0xFD2FB528; a valid UTF-8
+        // text cannot, since 0xB5 is a continuation byte.
+        return stored.length >= 4 && (stored[0] & 0xFF) == 0x28 && (stored[1] & 0xFF) == 0xB5
+                && (stored[2] & 0xFF) == 0x2F && (stored[3] & 0xFF) == 0xFD;
+    }
+
+    private ZstdDictTrainer newTrainer() {
+        // Samples are capped at 100 times the dictionary size, the ratio Zstandard recommends.
+        return new ZstdDictTrainer(100 * dictionarySize, dictionarySize);
+    }
+
+    /**
+     * Adds a text to the training samples and starts training once there are enough (or the
+     * sample buffer is full).
+     */
+    private void sample(byte[] raw) {
+        if (trainingExecutor == null || compressDictionary != null) {
+            return;
+        }
+        ZstdDictTrainer full;
+        synchronized (trainingLock) {
+            if (trainer == null) {
+                return; // Training
+            }
+            boolean added = trainer.addSample(raw);
+            if (added && ++samples < trainingSamples) {
+                return;
+            }
+            full = trainer;
+            trainer = null;
+        }
+        trainingExecutor.execute(() -> train(full));
+    }
+
+    private void train(ZstdDictTrainer samplesTrainer) {
+        try {
+            long start = System.nanoTime();
+            byte[] dictionary = samplesTrainer.trainSamples();
+            long id = Zstd.getDictIdFromDict(dictionary);
+            Files.createDirectories(dictionaryDir);
+            Path target = dictionaryDir.resolve(DICTIONARY_PREFIX + Long.toUnsignedString(id) + DICTIONARY_SUFFIX);
+            Path temporary = dictionaryDir.resolve(target.getFileName() + ".tmp");
+            // Texts compressed with the dictionary go to durable stores, so the dictionary has to
+            // be on disk (contents and directory entry) before it is used.
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(dictionary);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            } catch (IOException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            WriteAheadLog.forceDirectory(dictionaryDir);
+            // Readers must have the dictionary before the first frame compressed with it is stored.
+            decompressDictionaries.put(id, new ZstdDictDecompress(dictionary));
+            compressDictionary = new ZstdDictCompress(dictionary, level);
+            logger.info("Trained a " + dictionary.length + " byte compression dictionary (" + id + ") on " + samples
+                    + " texts in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (Exception e) {
+            // Without a dictionary texts are still compressed, just less well; try again later.
+            logger.log(Level.WARNING, "Could not train a compression dictionary", e);
+            synchronized (trainingLock) {
+                trainer = newTrainer();
+                samples = 0;
+            }
+        }
+    }
+
+    /**
+     * Loads every dictionary for reading; the newest one is used for compressing.
+     */
+    private void loadDictionaries() {
+        if (!Files.isDirectory(dictionaryDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dictionaryDir)) {
+            List<Path> dictionaries = files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(DICTIONARY_PREFIX) && name.endsWith(DICTIONARY_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing(TextCompressor::lastModified))
+                    .toList();
+            for (Path path : dictionaries) {
+                byte[] dictionary = Files.readAllBytes(path);
+                decompressDictionaries.put(Zstd.getDictIdFromDict(dictionary), new ZstdDictDecompress(dictionary));
+                compressDictionary = new ZstdDictCompress(dictionary, level);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load compression dictionaries from " + dictionaryDir.toAbsolutePath(), e);
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (trainingExecutor != null) {
+            trainingExecutor.shutdownNow();
+        }
+    }
+}
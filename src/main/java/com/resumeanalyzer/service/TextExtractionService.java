@@ -1,75 +1,224 @@
-// src/main/java/com/resumeanalyzer/service/TextExtractionService.java
 package com.resumeanalyzer.service;
 
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import com.resumeanalyzer.exception.ExtractionAbortedException;
+import com.resumeanalyzer.util.DocumentFormat;
+import com.resumeanalyzer.util.FormatSniffer;
+import com.resumeanalyzer.util.TextNormalizer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
 import java.util.logging.Logger; // Import Logger
 
 /**
- * Service for extracting text content from various document types (PDF, DOCX).
+ * Service for extracting text content from uploaded documents.
+ *
+ * The format is detected from the content (magic bytes, zip entries, charset) by
+ * {@link FormatSniffer}; the client's Content-Type is only a fallback for content that
+ * cannot be recognized. The upload is then handed to the {@link DocumentTextExtractor}
+ * registered for that format in the {@link DocumentExtractorRegistry}, which runs on the
+ * bounded extraction pool under the {@link ExtractionScheduler}'s admission control.
+ *
+ * To keep heap use bounded, uploads are spooled to a temporary file and parsed from there,
+ * and all extractions share the {@link UploadByteBudget}, which caps the total size of
+ * uploads processed at once. Extracted text is compacted by {@link TextNormalizer} before
+ * it is returned, so stored resumes and LLM prompts carry no layout noise. The SHA-256 of each upload is computed while it is spooled,
+ * which lets callers skip extraction for bytes they have seen before.
  */
 @Service
 public class TextExtractionService {
 
     private static final Logger logger = Logger.getLogger(TextExtractionService.class.getName()); // Initialize Logger
 
+    private final DocumentExtractorRegistry extractorRegistry;
+    private final ExtractionScheduler extractionScheduler;
+    private final UploadByteBudget uploadByteBudget;
+    private final File tempDir;
+    private final TextNormalizer textNormalizer = new TextNormalizer();
+    private final boolean normalizationEnabled;
+    private final DistributionSummary normalizationSavedChars;
+
+    @Autowired
+    public TextExtractionService(DocumentExtractorRegistry extractorRegistry,
+                                 ExtractionScheduler extractionScheduler,
+                                 UploadByteBudget uploadByteBudget,
+                                 @Value("${text-extraction.temp-dir:${java.io.tmpdir}}") File tempDir,
+                                 @Value("${text-normalization.enabled:true}") boolean normalizationEnabled,
+                                 MeterRegistry meterRegistry) {
+        this.extractorRegistry = extractorRegistry;
+        this.extractionScheduler = extractionScheduler;
+        this.uploadByteBudget = uploadByteBudget;
+        this.tempDir = tempDir;
+        this.normalizationEnabled = normalizationEnabled;
+        this.normalizationSavedChars = DistributionSummary.builder("text.normalization.saved.chars")
+                .description("Characters removed from extracted text by normalization")
+                .baseUnit("chars")
+                .register(meterRegistry);
+    }
+
     /**
-     * Extracts text from a given MultipartFile based on its content type.
-     * Supports PDF and DOCX formats.
+     * Extracts text from a given MultipartFile based on its detected format.
+     * Supports PDF, DOCX, DOC, RTF, ODT, HTML and plain text.
      * @param file The MultipartFile to extract text from.
      * @return The extracted text content.
      * @throws IOException If there's an error reading the file.
      * @throws IllegalArgumentException If the file type is not supported.
+     * @throws com.resumeanalyzer.exception.ExtractionRejectedException If the in-flight upload budget is exhausted.
      */
     public String extractText(MultipartFile file) throws IOException {
-        String contentType = file.getContentType();
-        if (contentType == null) {
-            logger.warning("MultipartFile content type is null. Cannot determine file type.");
-            throw new IllegalArgumentException("Could not determine file type.");
-        }
-        logger.info("Attempting to extract text from file: " + file.getOriginalFilename() + " with Content-Type: " + contentType);
-
-        switch (contentType) {
-            case "application/pdf":
-                return extractPdfText(file);
-            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document": // .docx
-                return extractDocxText(file);
-            case "text/plain":
-                return new String(file.getBytes());
-            default:
-                logger.warning("Unsupported file type encountered: " + contentType);
-                throw new IllegalArgumentException("Unsupported file type: " + contentType);
+        try (SpooledUpload upload = spool(file)) {
+            return extractText(upload);
         }
     }
 
-    private String extractPdfText(MultipartFile file) throws IOException {
-        try (PDDocument document = PDDocument.load(file.getInputStream())) {
-            PDFTextStripper pdfStripper = new PDFTextStripper();
-            String text = pdfStripper.getText(document);
-            logger.info("PDF Text Extraction successful. Extracted length: " + text.length());
-            logger.info("Extracted PDF Text:\n" + text);
+    /**
+     * Extracts text from an upload that has already been spooled.
+     * @param upload The spooled upload.
+     * @return The extracted text content.
+     * @throws IOException If there's an error reading the file.
+     * @throws IllegalArgumentException If the file type is not supported.
+     * @throws com.resumeanalyzer.exception.ExtractionRejectedException If extraction capacity is exhausted.
+     * @throws com.resumeanalyzer.exception.ExtractionAbortedException If the document exceeds an extraction limit.
+     */
+    public String extractText(SpooledUpload upload) throws IOException {
+        String contentType = upload.getContentType();
+        logger.info("Attempting to extract text from file: " + upload.getOriginalFilename() + " with Content-Type: " + contentType);
+
+        try {
+            FormatSniffer.Detection detection = FormatSniffer.sniff(upload.getPath());
+            DocumentFormat declared = DocumentFormat.fromContentType(contentType);
+            DocumentFormat format = detection.format() != null ? detection.format() : declared;
+            if (format == null) {
+                String described = contentType != null ? contentType : upload.getOriginalFilename();
+                logger.warning("Unsupported file type encountered: " + described);
+                throw new IllegalArgumentException("Unsupported file type: " + described);
+            }
+            if (declared != null && declared != format) {
+                logger.warning("File " + upload.getOriginalFilename() + " declared as " + contentType
+                        + " but its content is " + format + "; extracting as " + format);
+            }
+
+            DocumentTextExtractor extractor = extractorRegistry.get(format)
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported file type: " + format.getMediaType()));
+            Charset charset = detection.charset() != null ? detection.charset() : StandardCharsets.UTF_8;
+            String text = extractionScheduler.run(format, guard -> extractor.extract(upload.getPath(), charset, guard));
+            logger.info(format + " Text Extraction successful. Extracted length: " + text.length());
+            if (normalizationEnabled) {
+                text = normalize(text);
+            }
+            logger.fine("Extracted Text:\n" + text);
             return text;
         } catch (IOException e) {
-            logger.severe("Error during PDF text extraction: " + e.getMessage());
+            logger.severe("Error during text extraction: " + e.getMessage());
             throw e; // Re-throw to propagate the exception
         }
     }
 
-    private String extractDocxText(MultipartFile file) throws IOException {
-        try (XWPFDocument document = new XWPFDocument(file.getInputStream())) {
-            XWPFWordExtractor extractor = new XWPFWordExtractor(document);
-            String text = extractor.getText();
-            logger.info("DOCX Text Extraction successful. Extracted length: " + text.length());
-            return text;
-        } catch (IOException e) {
-            logger.severe("Error during DOCX text extraction: " + e.getMessage());
-            throw e; // Re-throw to propagate the exception
+    /**
+     * Compacts extracted text once, at ingest, so every later LLM prompt is smaller.
+     */
+    private String normalize(String text) {
+        TextNormalizer.Result result = textNormalizer.normalize(text);
+        normalizationSavedChars.record(result.savedChars());
+        logger.info("Text normalization saved " + result.savedChars() + " of " + result.originalLength()
+                + " characters (" + result.droppedLines() + " header/footer lines dropped).");
+        return result.text();
+    }
+
+    /**
+     * Reserves upload budget and copies the upload to a temporary file, hashing it on the way
+     * so duplicate uploads can be recognized without reading the bytes a second time.
+     * Parsers then read the file randomly without holding it in heap.
+     * @param file The uploaded file.
+     * @return The spooled upload; the caller must close it.
+     * @throws IOException If the upload cannot be copied.
+     * @throws com.resumeanalyzer.exception.ExtractionRejectedException If the in-flight upload budget is exhausted.
+     */
+    public SpooledUpload spool(MultipartFile file) throws IOException {
+        UploadByteBudget.Reservation reservation = uploadByteBudget.reserve(file.getSize());
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile(tempDir.toPath(), "upload-", ".tmp");
+            MessageDigest digest = newSha256();
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new SpooledUpload(spooled, HexFormat.of().formatHex(digest.digest()), size,
+                    file.getOriginalFilename(), file.getContentType(), reservation);
+        } catch (IOException | RuntimeException e) {
+            if (spooled != null) {
+                Files.deleteIfExists(spooled);
+            }
+            reservation.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies a stream of unknown length (such as an archive entry) to a temporary file, hashing
+     * it on the way, then reserves upload budget for its actual size. The stream is not closed.
+     * @param in The content; read until it ends.
+     * @param maxBytes Largest accepted content size.
+     * @param originalFilename Name reported for the upload.
+     * @param contentType Declared content type; may be null, the format is sniffed anyway.
+     * @param budgetWait How long to wait for room in the upload budget.
+     * @return The spooled upload; the caller must close it.
+     * @throws IOException If the content cannot be copied.
+     * @throws ExtractionAbortedException If the content is larger than maxBytes.
+     * @throws com.resumeanalyzer.exception.ExtractionRejectedException If the budget does not free up in time.
+     */
+    public SpooledUpload spool(InputStream in, long maxBytes, String originalFilename, String contentType,
+                               Duration budgetWait) throws IOException {
+        Path spooled = Files.createTempFile(tempDir.toPath(), "upload-", ".tmp");
+        try {
+            MessageDigest digest = newSha256();
+            long size = 0;
+            byte[] buffer = new byte[8192];
+            try (OutputStream out = Files.newOutputStream(spooled)) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    size += n;
+                    if (size > maxBytes) {
+                        throw new ExtractionAbortedException(ExtractionAbortedException.Reason.FILE_SIZE,
+                                "File exceeds the limit of " + maxBytes + " bytes.");
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+            // Budget is reserved after copying: the size of streamed content is only known now.
+            UploadByteBudget.Reservation reservation = uploadByteBudget.reserve(size, budgetWait);
+            return new SpooledUpload(spooled, HexFormat.of().formatHex(digest.digest()), size,
+                    originalFilename, contentType, reservation);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Every JRE is required to provide it.
         }
     }
 }
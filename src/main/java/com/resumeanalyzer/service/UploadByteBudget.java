@@ -0,0 +1,110 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.exception.ExtractionRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide budget on the total size of uploads being extracted at the same time.
+ *
+ * Parsing memory grows with document size, so capping in-flight bytes (rather than the
+ * number of uploads) keeps peak heap predictable during upload storms. An upload waits
+ * up to `text-extraction.budget.max-wait` for room in the budget and is then rejected.
+ * A single upload larger than the whole budget is admitted once it has the budget to itself.
+ */
+@Component
+public class UploadByteBudget {
+
+    private static final Logger logger = Logger.getLogger(UploadByteBudget.class.getName());
+
+    // Permits are counted in KiB so budgets above 2 GB still fit in an int.
+    private static final int BYTES_PER_PERMIT = 1024;
+
+    private final Semaphore permits;
+    private final int totalPermits;
+    private final Duration maxWait;
+
+    @Autowired
+    public UploadByteBudget(@Value("${text-extraction.budget.max-in-flight-bytes:67108864}") long maxInFlightBytes,
+                            @Value("${text-extraction.budget.max-wait:2s}") Duration maxWait,
+                            MeterRegistry meterRegistry) {
+        this.totalPermits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxInFlightBytes / BYTES_PER_PERMIT));
+        this.permits = new Semaphore(totalPermits, true);
+        this.maxWait = maxWait;
+        Gauge.builder("text.extraction.in.flight.bytes", this, UploadByteBudget::getInFlightBytes)
+                .description("Bytes of uploads currently being extracted")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves budget for an upload, waiting if necessary.
+     *
+     * @param bytes The upload size.
+     * @return A reservation to close once extraction is finished.
+     * @throws ExtractionRejectedException If the budget does not free up in time.
+     */
+    public Reservation reserve(long bytes) {
+        return reserve(bytes, maxWait);
+    }
+
+    /**
+     * Reserves budget for an upload, waiting up to the given time. Used by callers that would
+     * rather stall than reject, such as bulk uploads.
+     *
+     * @param bytes The upload size.
+     * @param maxWait How long to wait for room in the budget.
+     * @return A reservation to close once extraction is finished.
+     * @throws ExtractionRejectedException If the budget does not free up in time.
+     */
+    public Reservation reserve(long bytes, Duration maxWait) {
+        int needed = (int) Math.min(totalPermits, Math.max(1, (bytes + BYTES_PER_PERMIT - 1) / BYTES_PER_PERMIT));
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(needed, maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            logger.warning("Rejecting upload of " + bytes + " bytes: in-flight upload budget exhausted.");
+            throw new ExtractionRejectedException("Too many uploads are being processed. Please retry shortly.", this.maxWait);
+        }
+        return new Reservation(needed);
+    }
+
+    /**
+     * @return Bytes currently reserved, at KiB granularity.
+     */
+    public long getInFlightBytes() {
+        return (long) (totalPermits - permits.availablePermits()) * BYTES_PER_PERMIT;
+    }
+
+    /**
+     * Budget held by one upload; closing it returns the budget.
+     */
+    public final class Reservation implements AutoCloseable {
+        private final int reserved;
+        private boolean released;
+
+        private Reservation(int reserved) {
+            this.reserved = reserved;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                permits.release(reserved);
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.resumeanalyzer.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton for finding many dictionary phrases in one pass over a text.
+ *
+ * Matching is case-insensitive and treats any run of whitespace as a single space, so
+ * "Spring\n  Boot" matches the phrase "spring boot". A match is only reported on word
+ * boundaries: a phrase that starts (or ends) with a letter or digit must not be glued
+ * to another word character on that side. '+' and '#' count as word characters so that
+ * "c" does not match inside "c++" or "c#".
+ *
+ * The automaton is compiled into flat arrays after construction. Scanning a text walks
+ * those arrays directly and allocates nothing per character; the only per-call state is
+ * a small ring buffer used to map match starts back to positions in the original text.
+ */
+public final class AhoCorasickMatcher {
+
+    /**
+     * Receives matches found by {@link #scan(CharSequence, MatchListener)}.
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+        /**
+         * @param value The value associated with the matched phrase.
+         * @param start Index of the first matched character in the original text.
+         * @param end Index one past the last matched character in the original text.
+         */
+        void onMatch(int value, int start, int end);
+    }
+
+    // Transitions of state s are edgeChars/edgeTargets[edgeStart[s] .. edgeStart[s + 1]), sorted by char.
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    // Direct transitions out of the root for ASCII, the hot path for most text.
+    private final int[] rootAscii;
+    private final int[] failure;
+    // Phrases recognised in state s (including those inherited through failure links).
+    private final int[] outputStart;
+    private final int[] outputPhrases;
+    private final int[] phraseLength;
+    private final int[] phraseValue;
+    private final boolean[] phraseNeedsLeftBoundary;
+    private final boolean[] phraseNeedsRightBoundary;
+    private final int ringMask;
+
+    private AhoCorasickMatcher(Builder builder) {
+        List<String> phrases = builder.phrases;
+        int phraseCount = phrases.size();
+        this.phraseLength = new int[phraseCount];
+        this.phraseValue = new int[phraseCount];
+        this.phraseNeedsLeftBoundary = new boolean[phraseCount];
+        this.phraseNeedsRightBoundary = new boolean[phraseCount];
+
+        // 1. Build the trie with map-based nodes; this only happens once at startup.
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminals = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminals.add(new ArrayList<>());
+        int maxLength = 1;
+        for (int p = 0; p < phraseCount; p++) {
+            String phrase = phrases.get(p);
+            int state = 0;
+            for (int i = 0; i < phrase.length(); i++) {
+                char c = phrase.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminals.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            terminals.get(state).add(p);
+            phraseLength[p] = phrase.length();
+            phraseValue[p] = builder.values.get(p);
+            phraseNeedsLeftBoundary[p] = isWordChar(phrase.charAt(0));
+            phraseNeedsRightBoundary[p] = isWordChar(phrase.charAt(phrase.length() - 1));
+            maxLength = Math.max(maxLength, phrase.length());
+        }
+
+        // 2. Flatten transitions.
+        int stateCount = trie.size();
+        this.edgeStart = new int[stateCount + 1];
+        int edgeCount = 0;
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s] = edgeCount;
+            edgeCount += trie.get(s).size();
+        }
+        edgeStart[stateCount] = edgeCount;
+        this.edgeChars = new char[edgeCount];
+        this.edgeTargets = new int[edgeCount];
+        for (int s = 0; s < stateCount; s++) {
+            int e = edgeStart[s];
+            for (Map.Entry<Character, Integer> edge : trie.get(s).entrySet()) {
+                edgeChars[e] = edge.getKey();
+                edgeTargets[e] = edge.getValue();
+                e++;
+            }
+        }
+        this.rootAscii = new int[128];
+        for (Map.Entry<Character, Integer> edge : trie.get(0).entrySet()) {
+            if (edge.getKey() < 128) {
+                rootAscii[edge.getKey()] = edge.getValue();
+            }
+        }
+
+        // 3. Failure links and merged outputs, breadth first so a state's failure target is always done first.
+        this.failure = new int[stateCount];
+        List<int[]> outputs = new ArrayList<>(stateCount);
+        for (int s = 0; s < stateCount; s++) {
+            outputs.add(null);
+        }
+        outputs.set(0, new int[0]);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : trie.get(0).values()) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] inherited = outputs.get(failure[state]);
+            List<Integer> own = terminals.get(state);
+            int[] merged = Arrays.copyOf(own.stream().mapToInt(Integer::intValue).toArray(), own.size() + inherited.length);
+            System.arraycopy(inherited, 0, merged, own.size(), inherited.length);
+            outputs.set(state, merged);
+
+            for (Map.Entry<Character, Integer> edge : trie.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                while (fallback != 0 && next(fallback, edge.getKey()) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = next(fallback, edge.getKey());
+                failure[child] = target >= 0 && target != child ? target : 0;
+                queue.add(child);
+            }
+        }
+        this.outputStart = new int[stateCount + 1];
+        int outputCount = 0;
+        for (int s = 0; s < stateCount; s++) {
+            outputStart[s] = outputCount;
+            outputCount += outputs.get(s).length;
+        }
+        outputStart[stateCount] = outputCount;
+        this.outputPhrases = new int[outputCount];
+        for (int s = 0; s < stateCount; s++) {
+            System.arraycopy(outputs.get(s), 0, outputPhrases, outputStart[s], outputs.get(s).length);
+        }
+
+        this.ringMask = Integer.highestOneBit(maxLength * 2 - 1) * 2 - 1;
+    }
+
+    /**
+     * Creates a builder for a new automaton.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Scans the text once, reporting every dictionary phrase found on word boundaries.
+     * Overlapping phrases (e.g. "spring" and "spring boot") are all reported.
+     *
+     * @param text The text to scan.
+     * @param listener Receives each match as it is found.
+     */
+    public void scan(CharSequence text, MatchListener listener) {
+        // ring[n & ringMask] is the original index of the n-th normalized character.
+        int[] ring = new int[ringMask + 1];
+        int normalizedCount = 0;
+        int state = 0;
+        boolean previousWasSpace = true;
+        int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = normalize(text.charAt(i));
+            if (c == ' ') {
+                if (previousWasSpace) {
+                    continue;
+                }
+                previousWasSpace = true;
+            } else {
+                previousWasSpace = false;
+            }
+            ring[normalizedCount & ringMask] = i;
+
+            int target = next(state, c);
+            while (target < 0 && state != 0) {
+                state = failure[state];
+                target = next(state, c);
+            }
+            state = Math.max(target, 0);
+
+            for (int o = outputStart[state]; o < outputStart[state + 1]; o++) {
+                int phrase = outputPhrases[o];
+                int start = ring[(normalizedCount - phraseLength[phrase] + 1) & ringMask];
+                if (phraseNeedsLeftBoundary[phrase] && start > 0 && isWordChar(text.charAt(start - 1))) {
+                    continue;
+                }
+                if (phraseNeedsRightBoundary[phrase] && i + 1 < length && isWordChar(text.charAt(i + 1))) {
+                    continue;
+                }
+                listener.onMatch(phraseValue[phrase], start, i + 1);
+            }
+            normalizedCount++;
+        }
+    }
+
+    private int next(int state, char c) {
+        if (state == 0 && c < 128) {
+            int target = rootAscii[c];
+            return target == 0 ? -1 : target;
+        }
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = edgeChars[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static char normalize(char c) {
+        if (Character.isWhitespace(c) || c == ' ') {
+            return ' ';
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    /**
+     * Collects phrases before compiling the automaton.
+     */
+    public static final class Builder {
+        private final List<String> phrases = new ArrayList<>();
+        private final List<Integer> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a phrase. It is normalized the same way scanned text is (lower case, collapsed whitespace).
+         *
+         * @param phrase The phrase to find.
+         * @param value The value reported when the phrase matches.
+         * @return This builder.
+         */
+        public Builder add(String phrase, int value) {
+            StringBuilder normalized = new StringBuilder(phrase.length());
+            boolean previousWasSpace = true;
+            for (int i = 0; i < phrase.length(); i++) {
+                char c = normalize(phrase.charAt(i));
+                if (c == ' ' && previousWasSpace) {
+                    continue;
+                }
+                previousWasSpace = c == ' ';
+                normalized.append(c);
+            }
+            int end = normalized.length();
+            while (end > 0 && normalized.charAt(end - 1) == ' ') {
+                end--;
+            }
+            if (end > 0) {
+                phrases.add(normalized.substring(0, end));
+                values.add(value);
+            }
+            return this;
+        }
+
+        public AhoCorasickMatcher build() {
+            return new AhoCorasickMatcher(this);
+        }
+    }
+}
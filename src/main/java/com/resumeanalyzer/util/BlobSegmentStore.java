@@ -0,0 +1,313 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.model.ContentRef;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Append-only storage of byte blobs in memory-mapped segment files, so large immutable data
+ * (resume texts) lives in the page cache instead of on the Java heap.
+ *
+ * Blobs are appended to the active segment, a file of `segmentSize` bytes mapped read-write;
+ * when it is full it is trimmed to what was written and a new one is started. Blobs are never
+ * changed in place. Reads copy the blob out of the mapping without locking.
+ *
+ * The store does not know who references a blob. Owners {@link #retain} the blobs they hold
+ * when the store is opened and {@link #release} the ones they drop, which keeps a count of
+ * live bytes per segment. A segment that was active when the process died was never trimmed
+ * and still has its full capacity on disk; once the owner has retained its blobs,
+ * {@link #trimRecoveredSegments} cuts such segments back to their last retained blob. Compaction is driven by the owner: it copies the live blobs of the
+ * segments from {@link #segmentsToCompact} with {@link #copy}, switches its references and
+ * releases the old blobs, then calls {@link #deleteReleasedSegments}.
+ *
+ * A deleted segment stays mapped until the following {@link #deleteReleasedSegments}, so a
+ * reader still holding an old reference can finish its read.
+ */
+public final class BlobSegmentStore implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(BlobSegmentStore.class.getName());
+
+    private static final String SEGMENT_PREFIX = "blob-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+    private final Set<Segment> retired = new HashSet<>(); // Deleted, still mapped; guarded by `this`
+    private Segment active; // Guarded by `this`
+    private int nextSegment;
+
+    /**
+     * Opens the store, mapping the segments already in the directory. All their blobs count as
+     * garbage until they are {@link #retain retained}.
+     *
+     * @param directory Directory of the segment files; created if missing.
+     * @param segmentSize Size of a segment file. Larger blobs get a segment of their own.
+     * @param sync Force every blob to disk before {@link #append} returns.
+     * @throws IOException If the directory or a segment cannot be read.
+     */
+    public BlobSegmentStore(Path directory, int segmentSize, boolean sync) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        Files.createDirectories(directory);
+        int maxSegment = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(BlobSegmentStore::isSegment).toList()) {
+                int id = segmentId(path);
+                maxSegment = Math.max(maxSegment, id);
+                long size = Files.size(path);
+                if (size == 0) {
+                    Files.delete(path);
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    Segment segment = new Segment(id, path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size), size);
+                    segment.recovered = true;
+                    segments.put(id, segment);
+                }
+            }
+        }
+        this.nextSegment = maxSegment + 1;
+    }
+
+    /**
+     * Appends a blob.
+     *
+     * @param bytes The blob.
+     * @return Where the blob was stored; it counts as live.
+     * @throws IOException If a new segment cannot be created.
+     */
+    public synchronized ContentRef append(byte[] bytes) throws IOException {
+        if (active == null || active.capacity - active.end < bytes.length) {
+            if (active != null) {
+                seal(active);
+            }
+            active = createSegment(Math.max(segmentSize, bytes.length));
+        }
+        int offset = (int) active.end;
+        active.buffer.put(offset, bytes);
+        if (sync) {
+            active.buffer.force(offset, bytes.length);
+        }
+        active.end += bytes.length;
+        active.live.addAndGet(bytes.length);
+        return new ContentRef(active.id, offset, bytes.length);
+    }
+
+    /**
+     * Reads a blob.
+     *
+     * @param ref Where the blob is stored.
+     * @return A copy of the blob.
+     * @throws IllegalStateException If the segment does not exist.
+     */
+    public byte[] read(ContentRef ref) {
+        Segment segment = segments.get(ref.getSegment());
+        if (segment == null || ref.getOffset() + ref.getLength() > segment.end) {
+            throw new IllegalStateException("Blob " + ref + " is not in the store");
+        }
+        byte[] bytes = new byte[ref.getLength()];
+        segment.buffer.get((int) ref.getOffset(), bytes);
+        return bytes;
+    }
+
+    /**
+     * Appends a copy of a blob, for compaction.
+     *
+     * @param ref The blob to copy.
+     * @return Where the copy was stored.
+     * @throws IOException If a new segment cannot be created.
+     */
+    public ContentRef copy(ContentRef ref) throws IOException {
+        return append(read(ref));
+    }
+
+    /**
+     * Counts a blob found in an owner's data as live. Call once per blob after opening.
+     */
+    public void retain(ContentRef ref) {
+        Segment segment = segments.get(ref.getSegment());
+        if (segment != null) {
+            segment.live.addAndGet(ref.getLength());
+            segment.retainedEnd.accumulateAndGet(ref.getOffset() + ref.getLength(), Math::max);
+        }
+    }
+
+    /**
+     * Counts a blob as garbage. Call once when its owner drops it.
+     */
+    public void release(ContentRef ref) {
+        Segment segment = segments.get(ref.getSegment());
+        if (segment != null) {
+            segment.live.addAndGet(-ref.getLength());
+        }
+    }
+
+    /**
+     * Trims the segments found when the store was opened to the end of their last retained
+     * blob. Whatever follows it was never referenced by the owner: unwritten space of a
+     * segment that was active when the process died, or blobs that were already garbage.
+     * Call once, after retaining every blob the owner holds.
+     *
+     * @return Bytes trimmed.
+     * @throws IOException If a segment file cannot be truncated.
+     */
+    public synchronized long trimRecoveredSegments() throws IOException {
+        long trimmed = 0;
+        for (Segment segment : segments.values()) {
+            if (!segment.recovered || retired.contains(segment)) {
+                continue;
+            }
+            segment.recovered = false;
+            long end = Math.min(segment.end, segment.retainedEnd.get());
+            if (end < segment.end) {
+                trimmed += segment.end - end;
+                segment.end = end; // Before truncating, so nothing reads past the new end.
+                try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.WRITE)) {
+                    channel.truncate(end);
+                    channel.force(true);
+                }
+            }
+        }
+        return trimmed;
+    }
+
+    /**
+     * @param minGarbageRatio Share of a segment that must be garbage for it to be compacted.
+     * @return Segments other than the active one that are at least that much garbage.
+     */
+    public synchronized Set<Integer> segmentsToCompact(double minGarbageRatio) {
+        Set<Integer> ids = new HashSet<>();
+        for (Segment segment : segments.values()) {
+            if (segment != active && !retired.contains(segment)
+                    && segment.end - segment.live.get() >= minGarbageRatio * segment.end) {
+                ids.add(segment.id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Deletes the segments, other than the active one, that have no live blobs left, and unmaps
+     * the ones deleted by the previous call.
+     *
+     * @return The number of segments deleted.
+     * @throws IOException If a segment file cannot be deleted.
+     */
+    public synchronized int deleteReleasedSegments() throws IOException {
+        for (Segment segment : retired) {
+            segments.remove(segment.id);
+        }
+        retired.clear();
+        int deleted = 0;
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            if (segment != active && segment.live.get() <= 0) {
+                Files.deleteIfExists(segment.path);
+                retired.add(segment);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @return Bytes of live blobs.
+     */
+    public long getLiveBytes() {
+        return segments.values().stream().filter(segment -> !isRetired(segment)).mapToLong(segment -> segment.live.get()).sum();
+    }
+
+    /**
+     * @return Bytes written to the segments, live or not.
+     */
+    public long getStoredBytes() {
+        return segments.values().stream().filter(segment -> !isRetired(segment)).mapToLong(segment -> segment.end).sum();
+    }
+
+    private synchronized boolean isRetired(Segment segment) {
+        return retired.contains(segment);
+    }
+
+    /**
+     * Trims the active segment to what was written. Mappings are released by the garbage
+     * collector.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (active != null) {
+            seal(active);
+            active = null;
+        }
+    }
+
+    private Segment createSegment(int capacity) throws IOException {
+        int id = nextSegment++;
+        Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping read-write grows the file to its capacity (sparse until written).
+            Segment segment = new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), 0);
+            segments.put(id, segment);
+            logger.fine(() -> "Started blob segment " + path);
+            return segment;
+        }
+    }
+
+    /**
+     * Trims a full segment's file to the bytes written, so it does not occupy its capacity on
+     * disk and reopening it knows where its data ends.
+     */
+    private static void seal(Segment segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.WRITE)) {
+            segment.buffer.force();
+            channel.truncate(segment.end);
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static int segmentId(Path path) {
+        String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * A mapped segment file. Bytes beyond `end` are never read, so truncating the file down to
+     * `end` while it is mapped is safe.
+     */
+    private static final class Segment {
+        final int id;
+        final Path path;
+        final MappedByteBuffer buffer;
+        final long capacity;
+        volatile long end; // Bytes written; only the store's lock holder changes it
+        final AtomicLong live = new AtomicLong(); // Bytes of blobs still referenced
+        final AtomicLong retainedEnd = new AtomicLong(); // End of the last retained blob
+        boolean recovered; // Found on open and not trimmed yet; guarded by the store's lock
+
+        Segment(int id, Path path, MappedByteBuffer buffer, long end) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+            this.end = end;
+        }
+    }
+}
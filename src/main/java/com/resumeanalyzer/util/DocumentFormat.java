@@ -0,0 +1,53 @@
+package com.resumeanalyzer.util;
+
+import java.util.Locale;
+
+/**
+ * Document formats the application can extract text from.
+ */
+public enum DocumentFormat {
+    PDF("application/pdf"),
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+    DOC("application/msword"),
+    RTF("application/rtf"),
+    HTML("text/html"),
+    ODT("application/vnd.oasis.opendocument.text"),
+    TEXT("text/plain");
+
+    private final String mediaType;
+
+    DocumentFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @return The canonical media type of the format.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Maps a client-supplied Content-Type to a format. Only used when the content itself
+     * cannot be recognized.
+     *
+     * @param contentType The Content-Type header value, possibly with parameters.
+     * @return The format, or null if the type is unknown.
+     */
+    public static DocumentFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String mediaType = contentType.split(";", 2)[0].strip().toLowerCase(Locale.ROOT);
+        for (DocumentFormat format : values()) {
+            if (format.mediaType.equals(mediaType)) {
+                return format;
+            }
+        }
+        return switch (mediaType) {
+            case "text/rtf" -> RTF;
+            case "application/xhtml+xml" -> HTML;
+            default -> null;
+        };
+    }
+}
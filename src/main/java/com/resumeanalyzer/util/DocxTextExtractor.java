@@ -0,0 +1,178 @@
+package com.resumeanalyzer.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming text extractor for DOCX files.
+ *
+ * Reads `word/document.xml` (and optionally the header and footer parts) straight out of
+ * the zip with a single StAX pass, appending text runs to the caller's buffer. No DOM is
+ * built and no other package part (images, fonts, styles, embedded objects) is inflated.
+ *
+ * Output follows XWPFWordExtractor closely: one line per paragraph and table row, tabs
+ * between table cells, headers before the body and footers after it.
+ *
+ * Instances are immutable and thread-safe; the StAX factory is created once and shared.
+ */
+public final class DocxTextExtractor {
+
+    private static final String WORDML_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String DOCUMENT_PART = "word/document.xml";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private final boolean includeHeadersAndFooters;
+
+    /**
+     * @param includeHeadersAndFooters Whether to also extract `word/header*.xml` and `word/footer*.xml`.
+     */
+    public DocxTextExtractor(boolean includeHeadersAndFooters) {
+        this.includeHeadersAndFooters = includeHeadersAndFooters;
+    }
+
+    /**
+     * Extracts the text of a DOCX file.
+     *
+     * @param docx Path to the DOCX file.
+     * @param out Buffer the text is appended to.
+     * @throws IOException If the file is not a readable DOCX package.
+     */
+    public void extract(Path docx, StringBuilder out) throws IOException {
+        extract(docx, out, ExtractionGuard.unlimited());
+    }
+
+    /**
+     * Extracts the text of a DOCX file under extraction limits.
+     *
+     * @param docx Path to the DOCX file.
+     * @param out Buffer the text is appended to.
+     * @param guard Limits checked after every paragraph; inflated parts count against its byte limit.
+     * @throws IOException If the file is not a readable DOCX package.
+     * @throws com.resumeanalyzer.exception.ExtractionAbortedException If a limit is exceeded.
+     */
+    public void extract(Path docx, StringBuilder out, ExtractionGuard guard) throws IOException {
+        try (ZipFile zip = new ZipFile(docx.toFile())) {
+            ZipEntry document = zip.getEntry(DOCUMENT_PART);
+            if (document == null) {
+                throw new IOException("Not a DOCX file: missing " + DOCUMENT_PART);
+            }
+            List<ZipEntry> headers = new ArrayList<>();
+            List<ZipEntry> footers = new ArrayList<>();
+            if (includeHeadersAndFooters) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    String name = entry.getName();
+                    if (name.startsWith("word/header") && name.endsWith(".xml")) {
+                        headers.add(entry);
+                    } else if (name.startsWith("word/footer") && name.endsWith(".xml")) {
+                        footers.add(entry);
+                    }
+                }
+                headers.sort((a, b) -> a.getName().compareTo(b.getName()));
+                footers.sort((a, b) -> a.getName().compareTo(b.getName()));
+            }
+
+            for (ZipEntry header : headers) {
+                extractPart(zip, header, out, guard);
+            }
+            extractPart(zip, document, out, guard);
+            for (ZipEntry footer : footers) {
+                extractPart(zip, footer, out, guard);
+            }
+        }
+    }
+
+    private void extractPart(ZipFile zip, ZipEntry entry, StringBuilder out, ExtractionGuard guard) throws IOException {
+        try (InputStream in = guard.limitDecompressed(zip.getInputStream(entry))) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                appendText(reader, out, guard);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            ExtractionGuard.rethrowIfAborted(e);
+            throw new IOException("Malformed DOCX part " + entry.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Walks the WordprocessingML event stream. Only `w:t` content is text; field codes
+     * (`w:instrText`) and tracked deletions (`w:delText`) are skipped.
+     */
+    private static void appendText(XMLStreamReader reader, StringBuilder out, ExtractionGuard guard) throws XMLStreamException {
+        boolean inText = false;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    if (!WORDML_NS.equals(reader.getNamespaceURI())) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = true;
+                        case "tab" -> out.append('\t');
+                        case "br", "cr" -> out.append('\n');
+                        default -> {
+                        }
+                    }
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    if (inText) {
+                        out.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (!WORDML_NS.equals(reader.getNamespaceURI())) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = false;
+                        case "tc" -> replaceTrailingNewline(out, '\t');
+                        case "p", "tr" -> {
+                            out.append('\n');
+                            guard.check(out.length());
+                        }
+                        default -> {
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * A table cell's last paragraph ends with a newline; cells on a row are separated by tabs instead.
+     */
+    private static void replaceTrailingNewline(StringBuilder out, char replacement) {
+        int last = out.length() - 1;
+        if (last >= 0 && out.charAt(last) == '\n') {
+            out.setCharAt(last, replacement);
+        } else {
+            out.append(replacement);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Uploaded documents are untrusted: no DTDs, no external entities.
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
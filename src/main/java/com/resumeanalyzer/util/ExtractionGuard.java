@@ -0,0 +1,140 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.exception.ExtractionAbortedException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits for one text extraction, checked cooperatively by the extractors.
+ *
+ * Parsers call {@link #check()} or {@link #check(int)} at natural checkpoints (per page,
+ * paragraph, content-stream operator batch, buffer read); the check fails once the deadline
+ * has passed, the extracting thread has been interrupted, or the extracted text is too long.
+ * Streams inflated from zip containers are wrapped with {@link #limitDecompressed(InputStream)}
+ * so a small archive cannot expand without bound. Limits of 0 are disabled.
+ *
+ * A guard is shared by all threads working on the same document and is thread-safe.
+ */
+public final class ExtractionGuard {
+
+    private static final ExtractionGuard UNLIMITED = new ExtractionGuard(Duration.ZERO, 0, 0);
+
+    private final long startNanos = System.nanoTime();
+    private final long timeoutNanos;
+    private final long maxChars;
+    private final long maxDecompressedBytes;
+    private final AtomicLong decompressedBytes = new AtomicLong();
+
+    /**
+     * Starts a guard; the deadline counts from now.
+     *
+     * @param timeout Time the extraction may take (zero = no deadline).
+     * @param maxChars Maximum length of the extracted text (0 = no limit).
+     * @param maxDecompressedBytes Maximum bytes inflated from zip containers (0 = no limit).
+     */
+    public ExtractionGuard(Duration timeout, long maxChars, long maxDecompressedBytes) {
+        this.timeoutNanos = timeout.toNanos();
+        this.maxChars = maxChars;
+        this.maxDecompressedBytes = maxDecompressedBytes;
+    }
+
+    /**
+     * @return A guard without limits, for callers outside the request path (benchmarks, tools).
+     */
+    public static ExtractionGuard unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Fails if the deadline has passed or the extraction was cancelled.
+     *
+     * @throws ExtractionAbortedException If extraction must stop.
+     */
+    public void check() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new ExtractionAbortedException(ExtractionAbortedException.Reason.DEADLINE, "Text extraction was cancelled.");
+        }
+        if (timeoutNanos > 0 && System.nanoTime() - startNanos > timeoutNanos) {
+            throw new ExtractionAbortedException(ExtractionAbortedException.Reason.DEADLINE,
+                    "Text extraction took longer than " + Duration.ofNanos(timeoutNanos).toMillis() + " ms.");
+        }
+    }
+
+    /**
+     * Fails if the deadline has passed, the extraction was cancelled, or too much text was extracted.
+     *
+     * @param chars Characters extracted so far.
+     * @throws ExtractionAbortedException If extraction must stop.
+     */
+    public void check(long chars) {
+        check();
+        if (maxChars > 0 && chars > maxChars) {
+            throw new ExtractionAbortedException(ExtractionAbortedException.Reason.CHARS,
+                    "Document contains more than " + maxChars + " characters of text.");
+        }
+    }
+
+    /**
+     * Wraps a stream inflated from a zip entry so the total across all entries is capped.
+     *
+     * @param in The inflating stream.
+     * @return A stream that fails once the guard's decompressed-bytes limit is exceeded.
+     */
+    public InputStream limitDecompressed(InputStream in) {
+        if (maxDecompressedBytes <= 0) {
+            return in;
+        }
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) {
+                    count(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    count(read);
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                count(skipped);
+                return skipped;
+            }
+        };
+    }
+
+    private void count(long bytes) {
+        if (decompressedBytes.addAndGet(bytes) > maxDecompressedBytes) {
+            throw new ExtractionAbortedException(ExtractionAbortedException.Reason.DECOMPRESSED_BYTES,
+                    "Document expands to more than " + maxDecompressedBytes + " bytes.");
+        }
+    }
+
+    /**
+     * Parsers sometimes wrap exceptions thrown from their input stream; this finds an abort
+     * in a cause chain so it is not reported as a malformed document.
+     *
+     * @param e An exception raised by a parser.
+     * @throws ExtractionAbortedException If the exception was caused by an abort.
+     */
+    public static void rethrowIfAborted(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ExtractionAbortedException aborted) {
+                throw aborted;
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.resumeanalyzer.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+/**
+ * Detects a document's format from its content rather than its declared Content-Type.
+ *
+ * Only the first {@value #HEAD_SIZE} bytes are read, plus, for zip containers, the zip
+ * central directory (to tell DOCX from ODT). For text-like formats the charset is detected
+ * as well: a byte-order mark wins, then an HTML meta charset, then strict UTF-8 validation,
+ * falling back to windows-1252.
+ */
+public final class FormatSniffer {
+
+    static final int HEAD_SIZE = 8192;
+
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    private static final byte[] OLE2_MAGIC = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] RTF_MAGIC = "{\\rtf".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ODT_MIMETYPE = "mimetypeapplication/vnd.oasis.opendocument.text".getBytes(StandardCharsets.US_ASCII);
+    private static final Pattern HTML_START = Pattern.compile("^\\s*(<!--.*?-->\\s*)*<(!doctype\\s+html|html|head|body)[\\s>]", Pattern.DOTALL);
+    private static final Pattern META_CHARSET = Pattern.compile("<meta[^>]+charset\\s*=\\s*[\"']?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private FormatSniffer() {
+    }
+
+    /**
+     * Result of sniffing: the detected format and, for text-like formats, the charset.
+     *
+     * @param format The detected format, or null if the content is not recognized.
+     * @param charset The charset of text content; null for binary formats.
+     */
+    public record Detection(DocumentFormat format, Charset charset) {
+    }
+
+    /**
+     * Sniffs a file.
+     *
+     * @param file The file to inspect.
+     * @return The detection result; its format is null if the content was not recognized.
+     * @throws IOException If the file cannot be read.
+     */
+    public static Detection sniff(Path file) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(file)) {
+            head = in.readNBytes(HEAD_SIZE);
+        }
+        if (startsWith(head, 0, ZIP_MAGIC)) {
+            return new Detection(sniffZip(file, head), null);
+        }
+        return sniff(head);
+    }
+
+    /**
+     * Sniffs the first bytes of a document. Zip containers cannot be told apart from the
+     * head alone unless they carry an ODF mimetype entry; they are reported as DOCX.
+     *
+     * @param head Up to the first {@value #HEAD_SIZE} bytes of the document.
+     * @return The detection result; its format is null if the content was not recognized.
+     */
+    public static Detection sniff(byte[] head) {
+        // PDF allows leading garbage before the header; readers look in the first 1 KB.
+        if (indexOf(head, PDF_MAGIC, 1024) >= 0) {
+            return new Detection(DocumentFormat.PDF, null);
+        }
+        if (startsWith(head, 0, ZIP_MAGIC)) {
+            return new Detection(startsWith(head, 30, ODT_MIMETYPE) ? DocumentFormat.ODT : DocumentFormat.DOCX, null);
+        }
+        if (startsWith(head, 0, OLE2_MAGIC)) {
+            return new Detection(DocumentFormat.DOC, null);
+        }
+        if (startsWith(head, 0, RTF_MAGIC)) {
+            return new Detection(DocumentFormat.RTF, StandardCharsets.US_ASCII);
+        }
+
+        Charset charset = detectCharset(head);
+        if (charset == null) {
+            return new Detection(null, null);
+        }
+        String text = new String(head, charset);
+        if (!text.isEmpty() && text.charAt(0) == '\uFEFF') {
+            text = text.substring(1);
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (HTML_START.matcher(lower).find()) {
+            return new Detection(DocumentFormat.HTML, htmlCharset(text, charset));
+        }
+        return new Detection(DocumentFormat.TEXT, charset);
+    }
+
+    /**
+     * Tells DOCX and ODT apart. ODF requires an uncompressed `mimetype` entry at the start of
+     * the archive; DOCX is recognized by its main document part in the central directory.
+     */
+    private static DocumentFormat sniffZip(Path file, byte[] head) throws IOException {
+        if (startsWith(head, 30, ODT_MIMETYPE)) {
+            return DocumentFormat.ODT;
+        }
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            if (zip.getEntry("word/document.xml") != null) {
+                return DocumentFormat.DOCX;
+            }
+            if (zip.getEntry("content.xml") != null && zip.getEntry("mimetype") != null) {
+                return DocumentFormat.ODT;
+            }
+        } catch (IOException e) {
+            // Not a readable zip archive.
+        }
+        return null;
+    }
+
+    /**
+     * @return The charset of text content, or null if the bytes look binary.
+     */
+    private static Charset detectCharset(byte[] head) {
+        if (startsWith(head, 0, new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF})) {
+            return StandardCharsets.UTF_8;
+        }
+        if (startsWith(head, 0, new byte[]{(byte) 0xFF, (byte) 0xFE})) {
+            return StandardCharsets.UTF_16LE;
+        }
+        if (startsWith(head, 0, new byte[]{(byte) 0xFE, (byte) 0xFF})) {
+            return StandardCharsets.UTF_16BE;
+        }
+
+        // UTF-16 without a BOM: ASCII-range text has a zero in every other byte.
+        int evenZeros = 0;
+        int oddZeros = 0;
+        int controlBytes = 0;
+        for (int i = 0; i < head.length; i++) {
+            int b = head[i] & 0xFF;
+            if (b == 0) {
+                if (i % 2 == 0) {
+                    evenZeros++;
+                } else {
+                    oddZeros++;
+                }
+            } else if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f' && b != 0x1B) {
+                controlBytes++;
+            }
+        }
+        int pairs = Math.max(1, head.length / 2);
+        if (oddZeros > pairs * 0.4 && evenZeros < pairs * 0.05) {
+            return StandardCharsets.UTF_16LE;
+        }
+        if (evenZeros > pairs * 0.4 && oddZeros < pairs * 0.05) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (evenZeros + oddZeros > 0 || controlBytes > head.length / 100 + 1) {
+            return null;
+        }
+        return isValidUtf8(head) ? StandardCharsets.UTF_8 : WINDOWS_1252;
+    }
+
+    private static Charset htmlCharset(String head, Charset detected) {
+        if (detected != StandardCharsets.UTF_8 && detected != WINDOWS_1252) {
+            return detected; // Came from a BOM or UTF-16 detection, which a meta tag cannot override.
+        }
+        Matcher matcher = META_CHARSET.matcher(head);
+        if (matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1));
+            } catch (IllegalArgumentException e) {
+                // Unknown charset name; keep the detected one.
+            }
+        }
+        return detected;
+    }
+
+    /**
+     * Strict UTF-8 check. A multi-byte sequence cut off at the end of the head is accepted.
+     */
+    private static boolean isValidUtf8(byte[] head) {
+        int end = head.length;
+        // Do not judge a sequence truncated by the head limit.
+        int back = 0;
+        while (back < 3 && end - back - 1 >= 0 && (head[end - back - 1] & 0xC0) == 0x80) {
+            back++;
+        }
+        if (end - back - 1 >= 0 && (head[end - back - 1] & 0xC0) == 0xC0) {
+            end = end - back - 1;
+        }
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            decoder.decode(ByteBuffer.wrap(head, 0, end));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (data.length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int limit) {
+        int last = Math.min(data.length, limit + pattern.length) - pattern.length;
+        for (int i = 0; i <= last; i++) {
+            if (startsWith(data, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,40 @@
+package com.resumeanalyzer.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of values as one JSON array, serializing each value as it is taken from the
+ * stream. Output goes to the target in buffer-sized chunks, so neither the values nor the
+ * JSON text are ever held in full.
+ */
+public final class JsonArrayWriter {
+
+    private JsonArrayWriter() {
+    }
+
+    /**
+     * @param objectMapper Serializes the values.
+     * @param values The values; consumed and closed.
+     * @param out Where the array is written; closed at the end.
+     * @throws IOException If writing fails, for example because the client went away.
+     */
+    public static void write(ObjectMapper objectMapper, Stream<?> values, OutputStream out) throws IOException {
+        // A SequenceWriter keeps the serializers it has looked up, unlike one writeObject per value.
+        // Not flushing after every value lets the generator fill its buffer before writing.
+        try (values; SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValuesAsArray(out)) {
+            Iterator<?> iterator = values.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.resumeanalyzer.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming text extractor for OpenDocument text (ODT) files.
+ *
+ * Reads only `content.xml` out of the package with a single StAX pass; pictures, styles
+ * and settings are never inflated. Paragraphs and headings become lines, `text:tab`,
+ * `text:line-break` and `text:s` are expanded, and table cells are separated by tabs.
+ *
+ * Instances are immutable and thread-safe; the StAX factory is created once and shared.
+ */
+public final class OdtTextExtractor {
+
+    private static final String TEXT_NS = "urn:oasis:names:tc:opendocument:xmlns:text:1.0";
+    private static final String TABLE_NS = "urn:oasis:names:tc:opendocument:xmlns:table:1.0";
+    private static final String OFFICE_NS = "urn:oasis:names:tc:opendocument:xmlns:office:1.0";
+    private static final String CONTENT_PART = "content.xml";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    /**
+     * Extracts the text of an ODT file.
+     *
+     * @param odt Path to the ODT file.
+     * @param out Buffer the text is appended to.
+     * @throws IOException If the file is not a readable ODT package.
+     */
+    public void extract(Path odt, StringBuilder out) throws IOException {
+        extract(odt, out, ExtractionGuard.unlimited());
+    }
+
+    /**
+     * Extracts the text of an ODT file under extraction limits.
+     *
+     * @param odt Path to the ODT file.
+     * @param out Buffer the text is appended to.
+     * @param guard Limits checked after every paragraph; inflated content counts against its byte limit.
+     * @throws IOException If the file is not a readable ODT package.
+     * @throws com.resumeanalyzer.exception.ExtractionAbortedException If a limit is exceeded.
+     */
+    public void extract(Path odt, StringBuilder out, ExtractionGuard guard) throws IOException {
+        try (ZipFile zip = new ZipFile(odt.toFile())) {
+            ZipEntry content = zip.getEntry(CONTENT_PART);
+            if (content == null) {
+                throw new IOException("Not an ODT file: missing " + CONTENT_PART);
+            }
+            try (InputStream in = guard.limitDecompressed(zip.getInputStream(content))) {
+                XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+                try {
+                    appendText(reader, out, guard);
+                } finally {
+                    reader.close();
+                }
+            } catch (XMLStreamException e) {
+                ExtractionGuard.rethrowIfAborted(e);
+                throw new IOException("Malformed ODT content: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Collects character data of paragraphs and headings inside `office:body`, skipping
+     * annotations (comments).
+     */
+    private static void appendText(XMLStreamReader reader, StringBuilder out, ExtractionGuard guard) throws XMLStreamException {
+        boolean inBody = false;
+        int paragraphDepth = 0;
+        int skipDepth = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    String ns = reader.getNamespaceURI();
+                    String name = reader.getLocalName();
+                    if (OFFICE_NS.equals(ns) && name.equals("body")) {
+                        inBody = true;
+                    } else if (skipDepth > 0 || (OFFICE_NS.equals(ns) && name.equals("annotation"))) {
+                        skipDepth++;
+                    } else if (inBody && TEXT_NS.equals(ns)) {
+                        switch (name) {
+                            case "p", "h" -> paragraphDepth++;
+                            case "tab" -> out.append('\t');
+                            case "line-break" -> out.append('\n');
+                            case "s" -> {
+                                String count = reader.getAttributeValue(TEXT_NS, "c");
+                                int spaces = count == null ? 1 : parseCount(count);
+                                out.append(" ".repeat(spaces));
+                            }
+                            default -> {
+                            }
+                        }
+                    }
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                    if (paragraphDepth > 0 && skipDepth == 0) {
+                        out.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    String ns = reader.getNamespaceURI();
+                    String name = reader.getLocalName();
+                    if (skipDepth > 0) {
+                        skipDepth--;
+                    } else if (OFFICE_NS.equals(ns) && name.equals("body")) {
+                        inBody = false;
+                    } else if (inBody && TEXT_NS.equals(ns) && (name.equals("p") || name.equals("h"))) {
+                        paragraphDepth--;
+                        out.append('\n');
+                        guard.check(out.length());
+                    } else if (inBody && TABLE_NS.equals(ns)) {
+                        if (name.equals("table-cell")) {
+                            replaceTrailingNewline(out, '\t');
+                        } else if (name.equals("table-row")) {
+                            out.append('\n');
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static int parseCount(String count) {
+        try {
+            return Math.max(0, Math.min(1024, Integer.parseInt(count.strip())));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static void replaceTrailingNewline(StringBuilder out, char replacement) {
+        int last = out.length() - 1;
+        if (last >= 0 && out.charAt(last) == '\n') {
+            out.setCharAt(last, replacement);
+        } else {
+            out.append(replacement);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Uploaded documents are untrusted: no DTDs, no external entities.
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,229 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.model.ResumeSection;
+import com.resumeanalyzer.model.SectionType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits resume text into sections (summary, skills, experience, education, ...) in a single
+ * pass over its lines.
+ *
+ * A line is a heading when it is short and, after dropping bullets, numbering and a trailing
+ * colon, is a known heading ("Work Experience", "SKILLS", "Education:"), or a title-cased
+ * phrase of a few words ending in a heading keyword ("Cloud and DevOps Skills") that also
+ * looks like a heading: it ends in a colon, is upper case, or follows a blank line. Sentences
+ * such as "Experience with Java" are not headings because they are not title-cased, and job
+ * titles such as "Volunteer Software Developer" are not because the keyword is not last.
+ * Programming languages are skills: "Programming Languages" or "Languages and Frameworks"
+ * start a SKILLS section, and a plain "Languages" heading starts LANGUAGES unless it is a
+ * subheading of a skills section.
+ * Text before the first heading is the CONTACT section.
+ *
+ * Sections are returned as offsets into the text, so nothing is copied. Instances are
+ * immutable and thread-safe.
+ */
+public final class ResumeSectionSegmenter {
+
+    // Headings longer than this are treated as content.
+    private static final int MAX_HEADING_LENGTH = 48;
+    // Keyword headings have at most this many words.
+    private static final int MAX_HEADING_WORDS = 5;
+
+    private static final Map<String, SectionType> HEADINGS = new HashMap<>();
+    private static final Map<String, SectionType> KEYWORDS = new HashMap<>();
+    // Words that make a "... Languages" heading a list of programming languages.
+    private static final Set<String> TECHNICAL_QUALIFIERS = Set.of("programming", "technical", "coding", "computer",
+            "software", "scripting", "query", "development", "frameworks", "tools", "technologies");
+
+    static {
+        heading(SectionType.SUMMARY, "summary", "professional summary", "career summary", "profile",
+                "professional profile", "about me", "about", "objective", "career objective", "overview",
+                "personal statement", "highlights", "summary of qualifications");
+        heading(SectionType.SKILLS, "skills", "technical skills", "core skills", "key skills", "core competencies",
+                "competencies", "expertise", "areas of expertise", "technologies", "tech stack", "tools",
+                "tools and technologies", "technical proficiencies", "qualifications", "skills and abilities",
+                "programming languages", "technical languages", "programming", "coding languages",
+                "computer languages", "software languages", "scripting languages", "frameworks",
+                "languages and frameworks", "languages and tools", "languages and technologies",
+                "programming languages and frameworks", "programming languages and tools");
+        heading(SectionType.EXPERIENCE, "experience", "work experience", "professional experience",
+                "employment", "employment history", "work history", "career history", "relevant experience",
+                "internships", "internship", "positions held");
+        heading(SectionType.PROJECTS, "projects", "personal projects", "key projects", "selected projects",
+                "academic projects", "side projects", "portfolio", "open source");
+        heading(SectionType.EDUCATION, "education", "academic background", "academics", "education and training",
+                "academic qualifications", "educational background", "coursework", "relevant coursework");
+        heading(SectionType.CERTIFICATIONS, "certifications", "certificates", "licenses",
+                "licenses and certifications", "certifications and licenses", "training", "courses");
+        heading(SectionType.PUBLICATIONS, "publications", "papers", "research", "patents", "talks", "presentations");
+        heading(SectionType.AWARDS, "awards", "honors", "honours", "achievements", "accomplishments",
+                "awards and honors", "honors and awards");
+        heading(SectionType.LANGUAGES, "languages", "language skills", "spoken languages");
+        heading(SectionType.VOLUNTEERING, "volunteering", "volunteer experience", "volunteer work",
+                "community involvement", "leadership", "activities", "extracurricular activities");
+        heading(SectionType.INTERESTS, "interests", "hobbies", "hobbies and interests", "personal interests");
+        heading(SectionType.REFERENCES, "references", "referees");
+
+        keyword(SectionType.SUMMARY, "summary", "profile", "objective");
+        keyword(SectionType.SKILLS, "skills", "competencies", "technologies", "proficiencies", "expertise", "stack",
+                "frameworks");
+        keyword(SectionType.EXPERIENCE, "experience", "employment", "history", "internships");
+        keyword(SectionType.PROJECTS, "projects");
+        keyword(SectionType.EDUCATION, "education", "coursework");
+        keyword(SectionType.CERTIFICATIONS, "certifications", "certificates", "licenses");
+        keyword(SectionType.PUBLICATIONS, "publications", "patents");
+        keyword(SectionType.AWARDS, "awards", "honors", "honours", "achievements");
+        keyword(SectionType.LANGUAGES, "languages");
+        keyword(SectionType.VOLUNTEERING, "volunteering", "volunteer");
+        keyword(SectionType.INTERESTS, "interests", "hobbies");
+        keyword(SectionType.REFERENCES, "references");
+    }
+
+    private static void heading(SectionType type, String... headings) {
+        for (String heading : headings) {
+            HEADINGS.put(heading, type);
+        }
+    }
+
+    private static void keyword(SectionType type, String... keywords) {
+        for (String keyword : keywords) {
+            KEYWORDS.put(keyword, type);
+        }
+    }
+
+    /**
+     * Segments a text.
+     *
+     * @param text The resume text; may be null.
+     * @return The non-overlapping sections in document order; empty if the text is blank.
+     */
+    public List<ResumeSection> segment(String text) {
+        List<ResumeSection> sections = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return sections;
+        }
+        SectionType current = SectionType.CONTACT;
+        int sectionStart = 0;
+        int length = text.length();
+        int lineStart = 0;
+        boolean afterBlank = true; // The start of the text counts as a break.
+        while (lineStart < length) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            boolean blank = isBlank(text, lineStart, lineEnd);
+            SectionType type = blank ? null : headingType(text, lineStart, lineEnd, afterBlank);
+            afterBlank = blank;
+            if (type == SectionType.LANGUAGES && current == SectionType.SKILLS) {
+                type = null; // "Languages" inside a skills section lists programming languages.
+            }
+            if (type != null) {
+                if (lineStart > sectionStart && !isBlank(text, sectionStart, lineStart)) {
+                    sections.add(new ResumeSection(current, sectionStart, lineStart));
+                }
+                current = type;
+                sectionStart = lineStart;
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (!isBlank(text, sectionStart, length)) {
+            sections.add(new ResumeSection(current, sectionStart, length));
+        } else if (!sections.isEmpty()) {
+            sections.get(sections.size() - 1).setEnd(length);
+        }
+        return sections;
+    }
+
+    /**
+     * @param afterBlank Whether the line follows a blank line or starts the text.
+     * @return The section a line is the heading of, or null if it is not a heading.
+     */
+    static SectionType headingType(String text, int start, int end, boolean afterBlank) {
+        // Drop leading bullets and numbering ("1.", "-", "#") and a trailing colon.
+        while (start < end && !Character.isLetter(text.charAt(start))) {
+            start++;
+        }
+        boolean colon = false;
+        while (end > start && !Character.isLetter(text.charAt(end - 1))) {
+            char c = text.charAt(end - 1);
+            if (":)".indexOf(c) < 0 && !Character.isWhitespace(c)) {
+                return null; // Lines ending in ".", "," or digits are content.
+            }
+            colon |= c == ':';
+            end--;
+        }
+        if (start == end || end - start > MAX_HEADING_LENGTH) {
+            return null;
+        }
+
+        // Headings are title case or upper case; any lower-case word other than a connector
+        // ("and", "of") rules a line out. "&" and "/" read as "and".
+        String line = text.substring(start, end);
+        String[] words = line.replace("&", " and ").replace("/", " and ").split("[\\s,]+");
+        if (words.length > MAX_HEADING_WORDS) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(end - start);
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            if (word.isEmpty()) {
+                continue;
+            }
+            String lower = word.toLowerCase(Locale.ROOT);
+            if (Character.isLowerCase(word.charAt(0)) && !isConnector(lower)) {
+                return null;
+            }
+            for (int j = 0; j < lower.length(); j++) {
+                char c = lower.charAt(j);
+                if (!Character.isLetter(c) && c != '-' && c != '\'') {
+                    return null;
+                }
+            }
+            words[i] = lower;
+            if (!key.isEmpty()) {
+                key.append(' ');
+            }
+            key.append(lower);
+        }
+
+        SectionType type = HEADINGS.get(key.toString());
+        if (type != null) {
+            return type;
+        }
+        // Compound headings ("Cloud Skills", "Professional Certifications") end in a keyword and
+        // are set apart; a title-cased line inside a section is more likely a job title.
+        String last = words[words.length - 1];
+        type = KEYWORDS.get(last);
+        if (type == null || !(colon || afterBlank || line.equals(line.toUpperCase(Locale.ROOT)))) {
+            return null;
+        }
+        if (type == SectionType.LANGUAGES) {
+            for (int i = 0; i < words.length - 1; i++) {
+                if (TECHNICAL_QUALIFIERS.contains(words[i])) {
+                    return SectionType.SKILLS;
+                }
+            }
+        }
+        return type;
+    }
+
+    private static boolean isConnector(String word) {
+        return word.equals("and") || word.equals("of") || word.equals("in") || word.equals("for") || word.equals("the");
+    }
+
+    private static boolean isBlank(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
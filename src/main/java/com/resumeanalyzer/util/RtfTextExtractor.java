@@ -0,0 +1,307 @@
+package com.resumeanalyzer.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayDeque;
+import java.util.Set;
+
+/**
+ * Streaming plain-text extractor for RTF.
+ *
+ * A single pass over the byte stream tracks group nesting and a small per-group state
+ * (whether the group is an ignorable destination and how many fallback characters follow
+ * a `\\u` escape). Paragraph and line controls become newlines, `\\'hh` escapes and 8-bit bytes
+ * are decoded with the document's ANSI code page and `\\uN` escapes as Unicode. Consecutive
+ * escaped bytes are decoded together, so characters of multi-byte code pages (65001, 932,
+ * 936, 949, 950) survive. Font tables, style sheets, pictures, document info and other
+ * destinations are skipped without buffering.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class RtfTextExtractor {
+
+    private static final Set<String> SKIPPED_DESTINATIONS = Set.of(
+            "fonttbl", "colortbl", "stylesheet", "info", "pict", "object", "themedata", "colorschememapping",
+            "datastore", "latentstyles", "listtable", "listoverridetable", "rsidtbl", "generator", "xmlnstbl",
+            "mmathPr", "header", "headerl", "headerr", "headerf", "footer", "footerl", "footerr", "footerf",
+            "fldinst", "bkmkstart", "bkmkend", "filetbl", "revtbl", "pgdsctbl", "wgrffmtfilter", "nonshppict");
+
+    private static final Charset DEFAULT_CODE_PAGE = Charset.forName("windows-1252");
+
+    /**
+     * Extracts the text of an RTF document.
+     *
+     * @param in The RTF bytes. Not closed.
+     * @param out Buffer the text is appended to.
+     * @throws IOException If reading fails.
+     */
+    public void extract(InputStream in, StringBuilder out) throws IOException {
+        extract(in, out, ExtractionGuard.unlimited());
+    }
+
+    /**
+     * Extracts the text of an RTF document under extraction limits.
+     *
+     * @param in The RTF bytes. Not closed.
+     * @param out Buffer the text is appended to.
+     * @param guard Limits checked every time the read buffer is refilled.
+     * @throws IOException If reading fails.
+     * @throws com.resumeanalyzer.exception.ExtractionAbortedException If a limit is exceeded.
+     */
+    public void extract(InputStream in, StringBuilder out, ExtractionGuard guard) throws IOException {
+        PushbackReader reader = new PushbackReader(in, () -> guard.check(out.length()));
+        ArrayDeque<GroupState> groups = new ArrayDeque<>();
+        GroupState state = new GroupState(false, 1);
+        ByteRun bytes = new ByteRun(DEFAULT_CODE_PAGE);
+        int pendingSkip = 0; // Fallback characters still to skip after a \\uN escape.
+        boolean groupStart = false;
+        StringBuilder word = new StringBuilder(32);
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            switch (c) {
+                case '{' -> {
+                    bytes.flush(out);
+                    groups.push(state);
+                    state = new GroupState(state.skip, state.unicodeSkip);
+                    groupStart = true;
+                    continue;
+                }
+                case '}' -> {
+                    bytes.flush(out);
+                    state = groups.isEmpty() ? state : groups.pop();
+                    pendingSkip = 0;
+                }
+                case '\\' -> {
+                    int next = reader.read();
+                    if (next == -1) {
+                        bytes.flush(out);
+                        return;
+                    }
+                    if (next != '\'') {
+                        bytes.flush(out);
+                    }
+                    if (next == '*') {
+                        // Ignorable destination: skip unless we know it, and we only handle text.
+                        if (groupStart) {
+                            state.skip = true;
+                        }
+                    } else if (next == '\'') {
+                        int value = hexValue(reader.read()) << 4 | hexValue(reader.read());
+                        if (pendingSkip > 0) {
+                            pendingSkip--;
+                        } else if (!state.skip && value >= 0) {
+                            bytes.add(value, out);
+                        }
+                    } else if (Character.isLetter(next)) {
+                        word.setLength(0);
+                        word.append((char) next);
+                        int ch;
+                        while ((ch = reader.read()) != -1 && Character.isLetter(ch)) {
+                            word.append((char) ch);
+                        }
+                        boolean hasParameter = false;
+                        boolean negative = false;
+                        int parameter = 0;
+                        if (ch == '-') {
+                            negative = true;
+                            ch = reader.read();
+                        }
+                        while (ch != -1 && ch >= '0' && ch <= '9') {
+                            hasParameter = true;
+                            parameter = parameter * 10 + (ch - '0');
+                            ch = reader.read();
+                        }
+                        if (negative) {
+                            parameter = -parameter;
+                        }
+                        if (ch != ' ' && ch != -1) {
+                            reader.unread(ch); // The space delimiter belongs to the control word; anything else does not.
+                        }
+
+                        String control = word.toString();
+                        if (groupStart && SKIPPED_DESTINATIONS.contains(control)) {
+                            state.skip = true;
+                        } else if (control.equals("ansicpg") && hasParameter) {
+                            bytes.use(codePage(parameter));
+                        } else if (control.equals("uc") && hasParameter) {
+                            state.unicodeSkip = Math.max(0, parameter);
+                        } else if (control.equals("u") && hasParameter) {
+                            if (!state.skip) {
+                                out.append((char) (parameter < 0 ? parameter + 65536 : parameter));
+                            }
+                            pendingSkip = state.unicodeSkip;
+                        } else if (!state.skip) {
+                            switch (control) {
+                                case "par", "line", "sect", "page", "row" -> out.append('\n');
+                                case "tab", "cell" -> out.append('\t');
+                                case "emdash" -> out.append('—');
+                                case "endash" -> out.append('–');
+                                case "bullet" -> out.append('•');
+                                case "lquote" -> out.append('‘');
+                                case "rquote" -> out.append('’');
+                                case "ldblquote" -> out.append('“');
+                                case "rdblquote" -> out.append('”');
+                                default -> {
+                                }
+                            }
+                        }
+                    } else {
+                        // Control symbol: escaped literal or special character.
+                        if (pendingSkip > 0) {
+                            pendingSkip--;
+                        } else if (!state.skip) {
+                            switch (next) {
+                                case '\\', '{', '}' -> out.append((char) next);
+                                case '~' -> out.append(' ');
+                                case '\n', '\r' -> out.append('\n');
+                                default -> {
+                                }
+                            }
+                        }
+                    }
+                }
+                case '\r', '\n' -> {
+                    // Raw line breaks in RTF source are not part of the text.
+                }
+                default -> {
+                    if (pendingSkip > 0) {
+                        pendingSkip--;
+                    } else if (!state.skip) {
+                        // Inside a run, ASCII bytes may be trail bytes of a double-byte character.
+                        if (c < 0x80 && bytes.isEmpty()) {
+                            out.append((char) c);
+                        } else {
+                            bytes.add(c, out);
+                        }
+                    }
+                }
+            }
+            groupStart = false;
+        }
+        bytes.flush(out);
+    }
+
+    private static Charset codePage(int number) {
+        try {
+            return Charset.forName(number == 65001 ? "UTF-8" : "windows-" + number);
+        } catch (IllegalArgumentException e) {
+            try {
+                return Charset.forName("cp" + number);
+            } catch (IllegalArgumentException ignored) {
+                return DEFAULT_CODE_PAGE;
+            }
+        }
+    }
+
+    private static int hexValue(int c) {
+        return Character.digit(c, 16) < 0 ? -256 : Character.digit(c, 16);
+    }
+
+    /**
+     * Per-group state, inherited by nested groups.
+     */
+    private static final class GroupState {
+        boolean skip;
+        int unicodeSkip;
+
+        GroupState(boolean skip, int unicodeSkip) {
+            this.skip = skip;
+            this.unicodeSkip = unicodeSkip;
+        }
+    }
+
+    /**
+     * Consecutive text bytes in the document's code page, decoded together when the run ends.
+     * Long runs are decoded in chunks; a character split across chunks is completed by the next.
+     */
+    private static final class ByteRun {
+        private final byte[] bytes = new byte[4096];
+        private int length;
+        private CharsetDecoder decoder;
+
+        ByteRun(Charset charset) {
+            use(charset);
+        }
+
+        void use(Charset charset) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        boolean isEmpty() {
+            return length == 0;
+        }
+
+        void add(int value, StringBuilder out) {
+            if (length == bytes.length) {
+                decode(out, false);
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void flush(StringBuilder out) {
+            if (length > 0) {
+                decode(out, true);
+            }
+        }
+
+        private void decode(StringBuilder out, boolean endOfRun) {
+            ByteBuffer in = ByteBuffer.wrap(bytes, 0, length);
+            CharBuffer chars = CharBuffer.allocate((int) (length * decoder.maxCharsPerByte()) + 2);
+            decoder.decode(in, chars, endOfRun);
+            if (endOfRun) {
+                decoder.flush(chars);
+                decoder.reset();
+            }
+            out.append(chars.flip());
+            length = in.remaining();
+            System.arraycopy(bytes, in.position(), bytes, 0, length);
+        }
+    }
+
+    /**
+     * Minimal buffered byte reader with one byte of pushback.
+     */
+    private static final class PushbackReader {
+        private final InputStream in;
+        private final Runnable onRefill;
+        private final byte[] buffer = new byte[8192];
+        private int position;
+        private int limit;
+        private int pushedBack = -1;
+
+        PushbackReader(InputStream in, Runnable onRefill) {
+            this.in = in;
+            this.onRefill = onRefill;
+        }
+
+        int read() throws IOException {
+            if (pushedBack != -1) {
+                int c = pushedBack;
+                pushedBack = -1;
+                return c;
+            }
+            if (position == limit) {
+                onRefill.run();
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        void unread(int c) {
+            pushedBack = c;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.resumeanalyzer.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent asynchronous calls that share the same key.
+ *
+ * The first caller for a key (the "leader") starts the underlying call; every caller
+ * that arrives while it is still in flight receives the leader's future instead of
+ * starting a duplicate call. Once the call completes the key is released, so later
+ * callers start a fresh call (or, typically, find the result in a cache).
+ *
+ * @param <K> The key type.
+ * @param <V> The result type.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaderCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    /**
+     * Runs the call for the key, or joins the call already in flight for it.
+     *
+     * @param key The key identifying equivalent calls.
+     * @param call Starts the underlying asynchronous call. Only invoked by the leader.
+     * @return A future completing with the shared result.
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return existing;
+        }
+
+        leaderCalls.increment();
+        try {
+            call.get().whenComplete((value, error) -> {
+                // Release the key before completing so callers arriving afterwards never see a finished call.
+                inFlight.remove(key, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                } else {
+                    promise.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+
+    /**
+     * @return The number of calls that actually started the underlying operation.
+     */
+    public long getLeaderCalls() {
+        return leaderCalls.sum();
+    }
+
+    /**
+     * @return The number of calls that joined an in-flight operation instead of starting one.
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls.sum();
+    }
+
+    /**
+     * @return The number of keys currently in flight.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,207 @@
+package com.resumeanalyzer.util;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of integer skill IDs.
+ *
+ * IDs are kept twice: in first-appearance order (for display) and sorted (for lookups
+ * and merges). Matching two vectors is a binary search per skill with no hashing or
+ * string handling, so one resume can be compared against thousands of jobs cheaply.
+ */
+public final class SkillVector {
+
+    private static final SkillVector EMPTY = new SkillVector(new int[0], new int[0]);
+
+    private final int[] orderedIds;
+    private final int[] sortedIds;
+
+    private SkillVector(int[] orderedIds, int[] sortedIds) {
+        this.orderedIds = orderedIds;
+        this.sortedIds = sortedIds;
+    }
+
+    /**
+     * @return A vector with no skills.
+     */
+    public static SkillVector empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a vector from skill IDs. Negative IDs (unknown skills) and duplicates are dropped;
+     * the first occurrence of each ID determines its position.
+     *
+     * @param ids Skill IDs in their original order. The array is not retained.
+     * @return The vector.
+     */
+    public static SkillVector of(int[] ids) {
+        int[] sorted = new int[ids.length];
+        int[] ordered = new int[ids.length];
+        int distinct = 0;
+        for (int id : ids) {
+            if (id < 0) {
+                continue;
+            }
+            int position = Arrays.binarySearch(sorted, 0, distinct, id);
+            if (position >= 0) {
+                continue;
+            }
+            int insertAt = -position - 1;
+            System.arraycopy(sorted, insertAt, sorted, insertAt + 1, distinct - insertAt);
+            sorted[insertAt] = id;
+            ordered[distinct++] = id;
+        }
+        if (distinct == 0) {
+            return EMPTY;
+        }
+        return new SkillVector(Arrays.copyOf(ordered, distinct), Arrays.copyOf(sorted, distinct));
+    }
+
+    /**
+     * @return The number of distinct skills.
+     */
+    public int size() {
+        return sortedIds.length;
+    }
+
+    public boolean isEmpty() {
+        return sortedIds.length == 0;
+    }
+
+    /**
+     * @param id A skill ID.
+     * @return True if the vector contains the skill.
+     */
+    public boolean contains(int id) {
+        return Arrays.binarySearch(sortedIds, id) >= 0;
+    }
+
+    /**
+     * @param index Position in first-appearance order, from 0 to size() - 1.
+     * @return The skill ID at that position.
+     */
+    public int idAt(int index) {
+        return orderedIds[index];
+    }
+
+    /**
+     * @return A copy of the skill IDs in ascending order.
+     */
+    public int[] toSortedArray() {
+        return sortedIds.clone();
+    }
+
+    /**
+     * Counts the skills both vectors have, by merging the two sorted ID arrays.
+     *
+     * @param other The other vector.
+     * @return The number of shared skills.
+     */
+    public int countShared(SkillVector other) {
+        int[] a = sortedIds;
+        int[] b = other.sortedIds;
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Compares this vector (a candidate's skills) with the skills a job asks for.
+     *
+     * @param required The job's skills.
+     * @return Matched and missing skills in the job's order, extra skills in this vector's order.
+     */
+    public Match match(SkillVector required) {
+        int[] matched = new int[Math.min(size(), required.size())];
+        int[] missing = new int[required.size()];
+        int matchedCount = 0;
+        int missingCount = 0;
+        for (int id : required.orderedIds) {
+            if (contains(id)) {
+                matched[matchedCount++] = id;
+            } else {
+                missing[missingCount++] = id;
+            }
+        }
+        int[] extra = new int[size() - matchedCount];
+        int extraCount = 0;
+        for (int id : orderedIds) {
+            if (!required.contains(id)) {
+                extra[extraCount++] = id;
+            }
+        }
+        return new Match(Arrays.copyOf(matched, matchedCount), Arrays.copyOf(missing, missingCount), extra);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SkillVector other && Arrays.equals(orderedIds, other.orderedIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(orderedIds);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(orderedIds);
+    }
+
+    /**
+     * Result of {@link SkillVector#match(SkillVector)}, as skill IDs.
+     */
+    public static final class Match {
+        private final int[] matched;
+        private final int[] missing;
+        private final int[] extra;
+
+        private Match(int[] matched, int[] missing, int[] extra) {
+            this.matched = matched;
+            this.missing = missing;
+            this.extra = extra;
+        }
+
+        /**
+         * @return Required skills the candidate has, in the job's order.
+         */
+        public int[] getMatched() {
+            return matched.clone();
+        }
+
+        /**
+         * @return Required skills the candidate lacks, in the job's order.
+         */
+        public int[] getMissing() {
+            return missing.clone();
+        }
+
+        /**
+         * @return Candidate skills the job does not ask for, in the candidate's order.
+         */
+        public int[] getExtra() {
+            return extra.clone();
+        }
+
+        /**
+         * @return The percentage of required skills matched (0.0 to 100.0); 100.0 if nothing is required.
+         */
+        public double getScore() {
+            int required = matched.length + missing.length;
+            return required == 0 ? 100.0 : (double) matched.length / required * 100.0;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.resumeanalyzer.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compacts extracted document text before it is stored and sent to the LLM.
+ *
+ * One character pass folds typographic Unicode (ligatures, smart quotes, dashes, bullets,
+ * exotic spaces, full-width ASCII) to plain ASCII, drops invisible characters, collapses runs
+ * of spaces and trims every line. Lines are kept in a single buffer and described by offsets,
+ * so no per-line strings are created except for header/footer candidates.
+ *
+ * When the text has page breaks (form feeds, as written by the PDF extractor), short lines
+ * that repeat in the same position at the top or bottom of most pages are treated as running
+ * headers/footers and dropped, together with bare page numbers. Finally words hyphenated
+ * across a line break are joined and runs of blank lines are reduced to one, which keeps
+ * paragraph boundaries.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class TextNormalizer {
+
+    // Lines at the top and bottom of each page that may be running headers/footers.
+    private static final int EDGE_LINES = 2;
+    // Header/footer detection needs this many pages to tell a running line from content.
+    private static final int MIN_PAGES_FOR_REPEATS = 3;
+    // Running headers/footers are short; longer repeated lines are content.
+    private static final int MAX_RUNNING_LINE_LENGTH = 120;
+
+    /**
+     * Result of normalizing a text.
+     *
+     * @param text The normalized text.
+     * @param originalLength Length of the input text.
+     * @param droppedLines Header, footer and page-number lines that were removed.
+     */
+    public record Result(String text, int originalLength, int droppedLines) {
+
+        /**
+         * @return Characters saved by normalization.
+         */
+        public int savedChars() {
+            return originalLength - text.length();
+        }
+    }
+
+    /**
+     * Normalizes a text.
+     *
+     * @param text The extracted text; may be null.
+     * @return The normalized text and what was saved.
+     */
+    public Result normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return new Result(text == null ? "" : text, 0, 0);
+        }
+        Lines lines = splitAndFold(text);
+        boolean[] dropped = new boolean[lines.count];
+        int droppedLines = lines.pages >= MIN_PAGES_FOR_REPEATS ? markHeadersAndFooters(lines, dropped) : 0;
+        return new Result(join(lines, dropped), text.length(), droppedLines);
+    }
+
+    /**
+     * The character pass: folds and collapses characters into one buffer and records where
+     * every line starts and ends and which page it is on.
+     */
+    private static Lines splitAndFold(String text) {
+        Lines lines = new Lines(text.length());
+        StringBuilder buf = lines.buf;
+        int lineStart = 0;
+        boolean pendingSpace = false;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                continue;
+            }
+            if (c == '\n' || c == '\r' || c == '\f' || c == '\u000B' || c == '\u2028' || c == '\u2029') {
+                lines.add(lineStart, buf.length());
+                lineStart = buf.length();
+                pendingSpace = false;
+                if (c == '\f') {
+                    lines.pages++;
+                }
+                continue;
+            }
+
+            String replacement = null;
+            if (c == ' ' || c == '\t' || isSpace(c)) {
+                pendingSpace = buf.length() > lineStart;
+                continue;
+            } else if (c < 0x20 || c == 0x7F || isInvisible(c)) {
+                continue;
+            } else if (c >= 0x80) {
+                replacement = fold(c);
+                if (replacement == null && c >= '\uFF01' && c <= '\uFF5E') {
+                    c = (char) (c - 0xFEE0); // Full-width ASCII.
+                }
+            }
+            if (pendingSpace) {
+                buf.append(' ');
+                pendingSpace = false;
+            }
+            if (replacement != null) {
+                buf.append(replacement);
+            } else {
+                buf.append(c);
+            }
+        }
+        lines.add(lineStart, buf.length());
+        // A trailing page break does not start another page.
+        if (lines.pages > 1 && text.charAt(length - 1) == '\f') {
+            lines.pages--;
+        }
+        return lines;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == '\u00A0' || c == '\u1680' || (c >= '\u2000' && c <= '\u200A') || c == '\u202F' || c == '\u205F' || c == '\u3000';
+    }
+
+    private static boolean isInvisible(char c) {
+        return c == '\u00AD' || (c >= '\u200B' && c <= '\u200D') || c == '\u2060' || c == '\uFEFF';
+    }
+
+    /**
+     * @return The ASCII replacement of a typographic character, or null to keep it.
+     */
+    private static String fold(char c) {
+        return switch (c) {
+            case '\uFB00' -> "ff";
+            case '\uFB01' -> "fi";
+            case '\uFB02' -> "fl";
+            case '\uFB03' -> "ffi";
+            case '\uFB04' -> "ffl";
+            case '\uFB05', '\uFB06' -> "st";
+            case '\u2018', '\u2019', '\u201A', '\u201B', '\u2032' -> "'";
+            case '\u201C', '\u201D', '\u201E', '\u201F', '\u2033' -> "\"";
+            case '\u2010', '\u2011', '\u2012', '\u2013', '\u2014', '\u2015', '\u2212' -> "-";
+            // Bullets, including the private-use glyph PDFs produce for Symbol-font bullets.
+            case '\u2022', '\u2023', '\u2043', '\u2219', '\u00B7', '\u25AA', '\u25A0', '\u25A1', '\u25CF', '\u25E6',
+                 '\u25B6', '\u27A2', '\uF0B7', '\uF0A7', '\uF076', '\uF0D8' -> "-";
+            case '\u2026' -> "...";
+            default -> null;
+        };
+    }
+
+    /**
+     * Marks lines that appear at the edge of at least half of the pages (ignoring digits, so
+     * "Page 3" matches "Page 4"), and bare page numbers at page edges.
+     *
+     * @return The number of lines marked.
+     */
+    private static int markHeadersAndFooters(Lines lines, boolean[] dropped) {
+        int[] edgeLines = new int[lines.count];
+        int[] edgePositions = new int[lines.count]; // 0, 1 from the top; -1, -2 from the bottom
+        int edgeCount = 0;
+        int pageStart = 0;
+        while (pageStart < lines.count) {
+            int page = lines.page[pageStart];
+            int pageEnd = pageStart;
+            while (pageEnd < lines.count && lines.page[pageEnd] == page) {
+                pageEnd++;
+            }
+            int taken = 0;
+            for (int i = pageStart; i < pageEnd && taken < EDGE_LINES; i++) {
+                if (!lines.isBlank(i)) {
+                    edgePositions[edgeCount] = taken;
+                    edgeLines[edgeCount++] = i;
+                    taken++;
+                }
+            }
+            int lastTop = edgeCount > 0 && taken > 0 ? edgeLines[edgeCount - 1] : pageStart - 1;
+            taken = 0;
+            // Bottom lines, without re-taking a top line on pages with only a few lines.
+            for (int i = pageEnd - 1; i > lastTop && taken < EDGE_LINES; i--) {
+                if (!lines.isBlank(i)) {
+                    edgePositions[edgeCount] = -1 - taken;
+                    edgeLines[edgeCount++] = i;
+                    taken++;
+                }
+            }
+            pageStart = pageEnd;
+        }
+
+        // Count on how many distinct pages every edge line occurs at the same position.
+        Map<String, int[]> pagesByKey = new HashMap<>();
+        String[] keys = new String[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int line = edgeLines[e];
+            if (lines.end[line] - lines.start[line] > MAX_RUNNING_LINE_LENGTH) {
+                continue;
+            }
+            String key = edgePositions[e] + ":" + lines.key(line);
+            keys[e] = key;
+            int[] seen = pagesByKey.computeIfAbsent(key, k -> new int[]{0, -1});
+            if (seen[1] != lines.page[line]) {
+                seen[0]++;
+                seen[1] = lines.page[line];
+            }
+        }
+
+        int threshold = Math.max(MIN_PAGES_FOR_REPEATS, (lines.pages + 1) / 2);
+        int droppedLines = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int line = edgeLines[e];
+            boolean running = keys[e] != null && pagesByKey.get(keys[e])[0] >= threshold;
+            if (!dropped[line] && (running || lines.isPageNumber(line))) {
+                dropped[line] = true;
+                droppedLines++;
+            }
+        }
+        return droppedLines;
+    }
+
+    /**
+     * Assembles the kept lines, joining hyphenated words and collapsing blank lines.
+     */
+    private static String join(Lines lines, boolean[] dropped) {
+        StringBuilder buf = lines.buf;
+        StringBuilder out = new StringBuilder(buf.length() + lines.count);
+        boolean pendingBlank = false;
+        for (int i = 0; i < lines.count; i++) {
+            if (dropped[i]) {
+                continue;
+            }
+            int start = lines.start[i];
+            int end = lines.end[i];
+            if (start == end) {
+                pendingBlank = !out.isEmpty();
+                continue;
+            }
+            int outLength = out.length();
+            if (!pendingBlank && outLength >= 2 && out.charAt(outLength - 1) == '-'
+                    && Character.isLetter(out.charAt(outLength - 2)) && Character.isLowerCase(buf.charAt(start))) {
+                out.setLength(outLength - 1); // "experi-" + "ence" -> "experience"
+            } else if (outLength > 0) {
+                out.append(pendingBlank ? "\n\n" : "\n");
+            }
+            out.append(buf, start, end);
+            pendingBlank = false;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Line table over the folded buffer.
+     */
+    private static final class Lines {
+        final StringBuilder buf;
+        int[] start = new int[64];
+        int[] end = new int[64];
+        int[] page = new int[64];
+        int count;
+        int pages = 1;
+
+        Lines(int capacity) {
+            this.buf = new StringBuilder(capacity);
+        }
+
+        void add(int lineStart, int lineEnd) {
+            if (count == start.length) {
+                start = Arrays.copyOf(start, count * 2);
+                end = Arrays.copyOf(end, count * 2);
+                page = Arrays.copyOf(page, count * 2);
+            }
+            start[count] = lineStart;
+            end[count] = lineEnd;
+            page[count] = pages - 1;
+            count++;
+        }
+
+        boolean isBlank(int line) {
+            return start[line] == end[line];
+        }
+
+        /**
+         * @return The line with digits masked, so running lines with page numbers compare equal.
+         */
+        String key(int line) {
+            char[] chars = new char[end[line] - start[line]];
+            buf.getChars(start[line], end[line], chars, 0);
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] >= '0' && chars[i] <= '9') {
+                    chars[i] = '#';
+                }
+            }
+            return new String(chars);
+        }
+
+        /**
+         * Matches only the exact page-number forms "3", "- 3 -", "Page 3", "Page 3 of 5" and
+         * "3/5" with numbers of at most three digits, so phone numbers ("555-123-4567") and
+         * date ranges ("2019 - 2021") at a page edge are kept.
+         *
+         * @return True if the line is a bare page number.
+         */
+        boolean isPageNumber(int line) {
+            int i = start[line];
+            int lineEnd = end[line];
+            boolean dashed = false;
+            if (lineEnd - i >= 4 && buf.substring(i, i + 4).equalsIgnoreCase("page")) {
+                i = skipSpaces(i + 4, lineEnd);
+            } else if (i < lineEnd && buf.charAt(i) == '-') {
+                dashed = true;
+                i = skipSpaces(i + 1, lineEnd);
+            }
+            int numberEnd = skipPageDigits(i, lineEnd);
+            if (numberEnd < 0) {
+                return false;
+            }
+            int page = Integer.parseInt(buf, i, numberEnd, 10);
+            i = skipSpaces(numberEnd, lineEnd);
+            if (i == lineEnd) {
+                return !dashed;
+            }
+            if (dashed) {
+                return buf.charAt(i) == '-' && skipSpaces(i + 1, lineEnd) == lineEnd;
+            }
+            if (buf.charAt(i) == '/') {
+                i = skipSpaces(i + 1, lineEnd);
+            } else if (lineEnd - i >= 3 && buf.substring(i, i + 2).equalsIgnoreCase("of") && buf.charAt(i + 2) == ' ') {
+                i = skipSpaces(i + 2, lineEnd);
+            } else {
+                return false;
+            }
+            int totalEnd = skipPageDigits(i, lineEnd);
+            return totalEnd == lineEnd && page <= Integer.parseInt(buf, i, totalEnd, 10);
+        }
+
+        private int skipSpaces(int i, int lineEnd) {
+            while (i < lineEnd && buf.charAt(i) == ' ') {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * @return The end of the one to three digit number at {@code i}, or -1 if there is none.
+         */
+        private int skipPageDigits(int i, int lineEnd) {
+            int digitsEnd = i;
+            while (digitsEnd < lineEnd && digitsEnd - i <= 3 && buf.charAt(digitsEnd) >= '0' && buf.charAt(digitsEnd) <= '9') {
+                digitsEnd++;
+            }
+            return digitsEnd == i || digitsEnd - i > 3 ? -1 : digitsEnd;
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package com.resumeanalyzer.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, checksummed log of opaque records, split into segment files.
+ *
+ * Every record is framed as {@code [int length][int CRC32C][long sequence][payload]}, so a
+ * torn or corrupted tail (a crash in the middle of a write) is detected on replay and ignored.
+ * Appends are handed to a single writer thread that drains everything queued since its last
+ * write and writes it with one system call (group commit). When the appending thread's future
+ * completes depends on the {@link FsyncPolicy}:
+ * <ul>
+ *   <li>{@code PER_WRITE}: after the record has been written and forced to disk on its own.</li>
+ *   <li>{@code BATCHED}: after the batch it was written in has been forced to disk with one
+ *       fsync; concurrent writers share the cost.</li>
+ *   <li>{@code INTERVAL}: as soon as the record is written to the OS. The log is forced every
+ *       {@code fsyncInterval}, so a machine crash (not a process crash) can lose that much.</li>
+ * </ul>
+ *
+ * {@link #rotate()} starts a new segment; segments are named after the first sequence number
+ * they may contain, so segments that only hold records covered by a snapshot can be deleted
+ * with {@link #deleteSegmentsBefore(long)}.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(WriteAheadLog.class.getName());
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    // Frame header: length, CRC32C, sequence number.
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    // Upper bound on a single record; anything larger in a length field is corruption.
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * When appended records are forced to disk.
+     */
+    public enum FsyncPolicy {
+        PER_WRITE,
+        BATCHED,
+        INTERVAL
+    }
+
+    /**
+     * Receives replayed records in log order.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long sequence, byte[] payload) throws IOException;
+    }
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private FileChannel segment; // Only touched by the writer thread, except in rotate() via the queue
+    private long nextSequence;
+    private volatile boolean closed;
+    private volatile long appendedBytes;
+
+    /**
+     * Opens the log for appending; new records go to a new segment.
+     *
+     * @param directory Where segment files live; created if missing.
+     * @param fsyncPolicy When records are forced to disk.
+     * @param fsyncInterval How often the log is forced under {@code INTERVAL}.
+     * @param nextSequence Sequence number of the first record to append; must be higher than
+     *                     any sequence number already in the log.
+     * @throws IOException If the directory or segment cannot be created.
+     */
+    public WriteAheadLog(Path directory, FsyncPolicy fsyncPolicy, Duration fsyncInterval, long nextSequence) throws IOException {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.nextSequence = nextSequence;
+        Files.createDirectories(directory);
+        this.segment = openSegment(nextSequence);
+        this.writer = new Thread(this::writeLoop, "wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Appends a record. The record is ordered by the call to this method: callers that need
+     * the log to match the order of their in-memory updates must call it under the same lock.
+     *
+     * @param payload The record.
+     * @return The record's sequence number and a future completing once the record is as
+     *         durable as the fsync policy promises.
+     */
+    public synchronized Append append(byte[] payload) {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+        long sequence = nextSequence++;
+        PendingAppend pending = new PendingAppend(frame(sequence, payload), new CompletableFuture<>(), null);
+        queue.add(pending);
+        return new Append(sequence, pending.done);
+    }
+
+    /**
+     * Starts a new segment. Records appended after this call go to the new segment.
+     *
+     * @return The sequence number the new segment starts at: every record in older segments
+     *         has a lower sequence number.
+     */
+    public long rotate() {
+        long firstSequence;
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (this) {
+            firstSequence = nextSequence;
+            queue.add(new PendingAppend(null, done, firstSequence));
+        }
+        done.join();
+        return firstSequence;
+    }
+
+    /**
+     * Deletes segments whose records all have sequence numbers below the given one.
+     *
+     * @param sequence The first sequence number that must be kept.
+     * @throws IOException If the directory cannot be listed.
+     */
+    public void deleteSegmentsBefore(long sequence) throws IOException {
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            // A segment ends where the next one starts.
+            if (firstSequence(segments.get(i + 1)) <= sequence) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return Bytes appended since the log was opened.
+     */
+    public long getAppendedBytes() {
+        return appendedBytes;
+    }
+
+    /**
+     * Writes and forces everything appended so far, then stops the writer.
+     */
+    @Override
+    public void close() throws IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(new PendingAppend(null, done, -1L));
+        }
+        done.join();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Replays every intact record of every segment in a directory, in sequence order. Each
+     * segment is read up to its first damaged record (a torn write at crash time).
+     *
+     * @param directory The log directory; a missing directory replays nothing.
+     * @param afterSequence Records with this or a lower sequence number are skipped.
+     * @param consumer Receives the records.
+     * @return The highest sequence number seen, or {@code afterSequence} if there were none.
+     * @throws IOException If a segment cannot be read or the consumer fails.
+     */
+    public static long replay(Path directory, long afterSequence, RecordConsumer consumer) throws IOException {
+        long lastSequence = afterSequence;
+        for (Path segment : listSegments(directory)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(segment), 1 << 16)) {
+                lastSequence = Math.max(lastSequence, readRecords(in, segment, afterSequence, consumer));
+            }
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Reads framed records until the end of the stream or the first damaged record.
+     *
+     * @return The highest sequence number read.
+     */
+    public static long readRecords(InputStream in, Path source, long afterSequence, RecordConsumer consumer) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        long lastSequence = afterSequence;
+        long offset = 0;
+        while (true) {
+            int length;
+            int checksum;
+            long sequence;
+            byte[] payload;
+            try {
+                length = data.readInt();
+            } catch (EOFException e) {
+                return lastSequence; // Clean end of the file, or a torn length field.
+            }
+            if (length < 0 || length > MAX_RECORD_BYTES) {
+                logger.warning("Ignoring damaged record (length " + length + ") at offset " + offset + " of " + source + " and the rest of the file.");
+                return lastSequence;
+            }
+            try {
+                checksum = data.readInt();
+                sequence = data.readLong();
+                payload = new byte[length];
+                data.readFully(payload);
+            } catch (EOFException e) {
+                logger.warning("Ignoring torn record at offset " + offset + " of " + source);
+                return lastSequence;
+            }
+            if (checksum != checksum(sequence, payload)) {
+                logger.warning("Ignoring damaged record (checksum mismatch) at offset " + offset + " of " + source + " and the rest of the file.");
+                return lastSequence;
+            }
+            offset += HEADER_BYTES + length;
+            if (sequence > afterSequence) {
+                consumer.accept(sequence, payload);
+                lastSequence = Math.max(lastSequence, sequence);
+            }
+        }
+    }
+
+    /**
+     * Frames a record: length, checksum, sequence number, payload.
+     */
+    public static byte[] frame(long sequence, byte[] payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + payload.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(payload.length);
+            out.writeInt(checksum(sequence, payload));
+            out.writeLong(sequence);
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not thrown by in-memory streams.
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>();
+        long lastForce = System.nanoTime();
+        boolean unforced = false;
+        while (true) {
+            try {
+                PendingAppend first = fsyncPolicy == FsyncPolicy.INTERVAL && unforced
+                        ? queue.poll(Math.max(0, fsyncIntervalNanos - (System.nanoTime() - lastForce)), TimeUnit.NANOSECONDS)
+                        : queue.take();
+                if (first == null) {
+                    segment.force(false);
+                    lastForce = System.nanoTime();
+                    unforced = false;
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                boolean stop = false;
+                List<PendingAppend> records = new ArrayList<>(batch.size());
+                for (PendingAppend pending : batch) {
+                    if (pending.frame != null) {
+                        records.add(pending);
+                        continue;
+                    }
+                    // Control message: write what came before it first.
+                    unforced |= writeRecords(records);
+                    records.clear();
+                    if (pending.rotateTo >= 0) {
+                        segment.force(false);
+                        segment.close();
+                        segment = openSegment(pending.rotateTo);
+                    } else {
+                        segment.force(false);
+                        segment.close();
+                        stop = true;
+                    }
+                    unforced = false;
+                    lastForce = System.nanoTime();
+                    pending.done.complete(null);
+                }
+                unforced |= writeRecords(records);
+                batch.clear();
+                if (unforced && System.nanoTime() - lastForce >= fsyncIntervalNanos) {
+                    segment.force(false);
+                    lastForce = System.nanoTime();
+                    unforced = false;
+                }
+                if (stop) {
+                    failPending(new IllegalStateException("Write-ahead log is closed"));
+                    return;
+                }
+            } catch (InterruptedException e) {
+                failPending(new IllegalStateException("Write-ahead log writer was interrupted"));
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.severe("Write-ahead log write failed: " + e.getMessage());
+                long lastSequence = -1;
+                for (PendingAppend pending : batch) {
+                    if (pending.frame != null) {
+                        lastSequence = Math.max(lastSequence, ByteBuffer.wrap(pending.frame).getLong(2 * Integer.BYTES));
+                    }
+                    pending.done.completeExceptionally(e);
+                }
+                batch.clear();
+                // A partial write leaves a damaged record that ends replay of this segment, so
+                // later records go to a new one.
+                if (lastSequence >= 0) {
+                    try {
+                        segment.close();
+                        segment = openSegment(lastSequence + 1);
+                    } catch (IOException reopenFailure) {
+                        logger.severe("Cannot open a new write-ahead log segment: " + reopenFailure.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a group of records and forces them as the policy requires.
+     *
+     * @return True if records were written but not forced.
+     */
+    private boolean writeRecords(List<PendingAppend> records) throws IOException {
+        if (records.isEmpty()) {
+            return false;
+        }
+        if (fsyncPolicy == FsyncPolicy.PER_WRITE) {
+            for (PendingAppend pending : records) {
+                writeFully(ByteBuffer.wrap(pending.frame));
+                segment.force(false);
+                pending.done.complete(null);
+            }
+            return false;
+        }
+        ByteBuffer[] buffers = new ByteBuffer[records.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(records.get(i).frame);
+        }
+        writeFully(buffers);
+        if (fsyncPolicy == FsyncPolicy.BATCHED) {
+            segment.force(false); // One fsync for the whole group.
+        }
+        for (PendingAppend pending : records) {
+            pending.done.complete(null);
+        }
+        return fsyncPolicy == FsyncPolicy.INTERVAL;
+    }
+
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        long total = remaining;
+        while (remaining > 0) {
+            remaining -= segment.write(buffers);
+        }
+        appendedBytes += total;
+    }
+
+    private void failPending(RuntimeException e) {
+        PendingAppend pending;
+        while ((pending = queue.poll()) != null) {
+            pending.done.completeExceptionally(e);
+        }
+    }
+
+    private FileChannel openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        // A segment named after a sequence number that is still to come can only hold a torn
+        // first record from before a crash, so it is safe to start over.
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        forceDirectory(directory); // Make the new file's directory entry durable.
+        return channel;
+    }
+
+    /**
+     * Forces a directory's entries (new, renamed or deleted files) to disk where the platform
+     * supports it.
+     */
+    public static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.fine("Cannot force directory " + directory + ": " + e.getMessage()); // Not supported on Windows.
+        }
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted() // Names are zero-padded, so name order is sequence order.
+                    .toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * A record handed to the writer, or a control message (rotate to a new segment when
+     * {@code rotateTo} is set and not negative, close when negative).
+     */
+    private record PendingAppend(byte[] frame, CompletableFuture<Void> done, Long rotateTo) {
+    }
+
+    /**
+     * @param sequence The sequence number assigned to the record.
+     * @param durable Completes once the record is as durable as the fsync policy promises.
+     */
+    public record Append(long sequence, CompletableFuture<Void> durable) {
+    }
+}
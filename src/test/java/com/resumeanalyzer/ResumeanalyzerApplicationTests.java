@@ -1,11 +1,27 @@
 package com.resumeanalyzer;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class ResumeanalyzerApplicationTests {
 
+	// Keeps the document store, content store and compression dictionaries out of ./data.
+	@TempDir
+	static Path dataDir;
+
+	@DynamicPropertySource
+	static void dataDirectories(DynamicPropertyRegistry registry) {
+		registry.add("document-store.persistence.dir", () -> dataDir.resolve("document-store").toString());
+		registry.add("resume.content-store.dir", () -> dataDir.resolve("resume-content").toString());
+		registry.add("text-compression.dictionary.dir", () -> dataDir.resolve("text-compression").toString());
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,165 @@
+package com.resumeanalyzer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.config.JacksonConfig;
+import com.resumeanalyzer.model.AnalysisResult;
+import com.resumeanalyzer.service.FirebaseService;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the previous Map-based simulated Firestore (every write converts the document to a
+ * Map, every read converts it back) with {@link FirebaseService} storing typed snapshots
+ * (OBJECT) and Smile-encoded documents (SMILE).
+ *
+ * Run with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.resumeanalyzer.benchmark.DocumentStoreBenchmark
+ * or from the IDE. Prints time and bytes allocated per operation, and the heap retained by
+ * 50,000 stored analysis results, for each store.
+ */
+public class DocumentStoreBenchmark {
+
+    private static final String COLLECTION = "analysis_results";
+    private static final int DOCUMENTS = 50_000;
+    private static final int LOOKUPS = 200_000;
+    private static final int FIND_ALL_ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        List<AnalysisResult> results = createResults(DOCUMENTS);
+
+        run("Map round-trip", new MapRoundTripStore(objectMapper), results);
+        run("Typed (OBJECT)", store(new FirebaseService(objectMapper, FirebaseService.StorageFormat.OBJECT)), results);
+        run("Typed (SMILE)", store(new FirebaseService(objectMapper, FirebaseService.StorageFormat.SMILE)), results);
+    }
+
+    private static void run(String name, Store store, List<AnalysisResult> results) throws Exception {
+        long heapBefore = usedHeap();
+        measure(name, "save", results.size(), () -> {
+            for (AnalysisResult result : results) {
+                store.save(result.getId(), result);
+            }
+            return results.size();
+        });
+        long retained = usedHeap() - heapBefore;
+
+        Random random = new Random(7);
+        measure(name, "findById", LOOKUPS, () -> {
+            long sink = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += (long) store.get(results.get(random.nextInt(results.size())).getId()).getMatchScore();
+            }
+            return sink;
+        });
+        measure(name, "findAll", FIND_ALL_ITERATIONS, () -> {
+            long sink = 0;
+            for (int i = 0; i < FIND_ALL_ITERATIONS; i++) {
+                sink += store.getAll().size();
+            }
+            return sink;
+        });
+        System.out.printf("%-16s retained heap for %,d documents: %,d bytes%n%n", name, results.size(), retained);
+    }
+
+    private static Store store(FirebaseService firebaseService) {
+        return new Store() {
+            @Override
+            public void save(String id, AnalysisResult result) {
+                firebaseService.saveDocument(COLLECTION, id, result);
+            }
+
+            @Override
+            public AnalysisResult get(String id) {
+                return firebaseService.getDocument(COLLECTION, id, AnalysisResult.class);
+            }
+
+            @Override
+            public List<AnalysisResult> getAll() {
+                return firebaseService.getCollection(COLLECTION, AnalysisResult.class);
+            }
+        };
+    }
+
+    private static void measure(String name, String operation, int operations, Operation op) throws Exception {
+        op.run(); // Warm-up
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long sink = op.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%-16s %-9s %10.3f us/op %,12d bytes allocated/op (checksum %d)%n",
+                name, operation, elapsed / 1e3 / operations, allocated / operations, sink);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static List<AnalysisResult> createResults(int count) {
+        Random random = new Random(42);
+        return java.util.stream.IntStream.range(0, count)
+                .mapToObj(i -> new AnalysisResult("result-" + i, "resume-" + random.nextInt(5_000), null,
+                        "Senior Java Developer " + (i % 100), "N/A", random.nextDouble() * 100,
+                        "Your resume strongly matches the required skills. Skills like Java, Spring Boot, Kafka are well-highlighted.",
+                        "Consider adding more details on Kubernetes, Terraform to better align with the job description.",
+                        "Tailor your resume further by emphasizing projects related to AWS and Docker.",
+                        Instant.now().toString(), "job-" + (i % 100)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The previous FirebaseService storage: documents as Maps, converted on every access.
+     */
+    private static final class MapRoundTripStore implements Store {
+        private final ConcurrentHashMap<String, Map<String, Object>> documents = new ConcurrentHashMap<>();
+        private final ObjectMapper objectMapper;
+
+        MapRoundTripStore(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void save(String id, AnalysisResult result) {
+            documents.put(id, objectMapper.convertValue(result, Map.class));
+        }
+
+        @Override
+        public AnalysisResult get(String id) {
+            return objectMapper.convertValue(documents.get(id), AnalysisResult.class);
+        }
+
+        @Override
+        public List<AnalysisResult> getAll() {
+            return documents.values().stream()
+                    .map(document -> objectMapper.convertValue(document, AnalysisResult.class))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private interface Store {
+        void save(String id, AnalysisResult result);
+
+        AnalysisResult get(String id);
+
+        List<AnalysisResult> getAll();
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        long run() throws Exception;
+    }
+}
@@ -0,0 +1,180 @@
+package com.resumeanalyzer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.config.JacksonConfig;
+import com.resumeanalyzer.model.AnalysisResult;
+import com.resumeanalyzer.service.FirebaseService;
+import com.resumeanalyzer.util.WriteAheadLog;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Measures the persistent {@link FirebaseService}: save throughput and latency for each fsync
+ * policy with one and with many concurrent writers, and recovery time from the write-ahead log
+ * alone (as after a crash) and from a snapshot (as after a clean shutdown), for documents that
+ * were each saved three times.
+ *
+ * Run with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.resumeanalyzer.benchmark.DocumentStorePersistenceBenchmark
+ * or from the IDE. Files are written to a temporary directory, so results depend on the disk
+ * behind java.io.tmpdir.
+ */
+public class DocumentStorePersistenceBenchmark {
+
+    private static final String COLLECTION = "analysis_results";
+    private static final int SAVES = 4_000;
+    private static final int[] WRITERS = {1, 16};
+    private static final int RECOVERY_DOCUMENTS = 50_000;
+    private static final int VERSIONS = 3;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        List<AnalysisResult> results = createResults(RECOVERY_DOCUMENTS);
+
+        for (WriteAheadLog.FsyncPolicy policy : WriteAheadLog.FsyncPolicy.values()) {
+            for (int writers : WRITERS) {
+                throughput(objectMapper, policy, writers, results.subList(0, SAVES));
+            }
+        }
+        System.out.println();
+        for (FirebaseService.StorageFormat format : FirebaseService.StorageFormat.values()) {
+            recovery(objectMapper, format, results);
+        }
+    }
+
+    private static void throughput(ObjectMapper objectMapper, WriteAheadLog.FsyncPolicy policy, int writers,
+                                   List<AnalysisResult> results) throws Exception {
+        Path directory = Files.createTempDirectory("document-store-bench");
+        FirebaseService store = open(objectMapper, FirebaseService.StorageFormat.OBJECT, directory, policy);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            long start = System.nanoTime();
+            List<Future<Long>> latencies = IntStream.range(0, writers)
+                    .mapToObj(writer -> pool.submit(() -> {
+                        long total = 0;
+                        for (int i = writer; i < results.size(); i += writers) {
+                            long saveStart = System.nanoTime();
+                            store.saveDocument(COLLECTION, results.get(i).getId(), results.get(i));
+                            total += System.nanoTime() - saveStart;
+                        }
+                        return total;
+                    }))
+                    .collect(Collectors.toList());
+            long totalLatency = 0;
+            for (Future<Long> latency : latencies) {
+                totalLatency += latency.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-9s %2d writers: %,10.0f saves/s, %8.1f us average save latency%n",
+                    policy, writers, results.size() / (elapsed / 1e9), totalLatency / 1e3 / results.size());
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            store.close();
+            delete(directory);
+        }
+    }
+
+    private static void recovery(ObjectMapper objectMapper, FirebaseService.StorageFormat format,
+                                 List<AnalysisResult> results) throws Exception {
+        Path written = Files.createTempDirectory("document-store-bench");
+        Path directory = Files.createTempDirectory("document-store-bench");
+        try {
+            FirebaseService store = open(objectMapper, format, written, WriteAheadLog.FsyncPolicy.INTERVAL);
+            for (int version = 0; version < VERSIONS; version++) { // Every document is updated, so the log holds stale versions
+                for (AnalysisResult result : results) {
+                    store.saveDocument(COLLECTION, result.getId(), result);
+                }
+            }
+            // Stand-in for a crash: copy the log while the store is open, before any snapshot.
+            try (Stream<Path> files = Files.list(written)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.copy(file, directory.resolve(file.getFileName()));
+                }
+            }
+            store.close();
+            long logBytes = size(directory);
+
+            long start = System.nanoTime();
+            FirebaseService fromLog = open(objectMapper, format, directory, WriteAheadLog.FsyncPolicy.INTERVAL);
+            long fromLogMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            check(fromLog, results);
+
+            start = System.nanoTime();
+            fromLog.close(); // Writes the snapshot
+            long snapshotMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long snapshotBytes = size(directory);
+
+            start = System.nanoTime();
+            FirebaseService fromSnapshot = open(objectMapper, format, directory, WriteAheadLog.FsyncPolicy.INTERVAL);
+            long fromSnapshotMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            check(fromSnapshot, results);
+            fromSnapshot.close();
+
+            System.out.printf("%-6s %,d documents: recovery from log %,d ms (%,d bytes), snapshot written in %,d ms,"
+                            + " recovery from snapshot %,d ms (%,d bytes)%n",
+                    format, results.size(), fromLogMillis, logBytes, snapshotMillis, fromSnapshotMillis, snapshotBytes);
+        } finally {
+            delete(written);
+            delete(directory);
+        }
+    }
+
+    private static FirebaseService open(ObjectMapper objectMapper, FirebaseService.StorageFormat format, Path directory,
+                                        WriteAheadLog.FsyncPolicy policy) {
+        return new FirebaseService(objectMapper, format, true, directory, policy, Duration.ofMillis(100),
+                Duration.ZERO, DataSize.ofGigabytes(1));
+    }
+
+    private static void check(FirebaseService store, List<AnalysisResult> results) {
+        int recovered = store.getCollection(COLLECTION, AnalysisResult.class).size();
+        if (recovered != results.size()) {
+            throw new IllegalStateException("Recovered " + recovered + " of " + results.size() + " documents");
+        }
+    }
+
+    private static long size(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            long total = 0;
+            for (Path file : files.collect(Collectors.toList())) {
+                total += Files.size(file);
+            }
+            return total;
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static List<AnalysisResult> createResults(int count) {
+        Random random = new Random(42);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new AnalysisResult("result-" + i, "resume-" + random.nextInt(5_000), null,
+                        "Senior Java Developer " + (i % 100), "N/A", random.nextDouble() * 100,
+                        "Your resume strongly matches the required skills. Skills like Java, Spring Boot, Kafka are well-highlighted.",
+                        "Consider adding more details on Kubernetes, Terraform to better align with the job description.",
+                        "Tailor your resume further by emphasizing projects related to AWS and Docker.",
+                        Instant.now().toString(), "job-" + (i % 100)))
+                .collect(Collectors.toList());
+    }
+}
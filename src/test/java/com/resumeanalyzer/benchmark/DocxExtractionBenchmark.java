@@ -0,0 +1,123 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.util.DocxTextExtractor;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.Units;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.Document;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Compares DOCX text extraction through XWPFDocument + XWPFWordExtractor (the previous path)
+ * with the streaming {@link DocxTextExtractor}.
+ *
+ * Run with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.resumeanalyzer.benchmark.DocxExtractionBenchmark
+ * or from the IDE. Prints time and bytes allocated per extraction for each path.
+ */
+public class DocxExtractionBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    public static void main(String[] args) throws Exception {
+        Path docx = createSampleDocx(400, 6, 512 * 1024);
+        try {
+            System.out.printf("Sample DOCX: %,d bytes%n", Files.size(docx));
+            DocxTextExtractor streaming = new DocxTextExtractor(false);
+
+            String domText = extractWithXwpf(docx);
+            StringBuilder streamed = new StringBuilder();
+            streaming.extract(docx, streamed);
+            System.out.printf("Text length: XWPF %,d chars, streaming %,d chars, same words: %b%n",
+                    domText.length(), streamed.length(), words(domText).equals(words(streamed.toString())));
+
+            measure("XWPFWordExtractor", () -> extractWithXwpf(docx).length());
+            measure("DocxTextExtractor", () -> {
+                StringBuilder out = new StringBuilder();
+                streaming.extract(docx, out);
+                return out.length();
+            });
+        } finally {
+            Files.deleteIfExists(docx);
+        }
+    }
+
+    private static String extractWithXwpf(Path docx) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(docx.toFile(), PackageAccess.READ)) {
+            return new XWPFWordExtractor(new XWPFDocument(pkg)).getText();
+        }
+    }
+
+    private static void measure(String name, Extraction extraction) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            extraction.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += extraction.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%-20s %8.2f ms/op %,14d bytes allocated/op (checksum %d)%n",
+                name, elapsed / 1e6 / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS, sink);
+    }
+
+    /**
+     * Builds a resume-like DOCX with styled paragraphs, a table and embedded images.
+     */
+    private static Path createSampleDocx(int paragraphs, int images, int imageBytes) throws Exception {
+        Random random = new Random(42);
+        Path docx = Files.createTempFile("docx-benchmark-", ".docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(docx)) {
+            for (int i = 0; i < paragraphs; i++) {
+                XWPFParagraph paragraph = document.createParagraph();
+                XWPFRun title = paragraph.createRun();
+                title.setBold(true);
+                title.setText("Project " + i + ": ");
+                XWPFRun body = paragraph.createRun();
+                body.setItalic(i % 2 == 0);
+                body.setFontFamily("Calibri");
+                body.setText("Built microservices with Java, Spring Boot, Kafka and PostgreSQL; deployed on Kubernetes.");
+                if (i % (paragraphs / images) == 0) {
+                    byte[] image = new byte[imageBytes];
+                    random.nextBytes(image);
+                    body.addPicture(new ByteArrayInputStream(image), Document.PICTURE_TYPE_PNG, "image" + i + ".png",
+                            Units.toEMU(100), Units.toEMU(100));
+                }
+            }
+            XWPFTable table = document.createTable(20, 3);
+            for (int row = 0; row < 20; row++) {
+                for (int cell = 0; cell < 3; cell++) {
+                    table.getRow(row).getCell(cell).setText("Skill " + row + "." + cell);
+                }
+            }
+            document.write(out);
+        }
+        return docx;
+    }
+
+    private static String words(String text) {
+        return text.trim().replaceAll("\\s+", " ");
+    }
+
+    @FunctionalInterface
+    private interface Extraction {
+        long run() throws Exception;
+    }
+}
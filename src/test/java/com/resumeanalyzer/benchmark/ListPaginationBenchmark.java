@@ -0,0 +1,94 @@
+package com.resumeanalyzer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.config.JacksonConfig;
+import com.resumeanalyzer.dto.AnalysisResultResponse;
+import com.resumeanalyzer.dto.PageResponse;
+import com.resumeanalyzer.model.AnalysisResult;
+import com.resumeanalyzer.service.FirebaseService;
+import com.resumeanalyzer.util.JsonArrayWriter;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Compares ways of serving GET /api/analysis over a large history: the whole collection
+ * collected into lists and serialized at once (as before pagination), the whole collection
+ * streamed as a JSON array, and single pages of 50 at the start and deep into the collection.
+ * Reports time and bytes allocated per request.
+ *
+ * Run with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.resumeanalyzer.benchmark.ListPaginationBenchmark
+ * or from the IDE.
+ */
+public class ListPaginationBenchmark {
+
+    private static final String COLLECTION = "analysis_results";
+    private static final int RESULTS = 200_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int FULL_LIST_ROUNDS = 20;
+    private static final int PAGE_ROUNDS = 2_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        FirebaseService store = new FirebaseService(objectMapper, FirebaseService.StorageFormat.OBJECT);
+        store.orderCollectionBy(COLLECTION, AnalysisResult.class, result -> FirebaseService.timestampKey(result.getAnalysisDate()));
+        Random random = new Random(42);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < RESULTS; i++) {
+            store.saveDocument(COLLECTION, "result-" + i, new AnalysisResult("result-" + i, "resume-" + random.nextInt(5_000), null,
+                    "Senior Java Developer " + (i % 100), "N/A", random.nextDouble() * 100, "Strengths", "Weaknesses",
+                    "Recommendations", start.plusMillis(i * 1_000L).toString(), "job-" + (i % 100)));
+        }
+        FirebaseService.Cursor deep = store.getCollectionPage(COLLECTION, AnalysisResult.class, null, RESULTS - PAGE_SIZE).next();
+
+        measure("Full list, collected", FULL_LIST_ROUNDS, () -> {
+            List<AnalysisResultResponse> responses = store.getCollection(COLLECTION, AnalysisResult.class).stream()
+                    .map(ListPaginationBenchmark::toResponse)
+                    .collect(Collectors.toList());
+            objectMapper.writeValue(OutputStream.nullOutputStream(), responses);
+        });
+        measure("Full list, streamed", FULL_LIST_ROUNDS, () -> JsonArrayWriter.write(objectMapper,
+                store.streamCollection(COLLECTION, AnalysisResult.class, null).map(ListPaginationBenchmark::toResponse),
+                OutputStream.nullOutputStream()));
+        measure("First page of " + PAGE_SIZE, PAGE_ROUNDS, () -> writePage(objectMapper, store, null));
+        measure("Last page of " + PAGE_SIZE, PAGE_ROUNDS, () -> writePage(objectMapper, store, deep));
+    }
+
+    private static void writePage(ObjectMapper objectMapper, FirebaseService store, FirebaseService.Cursor after) throws Exception {
+        FirebaseService.Page<AnalysisResult> page = store.getCollectionPage(COLLECTION, AnalysisResult.class, after, PAGE_SIZE);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), new PageResponse<>(
+                page.documents().stream().map(ListPaginationBenchmark::toResponse).collect(Collectors.toList()),
+                page.next() != null ? page.next().encode() : null));
+    }
+
+    private static void measure(String name, int rounds, Request request) throws Exception {
+        for (int i = 0; i < rounds; i++) {
+            request.run(); // Warm-up
+        }
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            request.run();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("%-22s %,12.1f us, %,14d bytes allocated per request%n", name, nanos / 1e3 / rounds, allocated / rounds);
+    }
+
+    private static AnalysisResultResponse toResponse(AnalysisResult result) {
+        return new AnalysisResultResponse(result.getId(), result.getJobTitle(), result.getCompany(), result.getMatchScore(),
+                result.getAnalysisDate());
+    }
+
+    private interface Request {
+        void run() throws Exception;
+    }
+}
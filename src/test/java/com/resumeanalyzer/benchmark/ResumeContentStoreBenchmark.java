@@ -0,0 +1,107 @@
+package com.resumeanalyzer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.config.JacksonConfig;
+import com.resumeanalyzer.model.Resume;
+import com.resumeanalyzer.model.ResumeStatus;
+import com.resumeanalyzer.service.FirebaseService;
+import com.resumeanalyzer.service.ResumeContentStore;
+import com.resumeanalyzer.service.TextCompressor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Compares resumes stored with their text inside the document with resumes that hold a
+ * reference into the memory-mapped {@link ResumeContentStore}: heap retained by the stored
+ * resumes, and the cost of getting a resume's text back.
+ *
+ * Run with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.resumeanalyzer.benchmark.ResumeContentStoreBenchmark
+ * or from the IDE (a heap of 2GB or more is needed for the inline run).
+ */
+public class ResumeContentStoreBenchmark {
+
+    private static final String COLLECTION = "resumes";
+    private static final int RESUMES = 100_000;
+    private static final int TEXT_CHARS = 8_000;
+    private static final int READS = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        Path directory = Files.createTempDirectory("resume-content-bench");
+        try {
+            run("Inline text", objectMapper, null);
+            // Uncompressed, to measure the content store on its own (see TextCompressionBenchmark).
+            TextCompressor textCompressor = new TextCompressor(false, 3, DataSize.ofBytes(0), false, directory,
+                    DataSize.ofKilobytes(64), 0, new SimpleMeterRegistry());
+            ResumeContentStore contentStore = new ResumeContentStore(true, directory, DataSize.ofMegabytes(64), false, 0.5,
+                    textCompressor, new SimpleMeterRegistry());
+            run("Content store", objectMapper, contentStore);
+            contentStore.close();
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void run(String name, ObjectMapper objectMapper, ResumeContentStore contentStore) throws Exception {
+        FirebaseService firebaseService = new FirebaseService(objectMapper, FirebaseService.StorageFormat.OBJECT);
+        String[] vocabulary = {"Java", "Spring", "Kafka", "designed", "services", "led", "team", "of", "engineers",
+                "built", "pipelines", "AWS", "Kubernetes", "reduced", "latency", "by", "40%", "\n"};
+        Random random = new Random(42);
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < RESUMES; i++) {
+            StringBuilder text = new StringBuilder(TEXT_CHARS + 16);
+            while (text.length() < TEXT_CHARS) {
+                text.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            Resume resume = new Resume("resume-" + i, null, "resume-" + i + ".pdf", "application/pdf", 120_000,
+                    Instant.now().toString());
+            resume.setStatus(ResumeStatus.READY);
+            resume.setSkills(List.of("Java", "Spring Boot", "Kafka", "AWS"));
+            if (contentStore != null) {
+                resume.setContentRef(contentStore.write(text.toString())); // What ResumeRepository.save stores
+            } else {
+                resume.setContent(text.toString());
+            }
+            firebaseService.saveDocument(COLLECTION, resume.getId(), resume);
+        }
+        long saveNanos = System.nanoTime() - start;
+        long retained = usedHeap() - heapBefore;
+
+        long chars = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            Resume resume = firebaseService.getDocument(COLLECTION, "resume-" + random.nextInt(RESUMES), Resume.class);
+            String text = contentStore != null ? contentStore.read(resume.getContentRef()) : resume.getContent();
+            chars += text.length();
+        }
+        long readNanos = System.nanoTime() - start;
+
+        System.out.printf("%-14s %,d resumes of %,d chars: retained heap %,d bytes (%,d per resume), save %.2f us,"
+                        + " text read %.2f us (checksum %d)%n",
+                name, RESUMES, TEXT_CHARS, retained, retained / RESUMES, saveNanos / 1e3 / RESUMES, readNanos / 1e3 / READS, chars);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
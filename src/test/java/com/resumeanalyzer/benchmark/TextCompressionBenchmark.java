@@ -0,0 +1,116 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.service.TextCompressor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link TextCompressor} on resume-like texts: compression ratio and time per text
+ * to compress and decompress, with Zstandard alone at a few levels and with a dictionary
+ * trained on the first texts.
+ *
+ * Run with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.resumeanalyzer.benchmark.TextCompressionBenchmark
+ * or from the IDE.
+ */
+public class TextCompressionBenchmark {
+
+    private static final int TEXTS = 5_000;
+    private static final int TRAINING_SAMPLES = 1_000;
+
+    private static final String[] HEADINGS = {"Summary", "Skills", "Experience", "Projects", "Education", "Certifications"};
+    private static final String[] SKILLS = {"Java", "Spring Boot", "Kafka", "AWS", "Docker", "Kubernetes", "PostgreSQL",
+            "React", "TypeScript", "Python", "Terraform", "Redis", "GraphQL", "Microservices", "CI/CD", "Jenkins"};
+    private static final String[] PHRASES = {"Designed and implemented", "Led a team of", "engineers to deliver",
+            "Reduced latency by", "Migrated the legacy", "to a cloud-native architecture", "Collaborated with product managers",
+            "Improved test coverage from", "Built data pipelines processing", "million events per day",
+            "Mentored junior developers", "Owned the on-call rotation for", "Bachelor of Science in Computer Science"};
+
+    public static void main(String[] args) throws Exception {
+        List<String> texts = createTexts(TEXTS);
+        long rawBytes = texts.stream().mapToLong(text -> text.getBytes(java.nio.charset.StandardCharsets.UTF_8).length).sum();
+        System.out.printf("%,d texts, %,d bytes on average%n", texts.size(), rawBytes / texts.size());
+
+        Path directory = Files.createTempDirectory("text-compression-bench");
+        try {
+            for (int level : new int[] {1, 3, 9}) {
+                run("zstd level " + level, new TextCompressor(true, level, DataSize.ofBytes(0), false, directory,
+                        DataSize.ofKilobytes(64), 0, new SimpleMeterRegistry()), texts, rawBytes);
+            }
+            TextCompressor trained = new TextCompressor(true, 3, DataSize.ofBytes(0), true, directory,
+                    DataSize.ofKilobytes(64), TRAINING_SAMPLES, new SimpleMeterRegistry());
+            for (String text : texts.subList(0, TRAINING_SAMPLES)) {
+                trained.compress(text, TextCompressor.TextField.RESUME); // Training samples
+            }
+            // Training runs in the background; the restarted compressor picks the dictionary up from disk.
+            while (!hasDictionary(directory)) {
+                Thread.sleep(50);
+            }
+            run("zstd level 3 + dictionary", new TextCompressor(true, 3, DataSize.ofBytes(0), true, directory,
+                    DataSize.ofKilobytes(64), TRAINING_SAMPLES, new SimpleMeterRegistry()), texts, rawBytes);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void run(String name, TextCompressor compressor, List<String> texts, long rawBytes) {
+        for (String text : texts) {
+            compressor.decompress(compressor.compress(text, TextCompressor.TextField.RESUME), TextCompressor.TextField.RESUME); // Warm-up
+        }
+        List<byte[]> compressed = new ArrayList<>(texts.size());
+        long start = System.nanoTime();
+        for (String text : texts) {
+            compressed.add(compressor.compress(text, TextCompressor.TextField.RESUME));
+        }
+        long compressNanos = System.nanoTime() - start;
+        long chars = 0;
+        start = System.nanoTime();
+        for (byte[] stored : compressed) {
+            chars += compressor.decompress(stored, TextCompressor.TextField.RESUME).length();
+        }
+        long decompressNanos = System.nanoTime() - start;
+        long storedBytes = compressed.stream().mapToLong(bytes -> bytes.length).sum();
+        System.out.printf("%-26s ratio %5.2f, compress %7.1f us, decompress %6.1f us per text (checksum %d)%n",
+                name, (double) rawBytes / storedBytes, compressNanos / 1e3 / texts.size(), decompressNanos / 1e3 / texts.size(), chars);
+    }
+
+    private static boolean hasDictionary(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.anyMatch(path -> path.getFileName().toString().endsWith(".zdict"));
+        }
+    }
+
+    private static List<String> createTexts(int count) {
+        Random random = new Random(42);
+        List<String> texts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder text = new StringBuilder("Candidate " + i + "\ncandidate" + i + "@example.com | +1 555 " + (1000 + i) + "\n\n");
+            for (String heading : HEADINGS) {
+                text.append(heading).append('\n');
+                int lines = 3 + random.nextInt(8);
+                for (int line = 0; line < lines; line++) {
+                    text.append("- ").append(PHRASES[random.nextInt(PHRASES.length)]).append(' ')
+                            .append(SKILLS[random.nextInt(SKILLS.length)]).append(", ")
+                            .append(SKILLS[random.nextInt(SKILLS.length)]).append(' ')
+                            .append(PHRASES[random.nextInt(PHRASES.length)].toLowerCase()).append(' ')
+                            .append(10 + random.nextInt(90)).append("%\n");
+                }
+                text.append('\n');
+            }
+            texts.add(text.toString());
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,131 @@
+package com.resumeanalyzer.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.config.JacksonConfig;
+import com.resumeanalyzer.model.AnalysisResult;
+import com.resumeanalyzer.repo.AnalysisResultRepository;
+import com.resumeanalyzer.service.AnalysisService;
+import com.resumeanalyzer.service.FirebaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AnalysisControllerTest {
+
+    private static final int MAX_LIMIT = 3;
+    private static final String SAME_TIME = "2024-05-01T10:00:00Z";
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private AnalysisResultRepository repository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AnalysisResultRepository(new FirebaseService(objectMapper, FirebaseService.StorageFormat.OBJECT));
+        AnalysisService analysisService = new AnalysisService(null, null, null, null, repository, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AnalysisController(analysisService, null, null, objectMapper, MAX_LIMIT))
+                .build();
+    }
+
+    @Test
+    void pagesBreakTimestampTiesById() throws Exception {
+        save("e", SAME_TIME);
+        save("c", SAME_TIME);
+        save("a", "2024-05-01T10:00:01Z");
+        save("d", SAME_TIME);
+        save("b", SAME_TIME);
+
+        JsonNode first = page(2, null);
+        JsonNode second = page(2, first.get("nextCursor").asText());
+        JsonNode third = page(2, second.get("nextCursor").asText());
+
+        assertThat(ids(first)).containsExactly("b", "c");
+        assertThat(ids(second)).containsExactly("d", "e");
+        assertThat(ids(third)).containsExactly("a");
+        assertThat(third.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void deletesBetweenPagesDoNotSkipOrRepeatResults() throws Exception {
+        for (String id : List.of("a", "b", "c", "d")) {
+            save(id, SAME_TIME);
+        }
+        JsonNode first = page(2, null);
+        repository.deleteById("b"); // The result the cursor points at
+        repository.deleteById("c");
+
+        JsonNode second = page(2, first.get("nextCursor").asText());
+
+        assertThat(ids(first)).containsExactly("a", "b");
+        assertThat(ids(second)).containsExactly("d");
+        assertThat(second.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/analysis").param("limit", "2").param("after", "not a cursor!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/analysis").param("after", "bm8tc2VwYXJhdG9y")) // Base64 without a separator
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void limitMustBeWithinBounds() throws Exception {
+        save("a", SAME_TIME);
+
+        mockMvc.perform(get("/api/analysis").param("limit", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/analysis").param("limit", String.valueOf(MAX_LIMIT + 1))).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/analysis").param("limit", "1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/analysis").param("limit", String.valueOf(MAX_LIMIT)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("a"));
+    }
+
+    @Test
+    void unpagedListStreamsEverythingAfterCursor() throws Exception {
+        for (String id : List.of("a", "b", "c", "d", "e")) {
+            save(id, SAME_TIME);
+        }
+        String cursor = page(1, null).get("nextCursor").asText();
+
+        String body = mockMvc.perform(get("/api/analysis").param("after", cursor))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> ids = new ArrayList<>();
+        objectMapper.readTree(body).forEach(result -> ids.add(result.get("id").asText()));
+        assertThat(ids).containsExactly("b", "c", "d", "e");
+    }
+
+    private JsonNode page(int limit, String after) throws Exception {
+        var request = get("/api/analysis").param("limit", String.valueOf(limit));
+        if (after != null) {
+            request.param("after", after);
+        }
+        String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void save(String id, String analysisDate) {
+        AnalysisResult result = new AnalysisResult();
+        result.setId(id);
+        result.setAnalysisDate(analysisDate);
+        repository.save(result);
+    }
+
+    private static List<String> ids(JsonNode page) {
+        List<String> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asText()));
+        return ids;
+    }
+}
@@ -0,0 +1,100 @@
+package com.resumeanalyzer.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.config.JacksonConfig;
+import com.resumeanalyzer.model.JobDescription;
+import com.resumeanalyzer.repo.JobDescriptionRepository;
+import com.resumeanalyzer.service.FirebaseService;
+import com.resumeanalyzer.service.JobDescriptionService;
+import com.resumeanalyzer.service.TextCompressor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JobDescriptionControllerTest {
+
+    private static final int MAX_LIMIT = 3;
+    private static final String SAME_TIME = "2024-05-01T10:00:00Z";
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private JobDescriptionRepository repository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        TextCompressor textCompressor = new TextCompressor(false, 3, DataSize.ofBytes(0), false, directory,
+                DataSize.ofKilobytes(64), 0, new SimpleMeterRegistry());
+        repository = new JobDescriptionRepository(new FirebaseService(objectMapper, FirebaseService.StorageFormat.OBJECT),
+                textCompressor);
+        JobDescriptionService jobDescriptionService = new JobDescriptionService(repository, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(new JobDescriptionController(jobDescriptionService, null, objectMapper, MAX_LIMIT))
+                .build();
+    }
+
+    @Test
+    void pagesBreakTimestampTiesByIdAcrossDeletes() throws Exception {
+        save("d", SAME_TIME);
+        save("b", SAME_TIME);
+        save("a", "2024-05-01T09:00:00Z");
+        save("c", SAME_TIME);
+
+        JsonNode first = page(2, null);
+        repository.deleteById("b"); // The job the cursor points at
+        JsonNode second = page(2, first.get("nextCursor").asText());
+
+        assertThat(ids(first)).containsExactly("a", "b");
+        assertThat(ids(second)).containsExactly("c", "d");
+        assertThat(second.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/jobs").param("limit", "2").param("after", "%%%")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jobs").param("after", "%%%")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void limitMustBeWithinBounds() throws Exception {
+        mockMvc.perform(get("/api/jobs").param("limit", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jobs").param("limit", "-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jobs").param("limit", String.valueOf(MAX_LIMIT + 1))).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jobs").param("limit", String.valueOf(MAX_LIMIT))).andExpect(status().isOk());
+    }
+
+    private JsonNode page(int limit, String after) throws Exception {
+        var request = get("/api/jobs").param("limit", String.valueOf(limit));
+        if (after != null) {
+            request.param("after", after);
+        }
+        String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void save(String id, String createdAt) {
+        JobDescription job = new JobDescription(id, "Engineer " + id, "Build services.", "Java", "", "Senior");
+        job.setCreatedAt(createdAt);
+        repository.save(job);
+    }
+
+    private static List<String> ids(JsonNode page) {
+        List<String> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asText()));
+        return ids;
+    }
+}
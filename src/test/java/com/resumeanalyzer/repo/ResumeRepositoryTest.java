@@ -0,0 +1,127 @@
+package com.resumeanalyzer.repo;
+
+import com.resumeanalyzer.config.JacksonConfig;
+import com.resumeanalyzer.model.ContentRef;
+import com.resumeanalyzer.model.Resume;
+import com.resumeanalyzer.model.ResumeStatus;
+import com.resumeanalyzer.service.DictionarySkillExtractor;
+import com.resumeanalyzer.service.FirebaseService;
+import com.resumeanalyzer.service.ResumeContentStore;
+import com.resumeanalyzer.service.SkillDictionary;
+import com.resumeanalyzer.service.TextCompressor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeRepositoryTest {
+
+    private static final String TEXT = "x".repeat(100);
+
+    @TempDir
+    Path directory;
+
+    private SkillDictionary skillDictionary;
+    private FirebaseService firebaseService;
+    private ResumeContentStore contentStore;
+    private ResumeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        skillDictionary = new SkillDictionary(new DictionarySkillExtractor(new ClassPathResource("skills/taxonomy.txt")));
+        firebaseService = new FirebaseService(new JacksonConfig().objectMapper(), FirebaseService.StorageFormat.OBJECT);
+        contentStore = openContentStore();
+        repository = new ResumeRepository(firebaseService, new ResumeSkillIndex(), skillDictionary, contentStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contentStore.close();
+    }
+
+    @Test
+    void sharedTextStaysUntilItsLastHolderIsDeleted() {
+        repository.save(resume("a", TEXT + "a"));
+        assertThat(repository.saveSharingContent(resume("b", null), "a")).isTrue();
+        ContentRef shared = storedRef("a");
+
+        repository.deleteById("a");
+
+        assertThat(storedRef("b")).isEqualTo(shared);
+        assertThat(repository.findByIdWithContent("b")).get().extracting(Resume::getContent).isEqualTo(TEXT + "a");
+        assertThat(contentStore.segmentsToCompact()).doesNotContain(shared.getSegment());
+    }
+
+    @Test
+    void compactionMovesLiveTextsAndDeletesTheSegment() throws Exception {
+        repository.save(resume("a", TEXT + "a"));
+        repository.saveSharingContent(resume("b", null), "a");
+        repository.save(resume("c", TEXT + "c"));
+        repository.save(resume("d", TEXT + "d")); // Starts a new segment
+        ContentRef old = storedRef("a");
+        assertThat(storedRef("d").getSegment()).isNotEqualTo(old.getSegment());
+
+        repository.deleteById("c");
+        repository.compactContent();
+
+        ContentRef moved = storedRef("a");
+        assertThat(moved.getSegment()).isNotEqualTo(old.getSegment());
+        assertThat(storedRef("b")).isEqualTo(moved); // Copied once for both holders
+        assertThat(repository.findByIdWithContent("a")).get().extracting(Resume::getContent).isEqualTo(TEXT + "a");
+        assertThat(repository.findByIdWithContent("b")).get().extracting(Resume::getContent).isEqualTo(TEXT + "a");
+        assertThat(repository.findByIdWithContent("d")).get().extracting(Resume::getContent).isEqualTo(TEXT + "d");
+        assertThat(segmentFiles()).doesNotContain(String.format("blob-%08d.seg", old.getSegment()));
+    }
+
+    @Test
+    void restartRetainsStoredTextsAndTrimsTheUnclosedSegment() throws Exception {
+        repository.save(resume("a", TEXT + "a"));
+        repository.save(resume("b", TEXT + "b"));
+        repository.save(resume("c", TEXT + "c")); // Starts a new segment
+        contentStore.write(TEXT + "lost"); // Written, but its resume was never saved
+        ContentRef ref = storedRef("c");
+        // Restart without closing the content store, as after a crash.
+        contentStore = openContentStore();
+        repository = new ResumeRepository(firebaseService, new ResumeSkillIndex(), skillDictionary, contentStore);
+
+        assertThat(Files.size(directory.resolve(String.format("blob-%08d.seg", ref.getSegment()))))
+                .isEqualTo(ref.getOffset() + ref.getLength());
+        assertThat(repository.findByIdWithContent("a")).get().extracting(Resume::getContent).isEqualTo(TEXT + "a");
+        assertThat(repository.findByIdWithContent("c")).get().extracting(Resume::getContent).isEqualTo(TEXT + "c");
+        assertThat(contentStore.segmentsToCompact()).isEmpty();
+    }
+
+    private ResumeContentStore openContentStore() {
+        TextCompressor textCompressor = new TextCompressor(false, 3, DataSize.ofBytes(0), false, directory,
+                DataSize.ofKilobytes(64), 0, new SimpleMeterRegistry());
+        // Room for two texts per segment.
+        return new ResumeContentStore(true, directory, DataSize.ofBytes(256), false, 0.5, textCompressor,
+                new SimpleMeterRegistry());
+    }
+
+    private ContentRef storedRef(String id) {
+        return firebaseService.getDocument("resumes", id, Resume.class).getContentRef();
+    }
+
+    private Resume resume(String id, String content) {
+        Resume resume = new Resume(id, content, id + ".pdf", "application/pdf", 1000, "2024-01-01T00:00:00Z");
+        resume.setStatus(ResumeStatus.READY);
+        return resume;
+    }
+
+    private List<String> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).toList();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.resumeanalyzer.repo;
+
+import com.resumeanalyzer.util.SkillVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeSkillIndexTest {
+
+    private final ResumeSkillIndex index = new ResumeSkillIndex();
+
+    @Test
+    void ranksByMatchedSkillsThenResumeId() {
+        index.put("c", SkillVector.of(new int[]{1, 2, 3}));
+        index.put("a", SkillVector.of(new int[]{1, 2}));
+        index.put("b", SkillVector.of(new int[]{2, 1}));
+        index.put("d", SkillVector.of(new int[]{9}));
+
+        assertThat(ranked(index.topK(SkillVector.of(new int[]{1, 2, 3}), 10))).containsExactly("c:3", "a:2", "b:2");
+        assertThat(ranked(index.topK(SkillVector.of(new int[]{1, 2, 3}), 2))).containsExactly("c:3", "a:2");
+    }
+
+    @Test
+    void repeatedQueriesStartFromZeroCounts() {
+        index.put("a", SkillVector.of(new int[]{1, 2}));
+        index.put("b", SkillVector.of(new int[]{2}));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(ranked(index.topK(SkillVector.of(new int[]{1, 2}), 5))).containsExactly("a:2", "b:1");
+            assertThat(ranked(index.topK(SkillVector.of(new int[]{2}), 1))).containsExactly("a:1");
+        }
+    }
+
+    @Test
+    void queriesSeeResumesAddedAndRemovedSinceTheLastOne() {
+        index.put("a", SkillVector.of(new int[]{1}));
+        assertThat(ranked(index.topK(SkillVector.of(new int[]{1}), 5))).containsExactly("a:1");
+
+        for (int i = 0; i < 2000; i++) { // Grows the index past the counters of the first query
+            index.put("r" + i, SkillVector.of(new int[]{1, 2}));
+        }
+        index.remove("a");
+
+        List<ResumeSkillIndex.Candidate> top = index.topK(SkillVector.of(new int[]{1, 2}), 3);
+        assertThat(ranked(top)).containsExactly("r0:2", "r1:2", "r10:2");
+        assertThat(index.topK(SkillVector.of(new int[]{1}), 5000)).hasSize(2000);
+    }
+
+    @Test
+    void concurrentQueriesDoNotShareCounters() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            index.put(String.format("r%03d", i), SkillVector.of(i % 2 == 0 ? new int[]{1, 2} : new int[]{1}));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<List<String>>> results = IntStream.range(0, 200)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> ranked(index.topK(SkillVector.of(new int[]{1, 2}), 2)), executor))
+                    .toList();
+            for (CompletableFuture<List<String>> result : results) {
+                assertThat(result.get()).containsExactly("r000:2", "r002:2");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<String> ranked(List<ResumeSkillIndex.Candidate> candidates) {
+        return candidates.stream().map(candidate -> candidate.getResumeId() + ":" + candidate.getMatchedSkills()).toList();
+    }
+}
@@ -0,0 +1,31 @@
+package com.resumeanalyzer.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DictionarySkillExtractorTest {
+
+    private final DictionarySkillExtractor extractor = new DictionarySkillExtractor(new ClassPathResource("skills/taxonomy.txt"));
+
+    @Test
+    void languageNamesSharingAPrefixAreToldApart() {
+        assertThat(extractor.extractSkills("Frontend in JavaScript")).containsExactly("JavaScript");
+        assertThat(extractor.extractSkills("Java, JavaScript and C++ / C#")).containsExactly("Java", "JavaScript", "C++", "C#");
+        assertThat(extractor.extractSkills("Javanese speaker")).isEmpty();
+    }
+
+    @Test
+    void overlappingSkillsAreAllReportedOnce() {
+        assertThat(extractor.extractSkills("Spring Boot services; more Spring Boot and Spring"))
+                .containsExactly("Spring", "Spring Boot");
+    }
+
+    @Test
+    void synonymsMapToCanonicalNames() {
+        assertThat(extractor.extractSkills("csharp, NodeJS and core   java")).containsExactly("C#", "Node.js", "Java");
+        assertThat(extractor.canonicalize("  Spring-Boot ")).isEqualTo("Spring Boot");
+        assertThat(extractor.canonicalize("Underwater basket weaving")).isNull();
+    }
+}
@@ -0,0 +1,182 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversLoggedChanges() throws Exception {
+        try (DocumentJournal journal = open(new Documents())) {
+            journal.logPut("resumes", "a", "Resume", bytes("alpha")).durable().join();
+            journal.logPut("resumes", "b", "Resume", bytes("beta")).durable().join();
+            journal.logDelete("resumes", "a").durable().join();
+        }
+
+        Documents documents = new Documents();
+        DocumentJournal.Recovery recovery;
+        try (DocumentJournal journal = new DocumentJournal(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20))) {
+            recovery = journal.recover(documents);
+        }
+
+        assertThat(recovery).isEqualTo(new DocumentJournal.Recovery(0, 3));
+        assertThat(documents.byKey).containsExactly(Map.entry("resumes/b", "beta"));
+    }
+
+    @Test
+    void recoversFromSnapshotPlusLogTail() throws Exception {
+        try (DocumentJournal journal = open(new Documents())) {
+            journal.logPut("resumes", "a", "Resume", bytes("alpha"));
+            journal.logPut("resumes", "b", "Resume", bytes("beta"));
+            long upTo = journal.startSnapshot();
+            journal.writeSnapshot(upTo, List.of(entry("a", "alpha"), entry("b", "beta")));
+            journal.logPut("resumes", "c", "Resume", bytes("gamma"));
+            journal.logDelete("resumes", "a").durable().join();
+        }
+
+        Documents documents = new Documents();
+        DocumentJournal.Recovery recovery;
+        try (DocumentJournal journal = new DocumentJournal(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20))) {
+            recovery = journal.recover(documents);
+        }
+
+        assertThat(recovery).isEqualTo(new DocumentJournal.Recovery(2, 2));
+        assertThat(documents.byKey).containsExactly(Map.entry("resumes/b", "beta"), Map.entry("resumes/c", "gamma"));
+    }
+
+    @Test
+    void snapshotDeletesTheSegmentsAndSnapshotsItReplaces() throws Exception {
+        try (DocumentJournal journal = open(new Documents())) {
+            journal.logPut("resumes", "a", "Resume", bytes("alpha"));
+            long first = journal.startSnapshot();
+            journal.writeSnapshot(first, List.of(entry("a", "alpha")));
+            journal.logPut("resumes", "b", "Resume", bytes("beta"));
+            long second = journal.startSnapshot();
+            journal.writeSnapshot(second, List.of(entry("a", "alpha"), entry("b", "beta")));
+
+            assertThat(files(".snap")).containsExactly(String.format("snapshot-%020d.snap", second - 1));
+            assertThat(files(".log")).containsExactly(String.format("wal-%020d.log", second));
+        }
+
+        Documents documents = new Documents();
+        try (DocumentJournal journal = new DocumentJournal(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20))) {
+            assertThat(journal.recover(documents)).isEqualTo(new DocumentJournal.Recovery(2, 0));
+        }
+        assertThat(documents.byKey).containsOnlyKeys("resumes/a", "resumes/b");
+    }
+
+    @Test
+    void leftoverTemporarySnapshotIsIgnored() throws Exception {
+        try (DocumentJournal journal = open(new Documents())) {
+            journal.logPut("resumes", "a", "Resume", bytes("alpha")).durable().join();
+        }
+        Files.write(directory.resolve("snapshot-00000000000000000009.snap.tmp"), bytes("interrupted"));
+
+        Documents documents = new Documents();
+        try (DocumentJournal journal = open(documents)) {
+            assertThat(files(".tmp")).isEmpty();
+        }
+        assertThat(documents.byKey).containsExactly(Map.entry("resumes/a", "alpha"));
+    }
+
+    @Test
+    void refusesSnapshotWhoseCountDoesNotMatch() throws Exception {
+        Path snapshot;
+        try (DocumentJournal journal = open(new Documents())) {
+            journal.logPut("resumes", "a", "Resume", bytes("alpha"));
+            journal.logPut("resumes", "b", "Resume", bytes("beta"));
+            long upTo = journal.startSnapshot();
+            journal.writeSnapshot(upTo, List.of(entry("a", "alpha"), entry("b", "beta")));
+            snapshot = directory.resolve(String.format("snapshot-%020d.snap", upTo - 1));
+        }
+        // Drop the second document frame, keeping the END record that counts two documents.
+        byte[] bytes = Files.readAllBytes(snapshot);
+        int first = frameLength(bytes, 0);
+        int second = frameLength(bytes, first);
+        byte[] damaged = new byte[bytes.length - second];
+        System.arraycopy(bytes, 0, damaged, 0, first);
+        System.arraycopy(bytes, first + second, damaged, first, bytes.length - first - second);
+        Files.write(snapshot, damaged);
+
+        try (DocumentJournal journal = new DocumentJournal(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20))) {
+            assertThatThrownBy(() -> journal.recover(new Documents()))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("1 documents read, 2 expected");
+        }
+    }
+
+    @Test
+    void refusesSnapshotWithoutEndRecord() throws Exception {
+        Path snapshot;
+        try (DocumentJournal journal = open(new Documents())) {
+            journal.logPut("resumes", "a", "Resume", bytes("alpha"));
+            long upTo = journal.startSnapshot();
+            journal.writeSnapshot(upTo, List.of(entry("a", "alpha")));
+            snapshot = directory.resolve(String.format("snapshot-%020d.snap", upTo - 1));
+        }
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, frameLength(bytes, 0)));
+
+        try (DocumentJournal journal = new DocumentJournal(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20))) {
+            assertThatThrownBy(() -> journal.recover(new Documents())).isInstanceOf(IOException.class);
+        }
+    }
+
+    private DocumentJournal open(Documents documents) throws IOException {
+        DocumentJournal journal = new DocumentJournal(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20));
+        journal.recover(documents);
+        return journal;
+    }
+
+    private List<String> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).filter(name -> name.endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    private static DocumentJournal.SnapshotEntry entry(String documentId, String document) {
+        return new DocumentJournal.SnapshotEntry("resumes", documentId, "Resume", bytes(document));
+    }
+
+    private static int frameLength(byte[] bytes, int offset) {
+        return 16 + ByteBuffer.wrap(bytes).getInt(offset); // Length, CRC32C and sequence number, then the payload.
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Documents implements DocumentJournal.Sink {
+
+        private final Map<String, String> byKey = new LinkedHashMap<>();
+
+        @Override
+        public void put(String collectionName, String documentId, String typeName, byte[] document) {
+            byKey.put(collectionName + "/" + documentId, new String(document, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void delete(String collectionName, String documentId) {
+            byKey.remove(collectionName + "/" + documentId);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.config.JacksonConfig;
+import com.resumeanalyzer.model.AnalysisResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FirebaseServiceTest {
+
+    private static final String COLLECTION = "analysisResults";
+
+    private FirebaseService firebaseService;
+
+    @BeforeEach
+    void setUp() {
+        firebaseService = new FirebaseService(new JacksonConfig().objectMapper(), FirebaseService.StorageFormat.OBJECT);
+        firebaseService.orderCollectionBy(COLLECTION, AnalysisResult.class,
+                document -> FirebaseService.timestampKey(document.getAnalysisDate()));
+    }
+
+    @Test
+    void pagesAreOrderedByKeyThenId() {
+        save("c", "2024-05-01T10:00:00Z");
+        save("b", "2024-05-01T10:00:00Z");
+        save("a", "2024-05-01T10:00:00.5Z");
+        save("d", "2024-05-01T09:59:59.999Z");
+        save("e", "2024-05-01T10:00:00Z");
+
+        assertThat(readAllPages(2)).containsExactly("d", "b", "c", "e", "a");
+        assertThat(readAllPages(1)).containsExactly("d", "b", "c", "e", "a");
+        assertThat(readAllPages(5)).containsExactly("d", "b", "c", "e", "a");
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        save("a", "2024-05-01T10:00:00Z");
+        save("b", "2024-05-01T10:00:01Z");
+
+        FirebaseService.Page<AnalysisResult> first = firebaseService.getCollectionPage(COLLECTION, AnalysisResult.class, null, 2);
+
+        assertThat(first.documents()).hasSize(2);
+        assertThat(first.next()).isNull();
+    }
+
+    @Test
+    void deletesBetweenPagesDoNotSkipOrRepeatDocuments() {
+        for (String id : List.of("a", "b", "c", "d", "e")) {
+            save(id, "2024-05-01T10:00:00Z");
+        }
+        FirebaseService.Page<AnalysisResult> first = firebaseService.getCollectionPage(COLLECTION, AnalysisResult.class, null, 2);
+        assertThat(ids(first.documents())).containsExactly("a", "b");
+
+        firebaseService.deleteDocument(COLLECTION, "b"); // The document the cursor points at
+        firebaseService.deleteDocument(COLLECTION, "c");
+        save("aa", "2024-05-01T10:00:00Z"); // Sorts before the cursor
+
+        FirebaseService.Page<AnalysisResult> second = firebaseService.getCollectionPage(COLLECTION, AnalysisResult.class,
+                first.next(), 2);
+
+        assertThat(ids(second.documents())).containsExactly("d", "e");
+        assertThat(second.next()).isNull();
+    }
+
+    @Test
+    void streamResumesAfterCursor() {
+        save("a", "2024-05-01T10:00:00Z");
+        save("b", "2024-05-01T10:00:00Z");
+        save("c", "2024-05-01T10:00:01Z");
+
+        FirebaseService.Cursor after = new FirebaseService.Cursor(FirebaseService.timestampKey("2024-05-01T10:00:00Z"), "a");
+
+        assertThat(firebaseService.streamCollection(COLLECTION, AnalysisResult.class, after).map(AnalysisResult::getId))
+                .containsExactly("b", "c");
+    }
+
+    @Test
+    void rejectsNonPositiveLimitAndUnorderedCollections() {
+        assertThatThrownBy(() -> firebaseService.getCollectionPage(COLLECTION, AnalysisResult.class, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> firebaseService.getCollectionPage("unordered", AnalysisResult.class, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cursorsRoundTripAndMalformedCursorsAreRejected() {
+        FirebaseService.Cursor cursor = new FirebaseService.Cursor(FirebaseService.timestampKey("2024-05-01T10:00:00Z"), "id/é");
+
+        assertThat(FirebaseService.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(new FirebaseService.Cursor(null, "a").orderValue()).isEmpty();
+        assertThatThrownBy(() -> FirebaseService.Cursor.decode("not a cursor!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FirebaseService.Cursor.decode("bm8tc2VwYXJhdG9y")) // "no-separator"
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void timestampKeysSortByTime() {
+        assertThat(FirebaseService.timestampKey("2024-05-01T10:00:00.5Z"))
+                .isGreaterThan(FirebaseService.timestampKey("2024-05-01T10:00:00.123456Z"))
+                .isGreaterThan(FirebaseService.timestampKey("2024-05-01T10:00:00Z"));
+        assertThat(FirebaseService.timestampKey("1969-12-31T23:59:59Z")).isLessThan(FirebaseService.timestampKey("1970-01-01T00:00:00Z"));
+        assertThat(FirebaseService.timestampKey(null)).isEmpty();
+        assertThat(FirebaseService.timestampKey("yesterday")).isEmpty();
+    }
+
+    private void save(String id, String analysisDate) {
+        AnalysisResult result = new AnalysisResult();
+        result.setId(id);
+        result.setAnalysisDate(analysisDate);
+        firebaseService.saveDocument(COLLECTION, id, result);
+    }
+
+    private List<String> readAllPages(int limit) {
+        List<String> ids = new ArrayList<>();
+        FirebaseService.Cursor after = null;
+        do {
+            FirebaseService.Page<AnalysisResult> page = firebaseService.getCollectionPage(COLLECTION, AnalysisResult.class, after, limit);
+            assertThat(page.documents()).hasSizeLessThanOrEqualTo(limit);
+            ids.addAll(ids(page.documents()));
+            after = page.next();
+        } while (after != null);
+        return ids;
+    }
+
+    private static List<String> ids(List<AnalysisResult> results) {
+        return results.stream().map(AnalysisResult::getId).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.ExtractionGuard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtmlDocumentExtractorTest {
+
+    @TempDir
+    Path directory;
+
+    private final HtmlDocumentExtractor extractor = new HtmlDocumentExtractor();
+
+    @Test
+    void blockElementsBreakLinesAndInlineElementsDoNot() throws IOException {
+        String html = "<html><body><h1>Jane Doe</h1><p>Built Node<b>.js</b> and <i>React</i> apps.<br>Second line</p>"
+                + "<ul><li>Java</li><li>Kotlin</li></ul><table><tr><td>Go</td><td>2 years</td></tr></table></body></html>";
+
+        assertThat(extract(html, StandardCharsets.UTF_8))
+                .isEqualTo("Jane Doe\nBuilt Node.js and React apps.\nSecond line\nJava\nKotlin\nGo\n2 years\n");
+    }
+
+    @Test
+    void dropsScriptStyleAndTitle() throws IOException {
+        String html = "<html><head><title>Resume</title><style>p { color: red }</style></head>"
+                + "<body><script>var skills = ['Cobol'];</script><p>Java</p></body></html>";
+
+        assertThat(extract(html, StandardCharsets.UTF_8)).isEqualTo("Java\n");
+    }
+
+    @Test
+    void decodesEntitiesAndTheGivenCharset() throws IOException {
+        String html = "<html><body><p>Caf&eacute; &amp; Z\u00fcrich &lt;3</p></body></html>";
+
+        assertThat(extract(html, StandardCharsets.ISO_8859_1)).isEqualTo("Caf\u00e9 & Z\u00fcrich <3\n");
+        assertThat(extract(html, StandardCharsets.UTF_16LE)).isEqualTo("Caf\u00e9 & Z\u00fcrich <3\n");
+    }
+
+    private String extract(String html, Charset charset) throws IOException {
+        Path file = directory.resolve("resume.html");
+        Files.write(file, html.getBytes(charset));
+        return extractor.extract(file, charset, ExtractionGuard.unlimited());
+    }
+}
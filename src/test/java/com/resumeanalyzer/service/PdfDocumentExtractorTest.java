@@ -0,0 +1,98 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.ExtractionGuard;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfDocumentExtractorTest {
+
+    private static final int PAGES = 37;
+
+    @TempDir
+    Path directory;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void stitchedChunksMatchSequentialExtraction() throws Exception {
+        Path pdf = writePdf(PAGES);
+
+        String sequential = extractor(4, Integer.MAX_VALUE, 2, 0).extract(pdf, StandardCharsets.UTF_8, ExtractionGuard.unlimited());
+        String parallel = extractor(4, 8, 2, 0).extract(pdf, StandardCharsets.UTF_8, ExtractionGuard.unlimited());
+        String oneInFlight = extractor(5, 8, 1, 0).extract(pdf, StandardCharsets.UTF_8, ExtractionGuard.unlimited());
+
+        assertThat(sequential).contains("Page 1 of " + PAGES).contains("Page " + PAGES + " of " + PAGES);
+        assertThat(sequential.chars().filter(c -> c == '\f').count()).isEqualTo(PAGES);
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(oneInFlight).isEqualTo(sequential);
+    }
+
+    @Test
+    void stopsAtCharacterLimit() throws Exception {
+        Path pdf = writePdf(PAGES);
+        String full = extractor(4, Integer.MAX_VALUE, 2, 0).extract(pdf, StandardCharsets.UTF_8, ExtractionGuard.unlimited());
+
+        String sequential = extractor(4, Integer.MAX_VALUE, 2, 300).extract(pdf, StandardCharsets.UTF_8, ExtractionGuard.unlimited());
+        String parallel = extractor(4, 8, 2, 300).extract(pdf, StandardCharsets.UTF_8, ExtractionGuard.unlimited());
+
+        assertThat(sequential).hasSize(300).isEqualTo(full.substring(0, 300));
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    @Test
+    void smallDocumentsAreNotSplit() throws Exception {
+        // Fewer pages than two chunks: extracted in one pass even above the threshold.
+        Path pdf = writePdf(7);
+        PdfDocumentExtractor extractor = new PdfDocumentExtractor(task -> {
+            throw new AssertionError("Chunk submitted for a small document");
+        }, 1 << 20, directory.toFile(), 4, 2, 2, 0, 0, 0);
+
+        String text = extractor.extract(pdf, StandardCharsets.UTF_8, ExtractionGuard.unlimited());
+
+        assertThat(text).contains("Page 7 of 7");
+    }
+
+    private PdfDocumentExtractor extractor(int pagesPerChunk, int parallelThresholdPages, int maxChunksInFlight, int maxChars) {
+        return new PdfDocumentExtractor(executor, 1 << 20, directory.toFile(), pagesPerChunk, parallelThresholdPages,
+                maxChunksInFlight, 0, maxChars, 0);
+    }
+
+    private Path writePdf(int pages) throws IOException {
+        Path file = directory.resolve("resume-" + pages + ".pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.newLineAtOffset(72, 720);
+                    content.showText("Page " + i + " of " + pages);
+                    content.newLineAtOffset(0, -16);
+                    content.showText("Built Java services and Kafka pipelines for team " + i + ".");
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+}
@@ -0,0 +1,65 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.model.SectionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeSectionSelectorTest {
+
+    private static final List<SectionType> SKILL_SECTIONS =
+            List.of(SectionType.SUMMARY, SectionType.SKILLS, SectionType.EXPERIENCE, SectionType.PROJECTS, SectionType.CERTIFICATIONS);
+
+    @Test
+    void skillTextKeepsOnlyConfiguredSections() {
+        ResumeSectionSelector selector = selector(true, new MockEnvironment());
+        String text = "Jane Doe\njane@example.com\n\nSkills\nJava, Kafka\n\nEducation\nBSc\n\nInterests\nChess\n";
+
+        assertThat(selector.skillText(text)).isEqualTo("Skills\nJava, Kafka");
+    }
+
+    @Test
+    void programmingLanguagesReachSkillExtraction() {
+        ResumeSectionSelector selector = selector(true, new MockEnvironment());
+        String text = "Jane Doe\n\nProgramming Languages\nJava, Rust\n\nEducation\nBSc\n";
+
+        assertThat(selector.skillText(text)).contains("Java, Rust").doesNotContain("BSc");
+    }
+
+    @Test
+    void fallsBackToTheFullTextWithoutConfiguredSections() {
+        ResumeSectionSelector selector = selector(true, new MockEnvironment());
+        String unsegmented = "Jane Doe\nBuilt Java services at Acme for five years.\n";
+        String onlyOtherSections = "Jane Doe\n\nEducation\nBSc\n\nInterests\nChess\n";
+
+        assertThat(selector.skillText(unsegmented)).isEqualTo(unsegmented);
+        assertThat(selector.skillText(onlyOtherSections)).isEqualTo(onlyOtherSections);
+    }
+
+    @Test
+    void cutsSectionsToTheirBudgetAtALineBreak() {
+        // 5 tokens are about 20 characters.
+        ResumeSectionSelector selector = selector(true, new MockEnvironment().withProperty("resume.sections.budget.skills", "5"));
+        String text = "Jane Doe\n\nSkills\nJava, Kafka\nSpring Boot, Docker\n";
+
+        assertThat(selector.skillText(text)).isEqualTo("Skills\nJava, Kafka");
+    }
+
+    @Test
+    void disabledSelectionReturnsTheTextAsIs() {
+        ResumeSectionSelector selector = selector(false, new MockEnvironment());
+        String text = "Jane Doe\n\nEducation\nBSc\n";
+
+        assertThat(selector.segment(text)).isNull();
+        assertThat(selector.skillText(text)).isEqualTo(text);
+    }
+
+    private static ResumeSectionSelector selector(boolean enabled, MockEnvironment environment) {
+        return new ResumeSectionSelector(enabled, SKILL_SECTIONS, List.of(SectionType.SKILLS, SectionType.EXPERIENCE),
+                environment, new SimpleMeterRegistry());
+    }
+}
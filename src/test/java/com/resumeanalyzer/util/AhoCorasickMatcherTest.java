@@ -0,0 +1,72 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+    private static final int C = 0;
+    private static final int CPP = 1;
+    private static final int CSHARP = 2;
+    private static final int JAVA = 3;
+    private static final int JAVASCRIPT = 4;
+    private static final int SPRING = 5;
+    private static final int SPRING_BOOT = 6;
+    private static final int BOOT = 7;
+    private static final int DOTNET = 8;
+
+    private final AhoCorasickMatcher matcher = AhoCorasickMatcher.builder()
+            .add("C", C)
+            .add("C++", CPP)
+            .add("C#", CSHARP)
+            .add("Java", JAVA)
+            .add("JavaScript", JAVASCRIPT)
+            .add("Spring", SPRING)
+            .add("Spring  Boot", SPRING_BOOT)
+            .add("boot", BOOT)
+            .add(".NET", DOTNET)
+            .build();
+
+    @Test
+    void singleLetterDoesNotMatchInsideLongerLanguageNames() {
+        assertThat(scan("C++ and C# developer")).containsExactly("1:0-3", "2:8-10");
+        assertThat(scan("Plain C, C++")).containsExactly("0:6-7", "1:9-12");
+        assertThat(scan("Objective-C")).containsExactly("0:10-11");
+        assertThat(scan("CSS, Cobol, ABC")).isEmpty();
+    }
+
+    @Test
+    void wordDoesNotMatchAsPrefixOrSuffixOfAnotherWord() {
+        assertThat(scan("JavaScript")).containsExactly("4:0-10");
+        assertThat(scan("Java/JavaScript")).containsExactly("3:0-4", "4:5-15");
+        assertThat(scan("Javanese, MyJava, Java8")).isEmpty();
+        assertThat(scan("(Java)")).containsExactly("3:1-5");
+    }
+
+    @Test
+    void reportsOverlappingPhrases() {
+        assertThat(scan("Spring Boot")).containsExactly("5:0-6", "6:0-11", "7:7-11");
+        assertThat(scan("springboot")).isEmpty();
+    }
+
+    @Test
+    void matchesAcrossWhitespaceRunsAndCase() {
+        assertThat(scan("SPRING\n\t  boot")).containsExactly("5:0-6", "6:0-14", "7:10-14");
+    }
+
+    @Test
+    void phrasesStartingWithPunctuationNeedNoLeftBoundary() {
+        assertThat(scan("ASP.NET and .NET")).containsExactly("8:3-7", "8:12-16");
+        assertThat(scan(".NETwork")).isEmpty();
+    }
+
+    private List<String> scan(String text) {
+        List<String> matches = new ArrayList<>();
+        matcher.scan(text, (value, start, end) -> matches.add(value + ":" + start + "-" + end));
+        return matches;
+    }
+}
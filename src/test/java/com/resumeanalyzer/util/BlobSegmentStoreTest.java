@@ -0,0 +1,170 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.model.ContentRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlobSegmentStoreTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void countsLiveBytesThroughRetainAndRelease() throws Exception {
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            ContentRef first = store.append(bytes("first blob"));
+            ContentRef second = store.append(bytes("second"));
+
+            assertThat(store.getLiveBytes()).isEqualTo(16);
+            store.retain(first); // A second holder
+            store.release(first);
+            store.release(second);
+
+            assertThat(store.getLiveBytes()).isEqualTo(10);
+            assertThat(store.getStoredBytes()).isEqualTo(16);
+            assertThat(string(store.read(second))).isEqualTo("second"); // Released blobs stay readable until deleted.
+        }
+    }
+
+    @Test
+    void startsNewSegmentWhenFullAndTrimsTheOldOne() throws Exception {
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            ContentRef first = store.append(new byte[40]);
+            ContentRef second = store.append(new byte[40]);
+            ContentRef large = store.append(new byte[100]); // Larger than a segment
+
+            assertThat(second.getSegment()).isNotEqualTo(first.getSegment());
+            assertThat(large.getSegment()).isNotEqualTo(second.getSegment());
+            assertThat(store.read(large)).hasSize(100);
+            assertThat(Files.size(segmentFile(first))).isEqualTo(40);
+        }
+        assertThat(segmentSizes()).containsExactly(40L, 40L, 100L);
+    }
+
+    @Test
+    void compactionMovesLiveBlobsAndDeletesReleasedSegments() throws Exception {
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            ContentRef garbage = store.append(new byte[30]);
+            ContentRef live = store.append(bytes("still referenced"));
+            store.append(new byte[60]); // Seals the first segment
+            store.release(garbage);
+
+            assertThat(store.segmentsToCompact(0.9)).isEmpty();
+            assertThat(store.segmentsToCompact(0.5)).containsExactly(live.getSegment());
+
+            ContentRef moved = store.copy(live);
+            store.release(live);
+            assertThat(store.deleteReleasedSegments()).isEqualTo(1);
+
+            assertThat(Files.exists(segmentFile(live))).isFalse();
+            assertThat(string(store.read(live))).isEqualTo("still referenced"); // Mapped until the next deletion
+            assertThat(string(store.read(moved))).isEqualTo("still referenced");
+            assertThat(store.getStoredBytes()).isEqualTo(60 + 16);
+            assertThat(store.segmentsToCompact(0.5)).isEmpty();
+
+            store.deleteReleasedSegments();
+            assertThatThrownBy(() -> store.read(live)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void activeSegmentIsNeverCompactedOrDeleted() throws Exception {
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            ContentRef ref = store.append(bytes("only"));
+            store.release(ref);
+
+            assertThat(store.segmentsToCompact(0.0)).isEmpty();
+            assertThat(store.deleteReleasedSegments()).isZero();
+            assertThat(Files.exists(segmentFile(ref))).isTrue();
+        }
+    }
+
+    @Test
+    void reopenedBlobsAreGarbageUntilRetained() throws Exception {
+        ContentRef kept;
+        ContentRef dropped;
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            kept = store.append(bytes("kept"));
+            dropped = store.append(bytes("dropped"));
+        }
+
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            assertThat(store.getLiveBytes()).isZero();
+            store.retain(kept);
+
+            assertThat(string(store.read(kept))).isEqualTo("kept");
+            assertThat(string(store.read(dropped))).isEqualTo("dropped");
+            assertThat(store.getLiveBytes()).isEqualTo(4);
+            ContentRef next = store.append(bytes("next"));
+            assertThat(next.getSegment()).isGreaterThan(kept.getSegment()); // Recovered segments are not appended to.
+        }
+    }
+
+    @Test
+    void trimsSegmentLeftActiveByACrash() throws Exception {
+        BlobSegmentStore crashed = new BlobSegmentStore(directory, SEGMENT_SIZE, true);
+        ContentRef first = crashed.append(bytes("first"));
+        ContentRef second = crashed.append(bytes("second"));
+        crashed.append(bytes("never saved by its owner"));
+        // Not closed: the active segment keeps its full capacity on disk.
+        assertThat(Files.size(segmentFile(first))).isEqualTo(SEGMENT_SIZE);
+
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            assertThat(store.getStoredBytes()).isEqualTo(SEGMENT_SIZE);
+            store.retain(first);
+            store.retain(second);
+
+            assertThat(store.trimRecoveredSegments()).isEqualTo(SEGMENT_SIZE - 11);
+            assertThat(store.trimRecoveredSegments()).isZero();
+            assertThat(Files.size(segmentFile(first))).isEqualTo(11);
+            assertThat(store.getStoredBytes()).isEqualTo(11);
+            assertThat(string(store.read(second))).isEqualTo("second");
+            assertThat(store.segmentsToCompact(0.5)).isEmpty();
+        }
+    }
+
+    @Test
+    void trimmingLeavesSegmentsWithoutRetainedBlobsToDeletion() throws Exception {
+        ContentRef ref;
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            ref = store.append(bytes("orphan"));
+        }
+
+        try (BlobSegmentStore store = new BlobSegmentStore(directory, SEGMENT_SIZE, false)) {
+            store.trimRecoveredSegments();
+
+            assertThat(store.getStoredBytes()).isZero();
+            assertThat(store.deleteReleasedSegments()).isEqualTo(1);
+            assertThat(Files.exists(segmentFile(ref))).isFalse();
+        }
+    }
+
+    private Path segmentFile(ContentRef ref) {
+        return directory.resolve(String.format("blob-%08d.seg", ref.getSegment()));
+    }
+
+    private List<Long> segmentSizes() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().map(path -> path.toFile().length()).toList();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormatSnifferTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recognizesBinaryFormatsByMagicBytes() {
+        assertThat(format(ascii("%PDF-1.7\n%âãÏÓ"))).isEqualTo(DocumentFormat.PDF);
+        assertThat(format(ascii("\r\n\r\ngarbage before the header %PDF-1.4"))).isEqualTo(DocumentFormat.PDF);
+        assertThat(format(new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1, 0, 0}))
+                .isEqualTo(DocumentFormat.DOC);
+        assertThat(FormatSniffer.sniff(ascii("{\\rtf1\\ansi Hello}")))
+                .isEqualTo(new FormatSniffer.Detection(DocumentFormat.RTF, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void recognizesHtmlAndItsCharset() {
+        assertThat(FormatSniffer.sniff(ascii("<!DOCTYPE html><html><body>Jane</body></html>")))
+                .isEqualTo(new FormatSniffer.Detection(DocumentFormat.HTML, StandardCharsets.UTF_8));
+        assertThat(FormatSniffer.sniff(ascii("  <!-- exported -->\n<HTML><head><meta charset=\"iso-8859-1\"></head>")))
+                .isEqualTo(new FormatSniffer.Detection(DocumentFormat.HTML, StandardCharsets.ISO_8859_1));
+        // A meta tag cannot override a byte order mark.
+        byte[] bom = concat(new byte[]{(byte) 0xFF, (byte) 0xFE}, "<html><meta charset=\"windows-1252\">".getBytes(StandardCharsets.UTF_16LE));
+        assertThat(FormatSniffer.sniff(bom)).isEqualTo(new FormatSniffer.Detection(DocumentFormat.HTML, StandardCharsets.UTF_16LE));
+        assertThat(format(ascii("Jane Doe\n<html> is a skill"))).isEqualTo(DocumentFormat.TEXT);
+    }
+
+    @Test
+    void detectsTextCharsets() {
+        assertThat(charset("Jane Doe, Zürich".getBytes(StandardCharsets.UTF_8))).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(charset("Jane Doe, Zürich".getBytes(Charset.forName("windows-1252")))).isEqualTo(Charset.forName("windows-1252"));
+        assertThat(charset(concat(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, ascii("Jane")))).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(charset("Jane Doe, engineer".getBytes(StandardCharsets.UTF_16LE))).isEqualTo(StandardCharsets.UTF_16LE);
+        assertThat(charset("Jane Doe, engineer".getBytes(StandardCharsets.UTF_16BE))).isEqualTo(StandardCharsets.UTF_16BE);
+        // A multi-byte character cut off at the end of the head is still UTF-8.
+        byte[] utf8 = "Zürich €".getBytes(StandardCharsets.UTF_8);
+        assertThat(charset(Arrays.copyOf(utf8, utf8.length - 1))).isEqualTo(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void binaryContentIsNotRecognized() {
+        assertThat(FormatSniffer.sniff(new byte[]{0x00, 0x01, 0x00, 0x02, 0x03, 0x00, 0x00, 0x04}))
+                .isEqualTo(new FormatSniffer.Detection(null, null));
+    }
+
+    @Test
+    void tellsZipContainersApart() throws IOException {
+        Path docx = zip("resume.docx", false, "[Content_Types].xml", "word/document.xml");
+        Path odt = zip("resume.odt", true, "content.xml");
+        Path odtWithoutLeadingMimetype = zip("late.odt", false, "content.xml", "mimetype");
+        Path otherZip = zip("photos.zip", false, "photo.jpg");
+
+        assertThat(FormatSniffer.sniff(docx).format()).isEqualTo(DocumentFormat.DOCX);
+        assertThat(FormatSniffer.sniff(odt).format()).isEqualTo(DocumentFormat.ODT);
+        assertThat(FormatSniffer.sniff(Files.readAllBytes(odt)).format()).isEqualTo(DocumentFormat.ODT);
+        assertThat(FormatSniffer.sniff(odtWithoutLeadingMimetype).format()).isEqualTo(DocumentFormat.ODT);
+        assertThat(FormatSniffer.sniff(otherZip).format()).isNull();
+    }
+
+    private Path zip(String name, boolean storedMimetypeFirst, String... entries) throws IOException {
+        Path file = directory.resolve(name);
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            if (storedMimetypeFirst) {
+                byte[] mimetype = ascii("application/vnd.oasis.opendocument.text");
+                ZipEntry entry = new ZipEntry("mimetype");
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(mimetype.length);
+                CRC32 crc = new CRC32();
+                crc.update(mimetype);
+                entry.setCrc(crc.getValue());
+                zip.putNextEntry(entry);
+                zip.write(mimetype);
+                zip.closeEntry();
+            }
+            for (String entry : entries) {
+                zip.putNextEntry(new ZipEntry(entry));
+                zip.write(ascii(entry.equals("mimetype") ? "application/vnd.oasis.opendocument.text" : "<x/>"));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private static DocumentFormat format(byte[] head) {
+        return FormatSniffer.sniff(head).format();
+    }
+
+    private static Charset charset(byte[] head) {
+        FormatSniffer.Detection detection = FormatSniffer.sniff(head);
+        assertThat(detection.format()).isEqualTo(DocumentFormat.TEXT);
+        return detection.charset();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] bytes = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+}
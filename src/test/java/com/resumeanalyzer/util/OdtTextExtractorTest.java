@@ -0,0 +1,90 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OdtTextExtractorTest {
+
+    private static final String NAMESPACES = "xmlns:office=\"urn:oasis:names:tc:opendocument:xmlns:office:1.0\" "
+            + "xmlns:text=\"urn:oasis:names:tc:opendocument:xmlns:text:1.0\" "
+            + "xmlns:table=\"urn:oasis:names:tc:opendocument:xmlns:table:1.0\"";
+
+    @TempDir
+    Path directory;
+
+    private final OdtTextExtractor extractor = new OdtTextExtractor();
+
+    @Test
+    void paragraphsAndHeadingsBecomeLines() throws IOException {
+        String body = "<text:h>Jane Doe</text:h><text:p>Java<text:tab/>Kotlin</text:p>"
+                + "<text:p>Berlin<text:line-break/>Germany</text:p><text:p>a<text:s/>b<text:s text:c=\"3\"/>c</text:p>";
+
+        assertThat(extract(body)).isEqualTo("Jane Doe\nJava\tKotlin\nBerlin\nGermany\na b   c\n");
+    }
+
+    @Test
+    void skipsAnnotationsAndContentOutsideTheBody() throws IOException {
+        String content = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><office:document-content " + NAMESPACES + ">"
+                + "<office:automatic-styles><text:p>Style preview</text:p></office:automatic-styles>"
+                + "<office:body><office:text><text:p>Java<office:annotation><text:p>Reviewer note</text:p></office:annotation>"
+                + " developer</text:p></office:text></office:body></office:document-content>";
+
+        assertThat(extract(odt(content))).isEqualTo("Java developer\n");
+    }
+
+    @Test
+    void tableCellsAreSeparatedByTabs() throws IOException {
+        String body = "<table:table><table:table-row><table:table-cell><text:p>Java</text:p></table:table-cell>"
+                + "<table:table-cell><text:p>8 years</text:p></table:table-cell></table:table-row>"
+                + "<table:table-row><table:table-cell><text:p>Go</text:p></table:table-cell>"
+                + "<table:table-cell/></table:table-row></table:table>";
+
+        assertThat(extract(body)).isEqualTo("Java\t8 years\t\nGo\t\t\n");
+    }
+
+    @Test
+    void missingContentIsRejected() throws IOException {
+        Path file = directory.resolve("empty.odt");
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("mimetype"));
+            zip.write("application/vnd.oasis.opendocument.text".getBytes(StandardCharsets.US_ASCII));
+            zip.closeEntry();
+        }
+
+        assertThatThrownBy(() -> extractor.extract(file, new StringBuilder()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("content.xml");
+    }
+
+    private String extract(String body) throws IOException {
+        return extract(odt("<?xml version=\"1.0\" encoding=\"UTF-8\"?><office:document-content " + NAMESPACES + ">"
+                + "<office:body><office:text>" + body + "</office:text></office:body></office:document-content>"));
+    }
+
+    private String extract(Path odt) throws IOException {
+        StringBuilder out = new StringBuilder();
+        extractor.extract(odt, out);
+        return out.toString();
+    }
+
+    private Path odt(String content) throws IOException {
+        Path file = Files.createTempFile(directory, "resume", ".odt");
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("content.xml"));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,90 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.model.ResumeSection;
+import com.resumeanalyzer.model.SectionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeSectionSegmenterTest {
+
+    private final ResumeSectionSegmenter segmenter = new ResumeSectionSegmenter();
+
+    @Test
+    void splitsKnownHeadingsAndKeepsContactBeforeTheFirst() {
+        String text = "Jane Doe\njane@example.com\n\nSUMMARY\nBackend engineer.\n\nWork Experience\nAcme Corp\n"
+                + "Built services.\n\nEducation:\nBSc Computer Science\n";
+
+        assertThat(types(text)).containsExactly(SectionType.CONTACT, SectionType.SUMMARY,
+                SectionType.EXPERIENCE, SectionType.EDUCATION);
+        assertThat(section(text, SectionType.EXPERIENCE)).startsWith("Work Experience").contains("Built services.");
+    }
+
+    @Test
+    void programmingLanguagesAreSkills() {
+        assertThat(types("Jane Doe\n\nProgramming Languages\nJava, Go\n")).containsExactly(SectionType.CONTACT, SectionType.SKILLS);
+        assertThat(types("Jane Doe\n\nTechnical Languages:\nJava, Go\n")).containsExactly(SectionType.CONTACT, SectionType.SKILLS);
+        assertThat(types("Jane Doe\n\nLanguages & Frameworks\nJava, Spring\n")).containsExactly(SectionType.CONTACT, SectionType.SKILLS);
+        assertThat(types("Jane Doe\n\nScripting and Query Languages\nBash, SQL\n")).containsExactly(SectionType.CONTACT, SectionType.SKILLS);
+    }
+
+    @Test
+    void plainLanguagesHeadingIsSpokenLanguagesExceptInsideSkills() {
+        assertThat(types("Jane Doe\n\nExperience\nAcme\n\nLanguages\nEnglish, French\n"))
+                .containsExactly(SectionType.CONTACT, SectionType.EXPERIENCE, SectionType.LANGUAGES);
+
+        String text = "Jane Doe\n\nSkills\nCloud: AWS\nLanguages\nJava, Kotlin\n\nEducation\nBSc\n";
+        assertThat(types(text)).containsExactly(SectionType.CONTACT, SectionType.SKILLS, SectionType.EDUCATION);
+        assertThat(section(text, SectionType.SKILLS)).contains("Java, Kotlin");
+    }
+
+    @Test
+    void compoundHeadingsEndInAKeywordAndAreSetApart() {
+        assertThat(types("Jane Doe\n\nCloud and DevOps Skills\nAWS\n")).containsExactly(SectionType.CONTACT, SectionType.SKILLS);
+        assertThat(types("Jane Doe\nAcme\nProfessional Certifications:\nCKA\n"))
+                .containsExactly(SectionType.CONTACT, SectionType.CERTIFICATIONS);
+        assertThat(types("Jane Doe\nAcme\nOPEN SOURCE PROJECTS\nlib\n")).containsExactly(SectionType.CONTACT, SectionType.PROJECTS);
+    }
+
+    @Test
+    void jobTitlesWithHeadingKeywordsStayInTheirSection() {
+        String text = "Jane Doe\n\nExperience\nAcme Corp\nVolunteer Software Developer\n- Built the donor portal\n"
+                + "Senior Engineer Skills Team\n- Led migrations\n";
+
+        assertThat(types(text)).containsExactly(SectionType.CONTACT, SectionType.EXPERIENCE);
+        assertThat(section(text, SectionType.EXPERIENCE)).contains("Built the donor portal", "Led migrations");
+    }
+
+    @Test
+    void keywordLineInsideASectionNeedsAColonOrUpperCase() {
+        // Title-cased, keyword last, but neither after a blank line nor marked as a heading.
+        assertThat(types("Jane Doe\n\nExperience\nAcme\nCommunity Volunteer\n")).containsExactly(SectionType.CONTACT, SectionType.EXPERIENCE);
+        assertThat(types("Jane Doe\n\nExperience\nAcme\nCommunity Volunteer:\nFood bank\n"))
+                .containsExactly(SectionType.CONTACT, SectionType.EXPERIENCE, SectionType.VOLUNTEERING);
+    }
+
+    @Test
+    void sentencesAreNotHeadings() {
+        assertThat(types("Jane Doe\n\nExperience with Java and Spring\nSkills in many areas.\n")).containsExactly(SectionType.CONTACT);
+    }
+
+    @Test
+    void blankTextHasNoSections() {
+        assertThat(segmenter.segment(null)).isEmpty();
+        assertThat(segmenter.segment(" \n\n ")).isEmpty();
+    }
+
+    private List<SectionType> types(String text) {
+        return segmenter.segment(text).stream().map(ResumeSection::getType).toList();
+    }
+
+    private String section(String text, SectionType type) {
+        return segmenter.segment(text).stream()
+                .filter(section -> section.getType() == type)
+                .map(section -> text.substring(section.getStart(), section.getEnd()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,72 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RtfTextExtractorTest {
+
+    private final RtfTextExtractor extractor = new RtfTextExtractor();
+
+    @Test
+    void extractsParagraphsAndSymbols() throws IOException {
+        String rtf = "{\\rtf1\\ansi\\deff0 Jane Doe\\par Java\\tab Kotlin\\line "
+                + "Curly \\{braces\\} and a back\\\\slash\\~\\endash\\~\\ldblquote ok\\rdblquote}";
+
+        assertThat(extract(rtf)).isEqualTo("Jane Doe\nJava\tKotlin\nCurly {braces} and a back\\slash – “ok”");
+    }
+
+    @Test
+    void decodesEscapedBytesWithTheDefaultCodePage() throws IOException {
+        assertThat(extract("{\\rtf1\\ansi Caf\\'e9 na\\'efve}")).isEqualTo("Café naïve");
+    }
+
+    @Test
+    void decodesMultiByteRunsWithTheDocumentCodePage() throws IOException {
+        // 日本語 in Shift-JIS (code page 932).
+        assertThat(extract("{\\rtf1\\ansi\\ansicpg932 \\'93\\'fa\\'96\\'7b\\'8c\\'ea}")).isEqualTo("日本語");
+        // é and € in UTF-8 (code page 65001), split across a run boundary by a control word.
+        assertThat(extract("{\\rtf1\\ansi\\ansicpg65001 Caf\\'c3\\'a9 \\'e2\\'82\\'ac5\\par \\'c3\\'a9}")).isEqualTo("Café €5\né");
+    }
+
+    @Test
+    void undecodableBytesAreReplacedNotDropped() throws IOException {
+        // A lone UTF-8 lead byte followed by text.
+        assertThat(extract("{\\rtf1\\ansi\\ansicpg65001 a\\'c3}b")).isEqualTo("a\uFFFDb");
+    }
+
+    @Test
+    void unicodeEscapesSkipTheirFallbackCharacters() throws IOException {
+        assertThat(extract("{\\rtf1\\ansi \\u233?t\\u233?}")).isEqualTo("été");
+        assertThat(extract("{\\rtf1\\ansi\\uc2 \\u26085\\'93\\'fa\\u26412 ??x}")).isEqualTo("日本x");
+        assertThat(extract("{\\rtf1\\ansi\\uc0 \\u8226 item}")).isEqualTo("•item");
+        // Code points above 32767 are written as negative numbers.
+        assertThat(extract("{\\rtf1\\ansi \\u-3913?}")).isEqualTo("\uF0B7");
+    }
+
+    @Test
+    void unicodeSkipCountIsScopedToItsGroup() throws IOException {
+        assertThat(extract("{\\rtf1\\ansi {\\uc2 \\u233 xx}\\u233 y}")).isEqualTo("éé");
+    }
+
+    @Test
+    void skipsNonTextDestinations() throws IOException {
+        String rtf = "{\\rtf1\\ansi{\\fonttbl{\\f0\\fswiss Arial;}}{\\colortbl;\\red0\\green0\\blue0;}"
+                + "{\\*\\generator Msftedit 5.41;}{\\info{\\title Secret}{\\author Someone}}"
+                + "{\\header Page header\\par}{\\*\\unknowndest ignored text}"
+                + "{\\field{\\*\\fldinst HYPERLINK \"https://example.com\"}{\\fldrslt Portfolio}}"
+                + "Visible{\\pict\\pngblip 89504e470d0a}\\par}";
+
+        assertThat(extract(rtf)).isEqualTo("PortfolioVisible\n");
+    }
+
+    private String extract(String rtf) throws IOException {
+        StringBuilder out = new StringBuilder();
+        extractor.extract(new ByteArrayInputStream(rtf.getBytes(StandardCharsets.ISO_8859_1)), out);
+        return out.toString();
+    }
+}
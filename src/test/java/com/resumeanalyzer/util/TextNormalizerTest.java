@@ -0,0 +1,97 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    private final TextNormalizer normalizer = new TextNormalizer();
+
+    @Test
+    void foldsTypographicCharactersToAscii() {
+        assertThat(text("ﬁnance and workﬂow")).isEqualTo("finance and workflow");
+        assertThat(text("‘single’ “double” 2019–2021 — more…"))
+                .isEqualTo("'single' \"double\" 2019-2021 - more...");
+        assertThat(text("• Java\n Kotlin\n▪ Go")).isEqualTo("- Java\n- Kotlin\n- Go");
+        assertThat(text("Ｊａｖａ １７")).isEqualTo("Java 17");
+        assertThat(text("Zürich stays Zürich")).isEqualTo("Zürich stays Zürich");
+    }
+
+    @Test
+    void collapsesUnicodeWhitespaceAndDropsInvisibleCharacters() {
+        assertThat(text("  Jane   Doe \t　\r\n Senior​ Engi­neer﻿ ")).isEqualTo("Jane Doe\nSenior Engineer");
+        assertThat(text("a\rb c\u000Bd")).isEqualTo("a\nb\nc\nd");
+        assertThat(text("\n\nSummary\n \n\t\n\nExperience\n\n")).isEqualTo("Summary\n\nExperience");
+    }
+
+    @Test
+    void joinsWordsHyphenatedAcrossLines() {
+        assertThat(text("Five years of experi-\nence in distrib-\n  uted systems")).isEqualTo("Five years of experience in distributed systems");
+        // Not hyphenation: a capitalized or numeric continuation, or a paragraph break in between.
+        assertThat(text("Spring-\nBoot")).isEqualTo("Spring-\nBoot");
+        assertThat(text("2019-\n2021")).isEqualTo("2019-\n2021");
+        assertThat(text("Skills -\nnone")).isEqualTo("Skills -\nnone");
+        assertThat(text("Trailing-\n\ntext")).isEqualTo("Trailing-\n\ntext");
+    }
+
+    @Test
+    void dropsRunningHeadersFootersAndPageNumbers() {
+        String text = "Jane Doe – Resume\nSummary line\n\nPage 1 of 3\f"
+                + "Jane Doe – Resume\nExperience line\nPage 2 of 3\f"
+                + "  Jane Doe – Resume\nEducation line\n\nPage 3 of 3\f";
+
+        TextNormalizer.Result result = normalizer.normalize(text);
+
+        // The blank line before the first footer is kept as a paragraph break.
+        assertThat(result.text()).isEqualTo("Summary line\n\nExperience line\nEducation line");
+        assertThat(result.droppedLines()).isEqualTo(6);
+        assertThat(result.originalLength()).isEqualTo(text.length());
+        assertThat(result.savedChars()).isEqualTo(text.length() - result.text().length());
+    }
+
+    @Test
+    void keepsNumbersThatAreNotPageNumbers() {
+        String text = "Jane Doe\nBody one\n555-123-4567\f"
+                + "2019 - 2021\nBody two\n- 2 -\f"
+                + "3/3\nBody three\n1234\f";
+
+        TextNormalizer.Result result = normalizer.normalize(text);
+
+        assertThat(result.text()).isEqualTo("Jane Doe\nBody one\n555-123-4567\n2019 - 2021\nBody two\nBody three\n1234");
+        assertThat(result.droppedLines()).isEqualTo(2);
+    }
+
+    @Test
+    void needsThreePagesToDetectRepeatedLines() {
+        String text = "Jane Doe\nSummary\n1\fJane Doe\nExperience\n2";
+
+        TextNormalizer.Result result = normalizer.normalize(text);
+
+        assertThat(result.text()).isEqualTo("Jane Doe\nSummary\n1\nJane Doe\nExperience\n2");
+        assertThat(result.droppedLines()).isZero();
+    }
+
+    @Test
+    void repeatedLinesAwayFromPageEdgesAreContent() {
+        String text = "Top\nOne\nMiddle\nRepeated\nMiddle\nTwo\nEnd\f"
+                + "Top\nThree\nMiddle\nRepeated\nMiddle\nFour\nEnd\f"
+                + "Top\nFive\nMiddle\nRepeated\nMiddle\nSix\nEnd";
+
+        TextNormalizer.Result result = normalizer.normalize(text);
+
+        assertThat(result.text()).isEqualTo("One\nMiddle\nRepeated\nMiddle\nTwo\nThree\nMiddle\nRepeated\nMiddle\nFour\n"
+                + "Five\nMiddle\nRepeated\nMiddle\nSix");
+        assertThat(result.droppedLines()).isEqualTo(6);
+    }
+
+    @Test
+    void nullAndEmptyTextNormalizeToEmpty() {
+        assertThat(normalizer.normalize(null)).isEqualTo(new TextNormalizer.Result("", 0, 0));
+        assertThat(normalizer.normalize("")).isEqualTo(new TextNormalizer.Result("", 0, 0));
+    }
+
+    private String text(String text) {
+        return normalizer.normalize(text).text();
+    }
+}
@@ -0,0 +1,175 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(WriteAheadLog.FsyncPolicy.class)
+    void everyPolicyCompletesConcurrentAppends(WriteAheadLog.FsyncPolicy policy) throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try (WriteAheadLog log = new WriteAheadLog(directory, policy, Duration.ofMillis(20), 1)) {
+            List<CompletableFuture<Void>> appends = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String payload = "record " + i;
+                appends.add(CompletableFuture.supplyAsync(() -> log.append(bytes(payload)), writers)
+                        .thenCompose(WriteAheadLog.Append::durable));
+            }
+            CompletableFuture.allOf(appends.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        } finally {
+            writers.shutdown();
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        long last = WriteAheadLog.replay(directory, 0, (sequence, payload) -> sequences.add(sequence));
+
+        assertThat(last).isEqualTo(200);
+        assertThat(sequences).hasSize(200).isSorted();
+    }
+
+    @Test
+    void replayStopsAtTornTail() throws Exception {
+        writeRecords("first", "second", "third");
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3); // Crash in the middle of the last write.
+        }
+
+        assertThat(replayAll()).containsExactly("first", "second");
+    }
+
+    @Test
+    void replayStopsAtChecksumMismatch() throws Exception {
+        writeRecords("first", "second", "third");
+        Path segment = onlySegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 1; // Last byte of the last payload.
+        Files.write(segment, bytes);
+
+        assertThat(replayAll()).containsExactly("first", "second");
+
+        bytes[bytes.length - 1] ^= 1;
+        int secondPayloadEnd = (16 + "first".length()) + (16 + "second".length()); // 16 header bytes per record.
+        bytes[secondPayloadEnd - 1] ^= 1;
+        Files.write(segment, bytes);
+
+        // Everything after a damaged record is ignored, even if it is intact.
+        assertThat(replayAll()).containsExactly("first");
+    }
+
+    @Test
+    void replaySkipsRecordsUpToAfterSequence() throws Exception {
+        writeRecords("first", "second", "third");
+
+        List<String> payloads = new ArrayList<>();
+        long last = WriteAheadLog.replay(directory, 2, (sequence, payload) -> payloads.add(string(payload)));
+
+        assertThat(payloads).containsExactly("third");
+        assertThat(last).isEqualTo(3);
+        assertThat(WriteAheadLog.replay(directory.resolve("missing"), 7, (sequence, payload) -> { })).isEqualTo(7);
+    }
+
+    @Test
+    void appendsAfterReopeningATornLogAreReplayed() throws Exception {
+        writeRecords("first", "second");
+        try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        long last = WriteAheadLog.replay(directory, 0, (sequence, payload) -> { });
+        try (WriteAheadLog log = new WriteAheadLog(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20), last + 1)) {
+            log.append(bytes("third")).durable().join();
+        }
+
+        assertThat(replayAll()).containsExactly("first", "third");
+    }
+
+    @Test
+    void rotationStartsASegmentAndOldSegmentsCanBeDeleted() throws Exception {
+        try (WriteAheadLog log = new WriteAheadLog(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20), 1)) {
+            log.append(bytes("first"));
+            log.append(bytes("second"));
+            long upTo = log.rotate();
+            log.append(bytes("third")).durable().join();
+
+            assertThat(upTo).isEqualTo(3);
+            assertThat(segments()).hasSize(2);
+
+            log.deleteSegmentsBefore(upTo);
+        }
+
+        assertThat(segments()).hasSize(1);
+        assertThat(replayAll()).containsExactly("third");
+    }
+
+    @Test
+    void segmentsWithLaterRecordsAreKept() throws Exception {
+        try (WriteAheadLog log = new WriteAheadLog(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20), 1)) {
+            log.append(bytes("first"));
+            log.append(bytes("second"));
+            log.rotate();
+            log.append(bytes("third")).durable().join();
+
+            log.deleteSegmentsBefore(2); // The first segment still holds record 2.
+        }
+
+        assertThat(segments()).hasSize(2);
+        assertThat(replayAll()).containsExactly("first", "second", "third");
+    }
+
+    private void writeRecords(String... payloads) throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, WriteAheadLog.FsyncPolicy.BATCHED, Duration.ofMillis(20), 1)) {
+            for (String payload : payloads) {
+                log.append(bytes(payload));
+            }
+        }
+    }
+
+    private List<String> replayAll() throws IOException {
+        List<String> payloads = new ArrayList<>();
+        WriteAheadLog.replay(directory, 0, (sequence, payload) -> payloads.add(string(payload)));
+        return payloads;
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertThat(segments).hasSize(1);
+        return segments.get(0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}